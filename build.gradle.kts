@@ -23,6 +23,18 @@
 group = mvnGroupId
 version = mvnVersion
 
+// -- JMH benchmarks: src/jmh/java, run with ./gradlew jmh
+sourceSets {
+    create("jmh") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
+val jmhImplementation: Configuration by configurations.getting {
+    extendsFrom(configurations.implementation.get())
+}
+
 configure<JavaPluginExtension> {
     sourceCompatibility = JavaVersion.VERSION_16
     targetCompatibility = JavaVersion.VERSION_16
@@ -43,6 +55,7 @@
     implementation("org.apache.commons:commons-text:1.12.0")
 
     testImplementation("com.google.guava:guava:32.1.3-jre")
+    testImplementation("com.h2database:h2:2.2.224")
     testImplementation("org.apache.commons:commons-lang3:3.14.0")
     testImplementation("org.junit.jupiter:junit-jupiter-api:5.10.1")
     testImplementation("org.junit.jupiter:junit-jupiter-engine:5.10.1")
@@ -50,6 +63,10 @@
 
     testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine:5.10.1")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher:1.10.1")
+
+    jmhImplementation("com.h2database:h2:2.2.224")
+    jmhImplementation("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
 }
 
 java {
@@ -129,6 +146,31 @@
     sign(publishing.publications["mavenJava"])
 }
 
+tasks.test {
+    useJUnitPlatform()
+}
+
+// -- eg. ./gradlew jmh -PjmhIncludes=SQLSplitter
+// -- eg. ./gradlew jmh -PjmhIncludes=PaginationBenchmark -PjmhProfilers=gc
+tasks.register<JavaExec>("jmh") {
+    description = "Runs JMH benchmarks, writes machine readable results to build/reports/jmh"
+    group = "verification"
+
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass = "org.openjdk.jmh.Main"
+
+    val resultFile = layout.buildDirectory.file("reports/jmh/results-$mvnVersion.json")
+    doFirst {
+        resultFile.get().asFile.parentFile.mkdirs()
+    }
+
+    args = listOf(
+        "-rf", "json",
+        "-rff", resultFile.get().asFile.absolutePath,
+        providers.gradleProperty("jmhIncludes").getOrElse(".*")
+    ) + providers.gradleProperty("jmhProfilers").map { listOf("-prof", it) }.getOrElse(listOf())
+}
+
 tasks.javadoc {
     if (JavaVersion.current().isJava9Compatible) {
         (options as StandardJavadocDocletOptions).addBooleanOption("html5", true)
@@ -0,0 +1,55 @@
+package io.github.wcarmon.rdbms.config;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Building config from properties, with and without env placeholders */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+public class PostgresConfigBenchmark {
+
+    private Map<String, Object> literal;
+    private Map<String, Object> placeholders;
+
+    /** Build properties once per trial */
+    @Setup(Level.Trial)
+    public void setUp() {
+        literal = Map.of(
+                PostgresConfig.KEY_JDBC_URL, "jdbc:postgresql://localhost:5432/app",
+                PostgresConfig.KEY_USER, "app",
+                PostgresConfig.KEY_PASSWORD, "secret");
+
+        placeholders = Map.of(
+                PostgresConfig.KEY_JDBC_URL,
+                "jdbc:postgresql://${PGHOST:-localhost}:${PGPORT:-5432}/${PGDATABASE:-app}",
+                PostgresConfig.KEY_USER, "app",
+                PostgresConfig.KEY_PASSWORD, "secret");
+    }
+
+    /** @return parsed */
+    @Benchmark
+    public PostgresConfig fromPropertiesLiteral() {
+        return PostgresConfig.fromProperties(literal);
+    }
+
+    /** @return parsed, with placeholder substitution */
+    @Benchmark
+    public PostgresConfig fromPropertiesWithPlaceholders() {
+        return PostgresConfig.fromProperties(placeholders);
+    }
+}
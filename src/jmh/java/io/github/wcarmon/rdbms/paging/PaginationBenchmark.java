@@ -0,0 +1,105 @@
+package io.github.wcarmon.rdbms.paging;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing Pagination from query params (map) vs the raw query string, compare allocation
+ * with ./gradlew jmh -PjmhIncludes=PaginationBenchmark -PjmhProfilers=gc (gc.alloc.rate.norm)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+public class PaginationBenchmark {
+
+    private Map<String, List<String>> adversarial;
+    private String adversarialQuery;
+    private PaginationQueryParser parser;
+    private Map<String, List<String>> typical;
+    private String typicalQuery;
+    private PaginationQueryParser whitelistParser;
+
+    /** Build query maps once per trial */
+    @Setup(Level.Trial)
+    public void setUp() {
+        typical = Map.of(
+                "limit", List.of("25"),
+                "offset", List.of("50"),
+                "columns", List.of("+last_name,-created_at"));
+
+        // -- many unrelated params, mixed case keys, many padded columns
+        adversarial = new HashMap<>();
+        for (int i = 0; i < 200; i++) {
+            adversarial.put("Filter_" + i, List.of("value-" + i));
+        }
+
+        final var cols = new StringBuilder(64 * 24);
+        for (int i = 0; i < 64; i++) {
+            if (i > 0) {
+                cols.append(',');
+            }
+            cols.append("  ").append(i % 2 == 0 ? '+' : '-').append("column_number_").append(i);
+        }
+
+        adversarial.put("LIMIT", List.of("  1000  "));
+        adversarial.put("OffSet", List.of("999999"));
+        adversarial.put("Columns", List.of(cols.toString()));
+
+        // -- same params, raw
+        typicalQuery = "limit=25&offset=50&columns=+last_name,-created_at";
+
+        final var query = new StringBuilder(8 * 1024);
+        adversarial.forEach((k, v) -> query.append(k).append('=').append(v.get(0)).append('&'));
+        adversarialQuery = query.toString();
+
+        parser = new PaginationQueryParser();
+        whitelistParser = new PaginationQueryParser(Set.of("created_at", "last_name"));
+    }
+
+    /** @return parsed */
+    @Benchmark
+    public Pagination fromQueryParamsAdversarial() {
+        return Pagination.fromQueryParams(adversarial);
+    }
+
+    /** @return parsed */
+    @Benchmark
+    public Pagination fromQueryParamsTypical() {
+        return Pagination.fromQueryParams(typical);
+    }
+
+    /** @return parsed */
+    @Benchmark
+    public Pagination queryStringAdversarial() {
+        return parser.parse(adversarialQuery);
+    }
+
+    /** @return parsed */
+    @Benchmark
+    public Pagination queryStringTypical() {
+        return parser.parse(typicalQuery);
+    }
+
+    /** @return parsed, column names are the whitelisted Strings */
+    @Benchmark
+    public Pagination queryStringTypicalWhitelist() {
+        return whitelistParser.parse(typicalQuery);
+    }
+}
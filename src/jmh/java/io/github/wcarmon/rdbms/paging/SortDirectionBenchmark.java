@@ -0,0 +1,33 @@
+package io.github.wcarmon.rdbms.paging;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Lenient sort direction parsing */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+public class SortDirectionBenchmark {
+
+    /** exact, upper case, padded and long forms */
+    @Param({"asc", "DESC", "Descending"})
+    public String raw;
+
+    /** @return parsed */
+    @Benchmark
+    public SortDirection fromString() {
+        return SortDirection.fromString(raw);
+    }
+}
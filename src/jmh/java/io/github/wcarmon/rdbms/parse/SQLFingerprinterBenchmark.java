@@ -0,0 +1,45 @@
+package io.github.wcarmon.rdbms.parse;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Fingerprinting a typical statement: identity cache hit vs full normalize */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+public class SQLFingerprinterBenchmark {
+
+    private static final String SQL = """
+            SELECT e.employee_id, e.first_name, e.notes
+            FROM employees e
+            WHERE e.department_id IN (10, 20, 30, 40) -- hot path
+              AND e.first_name = 'it''s'
+              AND e.salary >= 1000.50
+            ORDER BY e.employee_id ASC
+            LIMIT 50 OFFSET 100""";
+
+    private final SQLFingerprinter fingerprinter = new SQLFingerprinter();
+
+    /** @return cached fingerprint, same String instance every call */
+    @Benchmark
+    public String cached() {
+        return fingerprinter.fingerprint(SQL);
+    }
+
+    /** @return freshly normalized fingerprint */
+    @Benchmark
+    public String normalize() {
+        return SQLFingerprinter.normalize(SQL);
+    }
+}
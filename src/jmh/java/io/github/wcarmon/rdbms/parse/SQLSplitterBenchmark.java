@@ -0,0 +1,85 @@
+package io.github.wcarmon.rdbms.parse;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Splitting scripts of increasing size */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+public class SQLSplitterBenchmark {
+
+    private final SQLSplitter splitter = new SQLSplitter();
+
+    /** statements per script: small, medium, very large (~10MB) */
+    @Param({"10", "1000", "100000"})
+    public int statementCount;
+
+    private String script;
+
+    static String buildScript(int statementCount) {
+        final var sb = new StringBuilder(statementCount * 100);
+        sb.append("""
+                -- seed data
+                CREATE TABLE IF NOT EXISTS employees (
+                    employee_id BIGINT PRIMARY KEY,
+                    first_name VARCHAR(50),
+                    notes TEXT
+                );
+                CREATE FUNCTION touch() RETURNS trigger AS $$
+                BEGIN
+                    NEW.notes := 'touched; -- not a comment';
+                    RETURN NEW;
+                END;
+                $$ LANGUAGE plpgsql;
+                """);
+
+        for (int i = 2; i < statementCount; i++) {
+            sb.append("INSERT INTO employees (employee_id, first_name, notes) VALUES (")
+                    .append(i)
+                    .append(", 'name-")
+                    .append(i)
+                    .append("', 'it''s; fine') /* row ")
+                    .append(i)
+                    .append(" */;\n");
+        }
+
+        return sb.toString();
+    }
+
+    /** Build script once per trial */
+    @Setup(Level.Trial)
+    public void setUp() {
+        script = buildScript(statementCount);
+    }
+
+    /** @return all statements, materialized */
+    @Benchmark
+    public List<String> splitSQLStatements() {
+        return splitter.splitSQLStatements(script);
+    }
+
+    /** @return statement count, never materialized */
+    @Benchmark
+    public long streamSQLStatements() {
+        try (final var stream = splitter.streamSQLStatements(new StringReader(script))) {
+            return stream.count();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.wcarmon.rdbms.pool;
+
+import java.sql.Connection;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Borrow + return latency under contention (16 threads, 4 connections), against H2's
+ * bundled pool
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Threads(16)
+@Warmup(iterations = 3, time = 2)
+public class ConnectionPoolBenchmark {
+
+    private static final int MAX_SIZE = 4;
+
+    @Param({"fair", "barging", "H2"})
+    public String pool;
+
+    private AutoCloseable closeable;
+    private DataSource dataSource;
+
+    @Benchmark
+    public boolean borrowAndReturn() throws Exception {
+        try (final Connection conn = dataSource.getConnection()) {
+            return conn.getAutoCommit();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final var url = "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+
+        if ("H2".equals(pool)) {
+            final var h2 = JdbcConnectionPool.create(url, "", "");
+            h2.setMaxConnections(MAX_SIZE);
+            closeable = h2::dispose;
+            dataSource = h2;
+            return;
+        }
+
+        final var ours = new ConnectionPool(url, null, null, PoolConfig.builder()
+                .barging("barging".equals(pool))
+                .maxSize(MAX_SIZE)
+                .build());
+        closeable = ours;
+        dataSource = ours;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        closeable.close();
+    }
+}
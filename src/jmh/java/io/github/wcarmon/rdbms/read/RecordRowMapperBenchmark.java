@@ -0,0 +1,94 @@
+package io.github.wcarmon.rdbms.read;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Hand-written mapping vs RecordRowMapper, 10k rows from in-memory H2 */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+public class RecordRowMapperBenchmark {
+
+    public record Employee(long employeeId, String firstName, int age, double salary) {
+
+    }
+
+    private static final String SQL = "SELECT employee_id, first_name, age, salary FROM employees";
+
+    private static final RowMapper<Employee> HAND_WRITTEN = rs -> new Employee(
+            rs.getLong("employee_id"),
+            rs.getString("first_name"),
+            rs.getInt("age"),
+            rs.getDouble("salary"));
+
+    private Connection conn;
+    private PreparedStatement ps;
+
+    @Benchmark
+    public void handWritten(Blackhole bh) throws SQLException {
+        mapAll(HAND_WRITTEN, bh);
+    }
+
+    @Benchmark
+    public void recordRowMapper(Blackhole bh) throws SQLException {
+        mapAll(RecordRowMapper.of(Employee.class), bh);
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        final var ds = new JdbcDataSource();
+        ds.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+
+        conn = ds.getConnection();
+        try (final Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                    CREATE TABLE employees (
+                        employee_id BIGINT PRIMARY KEY,
+                        first_name VARCHAR(32),
+                        age INT,
+                        salary DOUBLE)""");
+            stmt.execute("""
+                    INSERT INTO employees
+                    SELECT X, 'name-' || X, MOD(X, 60), X * 1.5 FROM SYSTEM_RANGE(1, 10000)""");
+        }
+
+        ps = conn.prepareStatement(SQL);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        ps.close();
+        conn.close();
+    }
+
+    private void mapAll(RowMapper<Employee> mapper, Blackhole bh) throws SQLException {
+        try (final ResultSet rs = ps.executeQuery()) {
+            final var bound = mapper.bind(rs.getMetaData());
+            while (rs.next()) {
+                bh.consume(bound.map(rs));
+            }
+        }
+    }
+}
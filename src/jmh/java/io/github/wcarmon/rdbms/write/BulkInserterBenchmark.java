@@ -0,0 +1,75 @@
+package io.github.wcarmon.rdbms.write;
+
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Bulk insert throughput per strategy, against in-memory H2 */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+public class BulkInserterBenchmark {
+
+    private static final List<String> COLUMNS = List.of("id", "name", "score");
+
+    private static final RowBinder<Integer> BINDER = (i, ps, index) -> {
+        ps.setLong(index, i);
+        ps.setString(index + 1, "name-" + i);
+        ps.setDouble(index + 2, i * 0.5);
+    };
+
+    @Param({"1000", "50000"})
+    public int rowCount;
+
+    @Param({"JDBC_BATCH", "MULTI_ROW_VALUES"})
+    public BulkInsertStrategy strategy;
+
+    private JdbcDataSource dataSource;
+    private BulkInserter inserter;
+
+    @Benchmark
+    public BulkInsertResult insert() {
+        return inserter.insert(
+                "bench",
+                COLUMNS,
+                IntStream.range(0, rowCount).boxed(),
+                BINDER);
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpTable() throws Exception {
+        try (final var conn = dataSource.getConnection();
+             final Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS bench");
+            stmt.execute("CREATE TABLE bench (id BIGINT PRIMARY KEY, name VARCHAR(32), score DOUBLE)");
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+
+        inserter = new BulkInserter(dataSource, BulkInsertConfig.builder()
+                .strategy(strategy)
+                .build());
+    }
+}
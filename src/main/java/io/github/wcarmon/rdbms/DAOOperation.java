@@ -28,5 +28,17 @@ public enum DAOOperation {
     UPDATE,
 
     /** Insert when absent, Update when present */
-    UPSERT,
+    UPSERT;
+
+    /**
+     * Simple getter
+     *
+     * @return true when the operation never mutates rows (eg. safe for a read replica)
+     */
+    public boolean isReadOnly() {
+        return switch (this) {
+            case FIND_BY_ID, HAS, LIST -> true;
+            case BULK_CREATE, CREATE, DELETE, PATCH, UPDATE, UPSERT -> false;
+        };
+    }
 }
@@ -0,0 +1,45 @@
+package io.github.wcarmon.rdbms;
+
+import static java.util.Objects.requireNonNull;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+
+/**
+ * DataSource which picks (or limits) connections by {@link DAOOperation},
+ * eg. reads routed to replicas.
+ *
+ * <p>Wrappers should forward the operation to a delegate which is also operation aware.
+ */
+public interface OperationAwareDataSource extends DataSource {
+
+    /**
+     * Connection for one operation, from any DataSource
+     *
+     * @param dataSource possibly operation aware
+     * @param operation  what the connection is for
+     * @return connection for operation, or {@link DataSource#getConnection()} when
+     *     dataSource is not operation aware
+     * @throws SQLException when no connection is available
+     */
+    static Connection connect(DataSource dataSource, DAOOperation operation)
+            throws SQLException {
+
+        requireNonNull(dataSource, "dataSource is required and null.");
+        requireNonNull(operation, "operation is required and null.");
+
+        return dataSource instanceof OperationAwareDataSource aware
+                ? aware.getConnection(operation)
+                : dataSource.getConnection();
+    }
+
+    /**
+     * Connection for one operation
+     *
+     * @param operation what the connection is for
+     * @return connection, caller closes
+     * @throws SQLException when no connection is available
+     */
+    Connection getConnection(DAOOperation operation) throws SQLException;
+}
@@ -2,7 +2,10 @@
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import lombok.Builder;
@@ -11,18 +14,22 @@
 /**
  * Enough config required to connect to a postgres database
  *
- * @param jdbcUrl  https://docs.oracle.com/javase/tutorial/jdbc/basics/connecting.html#db_connection_url
- * @param password credential
- * @param user     credential
+ * @param jdbcUrl         https://docs.oracle.com/javase/tutorial/jdbc/basics/connecting.html#db_connection_url
+ * @param password        credential
+ * @param user            credential
+ * @param replicaJdbcUrls read replicas (same credentials), empty when none;
+ *                        whitespace separated in {@link #KEY_REPLICA_JDBC_URLS}
  */
 @Builder
 public record PostgresConfig(
         String jdbcUrl,
         String password,
-        String user) {
+        String user,
+        List<String> replicaJdbcUrls) {
 
     public static final String KEY_JDBC_URL = "pg.jdbcUrl";
     public static final String KEY_PASSWORD = "pg.password";
+    public static final String KEY_REPLICA_JDBC_URLS = "pg.replicaJdbcUrls";
     public static final String KEY_USER = "pg.user";
 
     /** Defaults and Validation */
@@ -44,12 +51,35 @@ public record PostgresConfig(
             throw new IllegalArgumentException("jdbcUrl must start with 'jdbc:'");
         }
 
-        if (jdbcUrl.contains("${")) {
-            final String before = jdbcUrl;
+        jdbcUrl = resolvePlaceholders(jdbcUrl);
 
-            final StringSubstitutor sub = new StringSubstitutor(System.getenv());
-            jdbcUrl = sub.replace(before);
+        if (replicaJdbcUrls == null) {
+            replicaJdbcUrls = List.of();
         }
+
+        final var replicas = new ArrayList<String>(replicaJdbcUrls.size());
+        for (final var url : replicaJdbcUrls) {
+            if (url == null || url.isBlank()) {
+                throw new IllegalArgumentException("replicaJdbcUrls must not contain blanks");
+            }
+            if (!url.strip().startsWith("jdbc:")) {
+                throw new IllegalArgumentException("replicaJdbcUrls must start with 'jdbc:'");
+            }
+
+            replicas.add(resolvePlaceholders(url.strip()));
+        }
+        replicaJdbcUrls = List.copyOf(replicas);
+    }
+
+    /**
+     * Create new instance, without replicas
+     *
+     * @param jdbcUrl  see class docs
+     * @param password credential
+     * @param user     credential
+     */
+    public PostgresConfig(String jdbcUrl, String password, String user) {
+        this(jdbcUrl, password, user, List.of());
     }
 
     /**
@@ -88,9 +118,30 @@ public static PostgresConfig fromProperties(Map<String, Object> props) {
         // TODO: .strip() here if safe for passwords
         final String password = value.toString();
 
+
+        // -- Optional: whitespace separated String, or any Collection
+        // -- not commas: multi-host urls use them (jdbc:postgresql://r1,r2/app)
+        // -- not semicolons: some drivers use them for url parameters
+        key = KEY_REPLICA_JDBC_URLS;
+        value = props.get(key);
+        final List<String> replicaJdbcUrls = new ArrayList<>();
+        if (value instanceof Collection<?> urls) {
+            for (final var url : urls) {
+                replicaJdbcUrls.add(String.valueOf(url));
+            }
+
+        } else if (value != null && !value.toString().isBlank()) {
+            for (final var url : value.toString().split("\\s+")) {
+                if (!url.isBlank()) {
+                    replicaJdbcUrls.add(url);
+                }
+            }
+        }
+
         return builder()
                 .jdbcUrl(jdbcUrl)
                 .password(password)
+                .replicaJdbcUrls(replicaJdbcUrls)
                 .user(user)
                 .build();
     }
@@ -112,4 +163,19 @@ public static PostgresConfig fromProperties(Properties properties) {
 
         return fromProperties(m);
     }
+
+    /**
+     * Replace ${ENV_VAR} placeholders from the environment
+     *
+     * @param jdbcUrl possibly with placeholders
+     * @return jdbcUrl with placeholders resolved
+     */
+    private static String resolvePlaceholders(String jdbcUrl) {
+        if (!jdbcUrl.contains("${")) {
+            return jdbcUrl;
+        }
+
+        final StringSubstitutor sub = new StringSubstitutor(System.getenv());
+        return sub.replace(jdbcUrl);
+    }
 }
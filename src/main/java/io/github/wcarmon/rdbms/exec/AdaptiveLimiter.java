@@ -0,0 +1,186 @@
+package io.github.wcarmon.rdbms.exec;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adaptive concurrency limit for one operation, see {@link LimitAlgorithm}.
+ *
+ * <p>Waiters queue in arrival order on a {@link Condition}, so virtual threads never pin
+ * their carrier.
+ *
+ * <p>Thread safe.
+ */
+final class AdaptiveLimiter {
+
+    /** Samples in the long-term latency average */
+    static final double LONG_WINDOW = 600;
+
+    /** GRADIENT: weight of each new limit estimate */
+    static final double SMOOTHING = 0.2;
+
+    /** GRADIENT: recent latency up to this multiple of the baseline is not a regression */
+    static final double TOLERANCE = 1.5;
+
+    private final Condition available;
+    private final ConcurrencyLimitConfig config;
+    private final long latencyThresholdNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Guarded by lock */
+    private long accepted;
+
+    /** Guarded by lock */
+    private int inFlight;
+
+    /** Guarded by lock */
+    private double limit;
+
+    /** Guarded by lock, exponential moving average */
+    private double longRttNanos;
+
+    /** Guarded by lock */
+    private long rejected;
+
+    /** Guarded by lock */
+    private int waiting;
+
+    AdaptiveLimiter(ConcurrencyLimitConfig config) {
+        requireNonNull(config, "config is required and null.");
+
+        this.available = lock.newCondition();
+        this.config = config;
+        this.latencyThresholdNanos = config.latencyThreshold().toNanos();
+        this.limit = config.initialLimit();
+    }
+
+    /**
+     * Take a slot, waiting up to maxWaitNanos
+     *
+     * @param maxWaitNanos zero means do not wait
+     * @return false when rejected, caller must not release
+     */
+    boolean acquire(long maxWaitNanos) throws InterruptedException {
+        lock.lock();
+        try {
+            // -- queued callers go first
+            if (waiting == 0 && inFlight < currentLimit()) {
+                inFlight++;
+                accepted++;
+                return true;
+            }
+
+            if (maxWaitNanos <= 0) {
+                rejected++;
+                return false;
+            }
+
+            waiting++;
+            try {
+                var remaining = maxWaitNanos;
+                while (inFlight >= currentLimit()) {
+                    if (remaining <= 0) {
+                        rejected++;
+                        return false;
+                    }
+
+                    remaining = available.awaitNanos(remaining);
+                }
+
+                inFlight++;
+                accepted++;
+                return true;
+
+            } finally {
+                waiting--;
+            }
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return current state
+     */
+    LimiterSnapshot snapshot() {
+        lock.lock();
+        try {
+            return new LimiterSnapshot(currentLimit(), inFlight, waiting, accepted, rejected);
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return a slot and adapt the limit
+     *
+     * @param rttNanos time the slot was held
+     * @param failed   true when the call failed (always shrinks the limit)
+     */
+    void release(long rttNanos, boolean failed) {
+        lock.lock();
+        try {
+            final var inFlightBefore = inFlight;
+            inFlight--;
+
+            final var before = currentLimit();
+            limit = Math.max(config.minLimit(), Math.min(config.maxLimit(), next(
+                    Math.max(1, rttNanos), failed, inFlightBefore)));
+
+            if (currentLimit() > before) {
+                available.signalAll();
+            } else {
+                available.signal();
+            }
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Caller holds lock */
+    private int currentLimit() {
+        return (int) limit;
+    }
+
+    /** Caller holds lock */
+    private double next(long rttNanos, boolean failed, int inFlightBefore) {
+        longRttNanos = longRttNanos == 0
+                ? rttNanos
+                : longRttNanos + (rttNanos - longRttNanos) / LONG_WINDOW;
+
+        if (failed) {
+            return limit * config.backoffRatio();
+        }
+
+        // -- less than half used: latency says nothing about a higher limit
+        final var appLimited = inFlightBefore * 2 < limit;
+
+        if (config.algorithm() == LimitAlgorithm.AIMD) {
+            if (rttNanos > latencyThresholdNanos) {
+                return limit * config.backoffRatio();
+            }
+
+            return appLimited ? limit : limit + 1.0 / limit;
+        }
+
+        // -- baseline drifts up under sustained load, pull it toward recent latency
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        final var gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / rttNanos));
+        if (appLimited && gradient == 1.0) {
+            return limit;
+        }
+
+        final var estimate = limit * gradient + Math.sqrt(limit);
+        return limit * (1 - SMOOTHING) + estimate * SMOOTHING;
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.wcarmon.rdbms.exec;
+
+import io.github.wcarmon.rdbms.metrics.DAOMetrics;
+import java.time.Duration;
+import lombok.Builder;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Tuning for {@link AsyncDAOExecutor}
+ *
+ * @param maxConcurrency tasks holding a connection at once, zero means the DataSource's
+ *                       capacity (see {@link AsyncDAOExecutor})
+ * @param metrics        optional, records latency and failures per operation
+ * @param timeout        default deadline per task, including the wait for a slot
+ */
+@Builder
+public record AsyncDAOConfig(
+        int maxConcurrency,
+        @Nullable DAOMetrics metrics,
+        Duration timeout) {
+
+    public static final int DEFAULT_MAX_CONCURRENCY = 10;
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+
+    /** Defaults and Validation */
+    public AsyncDAOConfig {
+        timeout = timeout == null ? DEFAULT_TIMEOUT : timeout;
+
+        if (maxConcurrency < 0) {
+            throw new IllegalArgumentException("maxConcurrency must be non-negative");
+        }
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("timeout must be positive");
+        }
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return config with all defaults
+     */
+    public static AsyncDAOConfig defaults() {
+        return builder().build();
+    }
+}
@@ -0,0 +1,426 @@
+package io.github.wcarmon.rdbms.exec;
+
+import static java.util.Objects.requireNonNull;
+
+import io.github.wcarmon.rdbms.DAOOperation;
+import io.github.wcarmon.rdbms.OperationAwareDataSource;
+import io.github.wcarmon.rdbms.pool.ConnectionPool;
+import io.github.wcarmon.rdbms.pool.RoutingDataSource;
+import io.github.wcarmon.rdbms.util.LatencyHistogram;
+import io.github.wcarmon.rdbms.util.VirtualThreads;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.sql.DataSource;
+
+/**
+ * Runs {@link DAOTask}s asynchronously, one virtual thread per task, at most
+ * {@link #maxConcurrency()} holding a connection at once.
+ *
+ * <p>Waiting for a slot parks a cheap virtual thread instead of a pool thread, so
+ * throughput scales with in-flight requests, up to what the database can serve.
+ * Without virtual threads (before Java 21), each task uses a daemon platform thread.
+ *
+ * <p>maxConcurrency defaults to the DataSource's capacity: {@link ConnectionPool#maxSize()}
+ * when the DataSource is (or wraps) a ConnectionPool, else
+ * {@link AsyncDAOConfig#DEFAULT_MAX_CONCURRENCY}.
+ *
+ * <p>Each task has a deadline, including the wait for a slot. At the deadline (or when
+ * the caller cancels the future), running statements are cancelled via
+ * {@link Statement#cancel()} and the future fails with {@link SQLTimeoutException}
+ * (or {@link CancellationException}).
+ *
+ * <p>The operation tag selects the connection from an {@link OperationAwareDataSource}
+ * (eg. {@link ConcurrencyLimitedDataSource}, {@link RoutingDataSource}), and keys the
+ * optional {@link AsyncDAOConfig#metrics()}.
+ *
+ * <p>Thread safe.
+ */
+public final class AsyncDAOExecutor implements AutoCloseable {
+
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final AsyncDAOConfig config;
+    private final DataSource dataSource;
+    private final ExecutorService executor;
+    private final LongAdder failed = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final int maxConcurrency;
+    private final Semaphore permits;
+    private final LongAdder timedOut = new LongAdder();
+    private final ScheduledExecutorService timer;
+
+    /**
+     * Create new instance
+     *
+     * @param dataSource typically a connection pool
+     * @param config     concurrency and deadlines
+     */
+    public AsyncDAOExecutor(DataSource dataSource, AsyncDAOConfig config) {
+        requireNonNull(config, "config is required and null.");
+        requireNonNull(dataSource, "dataSource is required and null.");
+
+        this.config = config;
+        this.dataSource = dataSource;
+        this.maxConcurrency = config.maxConcurrency() > 0
+                ? config.maxConcurrency()
+                : capacityOf(dataSource);
+
+        this.executor = VirtualThreads.newThreadPerTaskExecutor("rdbms-async-dao");
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.timer = Executors.newSingleThreadScheduledExecutor(
+                VirtualThreads.daemonThreadFactory("rdbms-async-dao-deadline"));
+    }
+
+    private static int capacityOf(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(ConnectionPool.class)) {
+                return dataSource.unwrap(ConnectionPool.class).maxSize();
+            }
+
+        } catch (SQLException ex) {
+            // -- not a wrapper, use the default
+        }
+
+        return AsyncDAOConfig.DEFAULT_MAX_CONCURRENCY;
+    }
+
+    private static long rowCount(Object value) {
+        return value instanceof Collection<?> c ? c.size() : 0;
+    }
+
+    /**
+     * Run every task with the default deadline, see {@link #allOf(DAOOperation, Collection,
+     * Duration)}
+     *
+     * @param operation what the tasks do
+     * @param tasks     independent tasks
+     * @param <T>       result type
+     * @return results in task order
+     */
+    public <T> CompletableFuture<List<T>> allOf(
+            DAOOperation operation,
+            Collection<? extends DAOTask<T>> tasks) {
+        return allOf(operation, tasks, config.timeout());
+    }
+
+    /**
+     * Fan out independent tasks, collect results in task order.
+     *
+     * <p>Fails fast: the first failure cancels the remaining tasks.
+     *
+     * @param operation what the tasks do
+     * @param tasks     independent tasks
+     * @param timeout   deadline per task
+     * @param <T>       result type
+     * @return results in task order, nulls allowed
+     */
+    public <T> CompletableFuture<List<T>> allOf(
+            DAOOperation operation,
+            Collection<? extends DAOTask<T>> tasks,
+            Duration timeout) {
+
+        requireNonNull(tasks, "tasks is required and null.");
+
+        final var futures = new ArrayList<CompletableFuture<T>>(tasks.size());
+        for (final var task : tasks) {
+            futures.add(submit(operation, task, timeout));
+        }
+
+        final var out = new CompletableFuture<List<T>>();
+        for (final var future : futures) {
+            future.whenComplete((value, ex) -> {
+                if (ex != null && out.completeExceptionally(ex)) {
+                    futures.forEach(f -> f.cancel(true));
+                }
+            });
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenRun(() -> {
+                    final var results = new ArrayList<T>(futures.size());
+                    futures.forEach(f -> results.add(f.join()));
+                    out.complete(Collections.unmodifiableList(results));
+                });
+
+        // -- caller gave up on the whole fan-out
+        out.whenComplete((value, ex) -> {
+            if (out.isCancelled()) {
+                futures.forEach(f -> f.cancel(true));
+            }
+        });
+
+        return out;
+    }
+
+    /** Cancel queued and running tasks, stop accepting new ones */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        timer.shutdownNow();
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return tasks allowed to hold a connection at once
+     */
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return current state and counters since creation
+     */
+    public AsyncDAOStats stats() {
+        return new AsyncDAOStats(
+                maxConcurrency,
+                inFlight.get(),
+                permits.getQueueLength(),
+                completed.sum(),
+                failed.sum(),
+                timedOut.sum(),
+                cancelled.sum(),
+                latency.snapshot());
+    }
+
+    /**
+     * Run a task with the default deadline
+     *
+     * @param operation what the task does
+     * @param task      JDBC work
+     * @param <T>       result type
+     * @return completes with the task's result, see class docs for failures
+     */
+    public <T> CompletableFuture<T> submit(DAOOperation operation, DAOTask<T> task) {
+        return submit(operation, task, config.timeout());
+    }
+
+    /**
+     * Run a task on its own virtual thread
+     *
+     * @param operation what the task does
+     * @param task      JDBC work
+     * @param timeout   deadline, including the wait for a slot
+     * @param <T>       result type
+     * @return completes with the task's result, cancel() cancels the running statement
+     */
+    public <T> CompletableFuture<T> submit(
+            DAOOperation operation,
+            DAOTask<T> task,
+            Duration timeout) {
+
+        requireNonNull(operation, "operation is required and null.");
+        requireNonNull(task, "task is required and null.");
+        requireNonNull(timeout, "timeout is required and null.");
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("timeout must be positive");
+        }
+
+        final var call = new Call<T>(operation, System.nanoTime(), timeout);
+
+        // -- stats are updated before the caller sees the outcome
+        final var out = call.result.whenComplete((value, ex) -> onComplete(call, value, ex));
+        out.whenComplete((value, ex) -> {
+            // -- out is already done, so its own onComplete stage is skipped
+            if (out.isCancelled() && call.result.cancel(true)) {
+                onComplete(call, null, ex);
+            }
+        });
+
+        final var deadline = timer.schedule(
+                () -> call.result.completeExceptionally(new SQLTimeoutException(
+                        operation + " exceeded its deadline of " + timeout.toMillis() + "ms")),
+                timeout.toNanos(),
+                TimeUnit.NANOSECONDS);
+
+        call.result.whenComplete((value, ex) -> deadline.cancel(false));
+
+        executor.execute(() -> run(call, task));
+        return out;
+    }
+
+    private <T> void run(Call<T> call, DAOTask<T> task) {
+        if (call.result.isDone()) {
+            return;
+        }
+
+        final boolean acquired;
+        try {
+            acquired = permits.tryAcquire(call.remainingNanos(), TimeUnit.NANOSECONDS);
+
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            finish(call, null, new CancellationException("Executor closed"));
+            return;
+        }
+
+        if (!acquired) {
+            // -- deadline elapsed while queued, the timer completes the future
+            return;
+        }
+
+        inFlight.incrementAndGet();
+        try (final Connection conn =
+                     OperationAwareDataSource.connect(dataSource, call.operation)) {
+            final var value = task.execute(track(call, conn));
+            finish(call, value, null);
+
+        } catch (Throwable ex) {
+            finish(call, null, ex);
+
+        } finally {
+            inFlight.decrementAndGet();
+            permits.release();
+        }
+    }
+
+    /**
+     * Statement.cancel() blocks (eg. PgJDBC opens a new socket), so never on the timer
+     * thread, which would delay every other deadline
+     */
+    private void cancelStatements(Call<?> call) {
+        if (call.statements.isEmpty()) {
+            return;
+        }
+
+        try {
+            executor.execute(call::cancelStatements);
+
+        } catch (RejectedExecutionException ex) {
+            // -- closing, nothing else waits on this thread
+            call.cancelStatements();
+        }
+    }
+
+    private <T> void finish(Call<T> call, T value, Throwable ex) {
+        if (ex == null) {
+            call.result.complete(value);
+
+        } else {
+            call.result.completeExceptionally(ex);
+        }
+    }
+
+    private <T> void onComplete(Call<T> call, T value, Throwable ex) {
+        latency.recordSince(call.startNanos);
+
+        final var metrics = config.metrics();
+        if (ex == null) {
+            completed.increment();
+            if (metrics != null) {
+                metrics.recordSuccess(call.operation, call.startNanos, rowCount(value));
+            }
+            return;
+        }
+
+        // -- deadline, caller cancel or failure: stop the database work too
+        cancelStatements(call);
+
+        if (ex instanceof CancellationException) {
+            cancelled.increment();
+
+        } else if (ex instanceof SQLTimeoutException) {
+            timedOut.increment();
+
+        } else {
+            failed.increment();
+        }
+
+        if (metrics != null) {
+            metrics.recordFailure(call.operation, call.startNanos);
+        }
+    }
+
+    /** Records statements so the deadline can cancel them */
+    private Connection track(Call<?> call, Connection conn) {
+        final InvocationHandler handler = (proxy, method, args) -> {
+            if (call.result.isDone() && !"close".equals(method.getName())) {
+                throw new SQLTimeoutException(call.operation + " was cancelled or timed out");
+            }
+
+            final Object out;
+            try {
+                out = method.invoke(conn, args);
+
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+
+            if (out instanceof Statement stmt) {
+                call.statements.add(stmt);
+
+                // -- lost the race with the deadline
+                if (call.result.isDone()) {
+                    call.cancelStatements();
+                }
+            }
+
+            return out;
+        };
+
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                handler);
+    }
+
+    /** One submitted task */
+    private static final class Call<T> {
+
+        final long deadlineNanos;
+        final DAOOperation operation;
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final long startNanos;
+
+        /** Created by the task, closed ones are skipped on cancel */
+        final Set<Statement> statements = ConcurrentHashMap.newKeySet();
+
+        Call(DAOOperation operation, long startNanos, Duration timeout) {
+            this.deadlineNanos = startNanos + timeout.toNanos();
+            this.operation = operation;
+            this.startNanos = startNanos;
+        }
+
+        void cancelStatements() {
+            for (final var stmt : statements) {
+                try {
+                    if (!stmt.isClosed()) {
+                        stmt.cancel();
+                    }
+
+                } catch (SQLException ex) {
+                    // -- best effort, the statement may have just finished
+                }
+            }
+        }
+
+        long remainingNanos() {
+            return deadlineNanos - System.nanoTime();
+        }
+    }
+}
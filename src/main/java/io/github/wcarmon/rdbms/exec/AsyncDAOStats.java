@@ -0,0 +1,33 @@
+package io.github.wcarmon.rdbms.exec;
+
+import static java.util.Objects.requireNonNull;
+
+import io.github.wcarmon.rdbms.util.LatencySnapshot;
+
+/**
+ * Point-in-time state of an {@link AsyncDAOExecutor}
+ *
+ * @param maxConcurrency tasks allowed to hold a connection at once
+ * @param inFlight       tasks holding a connection
+ * @param waiting        tasks queued for a slot (estimate)
+ * @param completed      tasks which returned a value
+ * @param failed         tasks which threw (excluding timeouts and cancellations)
+ * @param timedOut       tasks which missed their deadline (or threw SQLTimeoutException)
+ * @param cancelled      tasks cancelled by the caller
+ * @param latency        submit to completion, all outcomes
+ */
+public record AsyncDAOStats(
+        int maxConcurrency,
+        int inFlight,
+        int waiting,
+        long completed,
+        long failed,
+        long timedOut,
+        long cancelled,
+        LatencySnapshot latency) {
+
+    /** Create new instance */
+    public AsyncDAOStats {
+        requireNonNull(latency, "latency is required and null.");
+    }
+}
@@ -0,0 +1,74 @@
+package io.github.wcarmon.rdbms.exec;
+
+import java.time.Duration;
+import lombok.Builder;
+
+/**
+ * Tuning for one {@link io.github.wcarmon.rdbms.DAOOperation} in a
+ * {@link ConcurrencyLimitedDataSource}
+ *
+ * @param algorithm        null means {@link LimitAlgorithm#GRADIENT}
+ * @param backoffRatio     multiplies the limit on failure (and slow calls for AIMD), in (0, 1)
+ * @param initialLimit     starting concurrency
+ * @param latencyThreshold AIMD only: slower calls shrink the limit
+ * @param maxLimit         upper bound for the limit
+ * @param maxWait          queue this long for a slot, zero means reject immediately
+ * @param minLimit         lower bound for the limit
+ */
+@Builder
+public record ConcurrencyLimitConfig(
+        LimitAlgorithm algorithm,
+        double backoffRatio,
+        int initialLimit,
+        Duration latencyThreshold,
+        int maxLimit,
+        Duration maxWait,
+        int minLimit) {
+
+    public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+    public static final Duration DEFAULT_LATENCY_THRESHOLD = Duration.ofMillis(500);
+    public static final int DEFAULT_MAX_LIMIT = 200;
+    public static final int DEFAULT_MIN_LIMIT = 1;
+
+    /** Defaults and Validation */
+    public ConcurrencyLimitConfig {
+        algorithm = algorithm == null ? LimitAlgorithm.GRADIENT : algorithm;
+        backoffRatio = backoffRatio == 0 ? DEFAULT_BACKOFF_RATIO : backoffRatio;
+        initialLimit = initialLimit == 0 ? DEFAULT_INITIAL_LIMIT : initialLimit;
+        latencyThreshold = latencyThreshold == null
+                ? DEFAULT_LATENCY_THRESHOLD
+                : latencyThreshold;
+        maxLimit = maxLimit == 0 ? DEFAULT_MAX_LIMIT : maxLimit;
+        maxWait = maxWait == null ? Duration.ZERO : maxWait;
+        minLimit = minLimit == 0 ? DEFAULT_MIN_LIMIT : minLimit;
+
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio must be in (0, 1)");
+        }
+        if (minLimit < 0) {
+            throw new IllegalArgumentException("minLimit must be positive");
+        }
+        if (maxLimit < minLimit) {
+            throw new IllegalArgumentException("maxLimit must be at least minLimit");
+        }
+        if (initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("initialLimit must be in [minLimit, maxLimit]");
+        }
+        if (latencyThreshold.isNegative() || latencyThreshold.isZero()) {
+            throw new IllegalArgumentException("latencyThreshold must be positive");
+        }
+        if (maxWait.isNegative()) {
+            throw new IllegalArgumentException("maxWait must be non-negative");
+        }
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return config with all defaults
+     */
+    public static ConcurrencyLimitConfig defaults() {
+        return builder().build();
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.wcarmon.rdbms.exec;
+
+import io.github.wcarmon.rdbms.DAOOperation;
+import java.sql.SQLTransientException;
+
+/**
+ * Thrown when an operation is at its concurrency limit (after waiting up to
+ * {@link ConcurrencyLimitConfig#maxWait()}).
+ *
+ * <p>Transient: retry later, or shed load.
+ */
+public final class ConcurrencyLimitExceededException extends SQLTransientException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int limit;
+    private final DAOOperation operation;
+
+    /**
+     * Create new instance
+     *
+     * @param operation rejected operation
+     * @param limit     limit at the time of rejection
+     */
+    public ConcurrencyLimitExceededException(DAOOperation operation, int limit) {
+        super("Concurrency limit reached for " + operation + ", limit=" + limit);
+
+        this.limit = limit;
+        this.operation = operation;
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return limit at the time of rejection
+     */
+    public int limit() {
+        return limit;
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return rejected operation
+     */
+    public DAOOperation operation() {
+        return operation;
+    }
+}
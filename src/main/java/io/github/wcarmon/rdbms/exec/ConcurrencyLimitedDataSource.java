@@ -0,0 +1,260 @@
+package io.github.wcarmon.rdbms.exec;
+
+import static java.util.Objects.requireNonNull;
+
+import io.github.wcarmon.rdbms.DAOOperation;
+import io.github.wcarmon.rdbms.OperationAwareDataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+
+/**
+ * DataSource wrapper with an adaptive concurrency limit per {@link DAOOperation}.
+ *
+ * <p>Each operation has its own limit, so slow LIST or BULK_CREATE calls shrink their own
+ * limit and never consume the slots of cheap FIND_BY_ID calls.
+ *
+ * <p>A slot is held from {@link #getConnection(DAOOperation)} until the connection is
+ * closed, that duration is the latency sample. Callers over the limit wait up to
+ * {@link ConcurrencyLimitConfig#maxWait()}, then get a
+ * {@link ConcurrencyLimitExceededException}. A connection method, or a statement's
+ * execute* method (eg. query error, statement timeout), throwing SQLException counts as
+ * a failure.
+ *
+ * <p>{@link #getConnection()} is not limited, so this is a drop-in replacement.
+ * The operation is forwarded to an {@link OperationAwareDataSource} delegate
+ * (eg. {@link io.github.wcarmon.rdbms.pool.RoutingDataSource}), so reads still reach replicas.
+ *
+ * <p>Thread safe when the delegate is.
+ */
+public final class ConcurrencyLimitedDataSource implements OperationAwareDataSource {
+
+    private final DataSource delegate;
+    private final Map<DAOOperation, ConcurrencyLimitConfig> configs;
+    private final Map<DAOOperation, AdaptiveLimiter> limiters;
+
+    /**
+     * Create new instance, same config for every operation
+     *
+     * @param delegate typically a connection pool
+     * @param config   for every operation
+     */
+    public ConcurrencyLimitedDataSource(DataSource delegate, ConcurrencyLimitConfig config) {
+        this(delegate, config, Map.of());
+    }
+
+    /**
+     * Create new instance
+     *
+     * @param delegate  typically a connection pool
+     * @param defaults  for operations without an override
+     * @param overrides per operation config, eg. small maxLimit for BULK_CREATE
+     */
+    public ConcurrencyLimitedDataSource(
+            DataSource delegate,
+            ConcurrencyLimitConfig defaults,
+            Map<DAOOperation, ConcurrencyLimitConfig> overrides) {
+
+        requireNonNull(defaults, "defaults is required and null.");
+        requireNonNull(delegate, "delegate is required and null.");
+        requireNonNull(overrides, "overrides is required and null.");
+
+        final var tmpConfigs = new EnumMap<DAOOperation, ConcurrencyLimitConfig>(DAOOperation.class);
+        final var tmpLimiters = new EnumMap<DAOOperation, AdaptiveLimiter>(DAOOperation.class);
+        for (final var op : DAOOperation.values()) {
+            final var config = overrides.getOrDefault(op, defaults);
+            tmpConfigs.put(op, config);
+            tmpLimiters.put(op, new AdaptiveLimiter(config));
+        }
+
+        this.configs = Collections.unmodifiableMap(tmpConfigs);
+        this.delegate = delegate;
+        this.limiters = Collections.unmodifiableMap(tmpLimiters);
+    }
+
+    private static <S extends Statement> S trackStatement(
+            S stmt,
+            Class<S> iface,
+            AtomicBoolean failed) {
+
+        final InvocationHandler handler = (proxy, method, args) -> {
+            try {
+                return method.invoke(stmt, args);
+
+            } catch (InvocationTargetException ex) {
+                if (ex.getCause() instanceof SQLException
+                        && method.getName().startsWith("execute")) {
+                    failed.set(true);
+                }
+
+                throw ex.getCause();
+            }
+        };
+
+        return iface.cast(Proxy.newProxyInstance(
+                iface.getClassLoader(),
+                new Class<?>[]{iface},
+                handler));
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return unlimited connection
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        return delegate.getConnection();
+    }
+
+    /**
+     * Connection for one operation, within its limit, see class docs
+     *
+     * @param operation what the connection is for
+     * @return connection, close() releases the slot
+     * @throws ConcurrencyLimitExceededException when over the limit after maxWait
+     */
+    @Override
+    public Connection getConnection(DAOOperation operation) throws SQLException {
+        requireNonNull(operation, "operation is required and null.");
+
+        final var limiter = limiters.get(operation);
+        final boolean acquired;
+        try {
+            acquired = limiter.acquire(configs.get(operation).maxWait().toNanos());
+
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted waiting for a " + operation + " slot", ex);
+        }
+
+        if (!acquired) {
+            throw new ConcurrencyLimitExceededException(operation, limiter.snapshot().limit());
+        }
+
+        final var startNanos = System.nanoTime();
+        try {
+            return track(
+                    limiter,
+                    startNanos,
+                    OperationAwareDataSource.connect(delegate, operation));
+
+        } catch (SQLException | RuntimeException ex) {
+            limiter.release(System.nanoTime() - startNanos, true);
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return delegate.getConnection(username, password);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return delegate.getLoginTimeout();
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return delegate.getLogWriter();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return delegate.getParentLogger();
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || delegate.isWrapperFor(iface);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        delegate.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        delegate.setLogWriter(out);
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return current limit, in-flight, waiting and counters for every operation
+     */
+    public Map<DAOOperation, LimiterSnapshot> snapshot() {
+        final var out = new EnumMap<DAOOperation, LimiterSnapshot>(DAOOperation.class);
+        for (final var entry : limiters.entrySet()) {
+            out.put(entry.getKey(), entry.getValue().snapshot());
+        }
+
+        return Collections.unmodifiableMap(out);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+
+        return delegate.unwrap(iface);
+    }
+
+    private Connection track(AdaptiveLimiter limiter, long startNanos, Connection conn) {
+        final var failed = new AtomicBoolean();
+        final var released = new AtomicBoolean();
+
+        final InvocationHandler handler = (proxy, method, args) -> {
+            final Object out;
+            try {
+                out = method.invoke(conn, args);
+
+            } catch (InvocationTargetException ex) {
+                if (ex.getCause() instanceof SQLException) {
+                    failed.set(true);
+                }
+
+                throw ex.getCause();
+
+            } finally {
+                if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                    limiter.release(System.nanoTime() - startNanos, failed.get());
+                }
+            }
+
+            // -- query errors and timeouts are thrown by the Statements
+            if (out instanceof CallableStatement cs) {
+                return trackStatement(cs, CallableStatement.class, failed);
+            }
+            if (out instanceof PreparedStatement ps) {
+                return trackStatement(ps, PreparedStatement.class, failed);
+            }
+            if (out instanceof Statement stmt) {
+                return trackStatement(stmt, Statement.class, failed);
+            }
+
+            return out;
+        };
+
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                handler);
+    }
+}
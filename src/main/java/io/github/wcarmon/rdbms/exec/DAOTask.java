@@ -0,0 +1,25 @@
+package io.github.wcarmon.rdbms.exec;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * One unit of JDBC work for {@link AsyncDAOExecutor}.
+ *
+ * <p>Must not close or leak the connection, the executor owns it.
+ *
+ * @param <T> result type
+ */
+@FunctionalInterface
+public interface DAOTask<T> {
+
+    /**
+     * Do the work
+     *
+     * @param conn borrowed for this task only
+     * @return result, null allowed
+     * @throws SQLException from the driver, or {@link java.sql.SQLTimeoutException} after
+     *                      the deadline
+     */
+    T execute(Connection conn) throws SQLException;
+}
@@ -0,0 +1,17 @@
+package io.github.wcarmon.rdbms.exec;
+
+/** How {@link ConcurrencyLimitedDataSource} adapts each limit. */
+public enum LimitAlgorithm {
+
+    /**
+     * Additive increase (about +1 per limit successes), multiplicative decrease when a
+     * call exceeds {@link ConcurrencyLimitConfig#latencyThreshold()} or fails.
+     */
+    AIMD,
+
+    /**
+     * Scales the limit by long-term latency / recent latency, so the limit shrinks as
+     * soon as latency rises above its baseline (no fixed threshold).
+     */
+    GRADIENT,
+}
@@ -0,0 +1,19 @@
+package io.github.wcarmon.rdbms.exec;
+
+/**
+ * Point-in-time state of one operation's limit in a {@link ConcurrencyLimitedDataSource}
+ *
+ * @param limit    current concurrency limit
+ * @param inFlight connections currently held
+ * @param waiting  callers queued for a slot
+ * @param accepted calls admitted since creation
+ * @param rejected calls rejected since creation (limit reached, or maxWait elapsed)
+ */
+public record LimiterSnapshot(
+        int limit,
+        int inFlight,
+        int waiting,
+        long accepted,
+        long rejected) {
+
+}
@@ -0,0 +1,49 @@
+package io.github.wcarmon.rdbms.exec;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+
+/**
+ * Throughput for one committed chunk (transaction) of a script
+ *
+ * @param chunkIndex          from zero
+ * @param firstStatementIndex position in the script of the first statement in this chunk, from zero
+ * @param statementCount      statements executed in this chunk
+ * @param bytes               UTF-8 bytes executed in this chunk
+ * @param batchCount          JDBC batches executed in this chunk
+ * @param elapsed             wall time for this chunk, including commit
+ */
+public record ScriptChunkStats(
+        long chunkIndex,
+        long firstStatementIndex,
+        long statementCount,
+        long bytes,
+        long batchCount,
+        Duration elapsed) {
+
+    /** Create new instance */
+    public ScriptChunkStats {
+        requireNonNull(elapsed, "elapsed is required and null.");
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return statements per second for this chunk
+     */
+    public double statementsPerSecond() {
+        final var nanos = Math.max(1L, elapsed.toNanos());
+        return statementCount * 1_000_000_000.0 / nanos;
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return bytes per second for this chunk
+     */
+    public double bytesPerSecond() {
+        final var nanos = Math.max(1L, elapsed.toNanos());
+        return bytes * 1_000_000_000.0 / nanos;
+    }
+}
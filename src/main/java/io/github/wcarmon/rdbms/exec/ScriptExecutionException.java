@@ -0,0 +1,71 @@
+package io.github.wcarmon.rdbms.exec;
+
+/**
+ * Thrown when one statement in a script fails.
+ *
+ * <p>Everything before the failed chunk is committed, the failed chunk is rolled back.
+ */
+public final class ScriptExecutionException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long committedStatementCount;
+    private final String statement;
+    private final long statementIndex;
+
+    /**
+     * Create new instance
+     *
+     * @param statementIndex          position of the failed statement in the script, from zero
+     * @param statement               the failed statement
+     * @param committedStatementCount statements committed before the failure
+     * @param cause                   driver error
+     */
+    public ScriptExecutionException(
+            long statementIndex,
+            String statement,
+            long committedStatementCount,
+            Throwable cause) {
+
+        super("Failed on statement #" + statementIndex + ": " + abbreviate(statement), cause);
+
+        this.committedStatementCount = committedStatementCount;
+        this.statement = statement;
+        this.statementIndex = statementIndex;
+    }
+
+    private static String abbreviate(String statement) {
+        if (statement == null) {
+            return "<unknown>";
+        }
+
+        return statement.length() <= 200 ? statement : statement.substring(0, 197) + "...";
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return statements committed before the failure
+     */
+    public long committedStatementCount() {
+        return committedStatementCount;
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return the failed statement, possibly null when the driver cannot tell
+     */
+    public String statement() {
+        return statement;
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return position of the failed statement in the script, from zero
+     */
+    public long statementIndex() {
+        return statementIndex;
+    }
+}
@@ -0,0 +1,336 @@
+package io.github.wcarmon.rdbms.exec;
+
+import static java.util.Objects.requireNonNull;
+
+import io.github.wcarmon.rdbms.util.ConnectionUtils;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Executes a sql script (eg. output of SQLSplitter) in batched, chunked transactions.
+ *
+ * <p>Consecutive DML (INSERT, UPDATE, DELETE, MERGE) is grouped into JDBC batches.
+ * Other statements (eg. DDL) flush the pending batch and execute alone.
+ *
+ * <p>A chunk is committed every N statements or M bytes, whichever comes first.
+ * On failure, the current chunk is rolled back, earlier chunks remain committed.
+ *
+ * <p>Thread safe, each call to execute uses its own connection.
+ */
+public final class ScriptExecutor {
+
+    private static final String[] BATCHABLE_KEYWORDS = {
+            "INSERT", "UPDATE", "DELETE", "MERGE", "UPSERT", "REPLACE",
+    };
+
+    private final ScriptExecutorConfig config;
+    private final DataSource dataSource;
+
+    /**
+     * Create new instance
+     *
+     * @param dataSource for acquiring one connection per script
+     * @param config     batch and commit sizing
+     */
+    public ScriptExecutor(DataSource dataSource, ScriptExecutorConfig config) {
+        requireNonNull(config, "config is required and null.");
+        requireNonNull(dataSource, "dataSource is required and null.");
+
+        this.config = config;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Simple getter
+     *
+     * @param sql one statement
+     * @return true when sql can participate in a JDBC batch
+     */
+    static boolean isBatchable(String sql) {
+        requireNonNull(sql, "sql is required and null.");
+
+        int start = 0;
+        while (start < sql.length()
+                && (Character.isWhitespace(sql.charAt(start)) || sql.charAt(start) == '(')) {
+            start++;
+        }
+
+        for (final var keyword : BATCHABLE_KEYWORDS) {
+            final var end = start + keyword.length();
+            if (sql.regionMatches(true, start, keyword, 0, keyword.length())
+                    && (end == sql.length() || !Character.isLetterOrDigit(sql.charAt(end)))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Simple getter
+     *
+     * @param s any string
+     * @return UTF-8 encoded length, without encoding
+     */
+    static long utf8Length(String s) {
+        long out = 0;
+        for (int i = 0; i < s.length(); i++) {
+            final var c = s.charAt(i);
+            if (c < 0x80) {
+                out++;
+
+            } else if (c < 0x800) {
+                out += 2;
+
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length()) {
+                out += 4;
+                i++;
+
+            } else {
+                out += 3;
+            }
+        }
+
+        return out;
+    }
+
+    /**
+     * Execute every statement, see class docs
+     *
+     * @param statements one executable statement per element
+     * @param onChunk    optional, invoked after each commit
+     * @return summary
+     * @throws ScriptExecutionException with the position of the failed statement
+     */
+    public ScriptResult execute(
+            Iterator<String> statements,
+            @Nullable Consumer<ScriptChunkStats> onChunk) {
+        requireNonNull(statements, "statements is required and null.");
+
+        final var startNanos = System.nanoTime();
+        try (final Connection conn = dataSource.getConnection()) {
+            final var originalAutoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+
+            Throwable failure = null;
+            try (final Statement stmt = conn.createStatement()) {
+                final var run = new Run(conn, stmt, onChunk);
+
+                while (statements.hasNext()) {
+                    if (config.maxStatements() > 0
+                            && run.nextStatementIndex >= config.maxStatements()) {
+                        break;
+                    }
+
+                    run.add(statements.next());
+                }
+
+                run.commitChunk();
+
+                return new ScriptResult(
+                        run.committedStatementCount,
+                        run.committedBytes,
+                        run.chunkIndex,
+                        Duration.ofNanos(System.nanoTime() - startNanos));
+
+            } catch (Throwable ex) {
+                // -- Error too (eg. from onChunk): restoring auto-commit would commit the chunk
+                failure = ex;
+                ConnectionUtils.rollbackQuietly(conn, ex);
+                throw ex;
+
+            } finally {
+                ConnectionUtils.restoreAutoCommit(conn, originalAutoCommit, failure);
+            }
+
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Failed to execute sql script", ex);
+        }
+    }
+
+    /**
+     * Execute every statement, see class docs
+     *
+     * @param statements one executable statement per element, caller closes
+     * @param onChunk    optional, invoked after each commit
+     * @return summary
+     * @throws ScriptExecutionException with the position of the failed statement
+     */
+    public ScriptResult execute(
+            Stream<String> statements,
+            @Nullable Consumer<ScriptChunkStats> onChunk) {
+        requireNonNull(statements, "statements is required and null.");
+
+        return execute(statements.iterator(), onChunk);
+    }
+
+    /**
+     * Execute every statement, see class docs
+     *
+     * @param statements one executable statement per element
+     * @param onChunk    optional, invoked after each commit
+     * @return summary
+     * @throws ScriptExecutionException with the position of the failed statement
+     */
+    public ScriptResult execute(
+            Iterable<String> statements,
+            @Nullable Consumer<ScriptChunkStats> onChunk) {
+        requireNonNull(statements, "statements is required and null.");
+
+        return execute(statements.iterator(), onChunk);
+    }
+
+    /** Mutable state for one script execution */
+    private final class Run {
+
+        private final Connection conn;
+        private final List<String> pending;
+        private final Statement stmt;
+        @Nullable
+        private final Consumer<ScriptChunkStats> onChunk;
+
+        private long chunkBatchCount;
+        private long chunkBytes;
+        private long chunkIndex;
+        private long chunkStartNanos = System.nanoTime();
+        private long chunkStatementCount;
+        private long committedBytes;
+        private long committedStatementCount;
+        private long nextStatementIndex;
+        private long pendingFirstIndex;
+
+        Run(Connection conn, Statement stmt, @Nullable Consumer<ScriptChunkStats> onChunk) {
+            this.conn = conn;
+            this.onChunk = onChunk;
+            this.pending = new ArrayList<>(Math.min(config.batchSize(), 4096));
+            this.stmt = stmt;
+        }
+
+        void add(String sql) {
+            requireNonNull(sql, "sql is required and null.");
+
+            final var index = nextStatementIndex++;
+            try {
+                if (isBatchable(sql)) {
+                    if (pending.isEmpty()) {
+                        pendingFirstIndex = index;
+                    }
+
+                    stmt.addBatch(sql);
+                    pending.add(sql);
+
+                    if (pending.size() >= config.batchSize()) {
+                        flushBatch();
+                    }
+
+                } else {
+                    flushBatch();
+                    stmt.execute(sql);
+                }
+
+            } catch (SQLException ex) {
+                throw new ScriptExecutionException(index, sql, committedStatementCount, ex);
+            }
+
+            chunkBytes += utf8Length(sql);
+            chunkStatementCount++;
+
+            if (chunkStatementCount >= config.commitEveryStatements()
+                    || chunkBytes >= config.commitEveryBytes()) {
+                commitChunk();
+            }
+        }
+
+        void commitChunk() {
+            flushBatch();
+            if (chunkStatementCount == 0) {
+                return;
+            }
+
+            try {
+                conn.commit();
+
+            } catch (SQLException ex) {
+                throw new ScriptExecutionException(
+                        nextStatementIndex - 1, null, committedStatementCount, ex);
+            }
+
+            final var stats = new ScriptChunkStats(
+                    chunkIndex,
+                    committedStatementCount,
+                    chunkStatementCount,
+                    chunkBytes,
+                    chunkBatchCount,
+                    Duration.ofNanos(System.nanoTime() - chunkStartNanos));
+
+            committedBytes += chunkBytes;
+            committedStatementCount += chunkStatementCount;
+
+            chunkBatchCount = 0;
+            chunkBytes = 0;
+            chunkIndex++;
+            chunkStatementCount = 0;
+
+            if (onChunk != null) {
+                onChunk.accept(stats);
+            }
+
+            chunkStartNanos = System.nanoTime();
+        }
+
+        /**
+         * @param updateCounts from the driver
+         * @return offset into pending of the first failed statement
+         */
+        private int failedOffset(@Nullable int[] updateCounts) {
+            if (updateCounts == null) {
+                return 0;
+            }
+
+            for (int i = 0; i < updateCounts.length; i++) {
+                if (updateCounts[i] == Statement.EXECUTE_FAILED) {
+                    return i;
+                }
+            }
+
+            // -- Driver stopped at the first failure
+            return Math.min(updateCounts.length, pending.size() - 1);
+        }
+
+        private void flushBatch() {
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            try {
+                stmt.executeBatch();
+                chunkBatchCount++;
+
+            } catch (BatchUpdateException ex) {
+                final var offset = failedOffset(ex.getUpdateCounts());
+                throw new ScriptExecutionException(
+                        pendingFirstIndex + offset,
+                        pending.get(offset),
+                        committedStatementCount,
+                        ex);
+
+            } catch (SQLException ex) {
+                throw new ScriptExecutionException(
+                        pendingFirstIndex, pending.get(0), committedStatementCount, ex);
+
+            } finally {
+                pending.clear();
+            }
+        }
+    }
+}
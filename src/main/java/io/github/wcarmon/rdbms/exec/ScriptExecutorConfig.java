@@ -0,0 +1,54 @@
+package io.github.wcarmon.rdbms.exec;
+
+import lombok.Builder;
+
+/**
+ * Tuning for {@link ScriptExecutor}
+ *
+ * @param batchSize             max consecutive DML statements per JDBC batch
+ * @param commitEveryBytes      commit once this many (UTF-8) bytes executed since last commit
+ * @param commitEveryStatements commit once this many statements executed since last commit
+ * @param maxStatements         stop after this many statements, zero means unlimited
+ */
+@Builder
+public record ScriptExecutorConfig(
+        int batchSize,
+        long commitEveryBytes,
+        int commitEveryStatements,
+        long maxStatements) {
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final long DEFAULT_COMMIT_EVERY_BYTES = 16L * 1024 * 1024;
+    public static final int DEFAULT_COMMIT_EVERY_STATEMENTS = 10_000;
+
+    /** Defaults and Validation */
+    public ScriptExecutorConfig {
+        batchSize = batchSize == 0 ? DEFAULT_BATCH_SIZE : batchSize;
+        commitEveryBytes = commitEveryBytes == 0 ? DEFAULT_COMMIT_EVERY_BYTES : commitEveryBytes;
+        commitEveryStatements = commitEveryStatements == 0
+                ? DEFAULT_COMMIT_EVERY_STATEMENTS
+                : commitEveryStatements;
+
+        if (batchSize < 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        if (commitEveryBytes < 0) {
+            throw new IllegalArgumentException("commitEveryBytes must be positive");
+        }
+        if (commitEveryStatements < 0) {
+            throw new IllegalArgumentException("commitEveryStatements must be positive");
+        }
+        if (maxStatements < 0) {
+            throw new IllegalArgumentException("maxStatements must be non-negative");
+        }
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return config with all defaults
+     */
+    public static ScriptExecutorConfig defaults() {
+        return new ScriptExecutorConfig(0, 0, 0, 0);
+    }
+}
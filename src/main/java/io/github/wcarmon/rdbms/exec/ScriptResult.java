@@ -0,0 +1,21 @@
+package io.github.wcarmon.rdbms.exec;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+
+/**
+ * Summary of a successful script execution
+ *
+ * @param statementCount statements executed
+ * @param bytes          UTF-8 bytes executed
+ * @param chunkCount     transactions committed
+ * @param elapsed        total wall time
+ */
+public record ScriptResult(long statementCount, long bytes, long chunkCount, Duration elapsed) {
+
+    /** Create new instance */
+    public ScriptResult {
+        requireNonNull(elapsed, "elapsed is required and null.");
+    }
+}
@@ -0,0 +1,200 @@
+package io.github.wcarmon.rdbms.metrics;
+
+import static java.util.Objects.requireNonNull;
+
+import io.github.wcarmon.rdbms.DAOOperation;
+import io.github.wcarmon.rdbms.util.LatencyHistogram;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.sql.DataSource;
+
+/**
+ * Latency, call, error and row counts per {@link DAOOperation}.
+ *
+ * <p>Lock-free: striped counters ({@link LongAdder}) and fixed-size histograms,
+ * no allocation on the record path, cheap enough to leave on in production.
+ *
+ * <p>Typical usage:
+ * <pre>{@code
+ * final var start = System.nanoTime();
+ * try {
+ *     final var rows = ...;
+ *     metrics.recordSuccess(DAOOperation.LIST, start, rows.size());
+ * } catch (Exception ex) {
+ *     metrics.recordFailure(DAOOperation.LIST, start);
+ *     throw ex;
+ * }
+ * }</pre>
+ *
+ * <p>Thread safe.
+ */
+public final class DAOMetrics {
+
+    private final LatencyHistogram connectLatency = new LatencyHistogram();
+    private final LatencyHistogram executeLatency = new LatencyHistogram();
+    private final OperationRecorder[] recorders;
+
+    private volatile long windowStartNanos = System.nanoTime();
+
+    /** Create new instance */
+    public DAOMetrics() {
+        final var ops = DAOOperation.values();
+        recorders = new OperationRecorder[ops.length];
+        for (final var op : ops) {
+            recorders[op.ordinal()] = new OperationRecorder();
+        }
+    }
+
+    /**
+     * Record time to acquire a connection
+     *
+     * @param startNanos from {@link System#nanoTime()}, before acquiring
+     */
+    public void recordConnectionAcquired(long startNanos) {
+        connectLatency.recordSince(startNanos);
+    }
+
+    /**
+     * Record time in one statement execute call
+     *
+     * @param startNanos from {@link System#nanoTime()}, before executing
+     */
+    public void recordExecution(long startNanos) {
+        executeLatency.recordSince(startNanos);
+    }
+
+    /**
+     * Record a failed call
+     *
+     * @param operation  which operation
+     * @param startNanos from {@link System#nanoTime()}, before the call
+     */
+    public void recordFailure(DAOOperation operation, long startNanos) {
+        requireNonNull(operation, "operation is required and null.");
+
+        final var recorder = recorders[operation.ordinal()];
+        recorder.latency.recordSince(startNanos);
+        recorder.calls.increment();
+        recorder.errors.increment();
+    }
+
+    /**
+     * Record a successful call
+     *
+     * @param operation  which operation
+     * @param startNanos from {@link System#nanoTime()}, before the call
+     * @param rowCount   rows read or written
+     */
+    public void recordSuccess(DAOOperation operation, long startNanos, long rowCount) {
+        requireNonNull(operation, "operation is required and null.");
+        if (rowCount < 0) {
+            throw new IllegalArgumentException("rowCount must be non-negative");
+        }
+
+        final var recorder = recorders[operation.ordinal()];
+        recorder.latency.recordSince(startNanos);
+        recorder.calls.increment();
+        if (rowCount > 0) {
+            recorder.rows.add(rowCount);
+        }
+    }
+
+    /** Clear everything and start a new window */
+    public void reset() {
+        snapshotAndReset();
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return metrics since creation or last reset
+     */
+    public DAOMetricsSnapshot snapshot() {
+        return buildSnapshot(false);
+    }
+
+    /**
+     * Snapshot, then start a new window, eg. once per scrape interval.
+     *
+     * <p>Samples recorded concurrently land in exactly one window,
+     * though maybe not the same window for every counter.
+     *
+     * @return metrics since creation or last reset
+     */
+    public DAOMetricsSnapshot snapshotAndReset() {
+        return buildSnapshot(true);
+    }
+
+    /**
+     * Time connection acquisition and statement execution for everything using the
+     * returned DataSource
+     *
+     * @param delegate typically a connection pool
+     * @return wrapper which records into this
+     */
+    public TimingDataSource wrap(DataSource delegate) {
+        return new TimingDataSource(delegate, this);
+    }
+
+    /**
+     * Same as {@link #wrap(DataSource)}, also recording per sql fingerprint
+     *
+     * @param delegate   typically a connection pool
+     * @param statements receives timings per sql fingerprint
+     * @return wrapper which records into this and statements
+     */
+    public TimingDataSource wrap(DataSource delegate, TopStatements statements) {
+        requireNonNull(statements, "statements is required and null.");
+
+        return new TimingDataSource(delegate, this, statements);
+    }
+
+    private DAOMetricsSnapshot buildSnapshot(boolean reset) {
+        final var nowNanos = System.nanoTime();
+        final var window = Duration.ofNanos(nowNanos - windowStartNanos);
+        if (reset) {
+            windowStartNanos = nowNanos;
+        }
+
+        final var ops = new EnumMap<DAOOperation, OperationSnapshot>(DAOOperation.class);
+        for (final var op : DAOOperation.values()) {
+            ops.put(op, recorders[op.ordinal()].snapshot(op, window, reset));
+        }
+
+        return new DAOMetricsSnapshot(
+                ops,
+                reset ? connectLatency.snapshotAndReset() : connectLatency.snapshot(),
+                reset ? executeLatency.snapshotAndReset() : executeLatency.snapshot(),
+                window);
+    }
+
+    /** Counters for one operation */
+    private static final class OperationRecorder {
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder rows = new LongAdder();
+
+        OperationSnapshot snapshot(DAOOperation op, Duration window, boolean reset) {
+            if (reset) {
+                return new OperationSnapshot(
+                        op,
+                        calls.sumThenReset(),
+                        errors.sumThenReset(),
+                        rows.sumThenReset(),
+                        latency.snapshotAndReset(),
+                        window);
+            }
+
+            return new OperationSnapshot(
+                    op,
+                    calls.sum(),
+                    errors.sum(),
+                    rows.sum(),
+                    latency.snapshot(),
+                    window);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.wcarmon.rdbms.metrics;
+
+import static java.util.Objects.requireNonNull;
+
+import io.github.wcarmon.rdbms.DAOOperation;
+import io.github.wcarmon.rdbms.util.LatencySnapshot;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Point-in-time copy of {@link DAOMetrics}
+ *
+ * @param operations     one entry per DAOOperation
+ * @param connectLatency time to acquire connections, via {@link TimingDataSource}
+ * @param executeLatency time in statement execute calls, via {@link TimingDataSource}
+ * @param window         time since creation or last reset
+ */
+public record DAOMetricsSnapshot(
+        Map<DAOOperation, OperationSnapshot> operations,
+        LatencySnapshot connectLatency,
+        LatencySnapshot executeLatency,
+        Duration window) {
+
+    /** Create new instance */
+    public DAOMetricsSnapshot {
+        requireNonNull(connectLatency, "connectLatency is required and null.");
+        requireNonNull(executeLatency, "executeLatency is required and null.");
+        requireNonNull(operations, "operations is required and null.");
+        requireNonNull(window, "window is required and null.");
+
+        final var copy = new EnumMap<DAOOperation, OperationSnapshot>(DAOOperation.class);
+        copy.putAll(operations);
+        operations = Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Simple getter
+     *
+     * @param operation which operation
+     * @return metrics for operation
+     */
+    public OperationSnapshot operation(DAOOperation operation) {
+        requireNonNull(operation, "operation is required and null.");
+
+        final var out = operations.get(operation);
+        if (out == null) {
+            throw new IllegalArgumentException("No metrics for operation: " + operation);
+        }
+
+        return out;
+    }
+}
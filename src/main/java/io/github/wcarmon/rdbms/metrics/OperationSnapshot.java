@@ -0,0 +1,60 @@
+package io.github.wcarmon.rdbms.metrics;
+
+import static java.util.Objects.requireNonNull;
+
+import io.github.wcarmon.rdbms.DAOOperation;
+import io.github.wcarmon.rdbms.util.LatencySnapshot;
+import java.time.Duration;
+
+/**
+ * Point-in-time metrics for one {@link DAOOperation}
+ *
+ * @param operation  which operation
+ * @param callCount  calls, including failures
+ * @param errorCount failed calls
+ * @param rowCount   rows read or written by successful calls
+ * @param latency    per call, including failures
+ * @param window     time since creation or last reset
+ */
+public record OperationSnapshot(
+        DAOOperation operation,
+        long callCount,
+        long errorCount,
+        long rowCount,
+        LatencySnapshot latency,
+        Duration window) {
+
+    /** Create new instance */
+    public OperationSnapshot {
+        requireNonNull(latency, "latency is required and null.");
+        requireNonNull(operation, "operation is required and null.");
+        requireNonNull(window, "window is required and null.");
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return calls per second over the window
+     */
+    public double callsPerSecond() {
+        return callCount * 1_000_000_000.0 / Math.max(1L, window.toNanos());
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return fraction of calls which failed, zero when idle
+     */
+    public double errorRate() {
+        return callCount == 0 ? 0 : (double) errorCount / callCount;
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return rows per second over the window
+     */
+    public double rowsPerSecond() {
+        return rowCount * 1_000_000_000.0 / Math.max(1L, window.toNanos());
+    }
+}
@@ -0,0 +1,47 @@
+package io.github.wcarmon.rdbms.metrics;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+
+/**
+ * Point-in-time stats for one statement fingerprint in {@link TopStatements}
+ *
+ * @param fingerprint  normalized sql, see {@link io.github.wcarmon.rdbms.parse.SQLFingerprinter}
+ * @param count        executions while tracked
+ * @param totalNanos   time in execute calls, may overestimate by at most errorNanos
+ * @param maxNanos     slowest execution while tracked
+ * @param rowCount     rows written (update counts) while tracked
+ * @param errorNanos   totalNanos inherited from the evicted fingerprint, zero when exact
+ */
+public record StatementStats(
+        String fingerprint,
+        long count,
+        long totalNanos,
+        long maxNanos,
+        long rowCount,
+        long errorNanos) {
+
+    /** Create new instance */
+    public StatementStats {
+        requireNonNull(fingerprint, "fingerprint is required and null.");
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return mean time per tracked execution
+     */
+    public Duration mean() {
+        return Duration.ofNanos(count == 0 ? 0 : (totalNanos - errorNanos) / count);
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return totalNanos as a Duration
+     */
+    public Duration total() {
+        return Duration.ofNanos(totalNanos);
+    }
+}
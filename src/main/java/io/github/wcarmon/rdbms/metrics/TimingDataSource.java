@@ -0,0 +1,237 @@
+package io.github.wcarmon.rdbms.metrics;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * DataSource wrapper which records connection acquisition and statement execution
+ * separately, into a {@link DAOMetrics}.
+ *
+ * <p>Execution covers the execute* call only (eg. executeQuery returns after the first
+ * fetch), not iterating the ResultSet.
+ *
+ * <p>With {@link TopStatements}, each execution is also recorded by sql fingerprint, with
+ * update counts as rows (sql added via Statement.addBatch(String) is not tracked).
+ *
+ * <p>Thread safe when the delegate is.
+ */
+public final class TimingDataSource implements DataSource {
+
+    private final DataSource delegate;
+    private final DAOMetrics metrics;
+
+    @Nullable
+    private final TopStatements statements;
+
+    /**
+     * Create new instance
+     *
+     * @param delegate typically a connection pool
+     * @param metrics  receives timings
+     */
+    public TimingDataSource(DataSource delegate, DAOMetrics metrics) {
+        this(delegate, metrics, null);
+    }
+
+    /**
+     * Create new instance
+     *
+     * @param delegate   typically a connection pool
+     * @param metrics    receives timings
+     * @param statements optional, receives timings per sql fingerprint
+     */
+    public TimingDataSource(
+            DataSource delegate,
+            DAOMetrics metrics,
+            @Nullable TopStatements statements) {
+
+        requireNonNull(delegate, "delegate is required and null.");
+        requireNonNull(metrics, "metrics is required and null.");
+
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.statements = statements;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * Simple getter
+     *
+     * @param name method name
+     * @return true for methods which run sql
+     */
+    static boolean isExecute(String name) {
+        return name.startsWith("execute");
+    }
+
+    /**
+     * Simple getter
+     *
+     * @param result from an execute* call
+     * @return update count(s), zero for queries and unknown counts
+     */
+    static long rowCount(Object result) {
+        if (result instanceof Integer n) {
+            return Math.max(0, n);
+        }
+        if (result instanceof Long n) {
+            return Math.max(0, n);
+        }
+
+        long sum = 0;
+        if (result instanceof int[] counts) {
+            for (final var n : counts) {
+                sum += Math.max(0, n);
+            }
+        } else if (result instanceof long[] counts) {
+            for (final var n : counts) {
+                sum += Math.max(0, n);
+            }
+        }
+
+        return sum;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        final var startNanos = System.nanoTime();
+        final var conn = delegate.getConnection();
+        metrics.recordConnectionAcquired(startNanos);
+
+        return wrap(conn);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        final var startNanos = System.nanoTime();
+        final var conn = delegate.getConnection(username, password);
+        metrics.recordConnectionAcquired(startNanos);
+
+        return wrap(conn);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return delegate.getLoginTimeout();
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return delegate.getLogWriter();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return delegate.getParentLogger();
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || delegate.isWrapperFor(iface);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        delegate.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        delegate.setLogWriter(out);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+
+        return delegate.unwrap(iface);
+    }
+
+    private Connection wrap(Connection conn) {
+        final InvocationHandler handler = (proxy, method, args) -> {
+            final var out = invoke(conn, method, args);
+
+            // -- prepareStatement and prepareCall: sql is the first argument
+            final var preparedSql = args != null && args.length > 0 && args[0] instanceof String sql
+                    ? sql
+                    : null;
+
+            // -- Statements returned by createStatement, prepareStatement, prepareCall
+            if (out instanceof CallableStatement cs) {
+                return wrapStatement(cs, CallableStatement.class, preparedSql);
+            }
+            if (out instanceof PreparedStatement ps) {
+                return wrapStatement(ps, PreparedStatement.class, preparedSql);
+            }
+            if (out instanceof Statement s) {
+                return wrapStatement(s, Statement.class, null);
+            }
+
+            return out;
+        };
+
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                handler);
+    }
+
+    private <S extends Statement> S wrapStatement(
+            S stmt,
+            Class<S> iface,
+            @Nullable String preparedSql) {
+
+        final InvocationHandler handler = (proxy, method, args) -> {
+            if (!isExecute(method.getName())) {
+                return invoke(stmt, method, args);
+            }
+
+            // -- Statement.execute*(sql, ...) carries its own sql
+            final var sql = args != null && args.length > 0 && args[0] instanceof String s
+                    ? s
+                    : preparedSql;
+
+            final var startNanos = System.nanoTime();
+            Object out = null;
+            try {
+                out = invoke(stmt, method, args);
+                return out;
+
+            } finally {
+                metrics.recordExecution(startNanos);
+                if (statements != null && sql != null) {
+                    statements.recordSince(sql, startNanos, rowCount(out));
+                }
+            }
+        };
+
+        return iface.cast(Proxy.newProxyInstance(
+                iface.getClassLoader(),
+                new Class<?>[]{iface},
+                handler));
+    }
+}
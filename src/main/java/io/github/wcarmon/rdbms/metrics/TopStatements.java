@@ -0,0 +1,243 @@
+package io.github.wcarmon.rdbms.metrics;
+
+import static java.util.Objects.requireNonNull;
+
+import io.github.wcarmon.rdbms.parse.SQLFingerprinter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded top-N statement stats by fingerprint: which query shapes dominate database time.
+ *
+ * <p>Weighted space-saving sketch: at most capacity fingerprints are tracked. A new
+ * fingerprint, when full, replaces the one with the least total time and inherits that
+ * total as its error bound (see {@link StatementStats#errorNanos()}). Any fingerprint
+ * with more than 1/capacity of the total time is guaranteed to be tracked.
+ *
+ * <p>Memory is fixed regardless of query variety. Record is O(log capacity) under a lock
+ * (fingerprints are cached by identity in {@link SQLFingerprinter}).
+ *
+ * <p>Thread safe.
+ */
+public final class TopStatements {
+
+    public static final int DEFAULT_CAPACITY = 200;
+
+    private final int capacity;
+    private final SQLFingerprinter fingerprinter;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Guarded by lock, min-heap on totalNanos */
+    private final Counter[] heap;
+
+    /** Guarded by lock, fingerprint to counter */
+    private final Map<String, Counter> index;
+
+    /** Guarded by lock */
+    private int size;
+
+    /** Create new instance, with default capacity */
+    public TopStatements() {
+        this(DEFAULT_CAPACITY, new SQLFingerprinter());
+    }
+
+    /**
+     * Create new instance
+     *
+     * @param capacity      max fingerprints tracked
+     * @param fingerprinter normalizes sql, share one to share its cache
+     */
+    public TopStatements(int capacity, SQLFingerprinter fingerprinter) {
+        requireNonNull(fingerprinter, "fingerprinter is required and null.");
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+
+        this.capacity = capacity;
+        this.fingerprinter = fingerprinter;
+        this.heap = new Counter[capacity];
+        this.index = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * Record one execution
+     *
+     * @param sql          as executed, normalized here
+     * @param elapsedNanos time in the execute call
+     * @param rowCount     rows written, zero when unknown
+     */
+    public void record(String sql, long elapsedNanos, long rowCount) {
+        requireNonNull(sql, "sql is required and null.");
+        if (elapsedNanos < 0) {
+            throw new IllegalArgumentException("elapsedNanos must be non-negative");
+        }
+        if (rowCount < 0) {
+            throw new IllegalArgumentException("rowCount must be non-negative");
+        }
+
+        final var fingerprint = fingerprinter.fingerprint(sql);
+
+        lock.lock();
+        try {
+            var counter = index.get(fingerprint);
+            if (counter == null) {
+                counter = track(fingerprint);
+            }
+
+            counter.count++;
+            counter.maxNanos = Math.max(counter.maxNanos, elapsedNanos);
+            counter.rowCount += rowCount;
+            counter.totalNanos += elapsedNanos;
+
+            siftDown(counter.heapIndex);
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Record one execution, see {@link #record(String, long, long)}
+     *
+     * @param sql        as executed
+     * @param startNanos from {@link System#nanoTime()}, before executing
+     * @param rowCount   rows written, zero when unknown
+     */
+    public void recordSince(String sql, long startNanos, long rowCount) {
+        record(sql, Math.max(0, System.nanoTime() - startNanos), rowCount);
+    }
+
+    /** Forget everything */
+    public void reset() {
+        lock.lock();
+        try {
+            index.clear();
+            for (int i = 0; i < size; i++) {
+                heap[i] = null;
+            }
+            size = 0;
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Simple getter
+     *
+     * @param n max entries
+     * @return fingerprints with the most total time, descending
+     */
+    public List<StatementStats> top(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must be non-negative");
+        }
+
+        final var out = new ArrayList<StatementStats>();
+        lock.lock();
+        try {
+            for (int i = 0; i < size; i++) {
+                final var c = heap[i];
+                out.add(new StatementStats(
+                        c.fingerprint, c.count, c.totalNanos, c.maxNanos, c.rowCount, c.errorNanos));
+            }
+
+        } finally {
+            lock.unlock();
+        }
+
+        out.sort(Comparator.comparingLong(StatementStats::totalNanos).reversed());
+        return List.copyOf(out.subList(0, Math.min(n, out.size())));
+    }
+
+    /** Caller holds lock */
+    private void siftDown(int i) {
+        final var moving = heap[i];
+        while (true) {
+            final var left = 2 * i + 1;
+            if (left >= size) {
+                break;
+            }
+
+            final var right = left + 1;
+            final var child = right < size && heap[right].totalNanos < heap[left].totalNanos
+                    ? right
+                    : left;
+
+            if (heap[child].totalNanos >= moving.totalNanos) {
+                break;
+            }
+
+            heap[i] = heap[child];
+            heap[i].heapIndex = i;
+            i = child;
+        }
+
+        heap[i] = moving;
+        moving.heapIndex = i;
+    }
+
+    /** Caller holds lock */
+    private void siftUp(int i) {
+        final var moving = heap[i];
+        while (i > 0) {
+            final var parent = (i - 1) / 2;
+            if (heap[parent].totalNanos <= moving.totalNanos) {
+                break;
+            }
+
+            heap[i] = heap[parent];
+            heap[i].heapIndex = i;
+            i = parent;
+        }
+
+        heap[i] = moving;
+        moving.heapIndex = i;
+    }
+
+    /** Caller holds lock */
+    private Counter track(String fingerprint) {
+        final var counter = new Counter(fingerprint);
+
+        if (size < capacity) {
+            heap[size] = counter;
+            counter.heapIndex = size;
+            size++;
+            siftUp(counter.heapIndex);
+
+        } else {
+            // -- space-saving: replace the minimum, inherit its total as error
+            final var evicted = heap[0];
+            index.remove(evicted.fingerprint);
+
+            counter.errorNanos = evicted.totalNanos;
+            counter.totalNanos = evicted.totalNanos;
+            heap[0] = counter;
+            counter.heapIndex = 0;
+        }
+
+        index.put(fingerprint, counter);
+        return counter;
+    }
+
+    /** Mutable stats for one fingerprint, guarded by lock */
+    private static final class Counter {
+
+        final String fingerprint;
+
+        long count;
+        long errorNanos;
+        int heapIndex;
+        long maxNanos;
+        long rowCount;
+        long totalNanos;
+
+        Counter(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package io.github.wcarmon.rdbms.paging;
+
+import static java.util.Objects.requireNonNull;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Parameterized clause text for one sort-column shape, shared across requests.
+ *
+ * <p>Immutable and thread safe. Only values are bound per request.
+ *
+ * <p>Usage:
+ * <pre>
+ *   SELECT ... FROM t WHERE (caller predicates) AND {seekPredicateSql} {orderByLimitSql}
+ * </pre>
+ * bind caller values, then {@link #bindSeekPredicate}, then {@link #bindLimitOffset}.
+ */
+public final class CompiledPagination {
+
+    private final boolean keyset;
+    private final String orderByLimitSql;
+    private final int[] seekParameterIndexes;
+
+    @Nullable
+    private final String seekPredicateSql;
+
+    CompiledPagination(
+            String orderByLimitSql,
+            @Nullable String seekPredicateSql,
+            int[] seekParameterIndexes) {
+        requireNonNull(orderByLimitSql, "orderByLimitSql is required and null.");
+        requireNonNull(seekParameterIndexes, "seekParameterIndexes is required and null.");
+
+        this.keyset = seekPredicateSql != null;
+        this.orderByLimitSql = orderByLimitSql;
+        this.seekParameterIndexes = seekParameterIndexes;
+        this.seekPredicateSql = seekPredicateSql;
+    }
+
+    /**
+     * Bind limit (and offset in offset mode), matching {@link #orderByLimitSql()}
+     *
+     * @param ps         target
+     * @param startIndex jdbc parameter index for the first "?", from one
+     * @param pagination values to bind, same shape as compiled
+     * @return next unused parameter index
+     * @throws SQLException from the driver
+     */
+    public int bindLimitOffset(PreparedStatement ps, int startIndex, Pagination pagination)
+            throws SQLException {
+        requireNonNull(ps, "ps is required and null.");
+        requireNonNull(pagination, "pagination is required and null.");
+
+        int index = startIndex;
+        ps.setLong(index++, pagination.limit());
+        if (!keyset) {
+            ps.setLong(index++, pagination.offset());
+        }
+
+        return index;
+    }
+
+    /**
+     * Bind cursor values, matching {@link #seekPredicateSql()}; no-op in offset mode
+     *
+     * @param ps         target
+     * @param startIndex jdbc parameter index for the first "?", from one
+     * @param pagination values to bind, same shape as compiled
+     * @return next unused parameter index
+     * @throws SQLException from the driver
+     */
+    public int bindSeekPredicate(PreparedStatement ps, int startIndex, Pagination pagination)
+            throws SQLException {
+        requireNonNull(ps, "ps is required and null.");
+        requireNonNull(pagination, "pagination is required and null.");
+
+        final var after = pagination.after();
+        if (!keyset || after == null) {
+            return startIndex;
+        }
+
+        final var values = after.values();
+        int index = startIndex;
+        for (final var valueIndex : seekParameterIndexes) {
+            ps.setObject(index++, values.get(valueIndex));
+        }
+
+        return index;
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return true when compiled for keyset mode
+     */
+    public boolean isKeyset() {
+        return keyset;
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return eg. "ORDER BY a ASC, b DESC LIMIT ? OFFSET ?" (offset mode)
+     *     or "ORDER BY a ASC, b DESC LIMIT ?" (keyset mode)
+     */
+    public String orderByLimitSql() {
+        return orderByLimitSql;
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return eg. "(a, b) &gt; (?, ?)", null in offset mode
+     */
+    @Nullable
+    public String seekPredicateSql() {
+        return seekPredicateSql;
+    }
+
+    @Override
+    public String toString() {
+        return seekPredicateSql == null
+                ? orderByLimitSql
+                : "WHERE " + seekPredicateSql + " " + orderByLimitSql;
+    }
+}
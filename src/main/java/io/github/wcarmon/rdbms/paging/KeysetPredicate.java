@@ -0,0 +1,162 @@
+package io.github.wcarmon.rdbms.paging;
+
+import static java.util.Objects.requireNonNull;
+
+import io.github.wcarmon.rdbms.util.SQLIdentifiers;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parameterized WHERE clause fragment which seeks past a {@link PageCursor}.
+ *
+ * <p>When every column sorts the same direction, uses a row-value comparison,
+ * eg. "(a, b) &gt; (?, ?)", which most databases can satisfy with one index range scan.
+ *
+ * <p>For mixed directions, expands to the equivalent
+ * "(a &gt; ?) OR (a = ? AND b &lt; ?)".
+ *
+ * <p>The last sort column should be unique (eg. primary key) so pages never overlap.
+ *
+ * @param sql        fragment without the WHERE keyword, eg. "(a, b) &gt; (?, ?)"
+ * @param parameters bind values, in order
+ */
+public record KeysetPredicate(String sql, List<Object> parameters) {
+
+    /** Create new instance */
+    public KeysetPredicate {
+        if (sql == null || sql.isBlank()) {
+            throw new IllegalArgumentException("sql is required");
+        }
+
+        requireNonNull(parameters, "parameters is required and null.");
+        parameters = List.copyOf(parameters);
+    }
+
+    /**
+     * Build predicate which selects rows strictly after the cursor
+     *
+     * @param columns sort columns
+     * @param after   values from the last row of the previous page
+     * @return new KeysetPredicate
+     */
+    public static KeysetPredicate of(List<SortColumn> columns, PageCursor after) {
+        requireNonNull(columns, "columns is required and null.");
+        requireNonNull(after, "after is required and null.");
+
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("keyset predicate requires at least one column");
+        }
+        if (columns.size() != after.values().size()) {
+            throw new IllegalArgumentException("cursor requires exactly one value per sort column");
+        }
+
+        for (final var col : columns) {
+            SQLIdentifiers.requireIdentifier(col.name());
+        }
+
+        final var indexes = parameterIndexes(columns);
+        final var params = new ArrayList<>(indexes.length);
+        for (final var index : indexes) {
+            params.add(after.values().get(index));
+        }
+
+        return new KeysetPredicate(sql(columns), params);
+    }
+
+    private static boolean isUniform(List<SortColumn> columns) {
+        final var direction = columns.get(0).direction();
+        for (final var col : columns) {
+            if (col.direction() != direction) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static String operator(SortDirection direction) {
+        return direction.isAscending() ? " > " : " < ";
+    }
+
+    /**
+     * Maps bind position to cursor value position.
+     *
+     * <p>Same as cursor order for row-value comparisons,
+     * repeats leading values for expanded (mixed direction) predicates.
+     *
+     * @param columns non-empty, validated sort columns
+     * @return cursor value index for each "?" in {@link #sql(List)}
+     */
+    static int[] parameterIndexes(List<SortColumn> columns) {
+        final var n = columns.size();
+        if (n == 1 || isUniform(columns)) {
+            final var out = new int[n];
+            for (int i = 0; i < n; i++) {
+                out[i] = i;
+            }
+            return out;
+        }
+
+        final var out = new int[n * (n + 1) / 2];
+        int pos = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j <= i; j++) {
+                out[pos++] = j;
+            }
+        }
+
+        return out;
+    }
+
+    /**
+     * Predicate text, without values
+     *
+     * @param columns non-empty, validated sort columns
+     * @return eg. "(a, b) &gt; (?, ?)"
+     */
+    static String sql(List<SortColumn> columns) {
+        final var n = columns.size();
+        if (n == 1) {
+            final var col = columns.get(0);
+            return col.name() + operator(col.direction()) + "?";
+        }
+
+        if (isUniform(columns)) {
+            final var sb = new StringBuilder(16 * n);
+            sb.append('(');
+            for (int i = 0; i < n; i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append(columns.get(i).name());
+            }
+
+            sb.append(')').append(operator(columns.get(0).direction())).append('(');
+            for (int i = 0; i < n; i++) {
+                sb.append(i == 0 ? "?" : ", ?");
+            }
+            sb.append(')');
+
+            return sb.toString();
+        }
+
+        final var sb = new StringBuilder(32 * n * n);
+        sb.append('(');
+        for (int i = 0; i < n; i++) {
+            if (i > 0) {
+                sb.append(" OR ");
+            }
+
+            sb.append('(');
+            for (int j = 0; j < i; j++) {
+                sb.append(columns.get(j).name()).append(" = ? AND ");
+            }
+
+            final var col = columns.get(i);
+            sb.append(col.name()).append(operator(col.direction())).append("?)");
+        }
+        sb.append(')');
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,296 @@
+package io.github.wcarmon.rdbms.paging;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keyset (seek) position: the sort column values of the last row on the previous page.
+ *
+ * <p>Encodes to an opaque, compact, url-safe token.
+ * The token is bound to the shape of the sort columns (names and directions),
+ * so a token from one sort order cannot be replayed against another.
+ *
+ * @param values one per SortColumn, same order, non-null
+ */
+public record PageCursor(List<Object> values) {
+
+    /** Upper bound on accepted token length, guards against abuse */
+    public static final int MAX_TOKEN_LENGTH = 4096;
+
+    private static final byte TAG_BIG_DECIMAL = 'N';
+    private static final byte TAG_BOOLEAN = 'B';
+    private static final byte TAG_DOUBLE = 'D';
+    private static final byte TAG_INSTANT = 'I';
+    private static final byte TAG_LOCAL_DATE = 'd';
+    private static final byte TAG_LOCAL_DATE_TIME = 't';
+    private static final byte TAG_LONG = 'L';
+    private static final byte TAG_OFFSET_DATE_TIME = 'O';
+    private static final byte TAG_STRING = 'S';
+    private static final byte TAG_UUID = 'U';
+
+    private static final byte VERSION = 1;
+
+    /** Create new instance */
+    public PageCursor {
+        requireNonNull(values, "values is required and null.");
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("cursor requires at least one value");
+        }
+
+        // -- List.copyOf rejects null (keyset columns must be non-null)
+        values = List.copyOf(values);
+    }
+
+    /**
+     * Build a cursor from the last row of a page.
+     *
+     * @param values one per SortColumn, same order
+     * @return new PageCursor
+     */
+    public static PageCursor of(Object... values) {
+        requireNonNull(values, "values is required and null.");
+
+        return new PageCursor(List.of(values));
+    }
+
+    /**
+     * Parse an opaque token produced by {@link #encode(List)}
+     *
+     * @param token   from a client, eg. "?after=..."
+     * @param columns sort columns for the current request
+     * @return PageCursor or throw IllegalArgumentException
+     */
+    public static PageCursor decode(String token, List<SortColumn> columns) {
+        requireNonNull(columns, "columns is required and null.");
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("cursor token is required");
+        }
+        if (token.length() > MAX_TOKEN_LENGTH) {
+            throw new IllegalArgumentException("cursor token too long");
+        }
+
+        final byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token.strip());
+
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("invalid cursor token", ex);
+        }
+
+        try (final var in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            if (in.readByte() != VERSION) {
+                throw new IllegalArgumentException("unsupported cursor token version");
+            }
+
+            if (in.readInt() != shapeOf(columns)) {
+                throw new IllegalArgumentException("cursor token does not match sort columns");
+            }
+
+            final var count = in.readUnsignedByte();
+            if (count != columns.size()) {
+                throw new IllegalArgumentException("cursor token does not match sort columns");
+            }
+
+            final var values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                values.add(readValue(in));
+            }
+
+            if (in.available() > 0) {
+                throw new IllegalArgumentException("invalid cursor token: trailing bytes");
+            }
+
+            return new PageCursor(values);
+
+        } catch (IOException | DateTimeException | ArithmeticException ex) {
+            // -- crafted tokens can hold out of range dates or overflowing seconds/nanos
+            throw new IllegalArgumentException("invalid cursor token", ex);
+        }
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long raw = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final var b = in.readUnsignedByte();
+            raw |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                // -- zig-zag decode
+                return (raw >>> 1) ^ -(raw & 1);
+            }
+        }
+
+        throw new IllegalArgumentException("invalid cursor token: malformed number");
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        final var tag = in.readByte();
+        return switch (tag) {
+            case TAG_BIG_DECIMAL -> new BigDecimal(readString(in));
+            case TAG_BOOLEAN -> in.readBoolean();
+            case TAG_DOUBLE -> in.readDouble();
+            case TAG_INSTANT -> Instant.ofEpochSecond(readVarLong(in), readVarLong(in));
+            case TAG_LOCAL_DATE -> LocalDate.ofEpochDay(readVarLong(in));
+            case TAG_LOCAL_DATE_TIME -> LocalDateTime.ofEpochSecond(
+                    readVarLong(in), (int) readVarLong(in), ZoneOffset.UTC);
+            case TAG_LONG -> readVarLong(in);
+            case TAG_OFFSET_DATE_TIME -> {
+                final var instant = Instant.ofEpochSecond(readVarLong(in), readVarLong(in));
+                final var offset = ZoneOffset.ofTotalSeconds((int) readVarLong(in));
+                yield OffsetDateTime.ofInstant(instant, offset);
+            }
+            case TAG_STRING -> readString(in);
+            case TAG_UUID -> new UUID(in.readLong(), in.readLong());
+            default -> throw new IllegalArgumentException("invalid cursor token: unknown type");
+        };
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        final var len = readVarLong(in);
+        if (len < 0 || len > in.available()) {
+            throw new IllegalArgumentException("invalid cursor token: bad length");
+        }
+
+        final var bytes = new byte[(int) len];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param columns sort columns
+     * @return stable hash of column names and directions
+     */
+    static int shapeOf(List<SortColumn> columns) {
+        int out = 1;
+        for (final var col : columns) {
+            out = 31 * out + col.name().hashCode();
+            out = 31 * out + (col.direction().isAscending() ? 1 : 2);
+        }
+
+        return out;
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        final var bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value instanceof Long || value instanceof Integer
+                || value instanceof Short || value instanceof Byte) {
+            out.writeByte(TAG_LONG);
+            writeVarLong(out, ((Number) value).longValue());
+
+        } else if (value instanceof String s) {
+            out.writeByte(TAG_STRING);
+            writeString(out, s);
+
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeDouble(((Number) value).doubleValue());
+
+        } else if (value instanceof BigDecimal bd) {
+            out.writeByte(TAG_BIG_DECIMAL);
+            writeString(out, bd.toString());
+
+        } else if (value instanceof Boolean b) {
+            out.writeByte(TAG_BOOLEAN);
+            out.writeBoolean(b);
+
+        } else if (value instanceof UUID uuid) {
+            out.writeByte(TAG_UUID);
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+
+        } else if (value instanceof Instant instant) {
+            out.writeByte(TAG_INSTANT);
+            writeVarLong(out, instant.getEpochSecond());
+            writeVarLong(out, instant.getNano());
+
+        } else if (value instanceof OffsetDateTime odt) {
+            out.writeByte(TAG_OFFSET_DATE_TIME);
+            writeVarLong(out, odt.toEpochSecond());
+            writeVarLong(out, odt.getNano());
+            writeVarLong(out, odt.getOffset().getTotalSeconds());
+
+        } else if (value instanceof LocalDateTime ldt) {
+            out.writeByte(TAG_LOCAL_DATE_TIME);
+            writeVarLong(out, ldt.toEpochSecond(ZoneOffset.UTC));
+            writeVarLong(out, ldt.getNano());
+
+        } else if (value instanceof LocalDate ld) {
+            out.writeByte(TAG_LOCAL_DATE);
+            writeVarLong(out, ld.toEpochDay());
+
+        } else if (value instanceof java.sql.Timestamp ts) {
+            writeValue(out, ts.toLocalDateTime());
+
+        } else if (value instanceof java.sql.Date d) {
+            writeValue(out, d.toLocalDate());
+
+        } else {
+            throw new IllegalArgumentException(
+                    "Unsupported cursor value type: " + value.getClass().getName());
+        }
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        // -- zig-zag encode, so small negatives stay small
+        long raw = (value << 1) ^ (value >> 63);
+        while ((raw & ~0x7FL) != 0) {
+            out.writeByte((int) ((raw & 0x7F) | 0x80));
+            raw >>>= 7;
+        }
+
+        out.writeByte((int) raw);
+    }
+
+    /**
+     * Build an opaque token for clients, eg. "?after=..."
+     *
+     * @param columns sort columns, one per value
+     * @return url-safe token
+     */
+    public String encode(List<SortColumn> columns) {
+        requireNonNull(columns, "columns is required and null.");
+        if (columns.size() != values.size()) {
+            throw new IllegalArgumentException("cursor requires exactly one value per sort column");
+        }
+        if (values.size() > 255) {
+            throw new IllegalArgumentException("too many cursor values");
+        }
+
+        final var bytes = new ByteArrayOutputStream(16 + 16 * values.size());
+        try (final var out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeInt(shapeOf(columns));
+            out.writeByte(values.size());
+            for (final var value : values) {
+                writeValue(out, value);
+            }
+
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to encode cursor", ex);
+        }
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+}
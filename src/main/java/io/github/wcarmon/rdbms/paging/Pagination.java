@@ -14,15 +14,32 @@
 /**
  * Represents a "page" of results from a query
  *
- * @param offset  from zero
+ * <p>Two modes:
+ * <ul>
+ *     <li>offset: skip offset rows (cost grows with offset)</li>
+ *     <li>keyset: seek past the last row of the previous page (cost is flat), see
+ *     {@link #keysetPredicate()}</li>
+ * </ul>
+ *
+ * @param offset  from zero, must be zero in keyset mode
  * @param limit   page size
  * @param columns for sorting rows
+ * @param after   keyset cursor, null in offset mode
  */
-public record Pagination(long offset, long limit, List<SortColumn> columns) {
+public record Pagination(
+        long offset,
+        long limit,
+        List<SortColumn> columns,
+        @Nullable PageCursor after) {
 
     public static long DEFAULT_LIMIT = 100L;
     public static long DEFAULT_OFFSET = 0;
 
+    public static final String QUERY_PARAM_AFTER = "after";
+
+    /** Accepts any sort column name, like {@link #fromQueryParams} */
+    private static final PaginationQueryParser QUERY_PARSER = new PaginationQueryParser();
+
     /** Create new instance */
     @Builder
     public Pagination {
@@ -31,11 +48,31 @@ public record Pagination(long offset, long limit, List<SortColumn> columns) {
         requireNonNull(columns, "columns is required and null.");
 
         checkArgument(!columns.isEmpty(), "Pagination requires at least one column");
+
+        if (after != null) {
+            checkArgument(offset == 0, "offset must be zero when using a keyset cursor");
+            checkArgument(
+                    after.values().size() == columns.size(),
+                    "cursor requires exactly one value per sort column");
+        }
+    }
+
+    /**
+     * Create new instance, offset mode
+     *
+     * @param offset  from zero
+     * @param limit   page size
+     * @param columns for sorting rows
+     */
+    public Pagination(long offset, long limit, List<SortColumn> columns) {
+        this(offset, limit, columns, null);
     }
 
     /**
      * eg. "?limit=10&amp;offset=0&amp;columns=+name,-age"
      *
+     * <p>or keyset mode: "?limit=10&amp;columns=+name,-age&amp;after=..."
+     *
      * @param queryParams TODO
      * @return Pagination or null
      */
@@ -51,10 +88,25 @@ public static Pagination fromQueryParams(Map<String, List<String>> queryParams)
         final var m = new HashMap<String, List<String>>(queryParams.size());
         queryParams.forEach((k, v) -> m.put(k.toLowerCase(Locale.ROOT), v));
 
+        final var columns = parseSortColumns(m, "columns");
+
         return new Pagination(
                 parseLongQueryParam(m, "offset", 0),
                 parseLongQueryParam(m, "limit", DEFAULT_LIMIT),
-                parseSortColumns(m, "columns"));
+                columns,
+                parseCursor(m, QUERY_PARAM_AFTER, columns));
+    }
+
+    /**
+     * eg. "limit=10&amp;offset=0&amp;columns=+name,-age", without intermediate maps,
+     * see {@link PaginationQueryParser}
+     *
+     * @param query raw query string, leading '?' is optional
+     * @return Pagination or null
+     */
+    @Nullable
+    public static Pagination fromQueryString(CharSequence query) {
+        return QUERY_PARSER.parse(query);
     }
 
     private static void checkArgument(boolean expr, String msg) {
@@ -63,6 +115,28 @@ private static void checkArgument(boolean expr, String msg) {
         }
     }
 
+    @Nullable
+    private static PageCursor parseCursor(
+            Map<String, List<String>> queryParams, String key, List<SortColumn> columns) {
+
+        requireNonNull(queryParams, "queryParams is required and null.");
+        requireNonNull(columns, "columns is required and null.");
+
+        final var values = queryParams.get(key);
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+
+        checkArgument(values.size() == 1, "exactly one value required for " + key);
+        final var s = values.get(0);
+        if (s == null || s.isBlank()) {
+            return null;
+        }
+
+        checkArgument(!columns.isEmpty(), "Pagination requires at least one column");
+        return PageCursor.decode(s, columns);
+    }
+
     private static long parseLongQueryParam(
             Map<String, List<String>> queryParams, String key, long defaultValue) {
 
@@ -127,6 +201,28 @@ private static List<SortColumn> parseSortColumns(
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Build the next page in keyset mode
+     *
+     * @param lastRow sort column values from the last row of this page
+     * @return next page, seeking past lastRow
+     */
+    public Pagination after(PageCursor lastRow) {
+        requireNonNull(lastRow, "lastRow is required and null.");
+
+        return new Pagination(0, limit, columns, lastRow);
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return opaque token for the "after" query param, or null in offset mode
+     */
+    @Nullable
+    public String afterToken() {
+        return after == null ? null : after.encode(columns);
+    }
+
     /**
      * Simple getter
      *
@@ -135,4 +231,23 @@ private static List<SortColumn> parseSortColumns(
     public Pagination firstPage() {
         return new Pagination(0, limit, List.copyOf(columns));
     }
+
+    /**
+     * Simple getter
+     *
+     * @return true when seeking with a keyset cursor, false for offset mode
+     */
+    public boolean isKeyset() {
+        return after != null;
+    }
+
+    /**
+     * Build the WHERE clause fragment for keyset mode, eg. "(a, b) &gt; (?, ?)"
+     *
+     * @return predicate or null in offset mode (or first keyset page)
+     */
+    @Nullable
+    public KeysetPredicate keysetPredicate() {
+        return after == null ? null : KeysetPredicate.of(columns, after);
+    }
 }
@@ -0,0 +1,648 @@
+package io.github.wcarmon.rdbms.paging;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+import io.github.wcarmon.rdbms.util.SQLIdentifiers;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Parses {@link Pagination} directly from a raw query string,
+ * eg. "limit=10&amp;offset=0&amp;columns=+name,-age".
+ *
+ * <p>One pass over the query records where each pagination value starts and ends, then
+ * each value is decoded in place: no intermediate map, list, split array or substring.
+ * Unrelated params are skipped without allocating.
+ *
+ * <p>With a whitelist, sort column names resolve to the shared whitelisted String (same
+ * matching as {@link PaginationSQLCompiler#resolveName}), so a typical call allocates
+ * only the result: the Pagination, its SortColumns and their list.
+ *
+ * <p>Validation and error messages match {@link Pagination#fromQueryParams}. Decoding:
+ * <ul>
+ *     <li>'+' is literal (not a space), so "+name" and "%2Bname" both sort ascending</li>
+ *     <li>%XX escapes are decoded as UTF-8 (those values take a slower, allocating path)</li>
+ *     <li>keys are case-insensitive; like the lowercased map in fromQueryParams, when keys
+ *     differ only by case the one which first appears last wins, eg. "limit=1&amp;LIMIT=2"
+ *     is limit 2, while "limit=1&amp;limit=2" is a repeat</li>
+ * </ul>
+ *
+ * <p>Immutable, thread safe.
+ */
+public final class PaginationQueryParser {
+
+    /** Same (decoded) key as the current value */
+    private static final int GROUP_SAME = 0;
+
+    /** Key first seen after the current value's key, replaces it */
+    private static final int GROUP_NEW = 1;
+
+    /** Key first seen before the current value's key, ignored */
+    private static final int GROUP_OLDER = 2;
+
+    private static final int KEY_AFTER = 0;
+    private static final int KEY_COLUMNS = 1;
+    private static final int KEY_LIMIT = 2;
+    private static final int KEY_OFFSET = 3;
+    private static final int KEY_OTHER = -1;
+
+    /** lowercase name to whitelisted name, null without a whitelist */
+    @Nullable
+    private final Map<String, String> lowerCaseNames;
+
+    private final int mask;
+
+    /**
+     * whitelisted names, open addressing on the ascii case-insensitive hash,
+     * null without a whitelist
+     */
+    @Nullable
+    private final String[] names;
+
+    /** Create new instance, accepts any sort column name (like {@link Pagination#fromQueryParams}) */
+    public PaginationQueryParser() {
+        this.lowerCaseNames = null;
+        this.mask = 0;
+        this.names = null;
+    }
+
+    /**
+     * Create new instance
+     *
+     * @param allowedColumns whitelist of sortable column names for one table
+     */
+    public PaginationQueryParser(Collection<String> allowedColumns) {
+        requireNonNull(allowedColumns, "allowedColumns is required and null.");
+        if (allowedColumns.isEmpty()) {
+            throw new IllegalArgumentException("allowedColumns is required");
+        }
+
+        int size = 2;
+        while (size < allowedColumns.size() * 2) {
+            size <<= 1;
+        }
+
+        final var lower = new HashMap<String, String>(allowedColumns.size() * 2);
+        final var table = new String[size];
+        for (final var name : allowedColumns) {
+            SQLIdentifiers.requireIdentifier(name);
+
+            final var prev = lower.put(name.toLowerCase(Locale.ROOT), name);
+            if (prev != null) {
+                if (!prev.equals(name)) {
+                    throw new IllegalArgumentException(
+                            "allowedColumns differ only by case: " + prev + ", " + name);
+                }
+                continue;
+            }
+
+            int slot = hash(name, 0, name.length()) & (size - 1);
+            while (table[slot] != null) {
+                slot = (slot + 1) & (size - 1);
+            }
+            table[slot] = name;
+        }
+
+        this.lowerCaseNames = Map.copyOf(lower);
+        this.mask = size - 1;
+        this.names = table;
+    }
+
+    private static boolean equalsIgnoreAsciiCase(
+            String expected, CharSequence s, int start, int end) {
+
+        if (expected.length() != end - start) {
+            return false;
+        }
+
+        for (int i = start; i < end; i++) {
+            if (toLowerAscii(expected.charAt(i - start)) != toLowerAscii(s.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * How fromQueryParams treats another key for the same param: its map is keyed on the
+     * lowercased key, so the exact key which first appears last wins
+     *
+     * @param count    values so far for the param
+     * @param keyStart current value's key
+     * @param keyEnd   current value's key
+     * @param start    other key
+     * @param end      other key
+     * @return GROUP_SAME, GROUP_NEW or GROUP_OLDER
+     */
+    private static int groupOf(
+            CharSequence s, int count, int keyStart, int keyEnd, int start, int end) {
+
+        if (count == 0) {
+            return GROUP_NEW;
+        }
+        if (sameKey(s, keyStart, keyEnd, start, end)) {
+            return GROUP_SAME;
+        }
+
+        // -- rare, so rescan instead of tracking every key
+        int paramStart = s.length() > 0 && s.charAt(0) == '?' ? 1 : 0;
+        while (paramStart < keyStart) {
+            int paramEnd = paramStart;
+            while (paramEnd < s.length()
+                    && s.charAt(paramEnd) != '&'
+                    && s.charAt(paramEnd) != '=') {
+                paramEnd++;
+            }
+
+            if (sameKey(s, paramStart, paramEnd, start, end)) {
+                return GROUP_OLDER;
+            }
+
+            while (paramEnd < s.length() && s.charAt(paramEnd) != '&') {
+                paramEnd++;
+            }
+            paramStart = paramEnd + 1;
+        }
+
+        return GROUP_NEW;
+    }
+
+    /** ascii case-insensitive */
+    private static int hash(CharSequence s, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + toLowerAscii(s.charAt(i));
+        }
+
+        return h ^ (h >>> 16);
+    }
+
+    private static int hexValue(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+
+        return -1;
+    }
+
+    private static boolean isBlank(CharSequence s, int start, int end) {
+        return stripStart(s, start, end) == end;
+    }
+
+    private static boolean isEscaped(CharSequence s, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (s.charAt(i) == '%') {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static int keyOf(CharSequence s, int start, int end) {
+        if (isEscaped(s, start, end)) {
+            return keyOf(unescape(s, start, end).toLowerCase(Locale.ROOT));
+        }
+
+        return switch (end - start) {
+            case 5 -> equalsIgnoreAsciiCase("limit", s, start, end)
+                    ? KEY_LIMIT
+                    : equalsIgnoreAsciiCase(Pagination.QUERY_PARAM_AFTER, s, start, end)
+                    ? KEY_AFTER
+                    : KEY_OTHER;
+            case 6 -> equalsIgnoreAsciiCase("offset", s, start, end) ? KEY_OFFSET : KEY_OTHER;
+            case 7 -> equalsIgnoreAsciiCase("columns", s, start, end) ? KEY_COLUMNS : KEY_OTHER;
+            default -> KEY_OTHER;
+        };
+    }
+
+    private static int keyOf(String lowerCaseKey) {
+        return switch (lowerCaseKey) {
+            case "columns" -> KEY_COLUMNS;
+            case "limit" -> KEY_LIMIT;
+            case "offset" -> KEY_OFFSET;
+            case Pagination.QUERY_PARAM_AFTER -> KEY_AFTER;
+            default -> KEY_OTHER;
+        };
+    }
+
+    @Nullable
+    private static PageCursor parseCursor(
+            CharSequence s, int start, int end, int count, List<SortColumn> columns) {
+
+        if (count == 0) {
+            return null;
+        }
+        if (count > 1) {
+            throw new IllegalArgumentException(
+                    "exactly one value required for " + Pagination.QUERY_PARAM_AFTER);
+        }
+
+        final var token = isEscaped(s, start, end)
+                ? unescape(s, start, end)
+                : s.subSequence(start, end).toString();
+
+        if (token.isBlank()) {
+            return null;
+        }
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("Pagination requires at least one column");
+        }
+
+        return PageCursor.decode(token, columns);
+    }
+
+    private static long parseLong(
+            CharSequence s, int start, int end, int count, String key, long defaultValue) {
+
+        if (count == 0) {
+            return defaultValue;
+        }
+        if (count > 1) {
+            throw new IllegalArgumentException("exactly one value required for " + key);
+        }
+
+        if (isEscaped(s, start, end)) {
+            final var value = unescape(s, start, end);
+            return parseLongValue(value, 0, value.length(), defaultValue);
+        }
+
+        return parseLongValue(s, start, end, defaultValue);
+    }
+
+    private static long parseLongValue(CharSequence s, int start, int end, long defaultValue) {
+        final var from = stripStart(s, start, end);
+        final var to = stripEnd(s, from, end);
+        if (from == to) {
+            return defaultValue;
+        }
+
+        // -- fast path: ascii digits which cannot overflow
+        if (to - from <= 18) {
+            long out = 0;
+            int i = from;
+            for (; i < to; i++) {
+                final var c = s.charAt(i);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                out = out * 10 + (c - '0');
+            }
+
+            if (i == to) {
+                return out;
+            }
+        }
+
+        // -- signs, non-ascii digits, overflow and errors: identical to fromQueryParams
+        return Long.parseLong(s.subSequence(from, to).toString().toLowerCase(Locale.ROOT));
+    }
+
+    /** Exact match after decoding, like the keys of a decoded query param map */
+    private static boolean sameKey(
+            CharSequence s, int aStart, int aEnd, int bStart, int bEnd) {
+
+        if (isEscaped(s, aStart, aEnd) || isEscaped(s, bStart, bEnd)) {
+            return unescape(s, aStart, aEnd).equals(unescape(s, bStart, bEnd));
+        }
+        if (aEnd - aStart != bEnd - bStart) {
+            return false;
+        }
+
+        for (int i = 0; i < aEnd - aStart; i++) {
+            if (s.charAt(aStart + i) != s.charAt(bStart + i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static int stripEnd(CharSequence s, int start, int end) {
+        while (end > start && Character.isWhitespace(s.charAt(end - 1))) {
+            end--;
+        }
+
+        return end;
+    }
+
+    private static int stripStart(CharSequence s, int start, int end) {
+        while (start < end && Character.isWhitespace(s.charAt(start))) {
+            start++;
+        }
+
+        return start;
+    }
+
+    private static char toLowerAscii(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    /** Decode %XX escapes (as UTF-8), '+' is literal */
+    private static String unescape(CharSequence s, int start, int end) {
+        final var out = new StringBuilder(end - start);
+
+        int i = start;
+        while (i < end) {
+            if (s.charAt(i) != '%') {
+                out.append(s.charAt(i++));
+                continue;
+            }
+
+            // -- consecutive escapes form one UTF-8 sequence
+            final var bytes = new byte[(end - i) / 3];
+            int count = 0;
+            while (i < end && s.charAt(i) == '%') {
+                final var hi = i + 2 < end ? hexValue(s.charAt(i + 1)) : -1;
+                final var lo = hi < 0 ? -1 : hexValue(s.charAt(i + 2));
+                if (lo < 0) {
+                    throw new IllegalArgumentException(
+                            "invalid percent encoding: " + s.subSequence(start, end));
+                }
+
+                bytes[count++] = (byte) ((hi << 4) | lo);
+                i += 3;
+            }
+
+            out.append(new String(bytes, 0, count, UTF_8));
+        }
+
+        return out.toString();
+    }
+
+    /**
+     * Parse a raw query string
+     *
+     * @param query eg. "limit=10&amp;columns=+name", leading '?' is optional
+     * @return Pagination or null when the query has no params
+     */
+    @Nullable
+    public Pagination parse(CharSequence query) {
+        requireNonNull(query, "query is required and null.");
+
+        int afterCount = 0;
+        int afterEnd = 0;
+        int afterKeyEnd = 0;
+        int afterKeyStart = 0;
+        int afterStart = 0;
+        int columnsCount = 0;
+        int columnsEnd = 0;
+        int columnsKeyEnd = 0;
+        int columnsKeyStart = 0;
+        int columnsStart = 0;
+        int limitCount = 0;
+        int limitEnd = 0;
+        int limitKeyEnd = 0;
+        int limitKeyStart = 0;
+        int limitStart = 0;
+        int offsetCount = 0;
+        int offsetEnd = 0;
+        int offsetKeyEnd = 0;
+        int offsetKeyStart = 0;
+        int offsetStart = 0;
+
+        boolean anyParams = false;
+        final var length = query.length();
+        int start = length > 0 && query.charAt(0) == '?' ? 1 : 0;
+        while (start < length) {
+            int end = start;
+            int eq = -1;
+            for (; end < length; end++) {
+                final var c = query.charAt(end);
+                if (c == '&') {
+                    break;
+                }
+                if (c == '=' && eq < 0) {
+                    eq = end;
+                }
+            }
+
+            if (end > start) {
+                anyParams = true;
+
+                final var keyEnd = eq < 0 ? end : eq;
+                final var valueStart = eq < 0 ? end : eq + 1;
+                switch (keyOf(query, start, keyEnd)) {
+                    case KEY_AFTER -> {
+                        final var group = groupOf(
+                                query, afterCount, afterKeyStart, afterKeyEnd, start, keyEnd);
+                        if (group == GROUP_NEW) {
+                            afterCount = 1;
+                            afterEnd = end;
+                            afterKeyEnd = keyEnd;
+                            afterKeyStart = start;
+                            afterStart = valueStart;
+
+                        } else if (group == GROUP_SAME) {
+                            afterCount++;
+                        }
+                    }
+                    case KEY_COLUMNS -> {
+                        final var group = groupOf(
+                                query, columnsCount, columnsKeyStart, columnsKeyEnd, start, keyEnd);
+                        if (group == GROUP_NEW) {
+                            columnsCount = 1;
+                            columnsEnd = end;
+                            columnsKeyEnd = keyEnd;
+                            columnsKeyStart = start;
+                            columnsStart = valueStart;
+
+                        } else if (group == GROUP_SAME) {
+                            columnsCount++;
+                        }
+                    }
+                    case KEY_LIMIT -> {
+                        final var group = groupOf(
+                                query, limitCount, limitKeyStart, limitKeyEnd, start, keyEnd);
+                        if (group == GROUP_NEW) {
+                            limitCount = 1;
+                            limitEnd = end;
+                            limitKeyEnd = keyEnd;
+                            limitKeyStart = start;
+                            limitStart = valueStart;
+
+                        } else if (group == GROUP_SAME) {
+                            limitCount++;
+                        }
+                    }
+                    case KEY_OFFSET -> {
+                        final var group = groupOf(
+                                query, offsetCount, offsetKeyStart, offsetKeyEnd, start, keyEnd);
+                        if (group == GROUP_NEW) {
+                            offsetCount = 1;
+                            offsetEnd = end;
+                            offsetKeyEnd = keyEnd;
+                            offsetKeyStart = start;
+                            offsetStart = valueStart;
+
+                        } else if (group == GROUP_SAME) {
+                            offsetCount++;
+                        }
+                    }
+                    default -> {
+                        // -- not pagination
+                    }
+                }
+            }
+
+            start = end + 1;
+        }
+
+        if (!anyParams) {
+            return null;
+        }
+
+        // -- same order as fromQueryParams, so the same error wins
+        final var columns = parseColumns(query, columnsStart, columnsEnd, columnsCount);
+
+        return new Pagination(
+                parseLong(query, offsetStart, offsetEnd, offsetCount, "offset", 0),
+                parseLong(query, limitStart, limitEnd, limitCount, "limit",
+                        Pagination.DEFAULT_LIMIT),
+                columns,
+                parseCursor(query, afterStart, afterEnd, afterCount, columns));
+    }
+
+    /**
+     * Parse a raw query string, eg. straight from the HTTP layer's buffer
+     *
+     * @param query bytes from position to limit (position is unchanged), raw non-ascii
+     *              bytes are read as ISO-8859-1, so should be percent-encoded
+     * @return Pagination or null when the query has no params
+     */
+    @Nullable
+    public Pagination parse(ByteBuffer query) {
+        requireNonNull(query, "query is required and null.");
+
+        return parse(new ByteChars(query, query.position(), query.remaining()));
+    }
+
+    private List<SortColumn> parseColumns(CharSequence s, int start, int end, int count) {
+        if (count == 0) {
+            return List.of();
+        }
+        if (count > 1) {
+            throw new IllegalArgumentException("exactly one queryParam required for columns");
+        }
+
+        if (isEscaped(s, start, end)) {
+            final var value = unescape(s, start, end);
+            return parseColumnsValue(value, 0, value.length());
+        }
+
+        return parseColumnsValue(s, start, end);
+    }
+
+    private List<SortColumn> parseColumnsValue(CharSequence s, int start, int end) {
+        if (isBlank(s, start, end)) {
+            throw new IllegalArgumentException("sorting column(s) required");
+        }
+
+        // -- like String.split: trailing empty parts are dropped
+        while (end > start && s.charAt(end - 1) == ',') {
+            end--;
+        }
+        if (end == start) {
+            return List.of();
+        }
+
+        int parts = 1;
+        for (int i = start; i < end; i++) {
+            if (s.charAt(i) == ',') {
+                parts++;
+            }
+        }
+
+        final var out = new SortColumn[parts];
+        int index = 0;
+        int partStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || s.charAt(i) == ',') {
+                out[index++] = parseSortColumn(s, partStart, i);
+                partStart = i + 1;
+            }
+        }
+
+        return List.of(out);
+    }
+
+    private SortColumn parseSortColumn(CharSequence s, int start, int end) {
+        final var from = stripStart(s, start, end);
+        final var to = stripEnd(s, from, end);
+
+        if (to - from < 2) {
+            throw new IllegalArgumentException(
+                    "column sort info requires at least 2 characters: " + s.subSequence(start, end));
+        }
+
+        final var sign = s.charAt(from);
+        if (sign != '+' && sign != '-') {
+            throw new IllegalArgumentException(
+                    "part must start with + or -: " + s.subSequence(start, end));
+        }
+
+        return new SortColumn(
+                resolveName(s, from + 1, to),
+                sign == '+' ? SortDirection.ASC : SortDirection.DESC);
+    }
+
+    /** @return whitelisted spelling, or a new String without a whitelist */
+    private String resolveName(CharSequence s, int start, int end) {
+        if (names == null || lowerCaseNames == null) {
+            return s.subSequence(start, end).toString();
+        }
+
+        for (int slot = hash(s, start, end) & mask;
+                names[slot] != null;
+                slot = (slot + 1) & mask) {
+
+            if (equalsIgnoreAsciiCase(names[slot], s, start, end)) {
+                return names[slot];
+            }
+        }
+
+        // -- non-ascii input can still lowercase onto a whitelisted name
+        final var name = s.subSequence(start, end).toString();
+        final var out = lowerCaseNames.get(name.toLowerCase(Locale.ROOT));
+        if (out == null) {
+            throw new IllegalArgumentException("Unknown sort column: " + name);
+        }
+
+        return out;
+    }
+
+    /** Bytes as chars (ISO-8859-1), no copy */
+    private record ByteChars(ByteBuffer buffer, int offset, int length) implements CharSequence {
+
+        @Override
+        public char charAt(int index) {
+            return (char) (buffer.get(offset + index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new ByteChars(buffer, offset + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            final var bytes = new byte[length];
+            buffer.get(offset, bytes);
+            return new String(bytes, ISO_8859_1);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package io.github.wcarmon.rdbms.paging;
+
+import static java.util.Objects.requireNonNull;
+
+import io.github.wcarmon.rdbms.util.SQLIdentifiers;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles {@link Pagination} into parameterized ORDER BY/LIMIT (and keyset seek) clauses.
+ *
+ * <p>Sort column names are validated against a per-table whitelist, so user supplied
+ * names never reach the sql text. Whitelisted names are matched case-insensitively and
+ * the whitelisted spelling is used in the sql.
+ *
+ * <p>Compiled text is cached by sort-column shape (names, directions, mode), so repeated
+ * shapes reuse one shared String and only limit/offset/cursor values are bound.
+ *
+ * <p>One instance per table. Thread safe.
+ */
+public final class PaginationSQLCompiler {
+
+    public static final int DEFAULT_MAX_CACHED_SHAPES = 1024;
+
+    /** sort shape to compiled clause, offset mode */
+    private final Map<List<SortColumn>, CompiledPagination> offsetCache;
+
+    /** sort shape to compiled clause, keyset mode */
+    private final Map<List<SortColumn>, CompiledPagination> keysetCache;
+
+    /** whitelisted name to whitelisted name (exact match, no allocation) */
+    private final Map<String, String> exactNames;
+
+    /** lowercase name to whitelisted name */
+    private final Map<String, String> lowerCaseNames;
+
+    private final int maxCachedShapes;
+
+    /**
+     * Create new instance
+     *
+     * @param allowedColumns whitelist of sortable column names for one table
+     */
+    public PaginationSQLCompiler(Collection<String> allowedColumns) {
+        this(allowedColumns, DEFAULT_MAX_CACHED_SHAPES);
+    }
+
+    /**
+     * Create new instance
+     *
+     * @param allowedColumns  whitelist of sortable column names for one table
+     * @param maxCachedShapes upper bound on cached shapes (per mode)
+     */
+    public PaginationSQLCompiler(Collection<String> allowedColumns, int maxCachedShapes) {
+        requireNonNull(allowedColumns, "allowedColumns is required and null.");
+        if (allowedColumns.isEmpty()) {
+            throw new IllegalArgumentException("allowedColumns is required");
+        }
+        if (maxCachedShapes < 0) {
+            throw new IllegalArgumentException("maxCachedShapes must be non-negative");
+        }
+
+        final var exact = new HashMap<String, String>(allowedColumns.size() * 2);
+        final var lower = new HashMap<String, String>(allowedColumns.size() * 2);
+        for (final var name : allowedColumns) {
+            SQLIdentifiers.requireIdentifier(name);
+
+            exact.put(name, name);
+            final var prev = lower.put(name.toLowerCase(Locale.ROOT), name);
+            if (prev != null && !prev.equals(name)) {
+                throw new IllegalArgumentException(
+                        "allowedColumns differ only by case: " + prev + ", " + name);
+            }
+        }
+
+        this.exactNames = Map.copyOf(exact);
+        this.keysetCache = new ConcurrentHashMap<>();
+        this.lowerCaseNames = Map.copyOf(lower);
+        this.maxCachedShapes = maxCachedShapes;
+        this.offsetCache = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Build clause text for the shape of pagination (cached)
+     *
+     * @param pagination sort columns and mode
+     * @return shared, immutable compiled clause
+     * @throws IllegalArgumentException when a sort column is not whitelisted
+     */
+    public CompiledPagination compile(Pagination pagination) {
+        requireNonNull(pagination, "pagination is required and null.");
+
+        final var cache = pagination.isKeyset() ? keysetCache : offsetCache;
+        final var columns = pagination.columns();
+
+        final var cached = cache.get(columns);
+        if (cached != null) {
+            return cached;
+        }
+
+        final var compiled = compile(columns, pagination.isKeyset());
+        if (cache.size() < maxCachedShapes) {
+            cache.putIfAbsent(List.copyOf(columns), compiled);
+        }
+
+        return compiled;
+    }
+
+    private CompiledPagination compile(List<SortColumn> columns, boolean keyset) {
+        final var resolved = new ArrayList<SortColumn>(columns.size());
+        for (final var col : columns) {
+            resolved.add(new SortColumn(resolveName(col.name()), col.direction()));
+        }
+
+        final var sb = new StringBuilder(24 + 24 * resolved.size());
+        sb.append("ORDER BY ");
+        for (int i = 0; i < resolved.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+
+            final var col = resolved.get(i);
+            sb.append(col.name()).append(' ').append(col.direction().name());
+        }
+
+        sb.append(keyset ? " LIMIT ?" : " LIMIT ? OFFSET ?");
+
+        if (!keyset) {
+            return new CompiledPagination(sb.toString(), null, new int[0]);
+        }
+
+        return new CompiledPagination(
+                sb.toString(),
+                KeysetPredicate.sql(resolved),
+                KeysetPredicate.parameterIndexes(resolved));
+    }
+
+    /**
+     * Simple getter
+     *
+     * @param name from the client
+     * @return whitelisted spelling of name
+     * @throws IllegalArgumentException when name is not whitelisted
+     */
+    public String resolveName(String name) {
+        requireNonNull(name, "name is required and null.");
+
+        final var exact = exactNames.get(name);
+        if (exact != null) {
+            return exact;
+        }
+
+        final var out = lowerCaseNames.get(name.toLowerCase(Locale.ROOT));
+        if (out == null) {
+            throw new IllegalArgumentException("Unknown sort column: " + name);
+        }
+
+        return out;
+    }
+}
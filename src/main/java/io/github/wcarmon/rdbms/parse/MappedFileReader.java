@@ -0,0 +1,136 @@
+package io.github.wcarmon.rdbms.parse;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Decodes a file through a sliding memory-mapped window.
+ *
+ * <p>Only one window is mapped at a time, so files larger than 2GB are supported.
+ */
+final class MappedFileReader extends Reader {
+
+    /** 64 MiB */
+    static final long DEFAULT_WINDOW_BYTES = 64L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final CharsetDecoder decoder;
+    private final long fileSize;
+    private final long windowBytes;
+
+    private boolean closed;
+    private boolean flushed;
+    private MappedByteBuffer window;
+
+    /** file position of window[0] */
+    private long windowStart;
+
+    MappedFileReader(Path path, Charset charset) throws IOException {
+        this(path, charset, DEFAULT_WINDOW_BYTES);
+    }
+
+    MappedFileReader(Path path, Charset charset, long windowBytes) throws IOException {
+        requireNonNull(path, "path is required and null.");
+        requireNonNull(charset, "charset is required and null.");
+        if (windowBytes < 16) {
+            throw new IllegalArgumentException("windowBytes too small: " + windowBytes);
+        }
+
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        this.fileSize = channel.size();
+        this.windowBytes = Math.min(windowBytes, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        window = null;
+        channel.close();
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (closed) {
+            throw new IOException("reader closed");
+        }
+
+        if (len == 0) {
+            return 0;
+        }
+
+        final var out = CharBuffer.wrap(cbuf, off, len);
+        while (out.position() == off) {
+            if (window == null || !window.hasRemaining()) {
+                if (!slideWindow()) {
+                    return flush(out, off);
+                }
+            }
+
+            final var endOfInput = windowStart + window.limit() >= fileSize;
+            final CoderResult result = decoder.decode(window, out, endOfInput);
+            if (result.isError()) {
+                result.throwException();
+            }
+
+            if (result.isOverflow()) {
+                break;
+            }
+
+            // -- Underflow: a multi-byte char may straddle the window boundary
+            if (!endOfInput && window.hasRemaining()) {
+                if (!slideWindow()) {
+                    throw new CharacterCodingException();
+                }
+            }
+        }
+
+        return out.position() - off;
+    }
+
+    private int flush(CharBuffer out, int off) throws IOException {
+        if (flushed) {
+            return -1;
+        }
+
+        final var result = decoder.flush(out);
+        if (result.isOverflow()) {
+            return out.position() - off;
+        }
+
+        flushed = true;
+        final var n = out.position() - off;
+        return n == 0 ? -1 : n;
+    }
+
+    /**
+     * Maps the next region, starting at the first unconsumed byte
+     *
+     * @return false at end of file
+     */
+    private boolean slideWindow() throws IOException {
+        final long next = window == null ? 0 : windowStart + window.position();
+        if (next >= fileSize) {
+            return false;
+        }
+
+        final long size = Math.min(windowBytes, fileSize - next);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, next, size);
+        windowStart = next;
+        return true;
+    }
+}
@@ -0,0 +1,510 @@
+package io.github.wcarmon.rdbms.parse;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reduces a sql statement to a stable fingerprint: its shape, without the values.
+ *
+ * <p>Single pass lexer (same quoting rules as {@link SQLSplitter}):
+ * <ul>
+ *     <li>comments and whitespace are removed, tokens are separated by one space</li>
+ *     <li>unquoted identifiers and keywords are lower cased, quoted identifiers kept</li>
+ *     <li>string, number, dollar quoted literals and bind parameters ($1, :name)
+ *     become ?</li>
+ *     <li>IN lists of literals collapse to "in (...)"</li>
+ *     <li>repeated identical VALUES rows collapse to "values (?, ?), ..."</li>
+ * </ul>
+ *
+ * <p>eg. "SELECT * FROM t WHERE id IN (1, 2, 3) AND name = 'x' -- hi" becomes
+ * "select * from t where id in (...) and name = ?"
+ *
+ * <p>The fingerprint is for grouping, not for execution.
+ *
+ * <p>Results are cached by String identity (not equality) in a fixed-size, direct-mapped,
+ * lock-free table, so sql held in constants or compiled once (eg. by
+ * {@link io.github.wcarmon.rdbms.paging.PaginationSQLCompiler}) is only lexed once.
+ *
+ * <p>Thread safe.
+ */
+public final class SQLFingerprinter {
+
+    public static final int DEFAULT_CACHE_SIZE = 1024;
+
+    /** Replaces collapsed IN lists */
+    public static final String IN_LIST = "(...)";
+
+    /** Appended after a collapsed VALUES row */
+    public static final String REPEATED_ROWS = ", ...";
+
+    /** Racy by design: entries are immutable, a lost write is only a cache miss */
+    private final CacheEntry[] cache;
+    private final int mask;
+
+    /** Create new instance, with the default cache size */
+    public SQLFingerprinter() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Create new instance
+     *
+     * @param cacheSize entries in the identity cache, rounded up to a power of two
+     */
+    public SQLFingerprinter(int cacheSize) {
+        if (cacheSize <= 0) {
+            throw new IllegalArgumentException("cacheSize must be positive");
+        }
+        if (cacheSize > 1 << 20) {
+            throw new IllegalArgumentException("cacheSize must be at most 2^20");
+        }
+
+        final var size = cacheSize == 1 ? 1 : Integer.highestOneBit(cacheSize - 1) << 1;
+        this.cache = new CacheEntry[size];
+        this.mask = cache.length - 1;
+    }
+
+    /**
+     * Uncached fingerprint, see class docs
+     *
+     * @param sql one statement
+     * @return normalized shape, empty for blank or comment-only sql
+     */
+    public static String normalize(String sql) {
+        requireNonNull(sql, "sql is required and null.");
+
+        return new Normalizer(sql).run();
+    }
+
+    /**
+     * Fingerprint, cached by identity
+     *
+     * @param sql one statement
+     * @return normalized shape, see class docs
+     */
+    public String fingerprint(String sql) {
+        requireNonNull(sql, "sql is required and null.");
+
+        final var slot = System.identityHashCode(sql) & mask;
+        final var entry = cache[slot];
+        if (entry != null && entry.sql == sql) {
+            return entry.fingerprint;
+        }
+
+        final var out = normalize(sql);
+        cache[slot] = new CacheEntry(sql, out);
+        return out;
+    }
+
+    private enum Kind {
+        CLOSE,
+        COMMA,
+        IDENTIFIER,
+        LITERAL,
+        NONE,
+        OPEN,
+        OPERATOR,
+        WORD,
+    }
+
+    private static final class CacheEntry {
+
+        final String fingerprint;
+        final String sql;
+
+        CacheEntry(String sql, String fingerprint) {
+            this.fingerprint = fingerprint;
+            this.sql = sql;
+        }
+    }
+
+    /** One pass over one statement, not reusable */
+    private static final class Normalizer {
+
+        private static final String OPERATOR_CHARS = "<>=!|&~^%+-*/:@#";
+
+        private final int len;
+        private final StringBuilder out;
+        private final String src;
+
+        /** Output index of the "(" after IN, -1 when not in a pure literal list */
+        private int inListStart = -1;
+        private Kind lastKind = Kind.NONE;
+        private boolean lastWordIsIn;
+        private int pos;
+
+        /** VALUES rows: -1 when not inside VALUES */
+        private int valuesDepth = -1;
+        private String valuesFirstRow;
+        private int valuesRowStart;
+        private int valuesCommaStart;
+        private boolean valuesRepeated;
+
+        Normalizer(String src) {
+            this.len = src.length();
+            this.out = new StringBuilder(Math.min(len, 4096));
+            this.src = src;
+        }
+
+        private static boolean isWordChar(char c) {
+            return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+        }
+
+        String run() {
+            while (pos < len) {
+                final var c = src.charAt(pos);
+
+                if (Character.isWhitespace(c) || c == ';') {
+                    pos++;
+
+                } else if (c == '-' && peek(1) == '-') {
+                    skipLineComment();
+
+                } else if (c == '/' && peek(1) == '*') {
+                    skipBlockComment();
+
+                } else if (c == '\'') {
+                    skipString(false);
+                    emit(Kind.LITERAL, 0, 0);
+
+                } else if ((c == 'E' || c == 'e') && peek(1) == '\'') {
+                    pos++;
+                    skipString(true);
+                    emit(Kind.LITERAL, 0, 0);
+
+                } else if (c == '"' || c == '`') {
+                    final var start = pos;
+                    skipQuotedIdentifier(c);
+                    emit(Kind.IDENTIFIER, start, pos);
+
+                } else if (c == '$') {
+                    onDollar();
+
+                } else if (c == '?') {
+                    pos++;
+                    emit(Kind.LITERAL, 0, 0);
+
+                } else if (c == ':' && peek(1) != ':' && isIdentifierStart(peek(1))) {
+                    // -- named parameter
+                    pos++;
+                    skipWord();
+                    emit(Kind.LITERAL, 0, 0);
+
+                } else if (isNumberStart(c)) {
+                    skipNumber();
+                    emit(Kind.LITERAL, 0, 0);
+
+                } else if (isIdentifierStart(c)) {
+                    final var start = pos;
+                    skipWord();
+                    emit(Kind.WORD, start, pos);
+
+                } else if (c == '(') {
+                    pos++;
+                    emit(Kind.OPEN, pos - 1, pos);
+
+                } else if (c == ')') {
+                    pos++;
+                    emit(Kind.CLOSE, pos - 1, pos);
+
+                } else if (c == ',') {
+                    pos++;
+                    emit(Kind.COMMA, pos - 1, pos);
+
+                } else if (c == '.') {
+                    pos++;
+                    emit(Kind.OPERATOR, pos - 1, pos);
+
+                } else {
+                    final var start = pos;
+                    skipOperator();
+                    emit(Kind.OPERATOR, start, pos);
+                }
+            }
+
+            endValues();
+            return out.toString();
+        }
+
+        private void appendToken(Kind kind, int start, int end) {
+            final var noSpace = out.length() == 0
+                    || lastKind == Kind.OPEN
+                    || kind == Kind.CLOSE
+                    || kind == Kind.COMMA
+                    || isDot(lastKind, out.length() - 1)
+                    || (kind == Kind.OPERATOR && end - start == 1 && src.charAt(start) == '.');
+
+            if (!noSpace) {
+                out.append(' ');
+            }
+
+            switch (kind) {
+                case LITERAL -> out.append('?');
+                case WORD -> {
+                    for (int i = start; i < end; i++) {
+                        out.append(Character.toLowerCase(src.charAt(i)));
+                    }
+                }
+                default -> out.append(src, start, end);
+            }
+        }
+
+        private void emit(Kind kind, int start, int end) {
+            trackValues(kind);
+
+            if (inListStart >= 0) {
+                if (kind == Kind.LITERAL || kind == Kind.COMMA) {
+                    appendToken(kind, start, end);
+                    lastKind = kind;
+                    return;
+                }
+
+                if (kind == Kind.CLOSE) {
+                    out.setLength(inListStart);
+                    out.append(IN_LIST);
+                    inListStart = -1;
+                    lastKind = kind;
+                    afterValuesToken(kind);
+                    return;
+                }
+
+                // -- subquery or expression, keep as is
+                inListStart = -1;
+            }
+
+            if (kind == Kind.OPEN && lastWordIsIn) {
+                appendToken(kind, start, end);
+                inListStart = out.length() - 1;
+
+            } else {
+                appendToken(kind, start, end);
+            }
+
+            lastWordIsIn = kind == Kind.WORD && end - start == 2
+                    && src.regionMatches(true, start, "in", 0, 2);
+
+            if (kind == Kind.WORD && end - start == 6
+                    && src.regionMatches(true, start, "values", 0, 6)) {
+                endValues();
+                valuesDepth = 0;
+                valuesFirstRow = null;
+                valuesRepeated = false;
+            }
+
+            lastKind = kind;
+            afterValuesToken(kind);
+        }
+
+        /** Close a collapsed VALUES list */
+        private void endValues() {
+            if (valuesDepth >= 0 && valuesRepeated) {
+                out.append(REPEATED_ROWS);
+            }
+
+            valuesDepth = -1;
+            valuesRepeated = false;
+        }
+
+        /** After the token is in the output: detect a complete, repeated row */
+        private void afterValuesToken(Kind kind) {
+            if (valuesDepth == 1 && kind == Kind.OPEN) {
+                valuesRowStart = out.length() - 1;
+                return;
+            }
+
+            if (valuesDepth != 0 || kind != Kind.CLOSE) {
+                return;
+            }
+
+            final var row = out.substring(valuesRowStart);
+            if (valuesFirstRow == null) {
+                valuesFirstRow = row;
+                return;
+            }
+
+            if (row.equals(valuesFirstRow)) {
+                out.setLength(valuesCommaStart);
+                valuesRepeated = true;
+            }
+        }
+
+        private boolean isDot(Kind kind, int outIndex) {
+            return kind == Kind.OPERATOR && outIndex >= 0 && out.charAt(outIndex) == '.';
+        }
+
+        private boolean isIdentifierStart(char c) {
+            return Character.isLetter(c) || c == '_';
+        }
+
+        private boolean isNumberStart(char c) {
+            if (Character.isDigit(c)) {
+                return true;
+            }
+
+            if (c == '.' && Character.isDigit(peek(1))) {
+                return true;
+            }
+
+            // -- unary sign, only where a value is expected
+            if ((c == '-' || c == '+')
+                    && (Character.isDigit(peek(1))
+                    || (peek(1) == '.' && Character.isDigit(peek(2))))) {
+                return lastKind == Kind.NONE
+                        || lastKind == Kind.OPEN
+                        || lastKind == Kind.COMMA
+                        || lastKind == Kind.OPERATOR;
+            }
+
+            return false;
+        }
+
+        private void onDollar() {
+            // -- positional parameter
+            if (Character.isDigit(peek(1))) {
+                pos++;
+                while (pos < len && Character.isDigit(src.charAt(pos))) {
+                    pos++;
+                }
+                emit(Kind.LITERAL, 0, 0);
+                return;
+            }
+
+            // -- $tag$ ... $tag$
+            int i = pos + 1;
+            while (i < len && isWordChar(src.charAt(i)) && src.charAt(i) != '$') {
+                i++;
+            }
+
+            if (i < len && src.charAt(i) == '$') {
+                final var tag = src.substring(pos, i + 1);
+                final var close = src.indexOf(tag, i + 1);
+                pos = close < 0 ? len : close + tag.length();
+                emit(Kind.LITERAL, 0, 0);
+                return;
+            }
+
+            final var start = pos;
+            pos++;
+            emit(Kind.OPERATOR, start, pos);
+        }
+
+        private char peek(int offset) {
+            final var i = pos + offset;
+            return i < len ? src.charAt(i) : '\0';
+        }
+
+        private void skipBlockComment() {
+            final var close = src.indexOf("*/", pos + 2);
+            pos = close < 0 ? len : close + 2;
+        }
+
+        private void skipLineComment() {
+            final var newline = src.indexOf('\n', pos + 2);
+            pos = newline < 0 ? len : newline + 1;
+        }
+
+        private void skipNumber() {
+            final var start = pos;
+            if (src.charAt(pos) == '-' || src.charAt(pos) == '+') {
+                pos++;
+            }
+
+            final var hex = peek(0) == '0' && (peek(1) == 'x' || peek(1) == 'X');
+            while (pos < len) {
+                final var c = src.charAt(pos);
+                final var prev = pos > start ? src.charAt(pos - 1) : '\0';
+
+                if (Character.isLetterOrDigit(c) || c == '.' || c == '_') {
+                    pos++;
+
+                } else if ((c == '+' || c == '-') && !hex && (prev == 'e' || prev == 'E')) {
+                    pos++;
+
+                } else {
+                    break;
+                }
+            }
+        }
+
+        private void skipOperator() {
+            pos++;
+            while (pos < len && OPERATOR_CHARS.indexOf(src.charAt(pos)) >= 0) {
+                final var c = src.charAt(pos);
+                if ((c == '-' && peek(1) == '-') || (c == '/' && peek(1) == '*')) {
+                    break;
+                }
+
+                // -- "=-1" and "=:name" are an operator then a value
+                if ((c == '-' || c == '+')
+                        && (Character.isDigit(peek(1))
+                        || (peek(1) == '.' && Character.isDigit(peek(2))))) {
+                    break;
+                }
+                if (c == ':' && src.charAt(pos - 1) != ':' && isIdentifierStart(peek(1))) {
+                    break;
+                }
+
+                pos++;
+            }
+        }
+
+        private void skipQuotedIdentifier(char quote) {
+            pos++;
+            while (pos < len) {
+                if (src.charAt(pos++) == quote) {
+                    if (peek(0) != quote) {
+                        return;
+                    }
+                    pos++;
+                }
+            }
+        }
+
+        private void skipString(boolean backslashEscapes) {
+            pos++;
+            while (pos < len) {
+                final var c = src.charAt(pos++);
+                if (c == '\\' && backslashEscapes) {
+                    pos++;
+
+                } else if (c == '\'') {
+                    if (peek(0) != '\'') {
+                        return;
+                    }
+                    pos++;
+                }
+            }
+        }
+
+        private void skipWord() {
+            while (pos < len && isWordChar(src.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        /** Before the token is in the output: row boundaries and the end of VALUES */
+        private void trackValues(Kind kind) {
+            if (valuesDepth < 0) {
+                return;
+            }
+
+            if (valuesDepth == 0) {
+                if (kind == Kind.COMMA) {
+                    valuesCommaStart = out.length();
+                    return;
+                }
+
+                if (kind != Kind.OPEN) {
+                    endValues();
+                    return;
+                }
+            }
+
+            if (kind == Kind.OPEN) {
+                valuesDepth++;
+
+            } else if (kind == Kind.CLOSE) {
+                valuesDepth--;
+            }
+        }
+    }
+}
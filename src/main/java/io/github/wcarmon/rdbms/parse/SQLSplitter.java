@@ -1,46 +1,64 @@
 package io.github.wcarmon.rdbms.parse;
 
-import java.util.Arrays;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.Iterator;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.jetbrains.annotations.Nullable;
 
-/** Splits a collection (file) of sql statements into single executable statements */
+/**
+ * Splits a collection (file) of sql statements into single executable statements
+ *
+ * <p>Comments are removed, trailing spaces are removed (outside of literals).
+ *
+ * <p>Semicolons and comment markers inside 'string literals', "quoted identifiers" and
+ * $$dollar quoted$$ bodies are preserved.
+ */
 public final class SQLSplitter {
 
-    private static final Pattern SQL_COMMENT_PATTERN =
-            Pattern.compile("--[^\\n]*|/\\*.*?\\*/", Pattern.DOTALL);
-
     /** Create new instance */
     public SQLSplitter() {
     }
 
-    private static String stripTrailingSpaces(@Nullable String raw) {
-        if (raw == null || raw.isBlank()) {
-            return "";
-        }
-
-        final var lines = raw.split("\n");
-        for (int i = 0; i < lines.length; i++) {
-            lines[i] = lines[i].stripTrailing();
-        }
+    private static Stream<String> toStream(SQLStatementIterator it, Reader reader) {
+        final var spliterator = Spliterators.spliteratorUnknownSize(
+                it, Spliterator.ORDERED | Spliterator.NONNULL);
 
-        return String.join("\n", lines);
+        return StreamSupport.stream(spliterator, false)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException("Failed to close sql source", ex);
+                    }
+                });
     }
 
     /**
-     * Removes /* ... * / and -- ... style comments
+     * Lazily split, one statement at a time.
      *
-     * @param raw one or more sql statements
-     * @return same as input, but with comments removed
+     * <p>Caller owns the reader.
+     *
+     * @param reader one or more sql statements
+     * @return iterator over executable sql statements
      */
-    private static String withoutComments(@Nullable String raw) {
-        if (raw == null || raw.isBlank()) {
-            return "";
-        }
+    public Iterator<String> iterateSQLStatements(Reader reader) {
+        requireNonNull(reader, "reader is required and null.");
 
-        return SQL_COMMENT_PATTERN.matcher(raw).replaceAll("");
+        return new SQLStatementIterator(reader);
     }
 
     /**
@@ -54,12 +72,57 @@ public List<String> splitSQLStatements(@Nullable String raw) {
             return List.of();
         }
 
-        final var clean = stripTrailingSpaces(withoutComments(raw.strip())).strip();
+        try (final var stream = streamSQLStatements(new StringReader(raw))) {
+            return stream.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Lazily split, memory is bounded by the largest statement.
+     *
+     * <p>Closing the stream closes the reader.
+     *
+     * @param reader one or more sql statements
+     * @return stream of executable sql statements, must be closed
+     */
+    public Stream<String> streamSQLStatements(Reader reader) {
+        requireNonNull(reader, "reader is required and null.");
 
-        return Arrays.stream(clean.split(";"))
-                .map(String::strip)
-                .filter(stmt -> !"GO".equalsIgnoreCase(stmt)) // mssql
-                .filter(statement -> !statement.isBlank())
-                .collect(Collectors.toList());
+        return toStream(new SQLStatementIterator(reader), reader);
+    }
+
+    /**
+     * Lazily split, memory is bounded by the largest statement.
+     *
+     * <p>Closing the stream closes the InputStream.
+     *
+     * @param in      one or more sql statements
+     * @param charset for decoding bytes
+     * @return stream of executable sql statements, must be closed
+     */
+    public Stream<String> streamSQLStatements(InputStream in, Charset charset) {
+        requireNonNull(in, "in is required and null.");
+        requireNonNull(charset, "charset is required and null.");
+
+        return streamSQLStatements(new InputStreamReader(in, charset));
+    }
+
+    /**
+     * Lazily split a (possibly multi-gigabyte) file, using a memory-mapped window.
+     *
+     * @param path    sql script
+     * @param charset for decoding bytes
+     * @return stream of executable sql statements, must be closed
+     */
+    public Stream<String> streamSQLStatements(Path path, Charset charset) {
+        requireNonNull(path, "path is required and null.");
+        requireNonNull(charset, "charset is required and null.");
+
+        try {
+            return streamSQLStatements(new MappedFileReader(path, charset));
+
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to open sql script: " + path, ex);
+        }
     }
 }
@@ -0,0 +1,409 @@
+package io.github.wcarmon.rdbms.parse;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Single pass lexer which lazily produces one executable statement at a time.
+ *
+ * <p>Memory is bounded by the largest single statement (plus a fixed read buffer).
+ *
+ * <p>Understands:
+ * <ul>
+ *     <li>-- line comments and /* block comments * / (both removed)</li>
+ *     <li>'string literals' (with '' escapes and E'...' backslash escapes)</li>
+ *     <li>"quoted identifiers" and `backtick identifiers`</li>
+ *     <li>Postgres $$dollar quoting$$ and $tag$dollar quoting$tag$</li>
+ * </ul>
+ *
+ * <p>Not thread safe.
+ */
+final class SQLStatementIterator implements Iterator<String> {
+
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private final char[] buf = new char[READ_BUFFER_SIZE];
+    private final StringBuilder current = new StringBuilder(256);
+    private final StringBuilder dollarTag = new StringBuilder(16);
+    private final Reader reader;
+
+    private int bufLen;
+    private int bufPos;
+    private boolean eof;
+
+    /** Chars before this index are inside a literal, so never strip them */
+    private int protectedUntil;
+
+    private String next;
+
+    private State state = State.NORMAL;
+
+    /** true for E'...' style literals */
+    private boolean backslashEscapes;
+
+    SQLStatementIterator(Reader reader) {
+        requireNonNull(reader, "reader is required and null.");
+        this.reader = reader;
+    }
+
+    private static boolean isIdentifierChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    private static boolean isDollarTagChar(char c, boolean first) {
+        if (first && Character.isDigit(c)) {
+            return false;
+        }
+
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    private static boolean isLineSpace(char c) {
+        return c != '\n' && Character.isWhitespace(c);
+    }
+
+    private static boolean isExecutable(String stmt) {
+        return !stmt.isEmpty() && !"GO".equalsIgnoreCase(stmt); // mssql
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = readNextStatement();
+        }
+
+        return next != null;
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        final var out = next;
+        next = null;
+        return out;
+    }
+
+    private void append(char c) {
+        if (current.length() == 0 && Character.isWhitespace(c)) {
+            return;
+        }
+
+        current.append(c);
+    }
+
+    private boolean endsWithClosingDollarTag() {
+        final var tagLen = dollarTag.length();
+        final var start = current.length() - tagLen - 2;
+        if (start < protectedUntil || current.charAt(start) != '$') {
+            return false;
+        }
+
+        for (int i = 0; i < tagLen; i++) {
+            if (current.charAt(start + 1 + i) != dollarTag.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /** Marks the start of a quoted region, which must survive whitespace stripping */
+    private void enterQuoted(State quoted) {
+        state = quoted;
+        protectedUntil = current.length();
+    }
+
+    private void exitQuoted() {
+        state = State.NORMAL;
+        protectedUntil = current.length();
+    }
+
+    private String readNextStatement() {
+        int c;
+        while ((c = read()) >= 0) {
+            final var ch = (char) c;
+
+            switch (state) {
+                case NORMAL -> {
+                    final var stmt = onNormal(ch);
+                    if (stmt != null) {
+                        return stmt;
+                    }
+                }
+
+                case MAYBE_LINE_COMMENT -> {
+                    if (ch == '-') {
+                        state = State.LINE_COMMENT;
+                        continue;
+                    }
+
+                    state = State.NORMAL;
+                    append('-');
+                    final var stmt = onNormal(ch);
+                    if (stmt != null) {
+                        return stmt;
+                    }
+                }
+
+                case MAYBE_BLOCK_COMMENT -> {
+                    if (ch == '*') {
+                        state = State.BLOCK_COMMENT;
+                        continue;
+                    }
+
+                    state = State.NORMAL;
+                    append('/');
+                    final var stmt = onNormal(ch);
+                    if (stmt != null) {
+                        return stmt;
+                    }
+                }
+
+                case LINE_COMMENT -> {
+                    if (ch == '\n') {
+                        state = State.NORMAL;
+                        onNormal(ch);
+                    }
+                }
+
+                case BLOCK_COMMENT -> {
+                    if (ch == '*') {
+                        state = State.BLOCK_COMMENT_STAR;
+                    }
+                }
+
+                case BLOCK_COMMENT_STAR -> {
+                    if (ch == '/') {
+                        state = State.NORMAL;
+
+                        // -- keep tokens on either side of the comment apart
+                        final var len = current.length();
+                        if (len > 0 && !Character.isWhitespace(current.charAt(len - 1))) {
+                            current.append(' ');
+                        }
+
+                    } else if (ch != '*') {
+                        state = State.BLOCK_COMMENT;
+                    }
+                }
+
+                case SINGLE_QUOTED -> {
+                    current.append(ch);
+                    if (ch == '\\' && backslashEscapes) {
+                        state = State.SINGLE_QUOTED_ESCAPE;
+
+                    } else if (ch == '\'') {
+                        exitQuoted();
+                    }
+                }
+
+                case SINGLE_QUOTED_ESCAPE -> {
+                    current.append(ch);
+                    state = State.SINGLE_QUOTED;
+                }
+
+                case DOUBLE_QUOTED -> {
+                    current.append(ch);
+                    if (ch == '"') {
+                        exitQuoted();
+                    }
+                }
+
+                case BACKTICK_QUOTED -> {
+                    current.append(ch);
+                    if (ch == '`') {
+                        exitQuoted();
+                    }
+                }
+
+                case DOLLAR_TAG -> {
+                    if (ch == '$') {
+                        current.append(ch);
+                        enterQuoted(State.DOLLAR_QUOTED);
+                        continue;
+                    }
+
+                    if (isDollarTagChar(ch, dollarTag.length() == 0)) {
+                        current.append(ch);
+                        dollarTag.append(ch);
+                        continue;
+                    }
+
+                    // -- not a dollar quote after all (eg. $1 positional parameter)
+                    state = State.NORMAL;
+                    final var stmt = onNormal(ch);
+                    if (stmt != null) {
+                        return stmt;
+                    }
+                }
+
+                case DOLLAR_QUOTED -> {
+                    current.append(ch);
+                    if (ch == '$' && endsWithClosingDollarTag()) {
+                        exitQuoted();
+                    }
+                }
+
+                default -> throw new IllegalStateException("Unhandled lexer state: " + state);
+            }
+        }
+
+        // -- End of input: flush pending chars, tolerate unterminated quotes/comments
+        if (state == State.MAYBE_LINE_COMMENT) {
+            append('-');
+
+        } else if (state == State.MAYBE_BLOCK_COMMENT) {
+            append('/');
+        }
+
+        state = State.NORMAL;
+        return takeCurrent();
+    }
+
+    /**
+     * @param ch next char, outside of any literal or comment
+     * @return a complete statement or null
+     */
+    private String onNormal(char ch) {
+        switch (ch) {
+            case ';' -> {
+                final var stmt = takeCurrent();
+                if (stmt != null) {
+                    return stmt;
+                }
+            }
+
+            case '\n' -> {
+                trimTrailingLineSpace();
+                append(ch);
+            }
+
+            case '-' -> state = State.MAYBE_LINE_COMMENT;
+            case '/' -> state = State.MAYBE_BLOCK_COMMENT;
+
+            case '\'' -> {
+                final var len = current.length();
+                backslashEscapes = len > 0
+                        && (current.charAt(len - 1) == 'E' || current.charAt(len - 1) == 'e')
+                        && (len == 1 || !isIdentifierChar(current.charAt(len - 2)));
+
+                current.append(ch);
+                enterQuoted(State.SINGLE_QUOTED);
+            }
+
+            case '"' -> {
+                current.append(ch);
+                enterQuoted(State.DOUBLE_QUOTED);
+            }
+
+            case '`' -> {
+                current.append(ch);
+                enterQuoted(State.BACKTICK_QUOTED);
+            }
+
+            case '$' -> {
+                final var len = current.length();
+                final var startsTag = len == 0 || !isIdentifierChar(current.charAt(len - 1));
+
+                current.append(ch);
+                if (startsTag) {
+                    dollarTag.setLength(0);
+                    state = State.DOLLAR_TAG;
+                }
+            }
+
+            default -> append(ch);
+        }
+
+        return null;
+    }
+
+    /** @return next char or -1 at end of input */
+    private int read() {
+        if (bufPos < bufLen) {
+            return buf[bufPos++];
+        }
+
+        if (eof) {
+            return -1;
+        }
+
+        try {
+            int n;
+            do {
+                n = reader.read(buf, 0, buf.length);
+            } while (n == 0);
+
+            if (n < 0) {
+                eof = true;
+                return -1;
+            }
+
+            bufLen = n;
+            bufPos = 1;
+            return buf[0];
+
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read sql statements", ex);
+        }
+    }
+
+    /**
+     * Resets state for the next statement
+     *
+     * @return the current statement when executable, otherwise null
+     */
+    private String takeCurrent() {
+        trimTrailingLineSpace();
+
+        // -- leading whitespace is never appended, trailing newlines may be
+        int end = current.length();
+        while (end > protectedUntil && Character.isWhitespace(current.charAt(end - 1))) {
+            end--;
+        }
+
+        final var stmt = current.substring(0, end);
+
+        current.setLength(0);
+        protectedUntil = 0;
+
+        // -- Release memory retained by an unusually large statement
+        if (current.capacity() > READ_BUFFER_SIZE * 16) {
+            current.trimToSize();
+        }
+
+        return isExecutable(stmt) ? stmt : null;
+    }
+
+    private void trimTrailingLineSpace() {
+        int end = current.length();
+        while (end > protectedUntil && isLineSpace(current.charAt(end - 1))) {
+            end--;
+        }
+
+        current.setLength(end);
+    }
+
+    private enum State {
+        BACKTICK_QUOTED,
+        BLOCK_COMMENT,
+        BLOCK_COMMENT_STAR,
+        DOLLAR_QUOTED,
+        DOLLAR_TAG,
+        DOUBLE_QUOTED,
+        LINE_COMMENT,
+        MAYBE_BLOCK_COMMENT,
+        MAYBE_LINE_COMMENT,
+        NORMAL,
+        SINGLE_QUOTED,
+        SINGLE_QUOTED_ESCAPE,
+    }
+}
@@ -0,0 +1,448 @@
+package io.github.wcarmon.rdbms.pool;
+
+import static java.util.Objects.requireNonNull;
+
+import io.github.wcarmon.rdbms.config.PostgresConfig;
+import io.github.wcarmon.rdbms.util.LatencyHistogram;
+import io.github.wcarmon.rdbms.util.VirtualThreads;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Small JDBC connection pool, see {@link PoolConfig}.
+ *
+ * <p>Idle connections live in a lock-free deque: returned connections go to the front
+ * and borrowers take from the front (LIFO, so the hottest connections are reused and
+ * the cold tail ages out via idle eviction).
+ *
+ * <p>Capacity is a {@link Semaphore}, one permit per borrowed connection. Fair by default,
+ * so waiters are served in arrival order (see {@link PoolConfig#barging()}). Waiting parks
+ * (no monitors), so virtual threads never pin their carrier.
+ *
+ * <p>On borrow: expired connections are closed, connections idle for more than
+ * {@link #VALIDATION_BYPASS_MILLIS} are validated with {@link Connection#isValid(int)}.
+ * On return: open transactions are rolled back, autoCommit and readOnly are restored.
+ * Statements are not tracked, callers close their own.
+ *
+ * <p>A housekeeping thread evicts idle and expired connections and opens connections
+ * up to {@link PoolConfig#minIdle()}.
+ *
+ * <p>Thread safe.
+ */
+public final class ConnectionPool implements DataSource, AutoCloseable {
+
+    /** Connections used more recently than this skip validation on borrow */
+    public static final long VALIDATION_BYPASS_MILLIS = 500;
+
+    private final LatencyHistogram borrowLatency = new LatencyHistogram();
+    private final LongAdder borrowTimeouts = new LongAdder();
+    private final LongAdder closedCount = new LongAdder();
+    private final PoolConfig config;
+    private final LongAdder createdCount = new LongAdder();
+    private final ScheduledExecutorService housekeeper;
+    private final ConcurrentLinkedDeque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+    private final String jdbcUrl;
+    private final String password;
+    private final Semaphore permits;
+    private final AtomicInteger total = new AtomicInteger();
+    private final String user;
+    private final int validationSeconds;
+
+    private volatile boolean closed;
+
+    /**
+     * Create new instance, starts housekeeping (which opens minIdle connections)
+     *
+     * @param jdbcUrl  any JDBC url, driver must be registered with {@link DriverManager}
+     * @param user     credential, null when the url carries credentials
+     * @param password credential, null when the url carries credentials
+     * @param config   sizing and lifecycle
+     */
+    public ConnectionPool(
+            String jdbcUrl,
+            @Nullable String user,
+            @Nullable String password,
+            PoolConfig config) {
+
+        requireNonNull(config, "config is required and null.");
+        if (jdbcUrl == null || jdbcUrl.isBlank()) {
+            throw new IllegalArgumentException("jdbcUrl is required");
+        }
+
+        this.config = config;
+        this.jdbcUrl = jdbcUrl;
+        this.password = password;
+        this.permits = new Semaphore(config.maxSize(), !config.barging());
+        this.user = user;
+        this.validationSeconds = (int) Math.max(1, config.validationTimeout().toSeconds());
+
+        final var periodNanos = config.housekeepingPeriod().toNanos();
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(
+                VirtualThreads.daemonThreadFactory("rdbms-pool-housekeeper"));
+        this.housekeeper.scheduleWithFixedDelay(
+                this::housekeep, 0, periodNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Create new instance
+     *
+     * @param pgConfig url and credentials
+     * @param config   sizing and lifecycle
+     * @return new pool, caller closes
+     */
+    public static ConnectionPool of(PostgresConfig pgConfig, PoolConfig config) {
+        requireNonNull(pgConfig, "pgConfig is required and null.");
+
+        return new ConnectionPool(
+                pgConfig.jdbcUrl(),
+                pgConfig.user(),
+                pgConfig.password(),
+                config);
+    }
+
+    /** Close idle connections, borrowed connections are closed when returned */
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) {
+            discard(pc);
+        }
+    }
+
+    /**
+     * Borrow a connection, waits up to {@link PoolConfig#borrowTimeout()}
+     *
+     * @return logical connection, close() returns it to the pool
+     * @throws SQLTransientConnectionException on timeout
+     * @throws SQLException                    when closed, interrupted or connect fails
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        final var startNanos = System.nanoTime();
+        try {
+            requireOpen();
+
+            if (!permits.tryAcquire(config.borrowTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                borrowTimeouts.increment();
+                throw new SQLTransientConnectionException(
+                        "Timed out after " + config.borrowTimeout().toMillis()
+                                + "ms waiting for a connection, maxSize=" + config.maxSize());
+            }
+
+            try {
+                requireOpen();
+                return lease(acquirePhysical());
+
+            } catch (SQLException | RuntimeException | Error ex) {
+                permits.release();
+                throw ex;
+            }
+
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted waiting for a connection", ex);
+
+        } finally {
+            borrowLatency.recordSince(startNanos);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("ConnectionPool uses its configured credentials");
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException("ConnectionPool does not use java.util.logging");
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return max open physical connections
+     */
+    public int maxSize() {
+        return config.maxSize();
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Use PoolConfig.borrowTimeout");
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        throw new SQLFeatureNotSupportedException("ConnectionPool has no log writer");
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return current sizes and counters since creation
+     */
+    public PoolStats stats() {
+        return new PoolStats(
+                total.get(),
+                idle.size(),
+                permits.getQueueLength(),
+                createdCount.sum(),
+                closedCount.sum(),
+                borrowTimeouts.sum(),
+                borrowLatency.snapshot());
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+
+        throw new SQLException("ConnectionPool does not wrap " + iface.getName());
+    }
+
+    /** Evict idle and expired connections, then refill to minIdle */
+    void housekeep() {
+        if (closed) {
+            return;
+        }
+
+        final var now = System.nanoTime();
+        final var idleTimeoutNanos = config.idleTimeout().toNanos();
+        for (final var pc : idle) {
+            final var evict = isExpired(pc, now)
+                    || (now - pc.lastReturnedNanos > idleTimeoutNanos
+                    && total.get() > config.minIdle());
+
+            // -- remove only succeeds when no borrower polled it first
+            if (evict && idle.remove(pc)) {
+                discard(pc);
+            }
+        }
+
+        while (!closed && total.get() < config.minIdle() && permits.tryAcquire()) {
+            try {
+                // -- cold end, so borrowers prefer connections already in use
+                idle.offerLast(open());
+
+            } catch (SQLException ex) {
+                // -- database unreachable, retry next period
+                break;
+
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    /** Caller holds a permit */
+    private PooledConnection acquirePhysical() throws SQLException {
+        final var bypassNanos = TimeUnit.MILLISECONDS.toNanos(VALIDATION_BYPASS_MILLIS);
+
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) {
+            final var now = System.nanoTime();
+            if (isExpired(pc, now)) {
+                discard(pc);
+                continue;
+            }
+
+            if (now - pc.lastReturnedNanos > bypassNanos && !isValid(pc)) {
+                discard(pc);
+                continue;
+            }
+
+            return pc;
+        }
+
+        return open();
+    }
+
+    private void discard(PooledConnection pc) {
+        total.decrementAndGet();
+        closedCount.increment();
+
+        try {
+            pc.physical.close();
+
+        } catch (SQLException ex) {
+            // -- already broken, nothing else to release
+        }
+    }
+
+    private boolean isExpired(PooledConnection pc, long nowNanos) {
+        return nowNanos - pc.createdNanos >= config.maxLifetime().toNanos();
+    }
+
+    private boolean isValid(PooledConnection pc) {
+        try {
+            return pc.physical.isValid(validationSeconds);
+
+        } catch (SQLException ex) {
+            return false;
+        }
+    }
+
+    private Connection lease(PooledConnection pc) {
+        final var returned = new AtomicBoolean();
+        final InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "close":
+                    if (returned.compareAndSet(false, true)) {
+                        release(pc, false);
+                    }
+                    return null;
+
+                case "abort":
+                    if (returned.compareAndSet(false, true)) {
+                        release(pc, true);
+                    }
+                    return null;
+
+                case "isClosed":
+                    return returned.get() || pc.physical.isClosed();
+
+                case "equals":
+                    return proxy == args[0];
+
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+
+                case "toString":
+                    return "PooledConnection[" + pc.physical + "]";
+
+                default:
+                    break;
+            }
+
+            if (returned.get()) {
+                throw new SQLException("Connection is closed");
+            }
+
+            try {
+                return method.invoke(pc.physical, args);
+
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        };
+
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                handler);
+    }
+
+    private PooledConnection open() throws SQLException {
+        final var physical = user == null
+                ? DriverManager.getConnection(jdbcUrl)
+                : DriverManager.getConnection(jdbcUrl, user, password);
+
+        total.incrementAndGet();
+        createdCount.increment();
+
+        return new PooledConnection(physical, System.nanoTime());
+    }
+
+    private void release(PooledConnection pc, boolean broken) {
+        try {
+            final var now = System.nanoTime();
+            if (broken || closed || isExpired(pc, now) || !reset(pc)) {
+                discard(pc);
+                return;
+            }
+
+            pc.lastReturnedNanos = now;
+            idle.offerFirst(pc);
+
+            // -- close() may have drained idle before the push
+            if (closed && idle.remove(pc)) {
+                discard(pc);
+            }
+
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void requireOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("ConnectionPool is closed");
+        }
+    }
+
+    /**
+     * Undo session state a borrower may have changed
+     *
+     * @return false when the connection is unusable
+     */
+    private boolean reset(PooledConnection pc) {
+        final var conn = pc.physical;
+        try {
+            if (!conn.getAutoCommit()) {
+                conn.rollback();
+                conn.setAutoCommit(true);
+            }
+            if (conn.isReadOnly()) {
+                conn.setReadOnly(false);
+            }
+
+            conn.clearWarnings();
+            return true;
+
+        } catch (SQLException ex) {
+            return false;
+        }
+    }
+
+    /** One physical connection */
+    private static final class PooledConnection {
+
+        final long createdNanos;
+        final Connection physical;
+
+        volatile long lastReturnedNanos;
+
+        PooledConnection(Connection physical, long createdNanos) {
+            this.createdNanos = createdNanos;
+            this.lastReturnedNanos = createdNanos;
+            this.physical = physical;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.wcarmon.rdbms.pool;
+
+import java.time.Duration;
+import lombok.Builder;
+
+/**
+ * Sizing and lifecycle for {@link ConnectionPool}
+ *
+ * @param barging           true lets a borrower take a just-returned connection ahead of
+ *                          waiters: much higher throughput under contention, but no ordering
+ *                          guarantee (false means fair, first come first served)
+ * @param borrowTimeout     max wait in {@link ConnectionPool#getConnection()}
+ * @param idleTimeout       idle connections beyond minIdle are closed after this
+ * @param maxLifetime       connections are closed (when not borrowed) after this
+ * @param maxSize           max physical connections, borrowed + idle
+ * @param minIdle           housekeeping keeps at least this many connections open
+ * @param validationTimeout for {@link java.sql.Connection#isValid(int)} on borrow
+ */
+@Builder
+public record PoolConfig(
+        boolean barging,
+        Duration borrowTimeout,
+        Duration idleTimeout,
+        Duration maxLifetime,
+        int maxSize,
+        int minIdle,
+        Duration validationTimeout) {
+
+    public static final Duration DEFAULT_BORROW_TIMEOUT = Duration.ofSeconds(30);
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(10);
+    public static final Duration DEFAULT_MAX_LIFETIME = Duration.ofMinutes(30);
+    public static final int DEFAULT_MAX_SIZE = 10;
+    public static final Duration DEFAULT_VALIDATION_TIMEOUT = Duration.ofSeconds(5);
+
+    /** Defaults and Validation */
+    public PoolConfig {
+        borrowTimeout = borrowTimeout == null ? DEFAULT_BORROW_TIMEOUT : borrowTimeout;
+        idleTimeout = idleTimeout == null ? DEFAULT_IDLE_TIMEOUT : idleTimeout;
+        maxLifetime = maxLifetime == null ? DEFAULT_MAX_LIFETIME : maxLifetime;
+        maxSize = maxSize == 0 ? DEFAULT_MAX_SIZE : maxSize;
+        validationTimeout = validationTimeout == null
+                ? DEFAULT_VALIDATION_TIMEOUT
+                : validationTimeout;
+
+        if (borrowTimeout.isNegative()) {
+            throw new IllegalArgumentException("borrowTimeout must be non-negative");
+        }
+        if (idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("idleTimeout must be positive");
+        }
+        if (maxLifetime.isNegative() || maxLifetime.isZero()) {
+            throw new IllegalArgumentException("maxLifetime must be positive");
+        }
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        if (minIdle < 0 || minIdle > maxSize) {
+            throw new IllegalArgumentException("minIdle must be in [0, maxSize]");
+        }
+        if (validationTimeout.isNegative() || validationTimeout.isZero()) {
+            throw new IllegalArgumentException("validationTimeout must be positive");
+        }
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return config with all defaults
+     */
+    public static PoolConfig defaults() {
+        return builder().build();
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return how often to evict idle/expired connections and refill to minIdle
+     */
+    public Duration housekeepingPeriod() {
+        final var half = idleTimeout.dividedBy(2);
+        return half.compareTo(Duration.ofSeconds(30)) < 0 ? half : Duration.ofSeconds(30);
+    }
+}
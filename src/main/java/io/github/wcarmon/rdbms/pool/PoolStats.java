@@ -0,0 +1,40 @@
+package io.github.wcarmon.rdbms.pool;
+
+import static java.util.Objects.requireNonNull;
+
+import io.github.wcarmon.rdbms.util.LatencySnapshot;
+
+/**
+ * Point-in-time state of a {@link ConnectionPool}
+ *
+ * @param total          open physical connections
+ * @param idle           connections ready to borrow
+ * @param waiting        threads blocked in getConnection (estimate)
+ * @param created        physical connections opened since creation
+ * @param closed         physical connections closed since creation
+ * @param borrowTimeouts getConnection calls which gave up
+ * @param borrowLatency  time spent in getConnection
+ */
+public record PoolStats(
+        int total,
+        int idle,
+        int waiting,
+        long created,
+        long closed,
+        long borrowTimeouts,
+        LatencySnapshot borrowLatency) {
+
+    /** Create new instance */
+    public PoolStats {
+        requireNonNull(borrowLatency, "borrowLatency is required and null.");
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return connections currently borrowed
+     */
+    public int active() {
+        return Math.max(0, total - idle);
+    }
+}
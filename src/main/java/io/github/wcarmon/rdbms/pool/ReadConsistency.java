@@ -0,0 +1,11 @@
+package io.github.wcarmon.rdbms.pool;
+
+/** Staleness a read can tolerate, see {@link RoutingDataSource}. */
+public enum ReadConsistency {
+
+    /** Any healthy replica, may lag the primary */
+    EVENTUAL,
+
+    /** Primary, so the read sees every committed write (eg. right after a write) */
+    READ_YOUR_WRITES,
+}
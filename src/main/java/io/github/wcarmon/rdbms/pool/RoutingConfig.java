@@ -0,0 +1,52 @@
+package io.github.wcarmon.rdbms.pool;
+
+import java.time.Duration;
+import java.util.List;
+import lombok.Builder;
+
+/**
+ * Tuning for {@link RoutingDataSource}
+ *
+ * @param ejectionPeriod unhealthy replicas receive no reads for this long
+ * @param replicaWeights relative capacity, aligned with the replicas, empty means equal
+ */
+@Builder
+public record RoutingConfig(Duration ejectionPeriod, List<Integer> replicaWeights) {
+
+    public static final Duration DEFAULT_EJECTION_PERIOD = Duration.ofSeconds(10);
+
+    /** Defaults and Validation */
+    public RoutingConfig {
+        ejectionPeriod = ejectionPeriod == null ? DEFAULT_EJECTION_PERIOD : ejectionPeriod;
+        replicaWeights = replicaWeights == null ? List.of() : List.copyOf(replicaWeights);
+
+        if (ejectionPeriod.isNegative()) {
+            throw new IllegalArgumentException("ejectionPeriod must be non-negative");
+        }
+
+        for (final var weight : replicaWeights) {
+            if (weight <= 0) {
+                throw new IllegalArgumentException("replicaWeights must be positive");
+            }
+        }
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return config with all defaults
+     */
+    public static RoutingConfig defaults() {
+        return builder().build();
+    }
+
+    /**
+     * Simple getter
+     *
+     * @param replicaIndex from zero
+     * @return weight for the replica, 1 when unspecified
+     */
+    public int weightOf(int replicaIndex) {
+        return replicaWeights.isEmpty() ? 1 : replicaWeights.get(replicaIndex);
+    }
+}
@@ -0,0 +1,386 @@
+package io.github.wcarmon.rdbms.pool;
+
+import static java.util.Objects.requireNonNull;
+
+import io.github.wcarmon.rdbms.DAOOperation;
+import io.github.wcarmon.rdbms.OperationAwareDataSource;
+import io.github.wcarmon.rdbms.config.PostgresConfig;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLNonTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+
+/**
+ * Sends writes to the primary and read-only {@link DAOOperation}s to replicas.
+ *
+ * <p>Replica choice: least outstanding connections relative to weight
+ * (see {@link RoutingConfig#replicaWeights()}), ties rotate.
+ *
+ * <p>Passive health checks: a replica which fails to connect, or where a {@link Connection}
+ * method fails, with a connection exception (SQLState class 08 or
+ * {@link SQLNonTransientConnectionException}) is ejected for
+ * {@link RoutingConfig#ejectionPeriod()}. Other failures (eg. a saturated pool's borrow
+ * timeout) only move this read to the next replica, so a busy replica is never ejected.
+ * Reads fall back to the primary when no replica accepts.
+ *
+ * <p>{@link #getConnection()} always returns a primary connection, so this is a drop-in
+ * replacement for a single DataSource.
+ *
+ * <p>Thread safe when the delegates are.
+ */
+public final class RoutingDataSource implements OperationAwareDataSource, AutoCloseable {
+
+    private final LongAdder ejections = new LongAdder();
+    private final long ejectionPeriodNanos;
+    private final LongAdder fallbacks = new LongAdder();
+    private final List<ConnectionPool> owned;
+    private final DataSource primary;
+    private final LongAdder primaryRoutes = new LongAdder();
+    private final List<Replica> replicas;
+    private final LongAdder replicaRoutes = new LongAdder();
+    private final AtomicInteger rotation = new AtomicInteger();
+
+    /**
+     * Create new instance
+     *
+     * @param primary  receives writes, and reads when no replica is healthy
+     * @param replicas receive reads, possibly empty
+     * @param config   weights and ejection
+     */
+    public RoutingDataSource(
+            DataSource primary,
+            List<? extends DataSource> replicas,
+            RoutingConfig config) {
+        this(primary, replicas, config, List.of());
+    }
+
+    private RoutingDataSource(
+            DataSource primary,
+            List<? extends DataSource> replicas,
+            RoutingConfig config,
+            List<ConnectionPool> owned) {
+
+        requireNonNull(config, "config is required and null.");
+        requireNonNull(primary, "primary is required and null.");
+        requireNonNull(replicas, "replicas is required and null.");
+
+        if (!config.replicaWeights().isEmpty()
+                && config.replicaWeights().size() != replicas.size()) {
+            throw new IllegalArgumentException(
+                    "replicaWeights must have one weight per replica, expected "
+                            + replicas.size() + ", got " + config.replicaWeights().size());
+        }
+
+        final var tmp = new ArrayList<Replica>(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            requireNonNull(replicas.get(i), "replica is required and null.");
+            tmp.add(new Replica(replicas.get(i), config.weightOf(i)));
+        }
+
+        this.ejectionPeriodNanos = config.ejectionPeriod().toNanos();
+        this.owned = List.copyOf(owned);
+        this.primary = primary;
+        this.replicas = List.copyOf(tmp);
+    }
+
+    /**
+     * Create new instance, with one {@link ConnectionPool} per url
+     *
+     * @param pgConfig   primary and replica urls, shared credentials
+     * @param poolConfig for each pool
+     * @param config     weights and ejection
+     * @return new instance, close() closes the pools
+     */
+    public static RoutingDataSource of(
+            PostgresConfig pgConfig,
+            PoolConfig poolConfig,
+            RoutingConfig config) {
+
+        requireNonNull(pgConfig, "pgConfig is required and null.");
+
+        final var pools = new ArrayList<ConnectionPool>();
+        try {
+            pools.add(ConnectionPool.of(pgConfig, poolConfig));
+            for (final var url : pgConfig.replicaJdbcUrls()) {
+                pools.add(new ConnectionPool(
+                        url, pgConfig.user(), pgConfig.password(), poolConfig));
+            }
+
+            return new RoutingDataSource(
+                    pools.get(0),
+                    pools.subList(1, pools.size()),
+                    config,
+                    List.copyOf(pools));
+
+        } catch (RuntimeException ex) {
+            pools.forEach(ConnectionPool::close);
+            throw ex;
+        }
+    }
+
+    private static boolean isConnectionFailure(Throwable ex) {
+        if (ex instanceof SQLNonTransientConnectionException) {
+            return true;
+        }
+
+        return ex instanceof SQLException sqlEx
+                && sqlEx.getSQLState() != null
+                && sqlEx.getSQLState().startsWith("08");
+    }
+
+    /** Close the pools created by {@link #of} */
+    @Override
+    public void close() {
+        RuntimeException first = null;
+        for (final var pool : owned) {
+            try {
+                pool.close();
+
+            } catch (RuntimeException ex) {
+                if (first == null) {
+                    first = ex;
+                } else {
+                    first.addSuppressed(ex);
+                }
+            }
+        }
+
+        if (first != null) {
+            throw first;
+        }
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return primary connection
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        primaryRoutes.increment();
+        return primary.getConnection();
+    }
+
+    /**
+     * Route by operation, replicas may lag the primary
+     *
+     * @param operation what the connection is for
+     * @return replica connection for read-only operations, else primary
+     */
+    @Override
+    public Connection getConnection(DAOOperation operation) throws SQLException {
+        return getConnection(operation, ReadConsistency.EVENTUAL);
+    }
+
+    /**
+     * Route by operation
+     *
+     * @param operation   what the connection is for
+     * @param consistency {@link ReadConsistency#READ_YOUR_WRITES} pins this one read to
+     *                    the primary
+     * @return replica connection for eventually consistent reads, else primary
+     */
+    public Connection getConnection(
+            DAOOperation operation,
+            ReadConsistency consistency) throws SQLException {
+
+        requireNonNull(consistency, "consistency is required and null.");
+        requireNonNull(operation, "operation is required and null.");
+
+        if (!operation.isReadOnly() || consistency == ReadConsistency.READ_YOUR_WRITES) {
+            return getConnection();
+        }
+
+        // -- each replica is tried at most once per call
+        List<Replica> tried = List.of();
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            final var replica = choose(System.nanoTime(), tried);
+            if (replica == null) {
+                break;
+            }
+
+            replica.outstanding.incrementAndGet();
+            try {
+                final var conn = replica.dataSource.getConnection();
+                replicaRoutes.increment();
+                return track(replica, conn);
+
+            } catch (SQLException | RuntimeException ex) {
+                replica.outstanding.decrementAndGet();
+                if (isConnectionFailure(ex)) {
+                    eject(replica);
+                }
+
+                if (tried.isEmpty()) {
+                    tried = new ArrayList<>(replicas.size());
+                }
+                tried.add(replica);
+            }
+        }
+
+        if (!replicas.isEmpty()) {
+            fallbacks.increment();
+        }
+
+        return getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        primaryRoutes.increment();
+        return primary.getConnection(username, password);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return primary.getLoginTimeout();
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return primary.getLogWriter();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return primary.getParentLogger();
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        primary.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        primary.setLogWriter(out);
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return counters since creation, current outstanding connections
+     */
+    public RoutingStats stats() {
+        final var now = System.nanoTime();
+        final var outstanding = new ArrayList<Integer>(replicas.size());
+        int healthy = 0;
+        for (final var replica : replicas) {
+            outstanding.add(replica.outstanding.get());
+            if (replica.isHealthy(now)) {
+                healthy++;
+            }
+        }
+
+        return new RoutingStats(
+                primaryRoutes.sum(),
+                replicaRoutes.sum(),
+                fallbacks.sum(),
+                ejections.sum(),
+                outstanding,
+                healthy);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+
+        return primary.unwrap(iface);
+    }
+
+    /**
+     * Healthy replica with the least outstanding connections per unit of weight
+     *
+     * @param tried replicas which already failed for this call
+     * @return null when none are healthy
+     */
+    private Replica choose(long nowNanos, List<Replica> tried) {
+        final var size = replicas.size();
+        final var start = Math.floorMod(rotation.getAndIncrement(), Math.max(1, size));
+
+        Replica best = null;
+        for (int i = 0; i < size; i++) {
+            final var candidate = replicas.get((start + i) % size);
+            if (!candidate.isHealthy(nowNanos) || tried.contains(candidate)) {
+                continue;
+            }
+
+            // -- compare (outstanding + 1) / weight without division
+            if (best == null
+                    || (long) (candidate.outstanding.get() + 1) * best.weight
+                    < (long) (best.outstanding.get() + 1) * candidate.weight) {
+                best = candidate;
+            }
+        }
+
+        return best;
+    }
+
+    private void eject(Replica replica) {
+        ejections.increment();
+        replica.ejectedUntilNanos = System.nanoTime() + ejectionPeriodNanos;
+    }
+
+    private Connection track(Replica replica, Connection conn) {
+        final var returned = new AtomicBoolean();
+        final InvocationHandler handler = (proxy, method, args) -> {
+            if ("close".equals(method.getName()) && returned.compareAndSet(false, true)) {
+                replica.outstanding.decrementAndGet();
+            }
+
+            try {
+                return method.invoke(conn, args);
+
+            } catch (InvocationTargetException ex) {
+                if (isConnectionFailure(ex.getCause())) {
+                    eject(replica);
+                }
+
+                throw ex.getCause();
+            }
+        };
+
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                handler);
+    }
+
+    /** One read replica */
+    private static final class Replica {
+
+        final DataSource dataSource;
+        final AtomicInteger outstanding = new AtomicInteger();
+        final int weight;
+
+        volatile long ejectedUntilNanos;
+
+        Replica(DataSource dataSource, int weight) {
+            this.dataSource = dataSource;
+            this.ejectedUntilNanos = System.nanoTime();
+            this.weight = weight;
+        }
+
+        boolean isHealthy(long nowNanos) {
+            return nowNanos - ejectedUntilNanos >= 0;
+        }
+    }
+}
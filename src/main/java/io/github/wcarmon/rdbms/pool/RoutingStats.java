@@ -0,0 +1,30 @@
+package io.github.wcarmon.rdbms.pool;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+
+/**
+ * Counters from {@link RoutingDataSource}
+ *
+ * @param primaryRoutes        connections handed out from the primary
+ * @param replicaRoutes        connections handed out from replicas
+ * @param fallbacks            reads sent to the primary because no replica accepted
+ * @param ejections            times a replica was marked unhealthy
+ * @param outstandingByReplica connections currently borrowed, aligned with the replicas
+ * @param healthyReplicas      replicas currently accepting reads
+ */
+public record RoutingStats(
+        long primaryRoutes,
+        long replicaRoutes,
+        long fallbacks,
+        long ejections,
+        List<Integer> outstandingByReplica,
+        int healthyReplicas) {
+
+    /** Create new instance */
+    public RoutingStats {
+        requireNonNull(outstandingByReplica, "outstandingByReplica is required and null.");
+        outstandingByReplica = List.copyOf(outstandingByReplica);
+    }
+}
@@ -0,0 +1,316 @@
+package io.github.wcarmon.rdbms.read;
+
+import static java.util.Objects.requireNonNull;
+
+import io.github.wcarmon.rdbms.util.LatencyHistogram;
+import io.github.wcarmon.rdbms.util.SQLIdentifiers;
+import io.github.wcarmon.rdbms.util.VirtualThreads;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import javax.sql.DataSource;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Coalesces concurrent {@link io.github.wcarmon.rdbms.DAOOperation#FIND_BY_ID} lookups
+ * (DataLoader style).
+ *
+ * <p>Keys arriving within {@link BatchLoaderConfig#maxWait()} of the first pending key
+ * (or until {@link BatchLoaderConfig#maxBatchSize()} distinct keys are pending) are
+ * loaded together, eg. one "WHERE id IN (...)" query, and results are fanned back out to
+ * each caller's future. Duplicate keys within a batch share one future.
+ *
+ * <p>Loads run on virtual threads when supported. Uses {@link ReentrantLock}
+ * (not synchronized), so virtual threads calling {@link #load} never pin their carrier.
+ *
+ * <p>Thread safe.
+ *
+ * @param <K> key type
+ * @param <V> row type
+ */
+public final class BatchLoader<K, V> implements AutoCloseable {
+
+    private final LongAdder batchCount = new LongAdder();
+    private final Function<List<K>, Map<K, V>> batchFunction;
+    private final BatchLoaderConfig config;
+    private final ExecutorService executor;
+    private final LongAdder keyCount = new LongAdder();
+    private final LatencyHistogram loadLatency = new LatencyHistogram();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongAccumulator maxBatchSize = new LongAccumulator(Math::max, 0);
+    private final LongAdder requestCount = new LongAdder();
+    private final ScheduledExecutorService timer;
+    private final LatencyHistogram waitLatency = new LatencyHistogram();
+
+    /** Guarded by lock */
+    private boolean closed;
+
+    /** Guarded by lock */
+    @Nullable
+    private Batch<K, V> pending;
+
+    /**
+     * Create new instance
+     *
+     * @param batchFunction loads distinct keys, absent keys are simply missing from the map
+     * @param config        batch sizing
+     */
+    public BatchLoader(Function<List<K>, Map<K, V>> batchFunction, BatchLoaderConfig config) {
+        requireNonNull(batchFunction, "batchFunction is required and null.");
+        requireNonNull(config, "config is required and null.");
+
+        this.batchFunction = batchFunction;
+        this.config = config;
+        this.executor = VirtualThreads.newThreadPerTaskExecutor("rdbms-batch-loader");
+        this.timer = Executors.newSingleThreadScheduledExecutor(
+                VirtualThreads.daemonThreadFactory("rdbms-batch-loader-timer"));
+    }
+
+    /**
+     * Loader which queries "SELECT * FROM table WHERE keyColumn IN (...)"
+     *
+     * <p>IN lists are padded to a power of two, like {@link ExistenceChecker}.
+     *
+     * @param dataSource one connection per batch
+     * @param table      table to query
+     * @param keyColumn  typically the primary key
+     * @param mapper     maps each row
+     * @param keyOf      extracts the key from a mapped row, must equal the requested key
+     * @param config     batch sizing
+     * @param <K>        key type
+     * @param <V>        row type
+     * @return new loader, caller closes
+     */
+    public static <K, V> BatchLoader<K, V> forTable(
+            DataSource dataSource,
+            String table,
+            String keyColumn,
+            RowMapper<? extends V> mapper,
+            Function<? super V, ? extends K> keyOf,
+            BatchLoaderConfig config) {
+
+        requireNonNull(config, "config is required and null.");
+        requireNonNull(dataSource, "dataSource is required and null.");
+        requireNonNull(keyOf, "keyOf is required and null.");
+        requireNonNull(mapper, "mapper is required and null.");
+        SQLIdentifiers.requireIdentifier(keyColumn);
+        SQLIdentifiers.requireIdentifier(table);
+
+        final var selectPrefix = "SELECT * FROM " + table + " WHERE " + keyColumn + " IN (";
+
+        return new BatchLoader<>(keys -> {
+            final var size = ExistenceChecker.paddedSize(keys.size(), config.maxBatchSize());
+            final var sql = new StringBuilder(selectPrefix.length() + size * 3 + 1)
+                    .append(selectPrefix);
+            for (int i = 0; i < size; i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+            }
+            sql.append(')');
+
+            try (final Connection conn = dataSource.getConnection();
+                 final PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+
+                final var last = keys.get(keys.size() - 1);
+                for (int i = 0; i < size; i++) {
+                    ps.setObject(i + 1, i < keys.size() ? keys.get(i) : last);
+                }
+
+                final var out = new HashMap<K, V>(keys.size() * 2);
+                try (final ResultSet rs = ps.executeQuery()) {
+                    final var bound = mapper.bind(rs.getMetaData());
+                    while (rs.next()) {
+                        final V row = bound.map(rs);
+                        out.put(keyOf.apply(row), row);
+                    }
+                }
+
+                return out;
+
+            } catch (SQLException ex) {
+                throw new IllegalStateException("Failed to load by id from " + table, ex);
+            }
+        }, config);
+    }
+
+    /** Dispatch anything pending, then stop accepting keys */
+    @Override
+    public void close() {
+        final Batch<K, V> toDispatch;
+        lock.lock();
+        try {
+            closed = true;
+            toDispatch = pending;
+            pending = null;
+
+        } finally {
+            lock.unlock();
+        }
+
+        if (toDispatch != null) {
+            dispatch(toDispatch);
+        }
+
+        timer.shutdownNow();
+        executor.shutdown();
+    }
+
+    /**
+     * Load one row, coalesced with concurrent calls, see class docs
+     *
+     * @param key non-null
+     * @return completes with the row, or null when absent
+     */
+    public CompletableFuture<V> load(K key) {
+        requireNonNull(key, "key is required and null.");
+
+        Batch<K, V> toDispatch = null;
+        final CompletableFuture<V> out;
+
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("BatchLoader is closed");
+            }
+
+            requestCount.increment();
+
+            if (pending == null) {
+                final var batch = new Batch<K, V>();
+                batch.timeout = timer.schedule(
+                        () -> flush(batch),
+                        config.maxWait().toNanos(),
+                        TimeUnit.NANOSECONDS);
+                pending = batch;
+            }
+
+            out = pending.add(key);
+
+            if (pending.entries.size() >= config.maxBatchSize()) {
+                toDispatch = pending;
+                pending = null;
+            }
+
+        } finally {
+            lock.unlock();
+        }
+
+        if (toDispatch != null) {
+            toDispatch.timeout.cancel(false);
+            dispatch(toDispatch);
+        }
+
+        return out;
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return counters since creation
+     */
+    public BatchLoaderStats stats() {
+        return new BatchLoaderStats(
+                requestCount.sum(),
+                batchCount.sum(),
+                keyCount.sum(),
+                maxBatchSize.get(),
+                waitLatency.snapshot(),
+                loadLatency.snapshot());
+    }
+
+    private void dispatch(Batch<K, V> batch) {
+        try {
+            executor.execute(() -> run(batch));
+
+        } catch (RejectedExecutionException ex) {
+            batch.fail(ex);
+        }
+    }
+
+    private void flush(Batch<K, V> batch) {
+        lock.lock();
+        try {
+            if (pending != batch) {
+                // -- already dispatched, eg. batch filled up
+                return;
+            }
+
+            pending = null;
+
+        } finally {
+            lock.unlock();
+        }
+
+        dispatch(batch);
+    }
+
+    private void run(Batch<K, V> batch) {
+        final var startNanos = System.nanoTime();
+        for (final var entry : batch.entries.values()) {
+            waitLatency.record(startNanos - entry.enqueueNanos);
+        }
+
+        final var size = batch.entries.size();
+        batchCount.increment();
+        keyCount.add(size);
+        maxBatchSize.accumulate(size);
+
+        final Map<K, V> found;
+        try {
+            found = batchFunction.apply(new ArrayList<>(batch.entries.keySet()));
+
+        } catch (Throwable ex) {
+            batch.fail(ex);
+            return;
+
+        } finally {
+            loadLatency.recordSince(startNanos);
+        }
+
+        for (final var entry : batch.entries.entrySet()) {
+            entry.getValue().future.complete(found == null ? null : found.get(entry.getKey()));
+        }
+    }
+
+    /** Keys collected within one window */
+    private static final class Batch<K, V> {
+
+        /** Insertion order, so loads see keys in arrival order */
+        final Map<K, Entry<V>> entries = new LinkedHashMap<>();
+
+        ScheduledFuture<?> timeout;
+
+        CompletableFuture<V> add(K key) {
+            return entries.computeIfAbsent(key, k -> new Entry<>()).future;
+        }
+
+        void fail(Throwable ex) {
+            for (final var entry : entries.values()) {
+                entry.future.completeExceptionally(ex);
+            }
+        }
+    }
+
+    /** One distinct key */
+    private static final class Entry<V> {
+
+        final long enqueueNanos = System.nanoTime();
+        final CompletableFuture<V> future = new CompletableFuture<>();
+    }
+}
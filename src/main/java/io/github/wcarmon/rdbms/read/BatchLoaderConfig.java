@@ -0,0 +1,39 @@
+package io.github.wcarmon.rdbms.read;
+
+import java.time.Duration;
+import lombok.Builder;
+
+/**
+ * Tuning for {@link BatchLoader}
+ *
+ * @param maxBatchSize dispatch as soon as this many distinct keys are pending
+ * @param maxWait      dispatch this long after the first key arrives, null means default
+ */
+@Builder
+public record BatchLoaderConfig(int maxBatchSize, Duration maxWait) {
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+    public static final Duration DEFAULT_MAX_WAIT = Duration.ofMillis(2);
+
+    /** Defaults and Validation */
+    public BatchLoaderConfig {
+        maxBatchSize = maxBatchSize == 0 ? DEFAULT_MAX_BATCH_SIZE : maxBatchSize;
+        maxWait = maxWait == null ? DEFAULT_MAX_WAIT : maxWait;
+
+        if (maxBatchSize < 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        if (maxWait.isNegative() || maxWait.isZero()) {
+            throw new IllegalArgumentException("maxWait must be positive");
+        }
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return config with all defaults
+     */
+    public static BatchLoaderConfig defaults() {
+        return new BatchLoaderConfig(0, null);
+    }
+}
@@ -0,0 +1,39 @@
+package io.github.wcarmon.rdbms.read;
+
+import static java.util.Objects.requireNonNull;
+
+import io.github.wcarmon.rdbms.util.LatencySnapshot;
+
+/**
+ * Counters from {@link BatchLoader}
+ *
+ * @param requestCount calls to load, including duplicates
+ * @param batchCount   batches dispatched
+ * @param keyCount     distinct keys dispatched
+ * @param maxBatchSize largest batch dispatched
+ * @param waitLatency  time each distinct key waited before its batch was dispatched
+ * @param loadLatency  time for each batch load (eg. one query)
+ */
+public record BatchLoaderStats(
+        long requestCount,
+        long batchCount,
+        long keyCount,
+        long maxBatchSize,
+        LatencySnapshot waitLatency,
+        LatencySnapshot loadLatency) {
+
+    /** Create new instance */
+    public BatchLoaderStats {
+        requireNonNull(loadLatency, "loadLatency is required and null.");
+        requireNonNull(waitLatency, "waitLatency is required and null.");
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return distinct keys per batch, zero when idle
+     */
+    public double meanBatchSize() {
+        return batchCount == 0 ? 0 : (double) keyCount / batchCount;
+    }
+}
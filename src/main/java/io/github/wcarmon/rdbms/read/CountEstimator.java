@@ -0,0 +1,33 @@
+package io.github.wcarmon.rdbms.read;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Approximate row count for {@link CountMode#ESTIMATED} on databases without
+ * Postgres planner statistics (eg. embedded databases)
+ */
+@FunctionalInterface
+public interface CountEstimator {
+
+    /** Falls back to an exact SELECT COUNT(*) */
+    CountEstimator EXACT = RowCounter::selectCount;
+
+    /**
+     * Estimate rows matching the filter
+     *
+     * @param conn       open connection, owned by the caller
+     * @param table      validated table
+     * @param whereSql   trusted filter, without "WHERE", null for every row
+     * @param parameters bound to whereSql, in order
+     * @return approximate row count, non-negative
+     * @throws SQLException on database failure
+     */
+    long estimate(
+            Connection conn,
+            String table,
+            @Nullable String whereSql,
+            List<?> parameters) throws SQLException;
+}
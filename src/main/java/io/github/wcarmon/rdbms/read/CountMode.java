@@ -0,0 +1,14 @@
+package io.github.wcarmon.rdbms.read;
+
+/** How {@link RowCounter} computes the total for a paged LIST */
+public enum CountMode {
+
+    /** Cached {@link #EXACT} count, reloaded after a ttl or a write to the table */
+    CACHED,
+
+    /** SELECT COUNT(*) on every call */
+    EXACT,
+
+    /** Planner statistics (cheap, approximate), see {@link CountEstimator} */
+    ESTIMATED
+}
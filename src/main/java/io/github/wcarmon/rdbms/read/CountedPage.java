@@ -0,0 +1,26 @@
+package io.github.wcarmon.rdbms.read;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+
+/**
+ * One page of a LIST response with the total across all pages
+ *
+ * @param rows  unmodifiable, this page only
+ * @param total rows matching the filter (approximate for {@link CountMode#ESTIMATED})
+ * @param mode  how total was computed
+ * @param <T>   row type
+ */
+public record CountedPage<T>(List<T> rows, long total, CountMode mode) {
+
+    /** Create new instance */
+    public CountedPage {
+        requireNonNull(mode, "mode is required and null.");
+        requireNonNull(rows, "rows is required and null.");
+
+        if (total < 0) {
+            throw new IllegalArgumentException("total must be non-negative");
+        }
+    }
+}
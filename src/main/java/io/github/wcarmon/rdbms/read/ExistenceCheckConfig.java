@@ -0,0 +1,65 @@
+package io.github.wcarmon.rdbms.read;
+
+import lombok.Builder;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Tuning for {@link ExistenceChecker}
+ *
+ * @param arrayType         sql element type (eg. "bigint", "uuid", "text"),
+ *                          enables one "key = ANY(?)" array parameter per query;
+ *                          null means "key IN (?, ?, ...)"
+ * @param maxBindParameters driver limit on "?" per statement (32767 is safe for postgres)
+ * @param maxKeysPerQuery   upper bound on keys per query
+ */
+@Builder
+public record ExistenceCheckConfig(
+        @Nullable String arrayType,
+        int maxBindParameters,
+        int maxKeysPerQuery) {
+
+    public static final int DEFAULT_MAX_BIND_PARAMETERS = 32_767;
+    public static final int DEFAULT_MAX_KEYS_PER_QUERY = 1_000;
+
+    /** Defaults and Validation */
+    public ExistenceCheckConfig {
+        maxBindParameters = maxBindParameters == 0
+                ? DEFAULT_MAX_BIND_PARAMETERS
+                : maxBindParameters;
+        maxKeysPerQuery = maxKeysPerQuery == 0
+                ? DEFAULT_MAX_KEYS_PER_QUERY
+                : maxKeysPerQuery;
+
+        if (arrayType != null && arrayType.isBlank()) {
+            throw new IllegalArgumentException("arrayType must be null or non-blank");
+        }
+        if (maxBindParameters < 0) {
+            throw new IllegalArgumentException("maxBindParameters must be positive");
+        }
+        if (maxKeysPerQuery < 0) {
+            throw new IllegalArgumentException("maxKeysPerQuery must be positive");
+        }
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return config with all defaults
+     */
+    public static ExistenceCheckConfig defaults() {
+        return new ExistenceCheckConfig(null, 0, 0);
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return keys per query, respecting the bind-parameter limit
+     */
+    public int keysPerQuery() {
+        if (arrayType != null) {
+            return maxKeysPerQuery;
+        }
+
+        return Math.max(1, Math.min(maxKeysPerQuery, maxBindParameters));
+    }
+}
@@ -0,0 +1,236 @@
+package io.github.wcarmon.rdbms.read;
+
+import static java.util.Objects.requireNonNull;
+
+import io.github.wcarmon.rdbms.util.SQLIdentifiers;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.sql.DataSource;
+
+/**
+ * Engine for {@link io.github.wcarmon.rdbms.DAOOperation#HAS}.
+ *
+ * <p>{@link #exists(Object)} uses "SELECT EXISTS (...)", so the database stops at the
+ * first match.
+ *
+ * <p>{@link #existsAll(List)} checks many keys with one query per chunk, either
+ * "key IN (?, ?, ...)" or "key = ANY(?)" with one array parameter
+ * (see {@link ExistenceCheckConfig#arrayType()}).
+ * IN lists are padded to a power of two (repeating the last key), so only a handful of
+ * distinct statements reach the statement cache and the query planner.
+ *
+ * <p>Thread safe, each call uses its own connection.
+ */
+public final class ExistenceChecker {
+
+    private final ExistenceCheckConfig config;
+    private final DataSource dataSource;
+    private final String existsSql;
+    private final Map<Integer, String> inListSqlBySize = new ConcurrentHashMap<>();
+    private final String keyColumn;
+    private final String table;
+
+    /**
+     * Create new instance
+     *
+     * @param dataSource for acquiring one connection per call
+     * @param table      table to check
+     * @param keyColumn  typically the primary key
+     * @param config     chunk sizing
+     */
+    public ExistenceChecker(
+            DataSource dataSource,
+            String table,
+            String keyColumn,
+            ExistenceCheckConfig config) {
+
+        requireNonNull(config, "config is required and null.");
+        requireNonNull(dataSource, "dataSource is required and null.");
+        SQLIdentifiers.requireIdentifier(keyColumn);
+        SQLIdentifiers.requireIdentifier(table);
+
+        this.config = config;
+        this.dataSource = dataSource;
+        this.keyColumn = keyColumn;
+        this.table = table;
+        this.existsSql = "SELECT EXISTS (SELECT 1 FROM " + table
+                + " WHERE " + keyColumn + " = ?)";
+    }
+
+    /**
+     * Simple getter
+     *
+     * @param table     validated table
+     * @param keyColumn validated column
+     * @param keyCount  placeholders
+     * @return eg. "SELECT id FROM t WHERE id IN (?, ?)"
+     */
+    static String inListSql(String table, String keyColumn, int keyCount) {
+        final var sb = new StringBuilder(48 + keyCount * 3);
+        sb.append("SELECT ").append(keyColumn)
+                .append(" FROM ").append(table)
+                .append(" WHERE ").append(keyColumn).append(" IN (");
+
+        for (int i = 0; i < keyCount; i++) {
+            sb.append(i == 0 ? "?" : ", ?");
+        }
+
+        return sb.append(')').toString();
+    }
+
+    private static Class<?> keyClassOf(List<Object> distinct) {
+        final var keyClass = distinct.get(0).getClass();
+        for (final var key : distinct) {
+            if (key.getClass() != keyClass) {
+                throw new IllegalArgumentException(
+                        "keys must all be the same type, found " + keyClass.getName()
+                                + " and " + key.getClass().getName());
+            }
+        }
+
+        return keyClass;
+    }
+
+    /**
+     * Simple getter
+     *
+     * @param keyCount distinct keys in a chunk
+     * @param max      keys per query
+     * @return next power of two, at most max
+     */
+    static int paddedSize(int keyCount, int max) {
+        if (keyCount <= 1) {
+            return 1;
+        }
+
+        final var pow2 = Integer.highestOneBit(keyCount - 1) << 1;
+        return pow2 <= 0 ? max : Math.min(pow2, max);
+    }
+
+    /**
+     * Efficiently check presence of one row
+     *
+     * @param key value of the key column
+     * @return true when a row with key exists
+     */
+    public boolean exists(Object key) {
+        requireNonNull(key, "key is required and null.");
+
+        try (final Connection conn = dataSource.getConnection();
+             final PreparedStatement ps = conn.prepareStatement(existsSql)) {
+
+            ps.setObject(1, key);
+            try (final ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Failed existence check on " + table, ex);
+        }
+    }
+
+    /**
+     * Check presence of many rows, in chunks
+     *
+     * @param keys all the same type, nulls never exist, duplicates allowed
+     * @return bit i is set when keys.get(i) exists
+     */
+    public BitSet existsAll(List<?> keys) {
+        requireNonNull(keys, "keys is required and null.");
+
+        final var out = new BitSet(keys.size());
+        if (keys.isEmpty()) {
+            return out;
+        }
+
+        final var keysPerQuery = config.keysPerQuery();
+        try (final Connection conn = dataSource.getConnection()) {
+            for (int start = 0; start < keys.size(); start += keysPerQuery) {
+                final var end = Math.min(keys.size(), start + keysPerQuery);
+                final var chunk = keys.subList(start, end);
+
+                final var distinct = new LinkedHashSet<Object>(chunk.size() * 2);
+                for (final var key : chunk) {
+                    if (key != null) {
+                        distinct.add(key);
+                    }
+                }
+
+                if (distinct.isEmpty()) {
+                    continue;
+                }
+
+                final var found = config.arrayType() == null
+                        ? queryInList(conn, new ArrayList<>(distinct))
+                        : queryArray(conn, new ArrayList<>(distinct));
+
+                for (int i = start; i < end; i++) {
+                    final var key = keys.get(i);
+                    if (key != null && found.contains(key)) {
+                        out.set(i);
+                    }
+                }
+            }
+
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Failed existence check on " + table, ex);
+        }
+
+        return out;
+    }
+
+    private Set<Object> collect(PreparedStatement ps, Class<?> keyClass) throws SQLException {
+        final var out = new HashSet<>();
+        try (final ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                // -- Same type as the input, so equals works (eg. Integer vs Long)
+                out.add(rs.getObject(1, keyClass));
+            }
+        }
+
+        return out;
+    }
+
+    private Set<Object> queryArray(Connection conn, List<Object> distinct) throws SQLException {
+        final var keyClass = keyClassOf(distinct);
+        final var sql = "SELECT " + keyColumn + " FROM " + table
+                + " WHERE " + keyColumn + " = ANY(?)";
+
+        try (final PreparedStatement ps = conn.prepareStatement(sql)) {
+            final var array = conn.createArrayOf(config.arrayType(), distinct.toArray());
+            try {
+                ps.setArray(1, array);
+                return collect(ps, keyClass);
+
+            } finally {
+                array.free();
+            }
+        }
+    }
+
+    private Set<Object> queryInList(Connection conn, List<Object> distinct) throws SQLException {
+        final var keyClass = keyClassOf(distinct);
+        final var size = paddedSize(distinct.size(), config.keysPerQuery());
+        final var sql = inListSqlBySize.computeIfAbsent(
+                size, n -> inListSql(table, keyColumn, n));
+
+        try (final PreparedStatement ps = conn.prepareStatement(sql)) {
+            final var last = distinct.get(distinct.size() - 1);
+            for (int i = 0; i < size; i++) {
+                ps.setObject(i + 1, i < distinct.size() ? distinct.get(i) : last);
+            }
+
+            return collect(ps, keyClass);
+        }
+    }
+}
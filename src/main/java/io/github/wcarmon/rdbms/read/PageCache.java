@@ -0,0 +1,124 @@
+package io.github.wcarmon.rdbms.read;
+
+import static java.util.Objects.requireNonNull;
+
+import io.github.wcarmon.rdbms.DAOOperation;
+import io.github.wcarmon.rdbms.paging.Pagination;
+import io.github.wcarmon.rdbms.util.LatencyHistogram;
+import io.github.wcarmon.rdbms.util.SQLIdentifiers;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Read-through cache for {@link DAOOperation#LIST} pages.
+ *
+ * <p>Keyed by table, filter and {@link Pagination} (offset/limit/columns or keyset cursor).
+ * Bounded by {@link PageCacheConfig#maxEntries()} (least recently used evicted first)
+ * and {@link PageCacheConfig#ttl()}.
+ *
+ * <p>Single flight: concurrent misses for the same page run the loader once, the other
+ * callers wait for that result (see {@link SingleFlightCache}).
+ *
+ * <p>Writes must call {@link #invalidate(DAOOperation, String)}, which drops every cached
+ * page of the table (any write can shift page boundaries). Pages still loading are
+ * dropped too, so a load which started before the write is never served to later callers.
+ *
+ * <p>Thread safe. Uses {@link ReentrantLock} (not synchronized) and never holds it while
+ * loading.
+ *
+ * @param <V> row type
+ */
+public final class PageCache<V> {
+
+    private final SingleFlightCache<PageKey, List<V>> cache;
+    private final LatencyHistogram loadLatency = new LatencyHistogram();
+
+    /**
+     * Create new instance
+     *
+     * @param config size and ttl bounds
+     */
+    public PageCache(PageCacheConfig config) {
+        requireNonNull(config, "config is required and null.");
+
+        this.cache = new SingleFlightCache<>(config.maxEntries(), config.ttl());
+    }
+
+    /**
+     * Return the cached page, or load and cache it
+     *
+     * @param table      table the page reads from, used for invalidation
+     * @param filter     anything with value equality (eg. a record of criteria), null for none
+     * @param pagination which page
+     * @param loader     runs the query on a miss, on the calling thread
+     * @return unmodifiable rows
+     */
+    public List<V> get(
+            String table,
+            @Nullable Object filter,
+            Pagination pagination,
+            Supplier<? extends List<? extends V>> loader) {
+
+        requireNonNull(loader, "loader is required and null.");
+        requireNonNull(pagination, "pagination is required and null.");
+        SQLIdentifiers.requireIdentifier(table);
+
+        return cache.get(new PageKey(table, filter, pagination), () -> {
+            final var startNanos = System.nanoTime();
+            try {
+                return List.<V>copyOf(loader.get());
+
+            } finally {
+                loadLatency.recordSince(startNanos);
+            }
+        });
+    }
+
+    /**
+     * Drop every cached page of the table when operation is a write
+     *
+     * @param operation just executed (or about to be) against table
+     * @param table     table written
+     * @return true when pages were invalidated, false for read operations
+     */
+    public boolean invalidate(DAOOperation operation, String table) {
+        requireNonNull(operation, "operation is required and null.");
+        SQLIdentifiers.requireIdentifier(table);
+
+        if (operation.isReadOnly()) {
+            return false;
+        }
+
+        cache.invalidateIf(key -> key.table().equals(table));
+        return true;
+    }
+
+    /** Drop every cached page */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return counters since creation
+     */
+    public PageCacheStats stats() {
+        final var stats = cache.stats();
+
+        return new PageCacheStats(
+                stats.hits(),
+                stats.misses(),
+                stats.loadFailures(),
+                stats.evictions(),
+                stats.invalidations(),
+                stats.size(),
+                loadLatency.snapshot());
+    }
+
+    private record PageKey(String table, @Nullable Object filter, Pagination pagination) {
+
+    }
+}
@@ -0,0 +1,39 @@
+package io.github.wcarmon.rdbms.read;
+
+import java.time.Duration;
+import lombok.Builder;
+
+/**
+ * Tuning for {@link PageCache}
+ *
+ * @param maxEntries least recently used pages are evicted beyond this
+ * @param ttl        pages older than this are reloaded, null means default
+ */
+@Builder
+public record PageCacheConfig(int maxEntries, Duration ttl) {
+
+    public static final int DEFAULT_MAX_ENTRIES = 1_000;
+    public static final Duration DEFAULT_TTL = Duration.ofSeconds(30);
+
+    /** Defaults and Validation */
+    public PageCacheConfig {
+        maxEntries = maxEntries == 0 ? DEFAULT_MAX_ENTRIES : maxEntries;
+        ttl = ttl == null ? DEFAULT_TTL : ttl;
+
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive");
+        }
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return config with all defaults
+     */
+    public static PageCacheConfig defaults() {
+        return new PageCacheConfig(0, null);
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.wcarmon.rdbms.read;
+
+import static java.util.Objects.requireNonNull;
+
+import io.github.wcarmon.rdbms.util.LatencySnapshot;
+
+/**
+ * Counters from {@link PageCache}
+ *
+ * @param hits          served from cache, including callers which joined an in-flight load
+ * @param misses        calls which ran the loader
+ * @param loadFailures  loader threw, nothing cached
+ * @param evictions     pages dropped by the size bound
+ * @param invalidations writes which invalidated a table
+ * @param size          pages currently cached
+ * @param loadLatency   time for each loader call
+ */
+public record PageCacheStats(
+        long hits,
+        long misses,
+        long loadFailures,
+        long evictions,
+        long invalidations,
+        long size,
+        LatencySnapshot loadLatency) {
+
+    /** Create new instance */
+    public PageCacheStats {
+        requireNonNull(loadLatency, "loadLatency is required and null.");
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return fraction of calls served from cache, zero when idle
+     */
+    public double hitRatio() {
+        final var total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.wcarmon.rdbms.read;
+
+import lombok.Builder;
+
+/**
+ * Tuning for {@link ParallelScanner}
+ *
+ * @param boundaries    how key ranges are found, null means {@link ScanBoundaries#MIN_MAX}
+ * @param fetchSize     rows per round trip, per range
+ * @param parallelism   key ranges, each on its own connection
+ * @param queueCapacity rows buffered per range ahead of the consumer
+ */
+@Builder
+public record ParallelScanConfig(
+        ScanBoundaries boundaries,
+        int fetchSize,
+        int parallelism,
+        int queueCapacity) {
+
+    public static final int DEFAULT_PARALLELISM = 4;
+    public static final int DEFAULT_QUEUE_CAPACITY = 1_000;
+
+    /** Defaults and Validation */
+    public ParallelScanConfig {
+        boundaries = boundaries == null ? ScanBoundaries.MIN_MAX : boundaries;
+        fetchSize = fetchSize == 0 ? RowStreamer.DEFAULT_FETCH_SIZE : fetchSize;
+        parallelism = parallelism == 0 ? DEFAULT_PARALLELISM : parallelism;
+        queueCapacity = queueCapacity == 0 ? DEFAULT_QUEUE_CAPACITY : queueCapacity;
+
+        if (fetchSize < 0) {
+            throw new IllegalArgumentException("fetchSize must be positive");
+        }
+        if (parallelism < 0) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        if (queueCapacity < 0) {
+            throw new IllegalArgumentException("queueCapacity must be positive");
+        }
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return config with all defaults
+     */
+    public static ParallelScanConfig defaults() {
+        return builder().build();
+    }
+}
@@ -0,0 +1,464 @@
+package io.github.wcarmon.rdbms.read;
+
+import static java.util.Objects.requireNonNull;
+
+import io.github.wcarmon.rdbms.paging.Pagination;
+import io.github.wcarmon.rdbms.paging.SortColumn;
+import io.github.wcarmon.rdbms.paging.SortDirection;
+import io.github.wcarmon.rdbms.util.SQLIdentifiers;
+import io.github.wcarmon.rdbms.util.VirtualThreads;
+import java.math.BigInteger;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.sql.DataSource;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Full-table {@link io.github.wcarmon.rdbms.DAOOperation#LIST} split into key ranges on
+ * the leading {@link SortColumn}, each range streamed concurrently on its own connection
+ * (see {@link ParallelScanConfig}).
+ *
+ * <p>Ranges partition the leading column, so the ordered result is simply the ranges
+ * concatenated in sort order (no comparator): later ranges prefetch up to
+ * {@link ParallelScanConfig#queueCapacity()} rows while earlier ones drain.
+ * Unordered scans interleave rows as they arrive, so every connection stays busy.
+ *
+ * <p>The leading column must not contain NULLs (typically the primary key), rows with
+ * NULLs would belong to no range.
+ *
+ * <p>Closing the Stream cancels the scan: producers stop and release their connections.
+ * Always use try-with-resources.
+ *
+ * <p>Thread safe. The mapper is called concurrently, from one thread per range.
+ */
+public final class ParallelScanner {
+
+    private final ParallelScanConfig config;
+    private final DataSource dataSource;
+    private final RowStreamer streamer;
+
+    /**
+     * Create new instance
+     *
+     * @param dataSource needs at least {@link ParallelScanConfig#parallelism()} connections
+     * @param config     parallelism and buffering
+     */
+    public ParallelScanner(DataSource dataSource, ParallelScanConfig config) {
+        requireNonNull(config, "config is required and null.");
+        requireNonNull(dataSource, "dataSource is required and null.");
+
+        this.config = config;
+        this.dataSource = dataSource;
+        this.streamer = new RowStreamer(dataSource, config.fetchSize());
+    }
+
+    /**
+     * Simple getter
+     *
+     * @param table    validated table
+     * @param columns  validated sort columns
+     * @param hasLower true for "leading &gt; ?"
+     * @param hasUpper true for "leading &lt;= ?"
+     * @return eg. "SELECT * FROM t WHERE id &gt; ? AND id &lt;= ? ORDER BY id ASC"
+     */
+    static String rangeSql(
+            String table,
+            List<SortColumn> columns,
+            boolean hasLower,
+            boolean hasUpper) {
+
+        final var leading = columns.get(0).name();
+        final var sb = new StringBuilder(64 + 24 * columns.size());
+        sb.append("SELECT * FROM ").append(table);
+
+        if (hasLower) {
+            sb.append(" WHERE ").append(leading).append(" > ?");
+        }
+        if (hasUpper) {
+            sb.append(hasLower ? " AND " : " WHERE ").append(leading).append(" <= ?");
+        }
+
+        sb.append(" ORDER BY ");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+
+            final var col = columns.get(i);
+            sb.append(col.name()).append(' ').append(col.direction().name());
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Equal width boundaries between min and max
+     *
+     * @param min    smallest key
+     * @param max    largest key
+     * @param ranges desired range count
+     * @return strictly increasing upper bounds, excluding the last range
+     */
+    static List<Object> splitMinMax(long min, long max, int ranges) {
+        final var out = new ArrayList<Object>(ranges);
+        final var lo = BigInteger.valueOf(min);
+        final var span = BigInteger.valueOf(max).subtract(lo);
+
+        for (int i = 1; i < ranges; i++) {
+            final var boundary = lo.add(span.multiply(BigInteger.valueOf(i))
+                    .divide(BigInteger.valueOf(ranges))).longValueExact();
+
+            // -- narrow spans repeat boundaries
+            if (boundary < max
+                    && (out.isEmpty() || boundary > (long) out.get(out.size() - 1))) {
+                out.add(boundary);
+            }
+        }
+
+        return out;
+    }
+
+    /**
+     * Stream every row, see class docs
+     *
+     * @param table   table to scan
+     * @param columns sort columns (trusted, eg. from
+     *                {@link io.github.wcarmon.rdbms.paging.PaginationSQLCompiler#resolveName}),
+     *                the first is split into ranges
+     * @param mapper  maps each row, called concurrently
+     * @param ordered true to return rows in sort order, false for arrival order
+     * @param <T>     row type
+     * @return Stream which must be closed
+     */
+    public <T> Stream<T> scan(
+            String table,
+            List<SortColumn> columns,
+            RowMapper<? extends T> mapper,
+            boolean ordered) {
+        return scan(table, columns, mapper, ordered, Long.MAX_VALUE);
+    }
+
+    /**
+     * Stream one offset mode page, see class docs
+     *
+     * <p>Each range reads at most offset + limit rows. In unordered mode the page is any
+     * limit rows.
+     *
+     * @param table      table to scan
+     * @param pagination offset mode, trusted sort columns, the first is split into ranges
+     * @param mapper     maps each row, called concurrently
+     * @param ordered    true to return rows in sort order, false for arrival order
+     * @param <T>        row type
+     * @return Stream which must be closed
+     */
+    public <T> Stream<T> scan(
+            String table,
+            Pagination pagination,
+            RowMapper<? extends T> mapper,
+            boolean ordered) {
+
+        requireNonNull(pagination, "pagination is required and null.");
+        if (pagination.isKeyset()) {
+            throw new IllegalArgumentException("keyset cursors are not supported, use offset mode");
+        }
+
+        final long maxRowsPerRange;
+        try {
+            maxRowsPerRange = Math.addExact(pagination.offset(), pagination.limit());
+
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException(
+                    "offset + limit is too large: " + pagination.offset() + " + "
+                            + pagination.limit(), ex);
+        }
+        final Stream<T> rows = scan(
+                table, pagination.columns(), mapper, ordered, maxRowsPerRange);
+
+        return rows.skip(pagination.offset()).limit(pagination.limit());
+    }
+
+    private List<Object> boundaries(String table, String column) {
+        final var existsNullSql = "SELECT EXISTS (SELECT 1 FROM " + table
+                + " WHERE " + column + " IS NULL)";
+
+        try (final Connection conn = dataSource.getConnection()) {
+            try (final PreparedStatement ps = conn.prepareStatement(existsNullSql);
+                 final ResultSet rs = ps.executeQuery()) {
+
+                if (rs.next() && rs.getBoolean(1)) {
+                    throw new IllegalArgumentException(
+                            "leading sort column must not contain NULLs: " + column);
+                }
+            }
+
+            return config.boundaries() == ScanBoundaries.MIN_MAX
+                    ? minMaxBoundaries(conn, table, column)
+                    : quantileBoundaries(conn, table, column);
+
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Failed to find scan ranges on " + table, ex);
+        }
+    }
+
+    private List<Object> minMaxBoundaries(Connection conn, String table, String column)
+            throws SQLException {
+
+        final var sql = "SELECT MIN(" + column + "), MAX(" + column + ") FROM " + table;
+        try (final PreparedStatement ps = conn.prepareStatement(sql);
+             final ResultSet rs = ps.executeQuery()) {
+
+            rs.next();
+            final var min = rs.getObject(1);
+            final var max = rs.getObject(2);
+            if (min == null || max == null) {
+                // -- empty table
+                return List.of();
+            }
+
+            if (!(min instanceof Integer || min instanceof Long || min instanceof Short)) {
+                throw new IllegalArgumentException(
+                        "MIN_MAX boundaries require an integer column, use QUANTILES for "
+                                + column + " (" + min.getClass().getName() + ")");
+            }
+
+            return splitMinMax(
+                    ((Number) min).longValue(),
+                    ((Number) max).longValue(),
+                    config.parallelism());
+        }
+    }
+
+    private List<Object> quantileBoundaries(Connection conn, String table, String column)
+            throws SQLException {
+
+        final var sql = "SELECT MAX(" + column + ") FROM ("
+                + "SELECT " + column + ", NTILE(" + config.parallelism() + ") OVER (ORDER BY "
+                + column + ") AS scan_bucket FROM " + table
+                + ") AS buckets GROUP BY scan_bucket ORDER BY scan_bucket";
+
+        final var maxima = new ArrayList<Object>(config.parallelism());
+        try (final PreparedStatement ps = conn.prepareStatement(sql);
+             final ResultSet rs = ps.executeQuery()) {
+
+            while (rs.next()) {
+                maxima.add(rs.getObject(1));
+            }
+        }
+
+        // -- last bucket's max is the table max, so no upper bound there
+        final var out = new ArrayList<Object>(maxima.size());
+        for (int i = 0; i < maxima.size() - 1; i++) {
+            if (out.isEmpty() || !Objects.equals(out.get(out.size() - 1), maxima.get(i))) {
+                out.add(maxima.get(i));
+            }
+        }
+
+        return out;
+    }
+
+    private <T> Stream<T> scan(
+            String table,
+            List<SortColumn> columns,
+            RowMapper<? extends T> mapper,
+            boolean ordered,
+            long maxRowsPerRange) {
+
+        requireNonNull(columns, "columns is required and null.");
+        requireNonNull(mapper, "mapper is required and null.");
+        SQLIdentifiers.requireIdentifier(table);
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("columns is required");
+        }
+        for (final var col : columns) {
+            SQLIdentifiers.requireIdentifier(col.name());
+        }
+
+        final var boundaries = boundaries(table, columns.get(0).name());
+        final var rangeCount = boundaries.size() + 1;
+
+        // -- ordered: one queue per range, consumed in sort order; unordered: shared
+        final var queues = new ArrayList<BlockingQueue<Object>>(rangeCount);
+        for (int i = 0; i < (ordered ? rangeCount : 1); i++) {
+            queues.add(new ArrayBlockingQueue<>(config.queueCapacity()));
+        }
+
+        final var scan = new Scan<T>(
+                VirtualThreads.newThreadPerTaskExecutor("rdbms-parallel-scan"),
+                queues,
+                rangeCount,
+                columns.get(0).direction() == SortDirection.DESC);
+
+        final var pagination = maxRowsPerRange == Long.MAX_VALUE
+                ? null
+                : new Pagination(0, maxRowsPerRange, columns);
+
+        for (int i = 0; i < rangeCount; i++) {
+            final var hasLower = i > 0;
+            final var hasUpper = i < rangeCount - 1;
+
+            final var params = new ArrayList<>(2);
+            if (hasLower) {
+                params.add(boundaries.get(i - 1));
+            }
+            if (hasUpper) {
+                params.add(boundaries.get(i));
+            }
+
+            final var range = i;
+            final var sql = rangeSql(table, columns, hasLower, hasUpper);
+            final var queue = queues.get(ordered ? i : 0);
+
+            scan.executor.execute(() -> scan.produce(range, queue, () -> pagination == null
+                    ? streamer.stream(sql, params, mapper)
+                    : streamer.stream(sql, params, mapper, pagination)));
+        }
+
+        final var characteristics = Spliterator.NONNULL | (ordered ? Spliterator.ORDERED : 0);
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(scan, characteristics), false)
+                .onClose(scan::cancel);
+    }
+
+    /** One in-flight scan, consumed as an Iterator */
+    private static final class Scan<T> implements Iterator<T> {
+
+        /** Marks a finished range */
+        private static final Object END = new Object();
+
+        final ExecutorService executor;
+
+        private final boolean descending;
+        private final AtomicReference<Failure> failure = new AtomicReference<>();
+        private final List<BlockingQueue<Object>> queues;
+        private final int rangeCount;
+
+        private volatile boolean cancelled;
+
+        /** Ranges fully consumed */
+        private int finished;
+
+        @Nullable
+        private Object next;
+
+        Scan(
+                ExecutorService executor,
+                List<BlockingQueue<Object>> queues,
+                int rangeCount,
+                boolean descending) {
+
+            this.descending = descending;
+            this.executor = executor;
+            this.queues = queues;
+            this.rangeCount = rangeCount;
+        }
+
+        void cancel() {
+            cancelled = true;
+            executor.shutdownNow();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                throwIfFailed();
+
+                if (finished == rangeCount) {
+                    executor.shutdown();
+                    return false;
+                }
+
+                final Object item;
+                try {
+                    item = currentQueue().take();
+
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    cancel();
+                    throw new IllegalStateException("Interrupted during parallel scan", ex);
+                }
+
+                if (item == END) {
+                    finished++;
+
+                } else if (!(item instanceof Failure)) {
+                    next = item;
+                }
+            }
+
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final var out = (T) next;
+            next = null;
+            return out;
+        }
+
+        void produce(int range, BlockingQueue<Object> queue, Supplier<Stream<?>> query) {
+            try (final var rows = query.get()) {
+                final var it = rows.iterator();
+                while (!cancelled && it.hasNext()) {
+                    queue.put(it.next());
+                }
+
+                queue.put(END);
+
+            } catch (InterruptedException ex) {
+                // -- cancelled
+                Thread.currentThread().interrupt();
+
+            } catch (Throwable ex) {
+                final var f = new Failure(range, ex);
+                failure.compareAndSet(null, f);
+
+                // -- wakes the consumer when it waits on this range
+                queue.offer(f);
+            }
+        }
+
+        private BlockingQueue<Object> currentQueue() {
+            if (queues.size() == 1) {
+                return queues.get(0);
+            }
+
+            return queues.get(descending ? rangeCount - 1 - finished : finished);
+        }
+
+        private void throwIfFailed() {
+            final var f = failure.get();
+            if (f == null) {
+                return;
+            }
+
+            cancel();
+            throw new IllegalStateException("Parallel scan failed on range " + f.range, f.cause);
+        }
+    }
+
+    /** First failure of a range, stops the whole scan */
+    private record Failure(int range, Throwable cause) {
+
+    }
+}
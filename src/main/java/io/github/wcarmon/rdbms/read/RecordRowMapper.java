@@ -0,0 +1,313 @@
+package io.github.wcarmon.rdbms.read;
+
+import static java.util.Objects.requireNonNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Maps rows to a record via its canonical constructor, without per-row reflection.
+ *
+ * <p>Once per result set shape (column labels), resolves each record component to a
+ * column index and compiles a MethodHandle chain: one typed getter per component
+ * (eg. {@link ResultSet#getLong(int)} for a long component, so primitives are never
+ * boxed) feeding the constructor.
+ *
+ * <p>Column labels match component names ignoring case and underscores,
+ * eg. "employee_id" matches employeeId. Extra columns are ignored.
+ *
+ * <p>Primitive components read SQL NULL as the JDBC default (eg. zero), use a boxed
+ * component for nullable columns.
+ *
+ * <p>{@link #bind(ResultSetMetaData)} resolves the handle once per ResultSet,
+ * {@link #map(ResultSet)} alone resolves it per row.
+ *
+ * <p>Thread safe, instances from {@link #of(Class)} are cached per record class.
+ *
+ * @param <T> record type
+ */
+public final class RecordRowMapper<T extends Record> implements RowMapper<T> {
+
+    private static final ClassValue<RecordRowMapper<?>> CACHE = new ClassValue<>() {
+        @Override
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        protected RecordRowMapper<?> computeValue(Class<?> type) {
+            return new RecordRowMapper(type, lookupFor(type));
+        }
+    };
+
+    /** Guards against unbounded growth from ad-hoc queries */
+    private static final int MAX_SHAPES = 64;
+
+    private static final MethodType ROW_TYPE = MethodType.methodType(Object.class, ResultSet.class);
+
+    private final MethodHandle constructor;
+    private final String[] normalizedNames;
+    private final Class<?>[] parameterTypes;
+    private final Map<String, MethodHandle> shapes = new ConcurrentHashMap<>();
+    private final Class<T> type;
+
+    private RecordRowMapper(Class<T> type, MethodHandles.Lookup lookup) {
+        requireNonNull(lookup, "lookup is required and null.");
+        requireNonNull(type, "type is required and null.");
+        if (!type.isRecord()) {
+            throw new IllegalArgumentException("type must be a record: " + type.getName());
+        }
+
+        final var components = type.getRecordComponents();
+        this.normalizedNames = new String[components.length];
+        this.parameterTypes = new Class<?>[components.length];
+        for (int i = 0; i < components.length; i++) {
+            normalizedNames[i] = normalize(components[i].getName());
+            parameterTypes[i] = components[i].getType();
+        }
+
+        try {
+            this.constructor = lookup.findConstructor(
+                    type, MethodType.methodType(void.class, parameterTypes));
+
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+            throw new IllegalArgumentException(
+                    "Cannot access canonical constructor: " + type.getName(), ex);
+        }
+
+        this.type = type;
+    }
+
+    /**
+     * Cached mapper for type
+     *
+     * @param type record class, accessible to this module
+     * @param <R>  record type
+     * @return shared mapper
+     */
+    @SuppressWarnings("unchecked")
+    public static <R extends Record> RecordRowMapper<R> of(Class<R> type) {
+        requireNonNull(type, "type is required and null.");
+
+        return (RecordRowMapper<R>) CACHE.get(type);
+    }
+
+    /**
+     * Mapper using caller's access, eg. for non-public records in a named module
+     *
+     * @param type   record class
+     * @param lookup from the caller, {@code MethodHandles.lookup()}
+     * @param <R>    record type
+     * @return new mapper, caller should reuse it
+     */
+    public static <R extends Record> RecordRowMapper<R> of(
+            Class<R> type,
+            MethodHandles.Lookup lookup) {
+
+        return new RecordRowMapper<>(type, lookup);
+    }
+
+    private static MethodHandle getter(Class<?> type, int columnIndex)
+            throws NoSuchMethodException, IllegalAccessException {
+
+        final var lookup = MethodHandles.publicLookup();
+
+        final MethodHandle raw;
+        if (type == boolean.class) {
+            raw = findGetter(lookup, "getBoolean", boolean.class);
+        } else if (type == byte.class) {
+            raw = findGetter(lookup, "getByte", byte.class);
+        } else if (type == short.class) {
+            raw = findGetter(lookup, "getShort", short.class);
+        } else if (type == int.class) {
+            raw = findGetter(lookup, "getInt", int.class);
+        } else if (type == long.class) {
+            raw = findGetter(lookup, "getLong", long.class);
+        } else if (type == float.class) {
+            raw = findGetter(lookup, "getFloat", float.class);
+        } else if (type == double.class) {
+            raw = findGetter(lookup, "getDouble", double.class);
+        } else if (type == String.class) {
+            raw = findGetter(lookup, "getString", String.class);
+        } else if (type == BigDecimal.class) {
+            raw = findGetter(lookup, "getBigDecimal", BigDecimal.class);
+        } else if (type == byte[].class) {
+            raw = findGetter(lookup, "getBytes", byte[].class);
+        } else if (type.isEnum()) {
+            final var toEnum = MethodHandles.lookup().findStatic(
+                    RecordRowMapper.class,
+                    "toEnum",
+                    MethodType.methodType(Enum.class, Class.class, String.class));
+
+            raw = MethodHandles.filterReturnValue(
+                    findGetter(lookup, "getString", String.class),
+                    MethodHandles.insertArguments(toEnum, 0, type).asType(
+                            MethodType.methodType(type, String.class)));
+        } else {
+            // -- Boxed primitives, java.time, UUID, ...
+            final var getObject = lookup.findVirtual(
+                    ResultSet.class,
+                    "getObject",
+                    MethodType.methodType(Object.class, int.class, Class.class));
+
+            raw = MethodHandles.insertArguments(getObject, 2, type)
+                    .asType(MethodType.methodType(type, ResultSet.class, int.class));
+        }
+
+        return MethodHandles.insertArguments(raw, 1, columnIndex);
+    }
+
+    private static MethodHandle findGetter(
+            MethodHandles.Lookup lookup,
+            String name,
+            Class<?> returnType) throws NoSuchMethodException, IllegalAccessException {
+
+        return lookup.findVirtual(
+                ResultSet.class, name, MethodType.methodType(returnType, int.class));
+    }
+
+    private static MethodHandles.Lookup lookupFor(Class<?> type) {
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+
+        } catch (IllegalAccessException | SecurityException ex) {
+            throw new IllegalArgumentException(
+                    "Record not accessible, use of(type, MethodHandles.lookup()): "
+                            + type.getName(), ex);
+        }
+    }
+
+    /**
+     * Simple getter
+     *
+     * @param name column label or component name
+     * @return lowercase without underscores, eg. "employee_id" becomes "employeeid"
+     */
+    static String normalize(String name) {
+        final var sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            final var c = name.charAt(i);
+            if (c != '_') {
+                sb.append(c);
+            }
+        }
+
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Enum<?> toEnum(Class type, @Nullable String value) {
+        return value == null ? null : Enum.valueOf(type, value);
+    }
+
+    /**
+     * Compile (or reuse) the handle for a result set shape
+     *
+     * @param metaData describes the columns
+     * @return handle of type (ResultSet)Object
+     * @throws SQLException from the driver
+     */
+    MethodHandle handleFor(ResultSetMetaData metaData) throws SQLException {
+        final var columnCount = metaData.getColumnCount();
+        final var labels = new String[columnCount];
+        final var key = new StringBuilder(columnCount * 12);
+        for (int i = 0; i < columnCount; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1);
+            key.append(labels[i]).append('\0');
+        }
+
+        final var cached = shapes.get(key.toString());
+        if (cached != null) {
+            return cached;
+        }
+
+        final var out = compile(labels);
+        if (shapes.size() >= MAX_SHAPES) {
+            shapes.clear();
+        }
+        shapes.put(key.toString(), out);
+
+        return out;
+    }
+
+    @Override
+    public RowMapper<T> bind(ResultSetMetaData metaData) throws SQLException {
+        requireNonNull(metaData, "metaData is required and null.");
+
+        final var handle = handleFor(metaData);
+        return rs -> invoke(handle, rs);
+    }
+
+    @Override
+    public T map(ResultSet rs) throws SQLException {
+        requireNonNull(rs, "rs is required and null.");
+
+        return invoke(handleFor(rs.getMetaData()), rs);
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return record class
+     */
+    public Class<T> type() {
+        return type;
+    }
+
+    private MethodHandle compile(String[] labels) {
+        final Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < labels.length; i++) {
+            // -- First occurrence wins for duplicate labels
+            indexes.putIfAbsent(normalize(labels[i]), i + 1);
+        }
+
+        final var getters = new MethodHandle[parameterTypes.length];
+        try {
+            for (int i = 0; i < parameterTypes.length; i++) {
+                final var columnIndex = indexes.get(normalizedNames[i]);
+                if (columnIndex == null) {
+                    throw new IllegalArgumentException(
+                            "No column for record component: " + type.getSimpleName()
+                                    + "." + type.getRecordComponents()[i].getName()
+                                    + ", columns: "
+                                    + String.join(", ", labels));
+                }
+
+                getters[i] = getter(parameterTypes[i], columnIndex);
+            }
+
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+            throw new IllegalStateException("Failed to compile row mapper", ex);
+        }
+
+        // -- (ResultSet, ResultSet, ...) -> T, then collapse to (ResultSet) -> Object
+        final var spread = MethodHandles.filterArguments(constructor, 0, getters);
+        final var reorder = new int[getters.length];
+
+        return MethodHandles.permuteArguments(
+                spread,
+                MethodType.methodType(type, ResultSet.class),
+                reorder).asType(ROW_TYPE);
+    }
+
+    private T invoke(MethodHandle handle, ResultSet rs) throws SQLException {
+        final Object out;
+        try {
+            out = handle.invokeExact(rs);
+
+        } catch (SQLException | RuntimeException | Error ex) {
+            throw ex;
+
+        } catch (Throwable ex) {
+            throw new IllegalStateException("Failed to map row to " + type.getName(), ex);
+        }
+
+        return type.cast(out);
+    }
+}
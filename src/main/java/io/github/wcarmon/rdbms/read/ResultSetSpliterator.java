@@ -0,0 +1,65 @@
+package io.github.wcarmon.rdbms.read;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Advances a ResultSet one row per tryAdvance, so nothing is buffered beyond the
+ * driver's fetch size.
+ *
+ * @param <T> row type
+ */
+final class ResultSetSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+    private final RowMapper<? extends T> mapper;
+    private final long maxRows;
+    private final ResultSet rs;
+
+    @Nullable
+    private RowMapper<? extends T> bound;
+
+    private long rowCount;
+
+    /**
+     * Create new instance
+     *
+     * @param rs      open, forward-only
+     * @param mapper  bound to rs before the first row
+     * @param maxRows stop after this many rows
+     */
+    ResultSetSpliterator(ResultSet rs, RowMapper<? extends T> mapper, long maxRows) {
+        super(maxRows, Spliterator.ORDERED);
+
+        this.mapper = mapper;
+        this.maxRows = maxRows;
+        this.rs = rs;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (rowCount >= maxRows) {
+            return false;
+        }
+
+        try {
+            if (!rs.next()) {
+                return false;
+            }
+
+            if (bound == null) {
+                bound = mapper.bind(rs.getMetaData());
+            }
+
+            rowCount++;
+            action.accept(bound.map(rs));
+            return true;
+
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Failed to read row " + (rowCount + 1), ex);
+        }
+    }
+}
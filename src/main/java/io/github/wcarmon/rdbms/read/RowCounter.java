@@ -0,0 +1,411 @@
+package io.github.wcarmon.rdbms.read;
+
+import static java.util.Objects.requireNonNull;
+
+import io.github.wcarmon.rdbms.DAOOperation;
+import io.github.wcarmon.rdbms.OperationAwareDataSource;
+import io.github.wcarmon.rdbms.util.LatencyHistogram;
+import io.github.wcarmon.rdbms.util.SQLIdentifiers;
+import io.github.wcarmon.rdbms.util.VirtualThreads;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Total row counts for paged {@link DAOOperation#LIST} responses, see {@link CountMode}.
+ *
+ * <p>{@link CountMode#ESTIMATED} on Postgres reads planner statistics: pg_class.reltuples
+ * for a whole table, otherwise the row estimate from EXPLAIN (no rows are read).
+ * Other databases use {@link RowCounterConfig#fallbackEstimator()}.
+ *
+ * <p>{@link CountMode#CACHED} is bounded by {@link RowCounterConfig#maxEntries()} (least
+ * recently used evicted first) and {@link RowCounterConfig#ttl()}. Concurrent misses for
+ * the same count run one query. Writes must call {@link #invalidate(DAOOperation, String)}.
+ *
+ * <p>{@link #list} runs the count on a second connection (virtual thread) while the page
+ * query runs on the calling thread, so the count adds no latency when it is the faster
+ * of the two.
+ *
+ * <p>Thread safe. Uses {@link ReentrantLock} (not synchronized) and never holds it while
+ * counting.
+ */
+public final class RowCounter implements AutoCloseable {
+
+    private final SingleFlightCache<CountKey, Long> cache;
+    private final RowCounterConfig config;
+    private final LatencyHistogram countLatency = new LatencyHistogram();
+    private final DataSource dataSource;
+    private final LatencyHistogram estimateLatency = new LatencyHistogram();
+    private final ExecutorService executor;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Guarded by lock */
+    private long estimates;
+
+    /** Guarded by lock */
+    private long exactCounts;
+
+    /** Guarded by lock */
+    private long failures;
+
+    /**
+     * Create new instance
+     *
+     * @param dataSource for acquiring one connection per count
+     * @param config     cache bounds and fallback estimator
+     */
+    public RowCounter(DataSource dataSource, RowCounterConfig config) {
+        requireNonNull(config, "config is required and null.");
+        requireNonNull(dataSource, "dataSource is required and null.");
+
+        this.cache = new SingleFlightCache<>(config.maxEntries(), config.ttl());
+        this.config = config;
+        this.dataSource = dataSource;
+        this.executor = VirtualThreads.newThreadPerTaskExecutor("rdbms-row-counter");
+    }
+
+    private static void bind(PreparedStatement ps, List<?> parameters) throws SQLException {
+        for (int i = 0; i < parameters.size(); i++) {
+            ps.setObject(i + 1, parameters.get(i));
+        }
+    }
+
+    /**
+     * Simple getter
+     *
+     * @param table    validated table
+     * @param whereSql trusted filter or null
+     * @return eg. "SELECT COUNT(*) FROM t WHERE a = ?"
+     */
+    static String countSql(String table, @Nullable String whereSql) {
+        return "SELECT COUNT(*) FROM " + table + (whereSql == null ? "" : " WHERE " + whereSql);
+    }
+
+    /**
+     * Simple getter
+     *
+     * @param table    validated table
+     * @param whereSql trusted filter or null
+     * @return eg. "EXPLAIN SELECT 1 FROM t WHERE a = ?"
+     */
+    static String explainSql(String table, @Nullable String whereSql) {
+        return "EXPLAIN SELECT 1 FROM " + table + (whereSql == null ? "" : " WHERE " + whereSql);
+    }
+
+    /**
+     * Simple getter
+     *
+     * @param planLine top line of Postgres' text EXPLAIN,
+     *                 eg. "Seq Scan on t  (cost=0.00..35.50 rows=2550 width=4)"
+     * @return estimated rows
+     */
+    static long planRows(String planLine) {
+        requireNonNull(planLine, "planLine is required and null.");
+
+        final var start = planLine.indexOf("rows=");
+        if (start < 0) {
+            throw new IllegalStateException("No row estimate in plan: " + planLine);
+        }
+
+        int end = start + 5;
+        while (end < planLine.length() && Character.isDigit(planLine.charAt(end))) {
+            end++;
+        }
+        if (end == start + 5) {
+            throw new IllegalStateException("No row estimate in plan: " + planLine);
+        }
+
+        return Long.parseLong(planLine.substring(start + 5, end));
+    }
+
+    /** see {@link CountEstimator#EXACT} */
+    static long selectCount(
+            Connection conn,
+            String table,
+            @Nullable String whereSql,
+            List<?> parameters) throws SQLException {
+
+        try (final var ps = conn.prepareStatement(countSql(table, whereSql))) {
+            bind(ps, parameters);
+
+            try (final var rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+
+    private static long postgresEstimate(
+            Connection conn,
+            String table,
+            @Nullable String whereSql,
+            List<?> parameters) throws SQLException {
+
+        if (whereSql == null) {
+            // -- catalog lookup, -1 (or 0 before 14) until the table is analyzed
+            try (final var ps = conn.prepareStatement(
+                    "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)")) {
+                ps.setString(1, table);
+
+                try (final var rs = ps.executeQuery()) {
+                    if (rs.next() && rs.getLong(1) > 0) {
+                        return rs.getLong(1);
+                    }
+                }
+            }
+        }
+
+        try (final var ps = conn.prepareStatement(explainSql(table, whereSql))) {
+            bind(ps, parameters);
+
+            try (final var rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    throw new IllegalStateException("EXPLAIN returned no plan for " + table);
+                }
+
+                return planRows(rs.getString(1));
+            }
+        }
+    }
+
+    /** Stop counts still running for {@link #countAsync} */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Count every row of the table
+     *
+     * @param table table to count
+     * @param mode  see {@link CountMode}
+     * @return row count, approximate for {@link CountMode#ESTIMATED}
+     */
+    public long count(String table, CountMode mode) {
+        return count(table, null, List.of(), mode);
+    }
+
+    /**
+     * Count rows matching a filter
+     *
+     * @param table      table to count
+     * @param whereSql   trusted filter, without "WHERE" (eg. "status = ?"), null for every row
+     * @param parameters non-null values bound to whereSql, in order
+     * @param mode       see {@link CountMode}
+     * @return row count, approximate for {@link CountMode#ESTIMATED}
+     */
+    public long count(
+            String table,
+            @Nullable String whereSql,
+            List<?> parameters,
+            CountMode mode) {
+
+        requireNonNull(mode, "mode is required and null.");
+        requireNonNull(parameters, "parameters is required and null.");
+        SQLIdentifiers.requireIdentifier(table);
+
+        if (whereSql != null && whereSql.isBlank()) {
+            throw new IllegalArgumentException("whereSql must be null or non-blank");
+        }
+
+        final var key = new CountKey(table, whereSql, List.copyOf(parameters));
+        return switch (mode) {
+            case CACHED -> cache.get(key, () -> exactCount(key));
+            case ESTIMATED -> estimate(key);
+            case EXACT -> exactCount(key);
+        };
+    }
+
+    /**
+     * Count on a second connection, see {@link #count(String, String, List, CountMode)}
+     *
+     * @param table      table to count
+     * @param whereSql   trusted filter or null
+     * @param parameters bound to whereSql
+     * @param mode       see {@link CountMode}
+     * @return completes with the count, cached hits complete immediately
+     */
+    public CompletableFuture<Long> countAsync(
+            String table,
+            @Nullable String whereSql,
+            List<?> parameters,
+            CountMode mode) {
+
+        requireNonNull(mode, "mode is required and null.");
+        requireNonNull(parameters, "parameters is required and null.");
+
+        if (mode == CountMode.CACHED) {
+            final var cached = cache.getIfPresent(
+                    new CountKey(table, whereSql, List.copyOf(parameters)));
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+
+        return CompletableFuture.supplyAsync(
+                () -> count(table, whereSql, parameters, mode),
+                executor);
+    }
+
+    /**
+     * Drop every cached count of the table when operation is a write
+     *
+     * @param operation just executed (or about to be) against table
+     * @param table     table written
+     * @return true when counts were invalidated, false for read operations
+     */
+    public boolean invalidate(DAOOperation operation, String table) {
+        requireNonNull(operation, "operation is required and null.");
+        SQLIdentifiers.requireIdentifier(table);
+
+        if (operation.isReadOnly()) {
+            return false;
+        }
+
+        cache.invalidateIf(key -> key.table().equals(table));
+        return true;
+    }
+
+    /**
+     * Load one page while counting concurrently on a second connection
+     *
+     * @param table      table to count
+     * @param whereSql   trusted filter (same as the page query's) or null
+     * @param parameters bound to whereSql
+     * @param mode       see {@link CountMode}
+     * @param pageLoader runs the page query, on the calling thread
+     * @param <T>        row type
+     * @return page rows and total
+     */
+    public <T> CountedPage<T> list(
+            String table,
+            @Nullable String whereSql,
+            List<?> parameters,
+            CountMode mode,
+            Supplier<? extends List<? extends T>> pageLoader) {
+
+        requireNonNull(pageLoader, "pageLoader is required and null.");
+
+        final var total = countAsync(table, whereSql, parameters, mode);
+
+        final List<T> rows;
+        try {
+            rows = List.copyOf(pageLoader.get());
+
+        } catch (RuntimeException | Error ex) {
+            total.cancel(true);
+            throw ex;
+        }
+
+        return new CountedPage<>(rows, SingleFlightCache.await(total), mode);
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return counters since creation
+     */
+    public RowCounterStats stats() {
+        final var cached = cache.stats();
+
+        lock.lock();
+        try {
+            return new RowCounterStats(
+                    exactCounts,
+                    estimates,
+                    cached.hits(),
+                    failures,
+                    cached.evictions(),
+                    cached.invalidations(),
+                    cached.size(),
+                    countLatency.snapshot(),
+                    estimateLatency.snapshot());
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        return OperationAwareDataSource.connect(dataSource, DAOOperation.LIST);
+    }
+
+    private long estimate(CountKey key) {
+        final var startNanos = System.nanoTime();
+        try (final var conn = connect()) {
+            final var out = "PostgreSQL".equals(conn.getMetaData().getDatabaseProductName())
+                    ? postgresEstimate(conn, key.table(), key.whereSql(), key.parameters())
+                    : config.fallbackEstimator().estimate(
+                    conn, key.table(), key.whereSql(), key.parameters());
+
+            onSuccess(false);
+            return Math.max(0, out);
+
+        } catch (SQLException ex) {
+            onFailure();
+            throw new IllegalStateException("Failed to estimate rows in " + key.table(), ex);
+
+        } catch (RuntimeException | Error ex) {
+            onFailure();
+            throw ex;
+
+        } finally {
+            estimateLatency.recordSince(startNanos);
+        }
+    }
+
+    private long exactCount(CountKey key) {
+        final var startNanos = System.nanoTime();
+        try (final var conn = connect()) {
+            final var out = selectCount(conn, key.table(), key.whereSql(), key.parameters());
+
+            onSuccess(true);
+            return out;
+
+        } catch (SQLException ex) {
+            onFailure();
+            throw new IllegalStateException("Failed to count rows in " + key.table(), ex);
+
+        } catch (RuntimeException | Error ex) {
+            onFailure();
+            throw ex;
+
+        } finally {
+            countLatency.recordSince(startNanos);
+        }
+    }
+
+    private void onFailure() {
+        lock.lock();
+        try {
+            failures++;
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onSuccess(boolean exact) {
+        lock.lock();
+        try {
+            if (exact) {
+                exactCounts++;
+            } else {
+                estimates++;
+            }
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record CountKey(String table, @Nullable String whereSql, List<Object> parameters) {
+
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.wcarmon.rdbms.read;
+
+import java.time.Duration;
+import lombok.Builder;
+
+/**
+ * Tuning for {@link RowCounter}
+ *
+ * @param fallbackEstimator {@link CountMode#ESTIMATED} on databases other than Postgres,
+ *                          null means {@link CountEstimator#EXACT}
+ * @param maxEntries        least recently used cached counts are evicted beyond this
+ * @param ttl               cached counts older than this are reloaded, null means default
+ */
+@Builder
+public record RowCounterConfig(
+        CountEstimator fallbackEstimator,
+        int maxEntries,
+        Duration ttl) {
+
+    public static final int DEFAULT_MAX_ENTRIES = 1_000;
+    public static final Duration DEFAULT_TTL = Duration.ofSeconds(30);
+
+    /** Defaults and Validation */
+    public RowCounterConfig {
+        fallbackEstimator = fallbackEstimator == null ? CountEstimator.EXACT : fallbackEstimator;
+        maxEntries = maxEntries == 0 ? DEFAULT_MAX_ENTRIES : maxEntries;
+        ttl = ttl == null ? DEFAULT_TTL : ttl;
+
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive");
+        }
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return config with all defaults
+     */
+    public static RowCounterConfig defaults() {
+        return new RowCounterConfig(null, 0, null);
+    }
+}
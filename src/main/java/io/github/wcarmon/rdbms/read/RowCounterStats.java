@@ -0,0 +1,36 @@
+package io.github.wcarmon.rdbms.read;
+
+import static java.util.Objects.requireNonNull;
+
+import io.github.wcarmon.rdbms.util.LatencySnapshot;
+
+/**
+ * Counters from {@link RowCounter}
+ *
+ * @param exactCounts     successful SELECT COUNT(*) queries (exact and cache misses)
+ * @param estimates       successful estimates
+ * @param hits            cached counts served, including callers which joined an in-flight count
+ * @param failures        counts or estimates which threw, nothing cached
+ * @param evictions       cached counts dropped by the size bound
+ * @param invalidations   writes which invalidated a table
+ * @param size            counts currently cached
+ * @param countLatency    time for each exact count
+ * @param estimateLatency time for each estimate
+ */
+public record RowCounterStats(
+        long exactCounts,
+        long estimates,
+        long hits,
+        long failures,
+        long evictions,
+        long invalidations,
+        long size,
+        LatencySnapshot countLatency,
+        LatencySnapshot estimateLatency) {
+
+    /** Create new instance */
+    public RowCounterStats {
+        requireNonNull(countLatency, "countLatency is required and null.");
+        requireNonNull(estimateLatency, "estimateLatency is required and null.");
+    }
+}
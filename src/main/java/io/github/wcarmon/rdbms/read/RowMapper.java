@@ -0,0 +1,39 @@
+package io.github.wcarmon.rdbms.read;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * Maps the current row of a ResultSet.
+ *
+ * <p>Must not advance the ResultSet.
+ *
+ * <p>Callers reading many rows call {@link #bind(ResultSetMetaData)} once per ResultSet,
+ * then map each row with the returned mapper.
+ *
+ * @param <T> row type
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    /**
+     * Specialize for one ResultSet, eg. resolve column indexes once instead of per row
+     *
+     * @param metaData describes the columns of the ResultSet about to be read
+     * @return mapper for rows of that ResultSet, this by default
+     * @throws SQLException from the driver
+     */
+    default RowMapper<T> bind(ResultSetMetaData metaData) throws SQLException {
+        return this;
+    }
+
+    /**
+     * Map the current row
+     *
+     * @param rs positioned on a row
+     * @return mapped row
+     * @throws SQLException from the driver
+     */
+    T map(ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,219 @@
+package io.github.wcarmon.rdbms.read;
+
+import static java.util.Objects.requireNonNull;
+
+import io.github.wcarmon.rdbms.paging.Pagination;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.sql.DataSource;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Lazy {@link io.github.wcarmon.rdbms.DAOOperation#LIST}: runs a query and maps rows
+ * only as the Stream is consumed, so memory stays flat regardless of row count.
+ *
+ * <p>Uses a forward-only, read-only cursor with the configured fetch size.
+ * Autocommit is disabled while streaming, since some drivers (eg. PostgreSQL) ignore the
+ * fetch size otherwise.
+ *
+ * <p>The connection, statement and result set are released by {@link Stream#close()},
+ * so always use try-with-resources:
+ * <pre>{@code
+ * try (final var rows = streamer.stream(sql, List.of(), mapper)) {
+ *     rows.forEach(...);
+ * }
+ * }</pre>
+ *
+ * <p>Thread safe, each Stream uses its own connection.
+ */
+public final class RowStreamer {
+
+    public static final int DEFAULT_FETCH_SIZE = 1_000;
+
+    private final DataSource dataSource;
+    private final int fetchSize;
+
+    /**
+     * Create new instance
+     *
+     * @param dataSource for acquiring one connection per Stream
+     * @param fetchSize  rows per round trip, zero means {@link #DEFAULT_FETCH_SIZE}
+     */
+    public RowStreamer(DataSource dataSource, int fetchSize) {
+        requireNonNull(dataSource, "dataSource is required and null.");
+        if (fetchSize < 0) {
+            throw new IllegalArgumentException("fetchSize must be non-negative");
+        }
+
+        this.dataSource = dataSource;
+        this.fetchSize = fetchSize == 0 ? DEFAULT_FETCH_SIZE : fetchSize;
+    }
+
+    /**
+     * Lazily stream every row, see class docs
+     *
+     * @param sql        query
+     * @param parameters bound in order with setObject
+     * @param mapper     maps each row
+     * @param <T>        row type
+     * @return Stream which must be closed
+     */
+    public <T> Stream<T> stream(String sql, List<?> parameters, RowMapper<? extends T> mapper) {
+        return stream(sql, parameters, mapper, Long.MAX_VALUE);
+    }
+
+    /**
+     * Lazily stream at most one page of rows, see class docs
+     *
+     * <p>Caps the rows read, the sql is unchanged: use
+     * {@link io.github.wcarmon.rdbms.paging.PaginationSQLCompiler} to push ORDER BY,
+     * LIMIT and OFFSET (or the keyset predicate) into the query.
+     *
+     * @param sql        query
+     * @param parameters bound in order with setObject
+     * @param mapper     maps each row
+     * @param pagination limit caps the rows returned
+     * @param <T>        row type
+     * @return Stream which must be closed
+     */
+    public <T> Stream<T> stream(
+            String sql,
+            List<?> parameters,
+            RowMapper<? extends T> mapper,
+            Pagination pagination) {
+        requireNonNull(pagination, "pagination is required and null.");
+
+        return stream(sql, parameters, mapper, pagination.limit());
+    }
+
+    private <T> Stream<T> stream(
+            String sql,
+            List<?> parameters,
+            RowMapper<? extends T> mapper,
+            long maxRows) {
+
+        if (sql == null || sql.isBlank()) {
+            throw new IllegalArgumentException("sql is required");
+        }
+        requireNonNull(mapper, "mapper is required and null.");
+        requireNonNull(parameters, "parameters is required and null.");
+
+        final var resources = new Resources();
+        try {
+            resources.conn = dataSource.getConnection();
+            resources.originalAutoCommit = resources.conn.getAutoCommit();
+            resources.conn.setAutoCommit(false);
+            resources.autoCommitChanged = true;
+
+            resources.ps = resources.conn.prepareStatement(
+                    sql,
+                    ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+
+            resources.ps.setFetchSize((int) Math.min(fetchSize, maxRows));
+            if (maxRows <= Integer.MAX_VALUE) {
+                resources.ps.setMaxRows((int) maxRows);
+            }
+
+            for (int i = 0; i < parameters.size(); i++) {
+                resources.ps.setObject(i + 1, parameters.get(i));
+            }
+
+            resources.rs = resources.ps.executeQuery();
+
+        } catch (SQLException | RuntimeException ex) {
+            try {
+                resources.close();
+
+            } catch (RuntimeException closeEx) {
+                ex.addSuppressed(closeEx);
+            }
+
+            throw new IllegalStateException("Failed to execute query: " + sql, ex);
+        }
+
+        return StreamSupport
+                .stream(new ResultSetSpliterator<T>(resources.rs, mapper, maxRows), false)
+                .onClose(resources::close);
+    }
+
+    /** Everything released by Stream.close */
+    private static final class Resources {
+
+        boolean autoCommitChanged;
+
+        @Nullable
+        Connection conn;
+
+        boolean originalAutoCommit;
+
+        @Nullable
+        PreparedStatement ps;
+
+        @Nullable
+        ResultSet rs;
+
+        private static SQLException chain(@Nullable SQLException first, SQLException next) {
+            if (first == null) {
+                return next;
+            }
+
+            first.addSuppressed(next);
+            return first;
+        }
+
+        /** Close in reverse order of acquisition, even when one fails */
+        void close() {
+            SQLException failure = null;
+
+            if (rs != null) {
+                try {
+                    rs.close();
+                } catch (SQLException ex) {
+                    failure = ex;
+                }
+            }
+
+            if (ps != null) {
+                try {
+                    ps.close();
+                } catch (SQLException ex) {
+                    failure = chain(failure, ex);
+                }
+            }
+
+            if (conn != null) {
+                try {
+                    if (autoCommitChanged) {
+                        // -- read only, nothing to keep
+                        conn.rollback();
+                        conn.setAutoCommit(originalAutoCommit);
+                    }
+
+                } catch (SQLException ex) {
+                    failure = chain(failure, ex);
+
+                } finally {
+                    try {
+                        conn.close();
+                    } catch (SQLException ex) {
+                        failure = chain(failure, ex);
+                    }
+                }
+            }
+
+            rs = null;
+            ps = null;
+            conn = null;
+
+            if (failure != null) {
+                throw new IllegalStateException("Failed to release query resources", failure);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package io.github.wcarmon.rdbms.read;
+
+/** How {@link ParallelScanner} splits the leading sort column into key ranges. */
+public enum ScanBoundaries {
+
+    /**
+     * Equal width ranges between MIN and MAX, one cheap (typically index only) query.
+     * Integer columns only, ranges are uneven when keys are skewed.
+     */
+    MIN_MAX,
+
+    /**
+     * Equal row count ranges from NTILE over the column, any comparable type.
+     * Reads the whole column once.
+     */
+    QUANTILES,
+}
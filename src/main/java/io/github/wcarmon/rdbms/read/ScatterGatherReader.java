@@ -0,0 +1,382 @@
+package io.github.wcarmon.rdbms.read;
+
+import static java.util.Objects.requireNonNull;
+
+import io.github.wcarmon.rdbms.config.PostgresConfig;
+import io.github.wcarmon.rdbms.paging.Pagination;
+import io.github.wcarmon.rdbms.paging.SortColumn;
+import io.github.wcarmon.rdbms.pool.ConnectionPool;
+import io.github.wcarmon.rdbms.pool.PoolConfig;
+import io.github.wcarmon.rdbms.util.SQLIdentifiers;
+import io.github.wcarmon.rdbms.util.VirtualThreads;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@link io.github.wcarmon.rdbms.DAOOperation#LIST} one page across sharded tables.
+ *
+ * <p>Every shard runs the same query concurrently (one virtual thread each), limited to
+ * the rows the page could need: offset + limit (offset mode) or limit (keyset mode).
+ * Per-shard cursors are then merged with a heap on the sort columns, reading each shard
+ * lazily (see {@link RowStreamer}) and stopping as soon as the page is full.
+ *
+ * <p>Keyset mode is cheaper: each shard seeks past the cursor and reads at most limit
+ * rows, instead of offset + limit.
+ *
+ * <p>The merge compares sort column values with their natural (Comparable) order, NULLs
+ * last for ASC and first for DESC (the sql says so explicitly). Text columns must use a
+ * collation which agrees with {@link String#compareTo} (eg. "C"), otherwise the page is
+ * still complete but may be out of order across shards.
+ *
+ * <p>The last sort column should be unique across shards (eg. primary key) so pages
+ * never overlap.
+ *
+ * <p>Thread safe.
+ */
+public final class ScatterGatherReader implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final List<ConnectionPool> owned;
+    private final List<RowStreamer> shards;
+
+    /**
+     * Create new instance
+     *
+     * @param shards    one DataSource per shard, same schema
+     * @param fetchSize rows per round trip, per shard, zero means
+     *                  {@link RowStreamer#DEFAULT_FETCH_SIZE} (never more than the page needs)
+     */
+    public ScatterGatherReader(List<? extends DataSource> shards, int fetchSize) {
+        this(shards, fetchSize, List.of());
+    }
+
+    private ScatterGatherReader(
+            List<? extends DataSource> shards,
+            int fetchSize,
+            List<ConnectionPool> owned) {
+
+        requireNonNull(owned, "owned is required and null.");
+        requireNonNull(shards, "shards is required and null.");
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("at least one shard is required");
+        }
+
+        final var tmp = new ArrayList<RowStreamer>(shards.size());
+        for (final var shard : shards) {
+            tmp.add(new RowStreamer(shard, fetchSize));
+        }
+
+        this.executor = VirtualThreads.newThreadPerTaskExecutor("rdbms-scatter-gather");
+        this.owned = owned;
+        this.shards = List.copyOf(tmp);
+    }
+
+    /**
+     * Build a pool per shard, closed by {@link #close()}
+     *
+     * @param shardConfigs one per shard
+     * @param poolConfig   for every shard's pool
+     * @param fetchSize    see {@link #ScatterGatherReader(List, int)}
+     * @return new instance which owns its pools
+     */
+    public static ScatterGatherReader of(
+            List<PostgresConfig> shardConfigs,
+            PoolConfig poolConfig,
+            int fetchSize) {
+
+        requireNonNull(poolConfig, "poolConfig is required and null.");
+        requireNonNull(shardConfigs, "shardConfigs is required and null.");
+
+        final var pools = new ArrayList<ConnectionPool>(shardConfigs.size());
+        try {
+            for (final var shardConfig : shardConfigs) {
+                pools.add(ConnectionPool.of(shardConfig, poolConfig));
+            }
+
+            return new ScatterGatherReader(pools, fetchSize, List.copyOf(pools));
+
+        } catch (RuntimeException ex) {
+            pools.forEach(ConnectionPool::close);
+            throw ex;
+        }
+    }
+
+    /**
+     * Simple getter
+     *
+     * @param table   validated table
+     * @param columns validated sort columns
+     * @param seekSql keyset predicate or null
+     * @return eg. "SELECT * FROM t WHERE id &gt; ? ORDER BY id ASC NULLS LAST LIMIT ?"
+     */
+    static String shardSql(String table, List<SortColumn> columns, @Nullable String seekSql) {
+        final var sb = new StringBuilder(64 + 32 * columns.size());
+        sb.append("SELECT * FROM ").append(table);
+
+        if (seekSql != null) {
+            sb.append(" WHERE ").append(seekSql);
+        }
+
+        sb.append(" ORDER BY ");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+
+            final var col = columns.get(i);
+            sb.append(col.name())
+                    .append(col.direction().isAscending() ? " ASC NULLS LAST" : " DESC NULLS FIRST");
+        }
+
+        return sb.append(" LIMIT ?").toString();
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static int compareKeys(Object[] a, Object[] b, List<SortColumn> columns) {
+        for (int i = 0; i < a.length; i++) {
+            final var x = a[i];
+            final var y = b[i];
+
+            final int cmp;
+            if (x == null || y == null) {
+                // -- NULLS LAST in ascending terms, DESC reverses it to NULLS FIRST
+                cmp = x == y ? 0 : (x == null ? 1 : -1);
+
+            } else if (x instanceof Comparable comparable) {
+                cmp = comparable.compareTo(y);
+
+            } else {
+                throw new IllegalStateException(
+                        "sort column is not Comparable: " + columns.get(i).name());
+            }
+
+            if (cmp != 0) {
+                return columns.get(i).direction().isAscending() ? cmp : -cmp;
+            }
+        }
+
+        return 0;
+    }
+
+    private static void closeAll(List<? extends Stream<?>> streams, Throwable failure) {
+        for (final var stream : streams) {
+            try {
+                stream.close();
+
+            } catch (RuntimeException ex) {
+                failure.addSuppressed(ex);
+            }
+        }
+    }
+
+    private static <T> Keyed<T> keyed(
+            ResultSet rs,
+            List<SortColumn> columns,
+            RowMapper<? extends T> mapper) throws SQLException {
+
+        final var key = new Object[columns.size()];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = rs.getObject(columns.get(i).name());
+        }
+
+        return new Keyed<>(key, mapper.map(rs));
+    }
+
+    /** Close the pools created by {@link #of} */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+
+        RuntimeException first = null;
+        for (final var pool : owned) {
+            try {
+                pool.close();
+
+            } catch (RuntimeException ex) {
+                if (first == null) {
+                    first = ex;
+                } else {
+                    first.addSuppressed(ex);
+                }
+            }
+        }
+
+        if (first != null) {
+            throw first;
+        }
+    }
+
+    /**
+     * Read one page across every shard, see class docs
+     *
+     * @param table      same name on every shard
+     * @param pagination trusted sort columns (eg. from
+     *                   {@link io.github.wcarmon.rdbms.paging.PaginationSQLCompiler#resolveName})
+     * @param mapper     maps each row read, including rows skipped by offset
+     * @param <T>        row type
+     * @return page rows in sort order, at most limit
+     */
+    public <T> List<T> list(String table, Pagination pagination, RowMapper<? extends T> mapper) {
+        requireNonNull(mapper, "mapper is required and null.");
+        requireNonNull(pagination, "pagination is required and null.");
+        SQLIdentifiers.requireIdentifier(table);
+
+        final var columns = pagination.columns();
+        for (final var col : columns) {
+            SQLIdentifiers.requireIdentifier(col.name());
+        }
+
+        final var seek = pagination.keysetPredicate();
+        final var sql = shardSql(table, columns, seek == null ? null : seek.sql());
+
+        final long perShard;
+        try {
+            perShard = Math.addExact(pagination.offset(), pagination.limit());
+
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException(
+                    "offset + limit is too large: " + pagination.offset() + " + "
+                            + pagination.limit(), ex);
+        }
+
+        final var parameters = new ArrayList<Object>();
+        if (seek != null) {
+            parameters.addAll(seek.parameters());
+        }
+        parameters.add(perShard);
+
+        // -- read at most perShard rows from any shard
+        final var shardPage = new Pagination(0, perShard, columns);
+        final RowMapper<Keyed<T>> keyed = new RowMapper<>() {
+            @Override
+            public RowMapper<Keyed<T>> bind(ResultSetMetaData metaData) throws SQLException {
+                // -- once per shard, so the caller's mapper is bound too
+                final RowMapper<? extends T> bound = mapper.bind(metaData);
+                return rs -> keyed(rs, columns, bound);
+            }
+
+            @Override
+            public Keyed<T> map(ResultSet rs) throws SQLException {
+                return keyed(rs, columns, mapper);
+            }
+        };
+
+        final var streams = scatter(sql, parameters, keyed, shardPage);
+        try {
+            return gather(streams, columns, pagination.offset(), pagination.limit());
+
+        } finally {
+            // -- stop reading: rows past the page are never fetched
+            streams.forEach(Stream::close);
+        }
+    }
+
+    private <T> List<T> gather(
+            List<Stream<Keyed<T>>> streams,
+            List<SortColumn> columns,
+            long offset,
+            long limit) {
+
+        final var heap = new PriorityQueue<Cursor<T>>(streams.size(), (a, b) -> {
+            final var cmp = compareKeys(a.head.key, b.head.key, columns);
+            return cmp != 0 ? cmp : Integer.compare(a.shard, b.shard);
+        });
+
+        for (int i = 0; i < streams.size(); i++) {
+            final var it = streams.get(i).iterator();
+            if (it.hasNext()) {
+                heap.add(new Cursor<>(i, it, it.next()));
+            }
+        }
+
+        final var out = new ArrayList<T>((int) Math.min(limit, 1024));
+        long skipped = 0;
+        while (!heap.isEmpty() && out.size() < limit) {
+            final var cursor = heap.poll();
+
+            if (skipped < offset) {
+                skipped++;
+            } else {
+                out.add(cursor.head.value);
+            }
+
+            if (cursor.rows.hasNext()) {
+                cursor.head = cursor.rows.next();
+                heap.add(cursor);
+            }
+        }
+
+        return Collections.unmodifiableList(out);
+    }
+
+    /** Execute on every shard concurrently, each stream holds its first fetch */
+    private <T> List<Stream<Keyed<T>>> scatter(
+            String sql,
+            List<Object> parameters,
+            RowMapper<Keyed<T>> mapper,
+            Pagination shardPage) {
+
+        final var futures = new ArrayList<CompletableFuture<Stream<Keyed<T>>>>(shards.size());
+        for (final var shard : shards) {
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> shard.stream(sql, parameters, mapper, shardPage),
+                    executor));
+        }
+
+        final var streams = new ArrayList<Stream<Keyed<T>>>(shards.size());
+        RuntimeException failure = null;
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                streams.add(futures.get(i).join());
+
+            } catch (CompletionException ex) {
+                final var wrapped = new IllegalStateException(
+                        "Failed to query shard " + i, ex.getCause());
+                if (failure == null) {
+                    failure = wrapped;
+                } else {
+                    failure.addSuppressed(wrapped);
+                }
+            }
+        }
+
+        if (failure != null) {
+            closeAll(streams, failure);
+            throw failure;
+        }
+
+        return streams;
+    }
+
+    /** Mapped row with its sort key */
+    private record Keyed<T>(Object[] key, T value) {
+
+    }
+
+    /** One shard's position in the merge */
+    private static final class Cursor<T> {
+
+        final Iterator<Keyed<T>> rows;
+        final int shard;
+
+        Keyed<T> head;
+
+        Cursor(int shard, Iterator<Keyed<T>> rows, Keyed<T> head) {
+            this.head = head;
+            this.rows = rows;
+            this.shard = shard;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package io.github.wcarmon.rdbms.read;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Bounded, expiring, single flight cache shared by {@link PageCache} and {@link RowCounter}.
+ *
+ * <p>Bounded by maxEntries (least recently used evicted first) and ttl.
+ * Concurrent misses for the same key run the loader once, the other callers wait for
+ * that result. Failed loads are not cached.
+ *
+ * <p>Invalidation also drops entries still loading, so a load which started before a
+ * write is never served to later callers.
+ *
+ * <p>Thread safe. Uses {@link ReentrantLock} (not synchronized) and never holds it while
+ * loading.
+ *
+ * @param <K> key type, with value equality
+ * @param <V> value type
+ */
+final class SingleFlightCache<K, V> {
+
+    /** Access order, so iteration starts at the least recently used; guarded by lock */
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    /** Guarded by lock */
+    private long evictions;
+
+    /** Guarded by lock */
+    private long hits;
+
+    /** Guarded by lock */
+    private long invalidations;
+
+    /** Guarded by lock */
+    private long loadFailures;
+
+    /** Guarded by lock */
+    private long misses;
+
+    /**
+     * Create new instance
+     *
+     * @param maxEntries positive
+     * @param ttl        positive
+     */
+    SingleFlightCache(int maxEntries, Duration ttl) {
+        requireNonNull(ttl, "ttl is required and null.");
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive");
+        }
+
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Join, rethrowing what the loading thread saw
+     *
+     * @param future completed by a loader
+     * @param <T>    value type
+     * @return value
+     */
+    static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            if (ex.getCause() instanceof Error err) {
+                throw err;
+            }
+
+            throw ex;
+        }
+    }
+
+    /**
+     * Return the cached value, or load and cache it
+     *
+     * @param key    cache key
+     * @param loader runs on a miss, on the calling thread
+     * @return cached or loaded value
+     */
+    V get(K key, Supplier<? extends V> loader) {
+        requireNonNull(key, "key is required and null.");
+        requireNonNull(loader, "loader is required and null.");
+
+        final Entry<V> entry;
+        final boolean owner;
+
+        lock.lock();
+        try {
+            final var now = System.nanoTime();
+            final var existing = entries.get(key);
+
+            if (existing != null && now - existing.createdNanos < ttlNanos) {
+                hits++;
+                entry = existing;
+                owner = false;
+
+            } else {
+                misses++;
+                entry = new Entry<>(now);
+                entries.put(key, entry);
+                owner = true;
+                evictOverflow();
+            }
+
+        } finally {
+            lock.unlock();
+        }
+
+        if (!owner) {
+            return await(entry.future);
+        }
+
+        try {
+            final V out = loader.get();
+            entry.future.complete(out);
+            return out;
+
+        } catch (RuntimeException | Error ex) {
+            entry.future.completeExceptionally(ex);
+
+            lock.lock();
+            try {
+                loadFailures++;
+                entries.remove(key, entry);
+
+            } finally {
+                lock.unlock();
+            }
+
+            throw ex;
+        }
+    }
+
+    /**
+     * Cached value without loading
+     *
+     * @param key cache key
+     * @return fresh, successfully loaded value or null
+     */
+    @Nullable
+    V getIfPresent(K key) {
+        requireNonNull(key, "key is required and null.");
+
+        lock.lock();
+        try {
+            final var existing = entries.get(key);
+            if (existing == null
+                    || System.nanoTime() - existing.createdNanos >= ttlNanos
+                    || !existing.future.isDone()
+                    || existing.future.isCompletedExceptionally()) {
+                return null;
+            }
+
+            hits++;
+            return existing.future.join();
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Drop every entry */
+    void invalidateAll() {
+        invalidateIf(key -> true);
+    }
+
+    /**
+     * Drop matching entries, including those still loading
+     *
+     * @param predicate matches keys to drop
+     */
+    void invalidateIf(Predicate<? super K> predicate) {
+        requireNonNull(predicate, "predicate is required and null.");
+
+        lock.lock();
+        try {
+            invalidations++;
+            entries.keySet().removeIf(predicate);
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return counters since creation
+     */
+    Stats stats() {
+        lock.lock();
+        try {
+            return new Stats(hits, misses, loadFailures, evictions, invalidations, entries.size());
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Caller holds lock */
+    private void evictOverflow() {
+        final var it = entries.values().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions++;
+        }
+    }
+
+    /** One cached (or loading) value */
+    private static final class Entry<V> {
+
+        final long createdNanos;
+        final CompletableFuture<V> future = new CompletableFuture<>();
+
+        Entry(long createdNanos) {
+            this.createdNanos = createdNanos;
+        }
+    }
+
+    /** Consistent snapshot of the counters */
+    record Stats(
+            long hits,
+            long misses,
+            long loadFailures,
+            long evictions,
+            long invalidations,
+            long size) {
+
+    }
+}
@@ -4,26 +4,100 @@
 
 import java.sql.Connection;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.sql.DataSource;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Utility class for database connection.
  */
 public final class ConnectionUtils {
 
+    /** Default deadline for a single connection test */
+    public static final Duration DEFAULT_VALIDATION_TIMEOUT = Duration.ofSeconds(5);
+
     private ConnectionUtils() {
     }
 
     /**
-     * Force connection test by executing a query.
+     * Restore auto-commit after a transaction, without masking the transaction's failure
+     *
+     * <p>Call only after commit or rollback: per JDBC, changing auto-commit mid-transaction
+     * commits it.
+     *
+     * @param conn       connection to restore
+     * @param autoCommit value before the transaction
+     * @param failure    what the transaction threw, or null on success
+     * @throws SQLException from the driver, only when failure is null
+     */
+    public static void restoreAutoCommit(
+            Connection conn,
+            boolean autoCommit,
+            @Nullable Throwable failure) throws SQLException {
+
+        requireNonNull(conn, "conn is required and null.");
+
+        try {
+            conn.setAutoCommit(autoCommit);
+
+        } catch (SQLException ex) {
+            if (failure == null) {
+                throw ex;
+            }
+
+            failure.addSuppressed(ex);
+        }
+    }
+
+    /**
+     * Roll back, attaching any rollback failure to cause
+     *
+     * @param conn  connection with an open transaction
+     * @param cause why the transaction is abandoned
+     */
+    public static void rollbackQuietly(Connection conn, Throwable cause) {
+        requireNonNull(cause, "cause is required and null.");
+        requireNonNull(conn, "conn is required and null.");
+
+        try {
+            conn.rollback();
+
+        } catch (SQLException ex) {
+            cause.addSuppressed(ex);
+        }
+    }
+
+    /**
+     * Force connection test, using {@link Connection#isValid(int)} and
+     * {@link #DEFAULT_VALIDATION_TIMEOUT}.
      *
      * @param ds throws if cannot connect to the database
      */
     public static void testConnection(DataSource ds) {
         requireNonNull(ds, "ds is required and null.");
 
-        testConnection(ds, "SELECT 1");
+        testConnection(ds, DEFAULT_VALIDATION_TIMEOUT);
+    }
+
+    /**
+     * Force connection test, fails fast when the database hangs.
+     *
+     * <p>Deadline covers both acquiring and validating the connection.
+     *
+     * @param ds       throws if cannot connect to the database
+     * @param deadline max wait
+     */
+    public static void testConnection(DataSource ds, Duration deadline) {
+        requireNonNull(ds, "ds is required and null.");
+
+        warmUp(ds, 1, deadline);
     }
 
     /**
@@ -39,12 +113,188 @@ public static void testConnection(DataSource ds, String testQuery) {
         }
 
         try (final Connection conn = ds.getConnection();
-             final Statement stmt = conn.createStatement();
-             final ResultSet res = stmt.executeQuery(testQuery)) {
-            res.next();
+             final Statement stmt = conn.createStatement()) {
+
+            stmt.setQueryTimeout(toTimeoutSeconds(DEFAULT_VALIDATION_TIMEOUT.toNanos()));
+
+            try (final ResultSet res = stmt.executeQuery(testQuery)) {
+                res.next();
+            }
 
         } catch (Exception ex) {
             throw new IllegalStateException("Failed on database connection test", ex);
         }
     }
+
+    /**
+     * @param remainingNanos time left
+     * @return whole seconds, at least 1 (zero means "no timeout" in JDBC)
+     */
+    static int toTimeoutSeconds(long remainingNanos) {
+        final var seconds = TimeUnit.NANOSECONDS.toSeconds(remainingNanos + 999_999_999L);
+        return (int) Math.max(1L, Math.min(Integer.MAX_VALUE, seconds));
+    }
+
+    /**
+     * Concurrently open and validate connectionCount connections, holding each until all are
+     * open, so a pool must create distinct physical connections.
+     *
+     * @param executor        runs one task per connection
+     * @param ds              source of connections
+     * @param connectionCount connections to open at once
+     * @param deadline        max wait for all connections
+     * @param connectLatency  records time to acquire
+     * @param validateLatency records time for isValid
+     * @param returned        sized connectionCount, counted down as each task finishes
+     * @throws IllegalStateException on failure, invalid connection or deadline
+     */
+    static void validateConcurrently(
+            Executor executor,
+            DataSource ds,
+            int connectionCount,
+            Duration deadline,
+            LatencyHistogram connectLatency,
+            LatencyHistogram validateLatency,
+            CountDownLatch returned) {
+
+        final var deadlineNanos = System.nanoTime() + deadline.toNanos();
+        final var done = new CountDownLatch(connectionCount);
+        final var failure = new AtomicReference<Exception>();
+        final var opened = new AtomicInteger();
+        final var release = new CountDownLatch(1);
+
+        try {
+            for (int i = 0; i < connectionCount; i++) {
+                executor.execute(() -> {
+                    boolean counted = false;
+                    final var startNanos = System.nanoTime();
+
+                    try (final Connection conn = ds.getConnection()) {
+                        connectLatency.recordSince(startNanos);
+
+                        final var validateStartNanos = System.nanoTime();
+                        final var timeout = toTimeoutSeconds(deadlineNanos - validateStartNanos);
+                        final var valid = conn.isValid(timeout);
+                        validateLatency.recordSince(validateStartNanos);
+
+                        if (!valid) {
+                            throw new SQLException("Connection failed validation");
+                        }
+
+                        opened.incrementAndGet();
+                        done.countDown();
+                        counted = true;
+
+                        // -- Hold, so the next borrower gets a different connection
+                        release.await(
+                                Math.max(0, deadlineNanos - System.nanoTime()),
+                                TimeUnit.NANOSECONDS);
+
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+
+                    } catch (Exception ex) {
+                        failure.compareAndSet(null, ex);
+
+                        // -- Fail fast, don't wait for the other connections
+                        while (done.getCount() > 0) {
+                            done.countDown();
+                        }
+
+                    } finally {
+                        if (!counted) {
+                            done.countDown();
+                        }
+
+                        returned.countDown();
+                    }
+                });
+            }
+
+            final var finished = done.await(
+                    Math.max(0, deadlineNanos - System.nanoTime()),
+                    TimeUnit.NANOSECONDS);
+
+            if (failure.get() != null) {
+                throw new IllegalStateException(
+                        "Failed on database connection test", failure.get());
+            }
+
+            if (!finished) {
+                throw new IllegalStateException(
+                        "Timed out after " + deadline + " on database connection test, opened "
+                                + opened.get() + " of " + connectionCount + " connections");
+            }
+
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted on database connection test", ex);
+
+        } finally {
+            release.countDown();
+        }
+
+        // -- Connections are idle (eg. back in the pool) when this returns
+        try {
+            returned.await(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Open and validate connectionCount connections in parallel, so the first real requests
+     * don't pay the connect latency.
+     *
+     * <p>Fails fast (instead of blocking boot) when the database hangs.
+     *
+     * @param ds              typically a connection pool
+     * @param connectionCount usually the pool's minimum idle size
+     * @param deadline        max wait for all connections
+     * @return latency stats
+     * @throws IllegalStateException on failure or deadline
+     */
+    public static WarmUpResult warmUp(DataSource ds, int connectionCount, Duration deadline) {
+        requireNonNull(ds, "ds is required and null.");
+        requireNonNull(deadline, "deadline is required and null.");
+        if (connectionCount <= 0) {
+            throw new IllegalArgumentException("connectionCount must be positive");
+        }
+        if (deadline.isNegative() || deadline.isZero()) {
+            throw new IllegalArgumentException("deadline must be positive");
+        }
+
+        final var connectLatency = new LatencyHistogram();
+        final var validateLatency = new LatencyHistogram();
+        final var startNanos = System.nanoTime();
+
+        final var executor = VirtualThreads.newThreadPerTaskExecutor("rdbms-warm-up");
+        boolean succeeded = false;
+        try {
+            validateConcurrently(
+                    executor,
+                    ds,
+                    connectionCount,
+                    deadline,
+                    connectLatency,
+                    validateLatency,
+                    new CountDownLatch(connectionCount));
+            succeeded = true;
+
+        } finally {
+            // -- Abandon tasks stuck in a hung driver
+            if (succeeded) {
+                executor.shutdown();
+            } else {
+                executor.shutdownNow();
+            }
+        }
+
+        return new WarmUpResult(
+                connectionCount,
+                Duration.ofNanos(System.nanoTime() - startNanos),
+                connectLatency.snapshot(),
+                validateLatency.snapshot());
+    }
 }
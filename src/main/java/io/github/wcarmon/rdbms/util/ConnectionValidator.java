@@ -0,0 +1,200 @@
+package io.github.wcarmon.rdbms.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import javax.sql.DataSource;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Background validator: periodically borrows and validates connections
+ * using {@link java.sql.Connection#isValid(int)}, with a deadline per cycle.
+ *
+ * <p>Validation runs on virtual threads when supported.
+ * A cycle is skipped (and counted as a failure) while tasks from a previous cycle are
+ * still stuck, eg. in a hung driver, so stuck threads never pile up.
+ *
+ * <p>Thread safe.
+ */
+public final class ConnectionValidator implements AutoCloseable {
+
+    private final LatencyHistogram connectLatency = new LatencyHistogram();
+    private final int connectionCount;
+    private final DataSource dataSource;
+    private final Duration deadline;
+    private final LongAdder failureCount = new LongAdder();
+    private final AtomicBoolean inFlight = new AtomicBoolean();
+    private final Duration interval;
+    private final ScheduledExecutorService scheduler;
+    private final LongAdder successCount = new LongAdder();
+    private final LatencyHistogram validateLatency = new LatencyHistogram();
+    private final ExecutorService workers;
+
+    private volatile boolean healthy = true;
+
+    /** Tracks tasks from the previous cycle */
+    private CountDownLatch previousReturned = new CountDownLatch(0);
+
+    @Nullable
+    private volatile Exception lastFailure;
+
+    /**
+     * Create new instance, call {@link #start()} to begin
+     *
+     * @param dataSource      typically a connection pool
+     * @param interval        between validation cycles
+     * @param deadline        max wait per cycle
+     * @param connectionCount connections validated concurrently per cycle
+     */
+    public ConnectionValidator(
+            DataSource dataSource,
+            Duration interval,
+            Duration deadline,
+            int connectionCount) {
+
+        requireNonNull(dataSource, "dataSource is required and null.");
+        requireNonNull(deadline, "deadline is required and null.");
+        requireNonNull(interval, "interval is required and null.");
+
+        if (connectionCount <= 0) {
+            throw new IllegalArgumentException("connectionCount must be positive");
+        }
+        if (deadline.isNegative() || deadline.isZero()) {
+            throw new IllegalArgumentException("deadline must be positive");
+        }
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("interval must be positive");
+        }
+
+        this.connectionCount = connectionCount;
+        this.dataSource = dataSource;
+        this.deadline = deadline;
+        this.interval = interval;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                VirtualThreads.daemonThreadFactory("rdbms-validator"));
+        this.workers = VirtualThreads.newThreadPerTaskExecutor("rdbms-validator-worker");
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return time to acquire connections, since start
+     */
+    public LatencySnapshot connectLatency() {
+        return connectLatency.snapshot();
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return failed cycles, including skipped (stuck) cycles
+     */
+    public long failureCount() {
+        return failureCount.sum();
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return true when the most recent cycle succeeded
+     */
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return cause of the most recent failure, possibly null
+     */
+    @Nullable
+    public Exception lastFailure() {
+        return lastFailure;
+    }
+
+    /** Begin periodic validation, first cycle runs immediately */
+    public void start() {
+        scheduler.scheduleWithFixedDelay(
+                this::validateNow,
+                0,
+                interval.toNanos(),
+                TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return successful cycles
+     */
+    public long successCount() {
+        return successCount.sum();
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return time for each isValid call, since start
+     */
+    public LatencySnapshot validateLatency() {
+        return validateLatency.snapshot();
+    }
+
+    /**
+     * Run one cycle on the calling thread
+     *
+     * @return true when all connections were valid before the deadline
+     */
+    public boolean validateNow() {
+        if (!inFlight.compareAndSet(false, true)) {
+            onFailure(new IllegalStateException("Previous validation still running"));
+            return false;
+        }
+
+        try {
+            final var stuck = previousReturned.getCount();
+            if (stuck > 0) {
+                throw new IllegalStateException(stuck + " validation task(s) still stuck");
+            }
+
+            previousReturned = new CountDownLatch(connectionCount);
+            ConnectionUtils.validateConcurrently(
+                    workers,
+                    dataSource,
+                    connectionCount,
+                    deadline,
+                    connectLatency,
+                    validateLatency,
+                    previousReturned);
+
+            healthy = true;
+            successCount.increment();
+            return true;
+
+        } catch (RuntimeException ex) {
+            onFailure(ex);
+            return false;
+
+        } finally {
+            inFlight.set(false);
+        }
+    }
+
+    private void onFailure(Exception ex) {
+        failureCount.increment();
+        healthy = false;
+        lastFailure = ex;
+    }
+}
@@ -0,0 +1,149 @@
+package io.github.wcarmon.rdbms.util;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free, log-linear latency histogram, cheap enough to leave on in production.
+ *
+ * <p>8 sub-buckets per power of two, so percentiles are within 12.5%.
+ * Buckets are striped counters ({@link LongAdder}), so concurrent writers rarely contend.
+ *
+ * <p>Thread safe. Snapshots taken while recording are approximate.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** Enough buckets for any non-negative long */
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final LongAdder[] buckets;
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+    private final LongAdder total = new LongAdder();
+
+    /** Create new instance */
+    public LatencyHistogram() {
+        buckets = new LongAdder[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) Math.max(0, value);
+        }
+
+        final var exp = 63 - Long.numberOfLeadingZeros(value);
+        final var sub = (int) (value >>> (exp - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exp - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+
+        final var exp = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        final var sub = index % SUB_BUCKETS;
+        final var width = 1L << (exp - SUB_BUCKET_BITS);
+        final var lower = (1L << exp) | (sub * width);
+        return lower + width - 1;
+    }
+
+    private static long percentile(long[] counts, long total, long max, double quantile) {
+        final var rank = Math.max(1L, (long) Math.ceil(quantile * total));
+
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), max);
+            }
+        }
+
+        return max;
+    }
+
+    /**
+     * Record one sample
+     *
+     * @param nanos latency, negative treated as zero
+     */
+    public void record(long nanos) {
+        final var clean = Math.max(0, nanos);
+
+        buckets[bucketIndex(clean)].increment();
+        max.accumulate(clean);
+        total.add(clean);
+    }
+
+    /**
+     * Record one sample
+     *
+     * @param latency non-null
+     */
+    public void record(Duration latency) {
+        record(latency.toNanos());
+    }
+
+    /**
+     * Record the time elapsed since startNanos
+     *
+     * @param startNanos from {@link System#nanoTime()}
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /** Clear all samples */
+    public void reset() {
+        snapshot(true);
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return summary of samples so far
+     */
+    public LatencySnapshot snapshot() {
+        return snapshot(false);
+    }
+
+    /**
+     * Summarize then clear, for interval reporting
+     *
+     * @return summary of samples since the last reset
+     */
+    public LatencySnapshot snapshotAndReset() {
+        return snapshot(true);
+    }
+
+    private LatencySnapshot snapshot(boolean reset) {
+        final var counts = new long[BUCKET_COUNT];
+        long n = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = reset ? buckets[i].sumThenReset() : buckets[i].sum();
+            n += counts[i];
+        }
+
+        final var maxValue = reset ? max.getThenReset() : max.get();
+        final var totalValue = reset ? total.sumThenReset() : total.sum();
+
+        if (n == 0) {
+            return LatencySnapshot.EMPTY;
+        }
+
+        return new LatencySnapshot(
+                n,
+                totalValue,
+                maxValue,
+                percentile(counts, n, maxValue, 0.50),
+                percentile(counts, n, maxValue, 0.90),
+                percentile(counts, n, maxValue, 0.99),
+                percentile(counts, n, maxValue, 0.999));
+    }
+}
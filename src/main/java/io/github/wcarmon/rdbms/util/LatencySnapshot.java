@@ -0,0 +1,53 @@
+package io.github.wcarmon.rdbms.util;
+
+import java.time.Duration;
+
+/**
+ * Point-in-time latency summary from a {@link LatencyHistogram}.
+ *
+ * <p>Percentiles are bucket upper bounds (within 12.5%).
+ *
+ * @param count      samples
+ * @param totalNanos sum of samples
+ * @param maxNanos   largest sample
+ * @param p50Nanos   median
+ * @param p90Nanos   90th percentile
+ * @param p99Nanos   99th percentile
+ * @param p999Nanos  99.9th percentile
+ */
+public record LatencySnapshot(
+        long count,
+        long totalNanos,
+        long maxNanos,
+        long p50Nanos,
+        long p90Nanos,
+        long p99Nanos,
+        long p999Nanos) {
+
+    public static final LatencySnapshot EMPTY = new LatencySnapshot(0, 0, 0, 0, 0, 0, 0);
+
+    /** Validation */
+    public LatencySnapshot {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must be non-negative");
+        }
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return arithmetic mean, zero when empty
+     */
+    public Duration mean() {
+        return count == 0 ? Duration.ZERO : Duration.ofNanos(totalNanos / count);
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return 99th percentile
+     */
+    public Duration p99() {
+        return Duration.ofNanos(p99Nanos);
+    }
+}
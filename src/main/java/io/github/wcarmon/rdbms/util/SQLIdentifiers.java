@@ -0,0 +1,49 @@
+package io.github.wcarmon.rdbms.util;
+
+import java.util.Collection;
+import java.util.regex.Pattern;
+
+/**
+ * Validation for identifiers written directly into sql text (tables, columns).
+ *
+ * <p>Only plain, unquoted identifiers are accepted, so values from clients can never
+ * inject sql.
+ */
+public final class SQLIdentifiers {
+
+    /** Allows optionally qualified, unquoted identifiers (eg. "public.employees") */
+    private static final Pattern IDENTIFIER =
+            Pattern.compile("[A-Za-z_][A-Za-z0-9_$]*(\\.[A-Za-z_][A-Za-z0-9_$]*)?");
+
+    private SQLIdentifiers() {
+    }
+
+    /**
+     * throws when name is not a safe, unquoted sql identifier
+     *
+     * @param name table or column name
+     * @return name, unchanged
+     */
+    public static String requireIdentifier(String name) {
+        if (name == null || !IDENTIFIER.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid sql identifier: " + name);
+        }
+
+        return name;
+    }
+
+    /**
+     * throws when any name is not a safe, unquoted sql identifier or names is empty
+     *
+     * @param names table or column names
+     */
+    public static void requireIdentifiers(Collection<String> names) {
+        if (names == null || names.isEmpty()) {
+            throw new IllegalArgumentException("at least one column is required");
+        }
+
+        for (final var name : names) {
+            requireIdentifier(name);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.wcarmon.rdbms.util;
+
+/**
+ * Counters from {@link StatementCachingDataSource}
+ *
+ * @param hits             prepareStatement calls served from cache
+ * @param misses           prepareStatement calls which prepared a new statement
+ * @param evictions        statements closed to respect the per-connection bound
+ * @param cachedStatements statements currently cached, across all connections
+ */
+public record StatementCacheStats(long hits, long misses, long evictions, long cachedStatements) {
+
+    /**
+     * Simple getter
+     *
+     * @return fraction of prepareStatement calls served from cache, zero when idle
+     */
+    public double hitRate() {
+        final var total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,616 @@
+package io.github.wcarmon.rdbms.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+
+/**
+ * Opt-in DataSource wrapper which caches PreparedStatements per physical connection,
+ * so hot sql is parsed (and planned server-side) once per connection, not once per call.
+ *
+ * <p>Bounded LRU per connection, keyed by sql text and result set options.
+ * Closing a cached statement clears its parameters and batch, then returns it to the
+ * cache. A statement already checked out is never shared, a second concurrent
+ * prepareStatement with the same sql gets an uncached statement.
+ *
+ * <p>Pools: the physical connection is found via {@link Connection#unwrap(Class)}
+ * (eg. HikariCP). Cached statements are prepared on the physical connection, so the pool
+ * does not track (and close) them, and they survive returning the connection to the pool.
+ * Caches for connections the pool has since closed are purged on every
+ * {@link #getConnection()}. When the delegate is not a pool, statements are closed with
+ * the connection.
+ *
+ * <p>Thread safe when the delegate is. Uses {@link ReentrantLock} (not synchronized) and
+ * never holds the connection map's lock while closing statements.
+ */
+public final class StatementCachingDataSource implements DataSource {
+
+    /** Keyed by physical connection; guarded by lock */
+    private final Map<Connection, StatementCache> caches = new HashMap<>();
+
+    private final DataSource delegate;
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int maxStatementsPerConnection;
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Create new instance
+     *
+     * @param delegate                   typically a connection pool
+     * @param maxStatementsPerConnection LRU bound, per physical connection
+     */
+    public StatementCachingDataSource(DataSource delegate, int maxStatementsPerConnection) {
+        requireNonNull(delegate, "delegate is required and null.");
+        if (maxStatementsPerConnection <= 0) {
+            throw new IllegalArgumentException("maxStatementsPerConnection must be positive");
+        }
+
+        this.delegate = delegate;
+        this.maxStatementsPerConnection = maxStatementsPerConnection;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private static boolean isClosed(Connection conn) {
+        try {
+            return conn.isClosed();
+
+        } catch (SQLException ex) {
+            // -- unusable either way
+            return true;
+        }
+    }
+
+    private static Connection physicalOf(Connection conn) {
+        try {
+            if (conn.isWrapperFor(Connection.class)) {
+                final var out = conn.unwrap(Connection.class);
+                if (out != null) {
+                    return out;
+                }
+            }
+
+        } catch (SQLException ignored) {
+            // -- fall through, treat conn as physical
+        }
+
+        return conn;
+    }
+
+    private static void closeQuietly(PreparedStatement ps) {
+        try {
+            ps.close();
+
+        } catch (SQLException ignored) {
+            // -- already unusable
+        }
+    }
+
+    /** Close every cached statement which is not checked out */
+    public void evictAll() {
+        final List<StatementCache> snapshot;
+        lock.lock();
+        try {
+            snapshot = new ArrayList<>(caches.values());
+            caches.clear();
+
+        } finally {
+            lock.unlock();
+        }
+
+        for (final var cache : snapshot) {
+            cache.closeAll();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(delegate.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(delegate.getConnection(username, password));
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return delegate.getLoginTimeout();
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return delegate.getLogWriter();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return delegate.getParentLogger();
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || delegate.isWrapperFor(iface);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        delegate.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        delegate.setLogWriter(out);
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return counters since creation
+     */
+    public StatementCacheStats stats() {
+        final List<StatementCache> snapshot;
+        lock.lock();
+        try {
+            snapshot = new ArrayList<>(caches.values());
+
+        } finally {
+            lock.unlock();
+        }
+
+        long cached = 0;
+        for (final var cache : snapshot) {
+            cached += cache.size();
+        }
+
+        return new StatementCacheStats(hits.sum(), misses.sum(), evictions.sum(), cached);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+
+        return delegate.unwrap(iface);
+    }
+
+    private StatementCache cacheFor(Connection physical) {
+        lock.lock();
+        try {
+            return caches.computeIfAbsent(physical, key -> new StatementCache());
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Drop caches of physical connections the pool has closed */
+    private void purgeClosed() {
+        final List<Connection> connections;
+        lock.lock();
+        try {
+            connections = new ArrayList<>(caches.keySet());
+
+        } finally {
+            lock.unlock();
+        }
+
+        final List<StatementCache> stale = new ArrayList<>();
+        for (final var physical : connections) {
+            if (!isClosed(physical)) {
+                continue;
+            }
+
+            lock.lock();
+            try {
+                final var cache = caches.remove(physical);
+                if (cache != null) {
+                    stale.add(cache);
+                }
+
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        for (final var cache : stale) {
+            cache.closeAll();
+        }
+    }
+
+    private void remove(Connection physical) {
+        lock.lock();
+        try {
+            caches.remove(physical);
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Connection wrap(Connection conn) {
+        purgeClosed();
+
+        final var physical = physicalOf(conn);
+        final var handler = new LogicalConnection(conn, physical, cacheFor(physical));
+
+        final var proxy = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                handler);
+
+        handler.proxy = proxy;
+        return proxy;
+    }
+
+    /** Identifies interchangeable statements: sql plus every prepareStatement option */
+    private record StatementKey(String sql, List<Object> options) {
+
+    }
+
+    /** One cached statement */
+    private static final class Entry {
+
+        final PreparedStatement ps;
+
+        boolean evicted;
+
+        /** Incremented on every checkin, invalidates stale handles */
+        int generation;
+
+        boolean inUse;
+
+        Entry(PreparedStatement ps) {
+            this.ps = ps;
+        }
+    }
+
+    /** Checked out statement, close returns it to the cache */
+    private final class CachedStatement implements InvocationHandler {
+
+        private final StatementCache cache;
+        private final Connection connection;
+        private final Entry entry;
+        private final int generation;
+
+        CachedStatement(StatementCache cache, Entry entry, Connection connection) {
+            this.cache = cache;
+            this.connection = connection;
+            this.entry = entry;
+            this.generation = entry.generation;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            final var closed = generation != entry.generation;
+
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        cache.checkin(entry);
+                    }
+                    return null;
+
+                case "isClosed":
+                    return closed || entry.ps.isClosed();
+
+                case "getConnection":
+                    return connection;
+
+                case "equals":
+                    return proxy == args[0];
+
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+
+                case "toString":
+                    return "Cached" + entry.ps;
+
+                default:
+                    if (closed) {
+                        throw new SQLException("Statement is closed");
+                    }
+
+                    return StatementCachingDataSource.invoke(entry.ps, method, args);
+            }
+        }
+    }
+
+    /** Borrowed connection, routes prepareStatement through the cache */
+    private final class LogicalConnection implements InvocationHandler {
+
+        private final StatementCache cache;
+        private final Connection conn;
+        private final Connection physical;
+
+        private boolean closed;
+        private Connection proxy;
+
+        LogicalConnection(Connection conn, Connection physical, StatementCache cache) {
+            this.cache = cache;
+            this.conn = conn;
+            this.physical = physical;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "prepareStatement":
+                    if (closed) {
+                        throw new SQLException("Connection is closed");
+                    }
+                    return prepare(method, args);
+
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        onClose();
+                    }
+                    return StatementCachingDataSource.invoke(conn, method, args);
+
+                case "equals":
+                    return proxy == args[0];
+
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+
+                case "toString":
+                    return "StatementCaching" + conn;
+
+                default:
+                    return StatementCachingDataSource.invoke(conn, method, args);
+            }
+        }
+
+        private void onClose() {
+            if (physical == conn) {
+                // -- Not pooled, statements die with the connection
+                remove(physical);
+                cache.closeAll();
+
+            } else {
+                // -- Reclaim statements the caller never closed
+                cache.checkinAll();
+            }
+        }
+
+        private PreparedStatement prepare(Method method, Object[] args) throws Throwable {
+            final var options = new ArrayList<>(args.length - 1);
+            for (int i = 1; i < args.length; i++) {
+                final var arg = args[i];
+                if (arg instanceof int[] ints) {
+                    options.add(Arrays.toString(ints));
+                } else if (arg instanceof String[] strings) {
+                    options.add(Arrays.asList(strings));
+                } else {
+                    options.add(arg);
+                }
+            }
+
+            final var key = new StatementKey((String) args[0], options);
+            final var cached = cache.checkout(key);
+            if (cached != null) {
+                hits.increment();
+                return wrapStatement(cached);
+            }
+
+            misses.increment();
+            if (cache.isCheckedOut(key)) {
+                // -- Same sql already checked out, don't share; the pool closes this one
+                return (PreparedStatement) StatementCachingDataSource.invoke(conn, method, args);
+            }
+
+            // -- On the physical connection, so the pool doesn't close it at checkin
+            final var ps = (PreparedStatement) StatementCachingDataSource.invoke(
+                    physical, method, args);
+
+            final var entry = cache.add(key, ps);
+            if (entry == null) {
+                // -- Lost a race for the same sql
+                closeQuietly(ps);
+                return (PreparedStatement) StatementCachingDataSource.invoke(conn, method, args);
+            }
+
+            return wrapStatement(entry);
+        }
+
+        private PreparedStatement wrapStatement(Entry entry) {
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    new CachedStatement(cache, entry, proxy));
+        }
+    }
+
+    /** LRU for one physical connection */
+    private final class StatementCache {
+
+        /** Access order; guarded by lock */
+        private final LinkedHashMap<StatementKey, Entry> entries =
+                new LinkedHashMap<>(16, 0.75f, true);
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * @return new checked out entry, or null when key is already checked out
+         */
+        Entry add(StatementKey key, PreparedStatement ps) {
+            lock.lock();
+            try {
+                final var existing = entries.get(key);
+                if (existing != null && existing.inUse) {
+                    return null;
+                }
+
+                if (existing != null) {
+                    // -- stale (closed by driver)
+                    entries.remove(key);
+                    closeQuietly(existing.ps);
+                }
+
+                final var out = new Entry(ps);
+                out.inUse = true;
+                entries.put(key, out);
+
+                final var it = entries.values().iterator();
+                while (entries.size() > maxStatementsPerConnection && it.hasNext()) {
+                    final var eldest = it.next();
+                    if (eldest == out) {
+                        continue;
+                    }
+
+                    it.remove();
+                    eldest.evicted = true;
+                    evictions.increment();
+
+                    if (!eldest.inUse) {
+                        closeQuietly(eldest.ps);
+                    }
+                }
+
+                return out;
+
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @return entry, now checked out, or null on miss
+         */
+        Entry checkout(StatementKey key) throws SQLException {
+            lock.lock();
+            try {
+                final var entry = entries.get(key);
+                if (entry == null || entry.inUse) {
+                    return null;
+                }
+
+                if (entry.ps.isClosed()) {
+                    entries.remove(key);
+                    return null;
+                }
+
+                entry.inUse = true;
+                return entry;
+
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean isCheckedOut(StatementKey key) {
+            lock.lock();
+            try {
+                final var entry = entries.get(key);
+                return entry != null && entry.inUse;
+
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void checkin(Entry entry) {
+            lock.lock();
+            try {
+                if (!entry.inUse) {
+                    return;
+                }
+
+                entry.generation++;
+                entry.inUse = false;
+
+                if (entry.evicted) {
+                    closeQuietly(entry.ps);
+                    return;
+                }
+
+                try {
+                    final var rs = entry.ps.getResultSet();
+                    if (rs != null) {
+                        rs.close();
+                    }
+
+                    entry.ps.clearParameters();
+                    entry.ps.clearBatch();
+                    entry.ps.clearWarnings();
+
+                } catch (SQLException ex) {
+                    // -- Unusable, don't hand it out again
+                    entries.values().remove(entry);
+                    evictions.increment();
+                    closeQuietly(entry.ps);
+                }
+
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void checkinAll() {
+            lock.lock();
+            try {
+                for (final var entry : new ArrayList<>(entries.values())) {
+                    checkin(entry);
+                }
+
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void closeAll() {
+            lock.lock();
+            try {
+                for (final var entry : entries.values()) {
+                    entry.evicted = true;
+                    entry.generation++;
+                    closeQuietly(entry.ps);
+                }
+
+                entries.clear();
+
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return entries.size();
+
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
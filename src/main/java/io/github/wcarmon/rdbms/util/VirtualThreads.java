@@ -0,0 +1,89 @@
+package io.github.wcarmon.rdbms.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Uses virtual threads when the runtime supports them (Java 21+),
+ * otherwise falls back to daemon platform threads.
+ *
+ * <p>This library targets an older bytecode level, so virtual threads are found reflectively.
+ */
+public final class VirtualThreads {
+
+    @Nullable
+    private static final MethodHandle NEW_VIRTUAL_EXECUTOR = findVirtualExecutorFactory();
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Simple getter
+     *
+     * @param namePrefix for platform thread names
+     * @return factory for daemon platform threads
+     */
+    public static ThreadFactory daemonThreadFactory(String namePrefix) {
+        if (namePrefix == null || namePrefix.isBlank()) {
+            throw new IllegalArgumentException("namePrefix is required");
+        }
+
+        final var counter = new AtomicLong();
+        return runnable -> {
+            final var t = new Thread(runnable, namePrefix + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    @Nullable
+    private static MethodHandle findVirtualExecutorFactory() {
+        try {
+            return MethodHandles.publicLookup().findStatic(
+                    Executors.class,
+                    "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return true when running on a JVM with virtual threads
+     */
+    public static boolean isSupported() {
+        return NEW_VIRTUAL_EXECUTOR != null;
+    }
+
+    /**
+     * One new thread per task: virtual when supported, else daemon platform threads.
+     *
+     * @param namePrefix for platform thread names
+     * @return new executor, caller must shut down
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        if (namePrefix == null || namePrefix.isBlank()) {
+            throw new IllegalArgumentException("namePrefix is required");
+        }
+
+        if (NEW_VIRTUAL_EXECUTOR != null) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_EXECUTOR.invokeExact();
+
+            } catch (Throwable ex) {
+                throw new IllegalStateException("Failed to create virtual thread executor", ex);
+            }
+        }
+
+        return Executors.newCachedThreadPool(daemonThreadFactory(namePrefix));
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.wcarmon.rdbms.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+
+/**
+ * Outcome of {@link ConnectionUtils#warmUp}
+ *
+ * @param connectionCount connections opened and validated concurrently
+ * @param elapsed         wall time for the whole warm-up
+ * @param connectLatency  time to acquire each connection
+ * @param validateLatency time for each Connection.isValid call
+ */
+public record WarmUpResult(
+        int connectionCount,
+        Duration elapsed,
+        LatencySnapshot connectLatency,
+        LatencySnapshot validateLatency) {
+
+    /** Create new instance */
+    public WarmUpResult {
+        requireNonNull(connectLatency, "connectLatency is required and null.");
+        requireNonNull(elapsed, "elapsed is required and null.");
+        requireNonNull(validateLatency, "validateLatency is required and null.");
+    }
+}
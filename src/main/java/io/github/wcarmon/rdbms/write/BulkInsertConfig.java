@@ -0,0 +1,59 @@
+package io.github.wcarmon.rdbms.write;
+
+import lombok.Builder;
+
+/**
+ * Tuning for {@link BulkInserter}
+ *
+ * @param batchSize          rows per executeBatch, for {@link BulkInsertStrategy#JDBC_BATCH}
+ * @param commitEveryRows    commit every N rows, zero means one transaction for the whole call
+ * @param maxBindParameters  driver limit on "?" per statement (32767 is safe for postgres)
+ * @param maxRowsPerStatement upper bound on rows per multi-row INSERT
+ * @param strategy           see {@link BulkInsertStrategy}, null means AUTO
+ */
+@Builder
+public record BulkInsertConfig(
+        int batchSize,
+        long commitEveryRows,
+        int maxBindParameters,
+        int maxRowsPerStatement,
+        BulkInsertStrategy strategy) {
+
+    public static final int DEFAULT_BATCH_SIZE = 1_000;
+    public static final int DEFAULT_MAX_BIND_PARAMETERS = 32_767;
+    public static final int DEFAULT_MAX_ROWS_PER_STATEMENT = 1_000;
+
+    /** Defaults and Validation */
+    public BulkInsertConfig {
+        batchSize = batchSize == 0 ? DEFAULT_BATCH_SIZE : batchSize;
+        maxBindParameters = maxBindParameters == 0
+                ? DEFAULT_MAX_BIND_PARAMETERS
+                : maxBindParameters;
+        maxRowsPerStatement = maxRowsPerStatement == 0
+                ? DEFAULT_MAX_ROWS_PER_STATEMENT
+                : maxRowsPerStatement;
+        strategy = strategy == null ? BulkInsertStrategy.AUTO : strategy;
+
+        if (batchSize < 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        if (commitEveryRows < 0) {
+            throw new IllegalArgumentException("commitEveryRows must be non-negative");
+        }
+        if (maxBindParameters < 0) {
+            throw new IllegalArgumentException("maxBindParameters must be positive");
+        }
+        if (maxRowsPerStatement < 0) {
+            throw new IllegalArgumentException("maxRowsPerStatement must be positive");
+        }
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return config with all defaults
+     */
+    public static BulkInsertConfig defaults() {
+        return new BulkInsertConfig(0, 0, 0, 0, null);
+    }
+}
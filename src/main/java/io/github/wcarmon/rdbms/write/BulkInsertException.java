@@ -0,0 +1,37 @@
+package io.github.wcarmon.rdbms.write;
+
+/**
+ * Thrown when a bulk insert fails.
+ *
+ * <p>With {@link BulkInsertConfig#commitEveryRows()}, rows committed before the failure
+ * stay committed, the rest are rolled back.
+ */
+public final class BulkInsertException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long committedRowCount;
+
+    /**
+     * Create new instance
+     *
+     * @param table             target table
+     * @param committedRowCount rows committed before the failure
+     * @param cause             driver or binder error
+     */
+    public BulkInsertException(String table, long committedRowCount, Throwable cause) {
+        super("Failed to bulk insert into " + table
+                + " (" + committedRowCount + " rows committed)", cause);
+
+        this.committedRowCount = committedRowCount;
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return rows committed before the failure, zero without commitEveryRows
+     */
+    public long committedRowCount() {
+        return committedRowCount;
+    }
+}
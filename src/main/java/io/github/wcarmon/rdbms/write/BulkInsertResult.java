@@ -0,0 +1,35 @@
+package io.github.wcarmon.rdbms.write;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+
+/**
+ * Summary of one bulk insert
+ *
+ * @param rowCount       rows inserted (as reported by the driver)
+ * @param statementCount round trips (statements or batches executed)
+ * @param strategy       strategy actually used
+ * @param elapsed        total wall time
+ */
+public record BulkInsertResult(
+        long rowCount,
+        long statementCount,
+        BulkInsertStrategy strategy,
+        Duration elapsed) {
+
+    /** Create new instance */
+    public BulkInsertResult {
+        requireNonNull(elapsed, "elapsed is required and null.");
+        requireNonNull(strategy, "strategy is required and null.");
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return rows per second
+     */
+    public double rowsPerSecond() {
+        return rowCount * 1_000_000_000.0 / Math.max(1L, elapsed.toNanos());
+    }
+}
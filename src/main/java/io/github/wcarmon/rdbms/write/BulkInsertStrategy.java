@@ -0,0 +1,14 @@
+package io.github.wcarmon.rdbms.write;
+
+/** How {@link BulkInserter} sends rows. */
+public enum BulkInsertStrategy {
+
+    /** Pick per call, see {@link BulkInserter} */
+    AUTO,
+
+    /** One single-row INSERT, PreparedStatement.addBatch per row */
+    JDBC_BATCH,
+
+    /** INSERT ... VALUES (...),(...), sized to the bind-parameter limit */
+    MULTI_ROW_VALUES,
+}
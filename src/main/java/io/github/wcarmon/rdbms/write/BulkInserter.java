@@ -0,0 +1,367 @@
+package io.github.wcarmon.rdbms.write;
+
+import static java.util.Objects.requireNonNull;
+
+import io.github.wcarmon.rdbms.util.ConnectionUtils;
+import io.github.wcarmon.rdbms.util.SQLIdentifiers;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+
+/**
+ * Engine for {@link io.github.wcarmon.rdbms.DAOOperation#BULK_CREATE}.
+ *
+ * <p>Rows are streamed in chunks, never materialized: at most one statement's worth of
+ * rows is buffered.
+ *
+ * <p>{@link BulkInsertStrategy#AUTO} picks:
+ * <ul>
+ *     <li>JDBC_BATCH when the driver already rewrites batches
+ *     (eg. reWriteBatchedInserts=true on the jdbc url), or when one row would exceed
+ *     the bind-parameter limit</li>
+ *     <li>MULTI_ROW_VALUES otherwise</li>
+ * </ul>
+ *
+ * <p>Thread safe, each call uses its own connection.
+ */
+public final class BulkInserter {
+
+    private final BulkInsertConfig config;
+    private final DataSource dataSource;
+
+    /**
+     * Create new instance
+     *
+     * @param dataSource for acquiring one connection per call
+     * @param config     chunk sizing
+     */
+    public BulkInserter(DataSource dataSource, BulkInsertConfig config) {
+        requireNonNull(config, "config is required and null.");
+        requireNonNull(dataSource, "dataSource is required and null.");
+
+        this.config = config;
+        this.dataSource = dataSource;
+    }
+
+    static long addUpdateCounts(int[] counts) {
+        long out = 0;
+        for (final var count : counts) {
+            if (count >= 0) {
+                out += count;
+
+            } else if (count == Statement.SUCCESS_NO_INFO) {
+                out++;
+            }
+        }
+
+        return out;
+    }
+
+    /**
+     * Build "INSERT INTO t (a, b) VALUES (?, ?), (?, ?)"
+     *
+     * @param table    validated table name
+     * @param columns  validated column names
+     * @param rowCount rows in the VALUES list
+     * @return parameterized sql
+     */
+    static String insertSql(String table, List<String> columns, int rowCount) {
+        final var sb = new StringBuilder(32 + 16 * columns.size() + rowCount * 4 * columns.size());
+        sb.append("INSERT INTO ").append(table).append(" (");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(columns.get(i));
+        }
+
+        sb.append(") VALUES ");
+        appendPlaceholderRows(sb, columns.size(), rowCount);
+        return sb.toString();
+    }
+
+    /**
+     * Append "(?, ?), (?, ?)"
+     *
+     * @param sb          target
+     * @param columnCount placeholders per row
+     * @param rowCount    rows
+     */
+    static void appendPlaceholderRows(StringBuilder sb, int columnCount, int rowCount) {
+        for (int r = 0; r < rowCount; r++) {
+            sb.append(r == 0 ? "(" : ", (");
+            for (int c = 0; c < columnCount; c++) {
+                sb.append(c == 0 ? "?" : ", ?");
+            }
+            sb.append(')');
+        }
+    }
+
+    /**
+     * Simple getter
+     *
+     * @param jdbcUrl from connection metadata
+     * @return true when the driver rewrites batches into multi-row statements itself
+     */
+    static boolean driverRewritesBatches(String jdbcUrl) {
+        if (jdbcUrl == null) {
+            return false;
+        }
+
+        final var clean = jdbcUrl.toLowerCase(Locale.ROOT);
+        return clean.contains("rewritebatchedinserts=true") // postgres
+                || clean.contains("rewritebatchedstatements=true"); // mysql
+    }
+
+    /**
+     * Simple getter
+     *
+     * @param maxRowsPerStatement upper bound on rows
+     * @param maxBindParameters   driver limit on "?" per statement
+     * @param columnCount         columns per row
+     * @return rows per multi-row statement, at least 1
+     */
+    static int rowsPerStatement(int maxRowsPerStatement, int maxBindParameters, int columnCount) {
+        return Math.max(1, Math.min(maxRowsPerStatement, maxBindParameters / columnCount));
+    }
+
+    /**
+     * Insert every row, see class docs
+     *
+     * @param table   target table
+     * @param columns column names, same order the binder binds
+     * @param rows    streamed, never materialized
+     * @param binder  binds one row's columns
+     * @param <T>     row type
+     * @return counts and timing
+     * @throws BulkInsertException with the rows committed before the failure
+     */
+    public <T> BulkInsertResult insert(
+            String table,
+            List<String> columns,
+            Iterator<? extends T> rows,
+            RowBinder<? super T> binder) {
+
+        SQLIdentifiers.requireIdentifier(table);
+        SQLIdentifiers.requireIdentifiers(columns);
+        requireNonNull(binder, "binder is required and null.");
+        requireNonNull(rows, "rows is required and null.");
+
+        final var startNanos = System.nanoTime();
+        try (final Connection conn = dataSource.getConnection()) {
+            final var originalAutoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+
+            final var run = new Run<T>(conn, table, List.copyOf(columns), binder);
+            Throwable failure = null;
+            try {
+                final var strategy = resolveStrategy(conn, columns.size());
+                if (strategy == BulkInsertStrategy.JDBC_BATCH) {
+                    run.insertBatched(rows);
+                } else {
+                    run.insertMultiRow(rows);
+                }
+
+                conn.commit();
+
+                return new BulkInsertResult(
+                        run.rowCount,
+                        run.statementCount,
+                        strategy,
+                        Duration.ofNanos(System.nanoTime() - startNanos));
+
+            } catch (SQLException | RuntimeException ex) {
+                final var wrapped = new BulkInsertException(table, run.committedRowCount, ex);
+                failure = wrapped;
+                ConnectionUtils.rollbackQuietly(conn, wrapped);
+                throw wrapped;
+
+            } catch (Throwable ex) {
+                // -- Error too (eg. from the binder): restoring auto-commit would commit it
+                failure = ex;
+                ConnectionUtils.rollbackQuietly(conn, ex);
+                throw ex;
+
+            } finally {
+                ConnectionUtils.restoreAutoCommit(conn, originalAutoCommit, failure);
+            }
+
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Failed to bulk insert into " + table, ex);
+        }
+    }
+
+    /**
+     * Insert every row, see class docs
+     *
+     * @param table   target table
+     * @param columns column names, same order the binder binds
+     * @param rows    streamed, never materialized
+     * @param binder  binds one row's columns
+     * @param <T>     row type
+     * @return counts and timing
+     */
+    public <T> BulkInsertResult insert(
+            String table,
+            List<String> columns,
+            Iterable<? extends T> rows,
+            RowBinder<? super T> binder) {
+        requireNonNull(rows, "rows is required and null.");
+
+        return insert(table, columns, rows.iterator(), binder);
+    }
+
+    /**
+     * Insert every row, see class docs
+     *
+     * @param table   target table
+     * @param columns column names, same order the binder binds
+     * @param rows    streamed, never materialized; caller closes
+     * @param binder  binds one row's columns
+     * @param <T>     row type
+     * @return counts and timing
+     */
+    public <T> BulkInsertResult insert(
+            String table,
+            List<String> columns,
+            Stream<? extends T> rows,
+            RowBinder<? super T> binder) {
+        requireNonNull(rows, "rows is required and null.");
+
+        return insert(table, columns, rows.iterator(), binder);
+    }
+
+    /**
+     * Simple getter
+     *
+     * @param columnCount columns per row
+     * @return rows per multi-row INSERT, respecting the bind-parameter limit
+     */
+    int rowsPerStatement(int columnCount) {
+        return rowsPerStatement(
+                config.maxRowsPerStatement(),
+                config.maxBindParameters(),
+                columnCount);
+    }
+
+    private BulkInsertStrategy resolveStrategy(Connection conn, int columnCount)
+            throws SQLException {
+
+        if (config.strategy() != BulkInsertStrategy.AUTO) {
+            return config.strategy();
+        }
+
+        if (rowsPerStatement(columnCount) <= 1
+                || driverRewritesBatches(conn.getMetaData().getURL())) {
+            return BulkInsertStrategy.JDBC_BATCH;
+        }
+
+        return BulkInsertStrategy.MULTI_ROW_VALUES;
+    }
+
+    /** Mutable state for one call */
+    private final class Run<T> {
+
+        private final RowBinder<? super T> binder;
+        private final List<String> columns;
+        private final Connection conn;
+        private final String table;
+
+        private long committedRowCount;
+        private long rowCount;
+        private long rowsSinceCommit;
+        private long statementCount;
+
+        Run(Connection conn, String table, List<String> columns, RowBinder<? super T> binder) {
+            this.binder = binder;
+            this.columns = columns;
+            this.conn = conn;
+            this.table = table;
+        }
+
+        void insertBatched(Iterator<? extends T> rows) throws SQLException {
+            try (final PreparedStatement ps = conn.prepareStatement(insertSql(table, columns, 1))) {
+                int pending = 0;
+                while (rows.hasNext()) {
+                    binder.bind(rows.next(), ps, 1);
+                    ps.addBatch();
+                    pending++;
+
+                    if (pending >= config.batchSize()) {
+                        onExecuted(addUpdateCounts(ps.executeBatch()), pending);
+                        pending = 0;
+                    }
+                }
+
+                if (pending > 0) {
+                    onExecuted(addUpdateCounts(ps.executeBatch()), pending);
+                }
+            }
+        }
+
+        void insertMultiRow(Iterator<? extends T> rows) throws SQLException {
+            final var rowsPerStatement = rowsPerStatement(columns.size());
+            final var chunk = new ArrayList<T>(rowsPerStatement);
+
+            // -- Full chunks share one prepared statement
+            PreparedStatement full = null;
+            try {
+                while (rows.hasNext()) {
+                    chunk.add(rows.next());
+                    if (chunk.size() < rowsPerStatement) {
+                        continue;
+                    }
+
+                    if (full == null) {
+                        full = conn.prepareStatement(insertSql(table, columns, rowsPerStatement));
+                    }
+
+                    executeChunk(full, chunk);
+                    chunk.clear();
+                }
+
+            } finally {
+                if (full != null) {
+                    full.close();
+                }
+            }
+
+            if (!chunk.isEmpty()) {
+                try (final PreparedStatement tail =
+                             conn.prepareStatement(insertSql(table, columns, chunk.size()))) {
+                    executeChunk(tail, chunk);
+                }
+            }
+        }
+
+        private void executeChunk(PreparedStatement ps, List<T> chunk) throws SQLException {
+            int index = 1;
+            for (final var row : chunk) {
+                binder.bind(row, ps, index);
+                index += columns.size();
+            }
+
+            onExecuted(ps.executeUpdate(), chunk.size());
+        }
+
+        private void onExecuted(long inserted, int submittedRows) throws SQLException {
+            rowCount += inserted;
+            rowsSinceCommit += submittedRows;
+            statementCount++;
+
+            if (config.commitEveryRows() > 0 && rowsSinceCommit >= config.commitEveryRows()) {
+                conn.commit();
+                committedRowCount = rowCount;
+                rowsSinceCommit = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.wcarmon.rdbms.write;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Binds one row's column values onto a PreparedStatement.
+ *
+ * @param <T> row type
+ */
+@FunctionalInterface
+public interface RowBinder<T> {
+
+    /**
+     * Binds each value with {@link PreparedStatement#setObject(int, Object)}
+     *
+     * @return binder for rows represented as a list of column values
+     */
+    static RowBinder<List<?>> ofList() {
+        return (row, ps, startIndex) -> {
+            for (int i = 0; i < row.size(); i++) {
+                ps.setObject(startIndex + i, row.get(i));
+            }
+        };
+    }
+
+    /**
+     * Bind every column of row
+     *
+     * @param row        source values
+     * @param ps         target
+     * @param startIndex jdbc parameter index for the first column, from one
+     * @throws SQLException from the driver
+     */
+    void bind(T row, PreparedStatement ps, int startIndex) throws SQLException;
+}
@@ -0,0 +1,36 @@
+package io.github.wcarmon.rdbms.write;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+
+/**
+ * Outcome of one upsert chunk (one statement)
+ *
+ * @param chunkIndex    from zero
+ * @param rowCount      rows submitted in this chunk
+ * @param insertedCount rows which did not exist before
+ * @param updatedCount  rows which existed before
+ * @param elapsed       wall time for this chunk
+ */
+public record UpsertChunkStats(
+        long chunkIndex,
+        long rowCount,
+        long insertedCount,
+        long updatedCount,
+        Duration elapsed) {
+
+    /** Create new instance */
+    public UpsertChunkStats {
+        requireNonNull(elapsed, "elapsed is required and null.");
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return rows per second for this chunk
+     */
+    public double rowsPerSecond() {
+        return rowCount * 1_000_000_000.0 / Math.max(1L, elapsed.toNanos());
+    }
+}
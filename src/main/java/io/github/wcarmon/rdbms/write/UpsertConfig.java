@@ -0,0 +1,49 @@
+package io.github.wcarmon.rdbms.write;
+
+import lombok.Builder;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Tuning for {@link Upserter}
+ *
+ * @param commitEveryRows     commit every N rows, zero means one transaction for the whole call
+ * @param dialect             null means detect from connection metadata
+ * @param maxBindParameters   driver limit on "?" per statement (32767 is safe for postgres)
+ * @param maxRowsPerStatement upper bound on rows per chunk (one statement per chunk)
+ */
+@Builder
+public record UpsertConfig(
+        long commitEveryRows,
+        @Nullable UpsertDialect dialect,
+        int maxBindParameters,
+        int maxRowsPerStatement) {
+
+    /** Defaults and Validation */
+    public UpsertConfig {
+        maxBindParameters = maxBindParameters == 0
+                ? BulkInsertConfig.DEFAULT_MAX_BIND_PARAMETERS
+                : maxBindParameters;
+        maxRowsPerStatement = maxRowsPerStatement == 0
+                ? BulkInsertConfig.DEFAULT_MAX_ROWS_PER_STATEMENT
+                : maxRowsPerStatement;
+
+        if (commitEveryRows < 0) {
+            throw new IllegalArgumentException("commitEveryRows must be non-negative");
+        }
+        if (maxBindParameters < 0) {
+            throw new IllegalArgumentException("maxBindParameters must be positive");
+        }
+        if (maxRowsPerStatement < 0) {
+            throw new IllegalArgumentException("maxRowsPerStatement must be positive");
+        }
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return config with all defaults
+     */
+    public static UpsertConfig defaults() {
+        return new UpsertConfig(0, null, 0, 0);
+    }
+}
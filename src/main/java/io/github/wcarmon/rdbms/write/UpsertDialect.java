@@ -0,0 +1,32 @@
+package io.github.wcarmon.rdbms.write;
+
+import java.util.Locale;
+
+/** SQL flavor for {@link Upserter} */
+public enum UpsertDialect {
+
+    /**
+     * SQL:2008 "MERGE INTO ... USING (VALUES ...)",
+     * eg. H2, HSQLDB, PostgreSQL 15+
+     */
+    MERGE,
+
+    /** "INSERT ... ON CONFLICT (...) DO UPDATE", PostgreSQL 9.5+ */
+    POSTGRES,
+    ;
+
+    /**
+     * Simple getter
+     *
+     * @param databaseProductName from {@link java.sql.DatabaseMetaData#getDatabaseProductName()}
+     * @return best dialect for the database
+     */
+    public static UpsertDialect detect(String databaseProductName) {
+        if (databaseProductName != null
+                && databaseProductName.toLowerCase(Locale.ROOT).contains("postgres")) {
+            return POSTGRES;
+        }
+
+        return MERGE;
+    }
+}
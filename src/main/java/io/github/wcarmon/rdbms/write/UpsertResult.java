@@ -0,0 +1,30 @@
+package io.github.wcarmon.rdbms.write;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+
+/**
+ * Summary of one upsert call
+ *
+ * @param rowCount      rows submitted
+ * @param insertedCount rows which did not exist before
+ * @param updatedCount  rows which existed before
+ * @param chunkCount    statements executed
+ * @param dialect       dialect actually used
+ * @param elapsed       total wall time
+ */
+public record UpsertResult(
+        long rowCount,
+        long insertedCount,
+        long updatedCount,
+        long chunkCount,
+        UpsertDialect dialect,
+        Duration elapsed) {
+
+    /** Create new instance */
+    public UpsertResult {
+        requireNonNull(dialect, "dialect is required and null.");
+        requireNonNull(elapsed, "elapsed is required and null.");
+    }
+}
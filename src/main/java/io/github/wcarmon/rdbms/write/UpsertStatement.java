@@ -0,0 +1,182 @@
+package io.github.wcarmon.rdbms.write;
+
+import static java.util.Objects.requireNonNull;
+
+import io.github.wcarmon.rdbms.util.SQLIdentifiers;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import lombok.Builder;
+
+/**
+ * What to upsert: table, bound columns, conflict key and columns to overwrite.
+ *
+ * @param table         target table
+ * @param columns       every bound column, same order the RowBinder binds
+ * @param keyColumns    unique/primary key, subset of columns
+ * @param updateColumns overwritten when the key exists, subset of columns,
+ *                      null means every non-key column, empty means never overwrite
+ */
+@Builder
+public record UpsertStatement(
+        String table,
+        List<String> columns,
+        List<String> keyColumns,
+        List<String> updateColumns) {
+
+    /** Defaults and Validation */
+    public UpsertStatement {
+        SQLIdentifiers.requireIdentifier(table);
+        SQLIdentifiers.requireIdentifiers(columns);
+        SQLIdentifiers.requireIdentifiers(keyColumns);
+
+        columns = List.copyOf(columns);
+        keyColumns = List.copyOf(keyColumns);
+
+        if (new HashSet<>(columns).size() != columns.size()) {
+            throw new IllegalArgumentException("columns must be unique");
+        }
+        if (!columns.containsAll(keyColumns)) {
+            throw new IllegalArgumentException("keyColumns must be a subset of columns");
+        }
+
+        if (updateColumns == null) {
+            final var tmp = new ArrayList<>(columns);
+            tmp.removeAll(keyColumns);
+            updateColumns = List.copyOf(tmp);
+
+        } else {
+            updateColumns = List.copyOf(updateColumns);
+            if (!columns.containsAll(updateColumns)) {
+                throw new IllegalArgumentException("updateColumns must be a subset of columns");
+            }
+
+            for (final var col : updateColumns) {
+                if (keyColumns.contains(col)) {
+                    throw new IllegalArgumentException("cannot update key column: " + col);
+                }
+            }
+        }
+    }
+
+    private static void appendJoined(StringBuilder sb, List<String> names, String prefix) {
+        for (int i = 0; i < names.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(prefix).append(names.get(i));
+        }
+    }
+
+    /**
+     * Counts target rows whose key matches a chunk row, so MERGE can report
+     * inserted vs updated.
+     *
+     * <p>Binds exactly like {@link #sql(UpsertDialect, int)} for {@link UpsertDialect#MERGE}.
+     *
+     * @param rowCount rows in the chunk
+     * @return parameterized sql, returns one row with one count
+     */
+    String existingKeyCountSql(int rowCount) {
+        final var sb = new StringBuilder(64 + rowCount * 4 * columns.size());
+        sb.append("SELECT COUNT(*) FROM ").append(table).append(" AS dst");
+        appendSource(sb.append(" JOIN "), rowCount);
+        appendKeyMatch(sb.append(" ON "));
+
+        return sb.toString();
+    }
+
+    /**
+     * Build the upsert for one chunk
+     *
+     * <p>POSTGRES returns one boolean per affected row, true when inserted.
+     *
+     * @param dialect  sql flavor
+     * @param rowCount rows in the chunk
+     * @return parameterized sql
+     */
+    public String sql(UpsertDialect dialect, int rowCount) {
+        requireNonNull(dialect, "dialect is required and null.");
+        if (rowCount <= 0) {
+            throw new IllegalArgumentException("rowCount must be positive");
+        }
+
+        return switch (dialect) {
+            case MERGE -> mergeSql(rowCount);
+            case POSTGRES -> postgresSql(rowCount);
+        };
+    }
+
+    private void appendKeyMatch(StringBuilder sb) {
+        for (int i = 0; i < keyColumns.size(); i++) {
+            if (i > 0) {
+                sb.append(" AND ");
+            }
+
+            final var key = keyColumns.get(i);
+            sb.append("dst.").append(key).append(" = src.").append(key);
+        }
+    }
+
+    private void appendSource(StringBuilder sb, int rowCount) {
+        sb.append("(VALUES ");
+        BulkInserter.appendPlaceholderRows(sb, columns.size(), rowCount);
+        sb.append(") AS src (");
+        appendJoined(sb, columns, "");
+        sb.append(')');
+    }
+
+    private String mergeSql(int rowCount) {
+        final var sb = new StringBuilder(128 + rowCount * 4 * columns.size());
+        sb.append("MERGE INTO ").append(table).append(" AS dst USING ");
+        appendSource(sb, rowCount);
+        appendKeyMatch(sb.append(" ON "));
+
+        if (!updateColumns.isEmpty()) {
+            sb.append(" WHEN MATCHED THEN UPDATE SET ");
+            for (int i = 0; i < updateColumns.size(); i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+
+                final var col = updateColumns.get(i);
+                sb.append(col).append(" = src.").append(col);
+            }
+        }
+
+        sb.append(" WHEN NOT MATCHED THEN INSERT (");
+        appendJoined(sb, columns, "");
+        sb.append(") VALUES (");
+        appendJoined(sb, columns, "src.");
+        sb.append(')');
+
+        return sb.toString();
+    }
+
+    private String postgresSql(int rowCount) {
+        final var sb = new StringBuilder(BulkInserter.insertSql(table, columns, rowCount));
+        sb.append(" ON CONFLICT (");
+        appendJoined(sb, keyColumns, "");
+        sb.append(')');
+
+        if (updateColumns.isEmpty()) {
+            sb.append(" DO NOTHING");
+
+        } else {
+            sb.append(" DO UPDATE SET ");
+            for (int i = 0; i < updateColumns.size(); i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+
+                final var col = updateColumns.get(i);
+                sb.append(col).append(" = EXCLUDED.").append(col);
+            }
+        }
+
+        // -- xmax is zero only for freshly inserted row versions
+        sb.append(" RETURNING (xmax = 0) AS inserted");
+
+        return sb.toString();
+    }
+}
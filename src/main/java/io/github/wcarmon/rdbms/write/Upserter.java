@@ -0,0 +1,329 @@
+package io.github.wcarmon.rdbms.write;
+
+import static java.util.Objects.requireNonNull;
+
+import io.github.wcarmon.rdbms.util.ConnectionUtils;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Engine for {@link io.github.wcarmon.rdbms.DAOOperation#UPSERT}.
+ *
+ * <p>Rows are streamed in chunks, one multi-row statement per chunk, so a million rows
+ * cost roughly a thousand round trips instead of a million.
+ *
+ * <p>Reports inserted vs updated per chunk:
+ * <ul>
+ *     <li>POSTGRES: from "RETURNING (xmax = 0)", exact</li>
+ *     <li>MERGE: one extra key-count query per chunk, in the same transaction;
+ *     approximate while other writers touch the same keys</li>
+ * </ul>
+ *
+ * <p>Keys must be unique within one call, both dialects reject a chunk which touches
+ * the same row twice.
+ *
+ * <p>Thread safe, each call uses its own connection.
+ */
+public final class Upserter {
+
+    private final UpsertConfig config;
+    private final DataSource dataSource;
+
+    /**
+     * Create new instance
+     *
+     * @param dataSource for acquiring one connection per call
+     * @param config     chunk sizing and dialect
+     */
+    public Upserter(DataSource dataSource, UpsertConfig config) {
+        requireNonNull(config, "config is required and null.");
+        requireNonNull(dataSource, "dataSource is required and null.");
+
+        this.config = config;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Upsert every row, see class docs
+     *
+     * @param statement table, columns and conflict key
+     * @param rows      streamed, never materialized
+     * @param binder    binds one row's columns, in statement column order
+     * @param listener  receives stats after each chunk, nullable
+     * @param <T>       row type
+     * @return totals
+     */
+    public <T> UpsertResult upsert(
+            UpsertStatement statement,
+            Iterator<? extends T> rows,
+            RowBinder<? super T> binder,
+            @Nullable Consumer<UpsertChunkStats> listener) {
+
+        requireNonNull(binder, "binder is required and null.");
+        requireNonNull(rows, "rows is required and null.");
+        requireNonNull(statement, "statement is required and null.");
+
+        final var startNanos = System.nanoTime();
+        try (final Connection conn = dataSource.getConnection()) {
+            final var originalAutoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+
+            Throwable failure = null;
+            try {
+                final var dialect = config.dialect() != null
+                        ? config.dialect()
+                        : UpsertDialect.detect(conn.getMetaData().getDatabaseProductName());
+
+                final var run = new Run<T>(conn, statement, dialect, binder, listener);
+                run.upsertAll(rows);
+
+                conn.commit();
+
+                return new UpsertResult(
+                        run.rowCount,
+                        run.insertedCount,
+                        run.updatedCount,
+                        run.chunkCount,
+                        dialect,
+                        Duration.ofNanos(System.nanoTime() - startNanos));
+
+            } catch (Throwable ex) {
+                // -- Error too (eg. from the binder): restoring auto-commit would commit it
+                failure = ex;
+                ConnectionUtils.rollbackQuietly(conn, ex);
+                throw ex;
+
+            } finally {
+                ConnectionUtils.restoreAutoCommit(conn, originalAutoCommit, failure);
+            }
+
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Failed to upsert into " + statement.table(), ex);
+        }
+    }
+
+    /**
+     * Upsert every row, see class docs
+     *
+     * @param statement table, columns and conflict key
+     * @param rows      streamed, never materialized
+     * @param binder    binds one row's columns, in statement column order
+     * @param listener  receives stats after each chunk, nullable
+     * @param <T>       row type
+     * @return totals
+     */
+    public <T> UpsertResult upsert(
+            UpsertStatement statement,
+            Iterable<? extends T> rows,
+            RowBinder<? super T> binder,
+            @Nullable Consumer<UpsertChunkStats> listener) {
+        requireNonNull(rows, "rows is required and null.");
+
+        return upsert(statement, rows.iterator(), binder, listener);
+    }
+
+    /**
+     * Upsert every row, see class docs
+     *
+     * @param statement table, columns and conflict key
+     * @param rows      streamed, never materialized; caller closes
+     * @param binder    binds one row's columns, in statement column order
+     * @param listener  receives stats after each chunk, nullable
+     * @param <T>       row type
+     * @return totals
+     */
+    public <T> UpsertResult upsert(
+            UpsertStatement statement,
+            Stream<? extends T> rows,
+            RowBinder<? super T> binder,
+            @Nullable Consumer<UpsertChunkStats> listener) {
+        requireNonNull(rows, "rows is required and null.");
+
+        return upsert(statement, rows.iterator(), binder, listener);
+    }
+
+    /** Mutable state for one call */
+    private final class Run<T> {
+
+        private final RowBinder<? super T> binder;
+        private final Connection conn;
+        private final UpsertDialect dialect;
+        @Nullable
+        private final Consumer<UpsertChunkStats> listener;
+        private final UpsertStatement statement;
+
+        private long chunkCount;
+        private long insertedCount;
+        private long rowCount;
+        private long rowsSinceCommit;
+        private long updatedCount;
+
+        Run(Connection conn,
+            UpsertStatement statement,
+            UpsertDialect dialect,
+            RowBinder<? super T> binder,
+            @Nullable Consumer<UpsertChunkStats> listener) {
+
+            this.binder = binder;
+            this.conn = conn;
+            this.dialect = dialect;
+            this.listener = listener;
+            this.statement = statement;
+        }
+
+        void upsertAll(Iterator<? extends T> rows) throws SQLException {
+            final var rowsPerStatement = BulkInserter.rowsPerStatement(
+                    config.maxRowsPerStatement(),
+                    config.maxBindParameters(),
+                    statement.columns().size());
+
+            final var chunk = new ArrayList<T>(rowsPerStatement);
+
+            // -- Full chunks share prepared statements
+            PreparedStatement full = null;
+            PreparedStatement fullCount = null;
+            try {
+                while (rows.hasNext()) {
+                    chunk.add(rows.next());
+                    if (chunk.size() < rowsPerStatement) {
+                        continue;
+                    }
+
+                    if (full == null) {
+                        full = conn.prepareStatement(statement.sql(dialect, rowsPerStatement));
+                        if (needsKeyCount()) {
+                            fullCount = conn.prepareStatement(
+                                    statement.existingKeyCountSql(rowsPerStatement));
+                        }
+                    }
+
+                    executeChunk(full, fullCount, chunk);
+                    chunk.clear();
+                }
+
+            } finally {
+                closeAll(full, fullCount);
+            }
+
+            if (chunk.isEmpty()) {
+                return;
+            }
+
+            PreparedStatement tail = null;
+            PreparedStatement tailCount = null;
+            try {
+                tail = conn.prepareStatement(statement.sql(dialect, chunk.size()));
+                if (needsKeyCount()) {
+                    tailCount = conn.prepareStatement(
+                            statement.existingKeyCountSql(chunk.size()));
+                }
+
+                executeChunk(tail, tailCount, chunk);
+
+            } finally {
+                closeAll(tail, tailCount);
+            }
+        }
+
+        private void bindChunk(PreparedStatement ps, List<T> chunk) throws SQLException {
+            int index = 1;
+            for (final var row : chunk) {
+                binder.bind(row, ps, index);
+                index += statement.columns().size();
+            }
+        }
+
+        private void closeAll(
+                @Nullable PreparedStatement first,
+                @Nullable PreparedStatement second) throws SQLException {
+
+            try {
+                if (first != null) {
+                    first.close();
+                }
+
+            } finally {
+                if (second != null) {
+                    second.close();
+                }
+            }
+        }
+
+        private boolean needsKeyCount() {
+            return dialect == UpsertDialect.MERGE && !statement.updateColumns().isEmpty();
+        }
+
+        private void executeChunk(
+                PreparedStatement ps,
+                @Nullable PreparedStatement countPs,
+                List<T> chunk) throws SQLException {
+
+            final var chunkStartNanos = System.nanoTime();
+
+            long inserted = 0;
+            long updated = 0;
+            if (dialect == UpsertDialect.POSTGRES) {
+                bindChunk(ps, chunk);
+                try (final ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        if (rs.getBoolean(1)) {
+                            inserted++;
+                        } else {
+                            updated++;
+                        }
+                    }
+                }
+
+            } else if (countPs == null) {
+                // -- Nothing to overwrite, only inserts are affected
+                bindChunk(ps, chunk);
+                inserted = ps.executeUpdate();
+
+            } else {
+                final long existing;
+                bindChunk(countPs, chunk);
+                try (final ResultSet rs = countPs.executeQuery()) {
+                    rs.next();
+                    existing = rs.getLong(1);
+                }
+
+                bindChunk(ps, chunk);
+                final var affected = ps.executeUpdate();
+
+                updated = Math.min(existing, affected);
+                inserted = affected - updated;
+            }
+
+            insertedCount += inserted;
+            updatedCount += updated;
+            rowCount += chunk.size();
+            rowsSinceCommit += chunk.size();
+
+            if (config.commitEveryRows() > 0 && rowsSinceCommit >= config.commitEveryRows()) {
+                conn.commit();
+                rowsSinceCommit = 0;
+            }
+
+            if (listener != null) {
+                listener.accept(new UpsertChunkStats(
+                        chunkCount,
+                        chunk.size(),
+                        inserted,
+                        updated,
+                        Duration.ofNanos(System.nanoTime() - chunkStartNanos)));
+            }
+
+            chunkCount++;
+        }
+    }
+}
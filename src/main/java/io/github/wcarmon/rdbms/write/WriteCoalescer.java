@@ -0,0 +1,384 @@
+package io.github.wcarmon.rdbms.write;
+
+import static java.util.Objects.requireNonNull;
+
+import io.github.wcarmon.rdbms.util.ConnectionUtils;
+import io.github.wcarmon.rdbms.util.LatencyHistogram;
+import io.github.wcarmon.rdbms.util.SQLIdentifiers;
+import io.github.wcarmon.rdbms.util.VirtualThreads;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.sql.DataSource;
+
+/**
+ * Opt-in write-behind buffer for {@link io.github.wcarmon.rdbms.DAOOperation#PATCH} and
+ * {@link io.github.wcarmon.rdbms.DAOOperation#UPDATE} on hot rows.
+ *
+ * <p>Patches to the same key within {@link WriteCoalescerConfig#flushInterval()} are
+ * merged into one multi-column "UPDATE t SET a = ?, b = ? WHERE key = ?", last writer
+ * wins per column. Each flush is one transaction, rows with the same column set share a
+ * JDBC batch.
+ *
+ * <p>Flushes are serialized, so a later value is never overwritten by an earlier flush.
+ *
+ * <p>Column names are unquoted identifiers, so they are case-insensitive: they are merged
+ * in lowercase, and one patch naming the same column twice (eg. "hits" and "HITS") is
+ * rejected.
+ *
+ * <p>Durability is per call, see {@link WriteDurability}. Pending writes are lost if the
+ * process dies before the flush. A failed flush (one transaction) drops every write in
+ * the window: WAIT_FOR_FLUSH callers see the failure, FIRE_AND_FORGET writes are only
+ * counted in {@link WriteCoalescerStats#failedRows()}. Only use for data where that is
+ * acceptable (eg. counters, last-seen timestamps).
+ *
+ * <p>Thread safe. Uses {@link ReentrantLock} (not synchronized), so virtual threads never
+ * pin their carrier.
+ */
+public final class WriteCoalescer implements AutoCloseable {
+
+    private final LongAdder coalesced = new LongAdder();
+    private final WriteCoalescerConfig config;
+    private final DataSource dataSource;
+    private final LongAdder failedRows = new LongAdder();
+    private final LongAdder flushCount = new LongAdder();
+    private final LatencyHistogram flushLatency = new LatencyHistogram();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final String keyColumn;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongAdder patchCount = new LongAdder();
+    private final LongAdder rowsFlushed = new LongAdder();
+    private final String table;
+    private final ScheduledExecutorService timer;
+
+    /** Guarded by lock */
+    private boolean closed;
+
+    /** Guarded by lock, insertion order */
+    private Map<Object, PendingRow> pending = new LinkedHashMap<>();
+
+    /**
+     * Create new instance, starts the flush timer
+     *
+     * @param dataSource one connection per flush
+     * @param table      table to update
+     * @param keyColumn  typically the primary key
+     * @param config     window and batching
+     */
+    public WriteCoalescer(
+            DataSource dataSource,
+            String table,
+            String keyColumn,
+            WriteCoalescerConfig config) {
+
+        requireNonNull(config, "config is required and null.");
+        requireNonNull(dataSource, "dataSource is required and null.");
+        SQLIdentifiers.requireIdentifier(keyColumn);
+        SQLIdentifiers.requireIdentifier(table);
+
+        this.config = config;
+        this.dataSource = dataSource;
+        this.keyColumn = keyColumn;
+        this.table = table;
+
+        final var intervalNanos = config.flushInterval().toNanos();
+        this.timer = Executors.newSingleThreadScheduledExecutor(
+                VirtualThreads.daemonThreadFactory("rdbms-write-coalescer"));
+        this.timer.scheduleWithFixedDelay(
+                this::flushQuietly, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Simple getter
+     *
+     * @param table     validated table
+     * @param columns   validated columns, in SET order
+     * @param keyColumn validated key column
+     * @return eg. "UPDATE t SET a = ?, b = ? WHERE id = ?"
+     */
+    static String updateSql(String table, List<String> columns, String keyColumn) {
+        final var sb = new StringBuilder(32 + 8 * columns.size());
+        sb.append("UPDATE ").append(table).append(" SET ");
+
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(columns.get(i)).append(" = ?");
+        }
+
+        return sb.append(" WHERE ").append(keyColumn).append(" = ?").toString();
+    }
+
+    private static void await(CompletableFuture<Void> flushed) {
+        try {
+            flushed.join();
+
+        } catch (CompletionException ex) {
+            throw new IllegalStateException("Coalesced write failed", ex.getCause());
+        }
+    }
+
+    /** Flush everything pending, then stop accepting patches */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+
+        } finally {
+            lock.unlock();
+        }
+
+        timer.shutdownNow();
+        flushQuietly();
+    }
+
+    /**
+     * Write everything pending now (on the calling thread)
+     *
+     * @return rows written
+     * @throws IllegalStateException when the flush fails (rolled back)
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            final Map<Object, PendingRow> toWrite;
+            lock.lock();
+            try {
+                if (pending.isEmpty()) {
+                    return 0;
+                }
+
+                toWrite = pending;
+                pending = new LinkedHashMap<>();
+
+            } finally {
+                lock.unlock();
+            }
+
+            return write(toWrite);
+
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Merge a patch into the pending row for key
+     *
+     * @param key        value of the key column
+     * @param values     column to new value, nulls allowed
+     * @param durability when to return, see {@link WriteDurability}
+     */
+    public void patch(Object key, Map<String, ?> values, WriteDurability durability) {
+        requireNonNull(durability, "durability is required and null.");
+        requireNonNull(key, "key is required and null.");
+        requireNonNull(values, "values is required and null.");
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("values is required");
+        }
+
+        // -- unquoted identifiers are case-insensitive, so "HITS" and "hits" are one column
+        final var normalized = new LinkedHashMap<String, Object>(values.size() * 2);
+        for (final var entry : values.entrySet()) {
+            final var column = entry.getKey();
+            SQLIdentifiers.requireIdentifier(column);
+            if (column.equalsIgnoreCase(keyColumn)) {
+                throw new IllegalArgumentException("key column cannot be patched: " + column);
+            }
+
+            final var lower = column.toLowerCase(Locale.ROOT);
+            if (normalized.containsKey(lower)) {
+                throw new IllegalArgumentException("columns differ only by case: " + column);
+            }
+            normalized.put(lower, entry.getValue());
+        }
+
+        final CompletableFuture<Void> flushed;
+        final boolean full;
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("WriteCoalescer is closed");
+            }
+
+            patchCount.increment();
+
+            var row = pending.get(key);
+            if (row == null) {
+                row = new PendingRow();
+                pending.put(key, row);
+
+            } else {
+                coalesced.increment();
+            }
+
+            // -- last writer wins, per column
+            row.values.putAll(normalized);
+            flushed = row.flushed;
+            full = pending.size() >= config.maxPendingRows();
+
+        } finally {
+            lock.unlock();
+        }
+
+        if (full) {
+            // -- backpressure: the caller pays for the flush
+            flushQuietly();
+        }
+
+        if (durability == WriteDurability.WAIT_FOR_FLUSH) {
+            await(flushed);
+        }
+    }
+
+    /**
+     * Merge a single-column patch, see {@link #patch(Object, Map, WriteDurability)}
+     *
+     * @param key        value of the key column
+     * @param column     column to set
+     * @param value      new value, null allowed
+     * @param durability when to return
+     */
+    public void patch(Object key, String column, Object value, WriteDurability durability) {
+        final var values = new LinkedHashMap<String, Object>(2);
+        values.put(column, value);
+
+        patch(key, values, durability);
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return counters since creation
+     */
+    public WriteCoalescerStats stats() {
+        return new WriteCoalescerStats(
+                patchCount.sum(),
+                coalesced.sum(),
+                rowsFlushed.sum(),
+                failedRows.sum(),
+                flushCount.sum(),
+                flushLatency.snapshot());
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+
+        } catch (RuntimeException ex) {
+            // -- counted in failedRows, WAIT_FOR_FLUSH callers get the cause
+        }
+    }
+
+    /** Caller holds flushLock */
+    private int write(Map<Object, PendingRow> rows) {
+        final var startNanos = System.nanoTime();
+
+        // -- same column set, same sql, same batch
+        final var byColumns = new LinkedHashMap<List<String>, List<Map.Entry<Object, PendingRow>>>();
+        for (final var entry : rows.entrySet()) {
+            final var columns = List.copyOf(new TreeMap<>(entry.getValue().values).keySet());
+            byColumns.computeIfAbsent(columns, k -> new ArrayList<>()).add(entry);
+        }
+
+        try (final Connection conn = dataSource.getConnection()) {
+            final var originalAutoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+
+            Throwable failure = null;
+            try {
+                for (final var group : byColumns.entrySet()) {
+                    writeGroup(conn, group.getKey(), group.getValue());
+                }
+
+                conn.commit();
+
+            } catch (Throwable ex) {
+                // -- Error too: restoring auto-commit would commit a partial flush
+                failure = ex;
+                ConnectionUtils.rollbackQuietly(conn, ex);
+                throw ex;
+
+            } finally {
+                ConnectionUtils.restoreAutoCommit(conn, originalAutoCommit, failure);
+            }
+
+        } catch (SQLException | RuntimeException ex) {
+            failedRows.add(rows.size());
+            final var failure = new IllegalStateException(
+                    "Failed to flush " + rows.size() + " coalesced rows to " + table, ex);
+            rows.values().forEach(row -> row.flushed.completeExceptionally(failure));
+
+            throw failure;
+
+        } catch (Error ex) {
+            // -- WAIT_FOR_FLUSH callers must not wait forever
+            failedRows.add(rows.size());
+            rows.values().forEach(row -> row.flushed.completeExceptionally(ex));
+
+            throw ex;
+
+        } finally {
+            flushLatency.recordSince(startNanos);
+        }
+
+        flushCount.increment();
+        rowsFlushed.add(rows.size());
+        rows.values().forEach(row -> row.flushed.complete(null));
+
+        return rows.size();
+    }
+
+    private void writeGroup(
+            Connection conn,
+            List<String> columns,
+            List<Map.Entry<Object, PendingRow>> rows) throws SQLException {
+
+        try (final PreparedStatement ps = conn.prepareStatement(
+                updateSql(table, columns, keyColumn))) {
+
+            int inBatch = 0;
+            for (final var entry : rows) {
+                final var values = entry.getValue().values;
+                for (int i = 0; i < columns.size(); i++) {
+                    ps.setObject(i + 1, values.get(columns.get(i)));
+                }
+                ps.setObject(columns.size() + 1, entry.getKey());
+                ps.addBatch();
+
+                if (++inBatch == config.batchSize()) {
+                    ps.executeBatch();
+                    inBatch = 0;
+                }
+            }
+
+            if (inBatch > 0) {
+                ps.executeBatch();
+            }
+        }
+    }
+
+    /** Merged values for one key, until flushed */
+    private static final class PendingRow {
+
+        final CompletableFuture<Void> flushed = new CompletableFuture<>();
+
+        /** Guarded by the coalescer's lock until swapped out for a flush */
+        final Map<String, Object> values = new LinkedHashMap<>();
+    }
+}
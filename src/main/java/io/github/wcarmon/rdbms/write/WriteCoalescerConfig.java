@@ -0,0 +1,48 @@
+package io.github.wcarmon.rdbms.write;
+
+import java.time.Duration;
+import lombok.Builder;
+
+/**
+ * Tuning for {@link WriteCoalescer}
+ *
+ * @param batchSize      max rows per JDBC batch
+ * @param flushInterval  window in which patches to the same key are merged
+ * @param maxPendingRows flush early (on the calling thread) once this many keys are pending
+ */
+@Builder
+public record WriteCoalescerConfig(
+        int batchSize,
+        Duration flushInterval,
+        int maxPendingRows) {
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(10);
+    public static final int DEFAULT_MAX_PENDING_ROWS = 10_000;
+
+    /** Defaults and Validation */
+    public WriteCoalescerConfig {
+        batchSize = batchSize == 0 ? DEFAULT_BATCH_SIZE : batchSize;
+        flushInterval = flushInterval == null ? DEFAULT_FLUSH_INTERVAL : flushInterval;
+        maxPendingRows = maxPendingRows == 0 ? DEFAULT_MAX_PENDING_ROWS : maxPendingRows;
+
+        if (batchSize < 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        if (flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("flushInterval must be positive");
+        }
+        if (maxPendingRows < 0) {
+            throw new IllegalArgumentException("maxPendingRows must be positive");
+        }
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return config with all defaults
+     */
+    public static WriteCoalescerConfig defaults() {
+        return builder().build();
+    }
+}
@@ -0,0 +1,38 @@
+package io.github.wcarmon.rdbms.write;
+
+import static java.util.Objects.requireNonNull;
+
+import io.github.wcarmon.rdbms.util.LatencySnapshot;
+
+/**
+ * Counters from {@link WriteCoalescer}
+ *
+ * @param patchCount   patch calls accepted
+ * @param coalesced    patches merged into an already pending row (no extra UPDATE)
+ * @param rowsFlushed  UPDATE statements committed
+ * @param failedRows   rows whose flush failed (rolled back)
+ * @param flushCount   flushes which wrote at least one row
+ * @param flushLatency time per flush, including commit
+ */
+public record WriteCoalescerStats(
+        long patchCount,
+        long coalesced,
+        long rowsFlushed,
+        long failedRows,
+        long flushCount,
+        LatencySnapshot flushLatency) {
+
+    /** Create new instance */
+    public WriteCoalescerStats {
+        requireNonNull(flushLatency, "flushLatency is required and null.");
+    }
+
+    /**
+     * Simple getter
+     *
+     * @return fraction of patches which did not need their own UPDATE
+     */
+    public double coalescedRatio() {
+        return patchCount == 0 ? 0 : (double) coalesced / patchCount;
+    }
+}
@@ -0,0 +1,11 @@
+package io.github.wcarmon.rdbms.write;
+
+/** When a {@link WriteCoalescer} call returns. */
+public enum WriteDurability {
+
+    /** Return immediately, failures are only counted in {@link WriteCoalescerStats} */
+    FIRE_AND_FORGET,
+
+    /** Block until the flush containing this write commits, throw when it fails */
+    WAIT_FOR_FLUSH,
+}
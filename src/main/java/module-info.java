@@ -2,7 +2,14 @@
 module io.github.wcarmon.rdbms {
     exports io.github.wcarmon.rdbms;
     exports io.github.wcarmon.rdbms.config;
+    exports io.github.wcarmon.rdbms.exec;
+    exports io.github.wcarmon.rdbms.metrics;
+    exports io.github.wcarmon.rdbms.paging;
+    exports io.github.wcarmon.rdbms.parse;
+    exports io.github.wcarmon.rdbms.pool;
+    exports io.github.wcarmon.rdbms.read;
     exports io.github.wcarmon.rdbms.util;
+    exports io.github.wcarmon.rdbms.write;
 
     requires static lombok;
     requires org.jetbrains.annotations;
@@ -0,0 +1,65 @@
+package io.github.wcarmon.rdbms;
+
+import static java.util.Objects.requireNonNull;
+
+import java.sql.SQLException;
+import java.util.UUID;
+import org.h2.jdbcx.JdbcDataSource;
+
+/** Fresh in-memory H2 databases for tests */
+public final class H2 {
+
+    private H2() {
+    }
+
+    /**
+     * New in-memory database, kept until the JVM exits
+     *
+     * @param sql run in order, eg. CREATE TABLE then INSERT ... SELECT ... SYSTEM_RANGE
+     * @return DataSource for the new database
+     */
+    public static JdbcDataSource newDataSource(String... sql) {
+        return newDataSourceAt(newUrl("test"), sql);
+    }
+
+    /**
+     * In-memory database at a known url, eg. for a pool which opens its own connections
+     *
+     * @param url from {@link #newUrl(String)}
+     * @param sql run in order
+     * @return DataSource for the database
+     */
+    public static JdbcDataSource newDataSourceAt(String url, String... sql) {
+        requireNonNull(sql, "sql is required and null.");
+        requireNonNull(url, "url is required and null.");
+
+        final var ds = new JdbcDataSource();
+        ds.setURL(url);
+
+        if (sql.length == 0) {
+            return ds;
+        }
+
+        try (final var conn = ds.getConnection();
+             final var stmt = conn.createStatement()) {
+            for (final var s : sql) {
+                stmt.execute(s);
+            }
+
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Failed to set up test database: " + url, ex);
+        }
+
+        return ds;
+    }
+
+    /**
+     * Simple getter
+     *
+     * @param name readable prefix, eg. "primary"
+     * @return unique url, the database lives until the JVM exits
+     */
+    public static String newUrl(String name) {
+        return "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+    }
+}
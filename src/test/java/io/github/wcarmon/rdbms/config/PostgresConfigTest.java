@@ -0,0 +1,68 @@
+package io.github.wcarmon.rdbms.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import org.junit.jupiter.api.Test;
+
+class PostgresConfigTest {
+
+    static Map<String, Object> required() {
+        return Map.of(
+                PostgresConfig.KEY_JDBC_URL, "jdbc:postgresql://primary:5432/app",
+                PostgresConfig.KEY_USER, "app",
+                PostgresConfig.KEY_PASSWORD, "secret");
+    }
+
+    @Test
+    void replicasFromCollection() {
+        final var props = new HashMap<>(required());
+        props.put(PostgresConfig.KEY_REPLICA_JDBC_URLS, List.of("jdbc:postgresql://r1/app"));
+
+        assertEquals(
+                List.of("jdbc:postgresql://r1/app"),
+                PostgresConfig.fromProperties(props).replicaJdbcUrls());
+    }
+
+    @Test
+    void replicasFromWhitespaceSeparated() {
+        final var props = new Properties();
+        props.putAll(required());
+        props.put(
+                PostgresConfig.KEY_REPLICA_JDBC_URLS,
+                " jdbc:postgresql://r1/app\n\tjdbc:postgresql://r2:5432,r3:5433/app?targetServerType=any  ");
+
+        assertEquals(
+                List.of(
+                        "jdbc:postgresql://r1/app",
+                        "jdbc:postgresql://r2:5432,r3:5433/app?targetServerType=any"),
+                PostgresConfig.fromProperties(props).replicaJdbcUrls());
+    }
+
+    @Test
+    void replicasOptional() {
+        assertTrue(PostgresConfig.fromProperties(required()).replicaJdbcUrls().isEmpty());
+        assertTrue(new PostgresConfig("jdbc:postgresql://primary/app", "pw", "app")
+                .replicaJdbcUrls()
+                .isEmpty());
+    }
+
+    @Test
+    void replicasValidated() {
+        final var builder = PostgresConfig.builder()
+                .jdbcUrl("jdbc:postgresql://primary/app")
+                .user("app");
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> builder.replicaJdbcUrls(List.of("postgresql://r1/app")).build());
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> builder.replicaJdbcUrls(List.of(" ")).build());
+    }
+}
@@ -0,0 +1,258 @@
+package io.github.wcarmon.rdbms.exec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.wcarmon.rdbms.DAOOperation;
+import io.github.wcarmon.rdbms.H2;
+import io.github.wcarmon.rdbms.metrics.DAOMetrics;
+import io.github.wcarmon.rdbms.pool.ConnectionPool;
+import io.github.wcarmon.rdbms.pool.PoolConfig;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+class AsyncDAOExecutorTest {
+
+    static final String SLOW_QUERY = """
+            SELECT COUNT(*) FROM SYSTEM_RANGE(1, 100000) a, SYSTEM_RANGE(1, 100000) b""";
+
+    static DataSource newDataSource() throws Exception {
+        return H2.newDataSource(
+                "CREATE TABLE t (id INT PRIMARY KEY, name VARCHAR(16))",
+                "INSERT INTO t SELECT X, 'n' || X FROM SYSTEM_RANGE(1, 100)");
+    }
+
+    static DAOTask<String> nameOf(int id) {
+        return conn -> {
+            try (final var ps = conn.prepareStatement("SELECT name FROM t WHERE id = ?")) {
+                ps.setInt(1, id);
+                try (final var rs = ps.executeQuery()) {
+                    return rs.next() ? rs.getString(1) : null;
+                }
+            }
+        };
+    }
+
+    @Test
+    void allOfFailsFast() throws Exception {
+        try (final var executor = new AsyncDAOExecutor(newDataSource(), AsyncDAOConfig.defaults())) {
+            final var tasks = new ArrayList<DAOTask<String>>();
+            tasks.add(nameOf(1));
+            tasks.add(conn -> {
+                throw new IllegalArgumentException("boom");
+            });
+            tasks.add(conn -> {
+                try (final var stmt = conn.createStatement()) {
+                    stmt.executeQuery(SLOW_QUERY);
+                    return "never";
+                }
+            });
+
+            final var ex = assertThrows(
+                    ExecutionException.class,
+                    () -> executor.allOf(DAOOperation.FIND_BY_ID, tasks).get(10, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalArgumentException.class, ex.getCause());
+        }
+    }
+
+    @Test
+    void allOfKeepsTaskOrder() throws Exception {
+        try (final var executor = new AsyncDAOExecutor(newDataSource(), AsyncDAOConfig.builder()
+                .maxConcurrency(3)
+                .build())) {
+
+            final var tasks = new ArrayList<DAOTask<String>>();
+            for (int id = 1; id <= 101; id++) {
+                tasks.add(nameOf(id));
+            }
+
+            final var names = executor.allOf(DAOOperation.FIND_BY_ID, tasks).join();
+
+            assertEquals(101, names.size());
+            assertEquals("n1", names.get(0));
+            assertEquals("n100", names.get(99));
+            assertEquals(null, names.get(100));
+            assertEquals(101, executor.stats().completed());
+        }
+    }
+
+    @Test
+    void boundedConcurrency() throws Exception {
+        final var current = new AtomicInteger();
+        final var max = new AtomicInteger();
+
+        try (final var executor = new AsyncDAOExecutor(newDataSource(), AsyncDAOConfig.builder()
+                .maxConcurrency(4)
+                .build())) {
+
+            final var tasks = new ArrayList<DAOTask<Integer>>();
+            for (int i = 0; i < 200; i++) {
+                tasks.add(conn -> {
+                    max.accumulateAndGet(current.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(1);
+                        return conn.isValid(1) ? 1 : 0;
+
+                    } catch (InterruptedException ex) {
+                        throw new IllegalStateException(ex);
+
+                    } finally {
+                        current.decrementAndGet();
+                    }
+                });
+            }
+
+            assertEquals(200, executor.allOf(DAOOperation.HAS, tasks).join().size());
+        }
+
+        assertTrue(max.get() <= 4, "max: " + max.get());
+    }
+
+    @Test
+    void callerCancelStopsStatement() throws Exception {
+        try (final var executor = new AsyncDAOExecutor(newDataSource(), AsyncDAOConfig.defaults())) {
+            final var started = new CountDownLatch(1);
+            final var future = executor.submit(DAOOperation.LIST, conn -> {
+                try (final var stmt = conn.createStatement()) {
+                    started.countDown();
+                    stmt.executeQuery(SLOW_QUERY);
+                    return 1;
+                }
+            });
+
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertTrue(future.cancel(true));
+
+            // -- slot is released once the statement stops
+            final var next = executor.submit(DAOOperation.FIND_BY_ID, nameOf(5));
+            assertEquals("n5", next.get(10, TimeUnit.SECONDS));
+            assertEquals(1, executor.stats().cancelled());
+        }
+    }
+
+    @Test
+    void capacityFromPool() throws Exception {
+        final var h2 = (JdbcDataSource) newDataSource();
+        try (final var pool = new ConnectionPool(h2.getURL(), null, null, PoolConfig.builder().maxSize(3).build());
+             final var executor = new AsyncDAOExecutor(pool, AsyncDAOConfig.defaults())) {
+
+            assertEquals(3, executor.maxConcurrency());
+            assertEquals("n7", executor.submit(DAOOperation.FIND_BY_ID, nameOf(7)).join());
+        }
+    }
+
+    @Test
+    void deadlineCancelsStatement() throws Exception {
+        final var metrics = new DAOMetrics();
+        try (final var executor = new AsyncDAOExecutor(newDataSource(), AsyncDAOConfig.builder()
+                .maxConcurrency(1)
+                .metrics(metrics)
+                .build())) {
+
+            final var slow = executor.submit(DAOOperation.LIST, conn -> {
+                try (final var stmt = conn.createStatement()) {
+                    stmt.executeQuery(SLOW_QUERY);
+                    return 1;
+                }
+            }, Duration.ofMillis(100));
+
+            final var ex = assertThrows(CompletionException.class, slow::join);
+            assertInstanceOf(SQLTimeoutException.class, ex.getCause());
+
+            // -- the only slot comes back
+            assertEquals("n9", executor.submit(DAOOperation.FIND_BY_ID, nameOf(9))
+                    .get(10, TimeUnit.SECONDS));
+
+            assertEquals(1, executor.stats().timedOut());
+            assertEquals(1, metrics.snapshot().operation(DAOOperation.LIST).errorCount());
+        }
+    }
+
+    @Test
+    void deadlineCancelsOffTheTimerThread() throws Exception {
+        final var h2 = newDataSource();
+        final var cancelThread = new AtomicReference<String>();
+
+        // -- Statement.cancel() records its thread
+        final DataSource ds = (DataSource) Proxy.newProxyInstance(
+                DataSource.class.getClassLoader(),
+                new Class<?>[]{DataSource.class},
+                (proxy, method, args) -> {
+                    if (!"getConnection".equals(method.getName())) {
+                        return method.invoke(h2, args);
+                    }
+
+                    final var conn = h2.getConnection();
+                    return Proxy.newProxyInstance(
+                            Connection.class.getClassLoader(),
+                            new Class<?>[]{Connection.class},
+                            (p2, m2, a2) -> {
+                                final var out = m2.invoke(conn, a2);
+                                if (!(out instanceof Statement stmt)) {
+                                    return out;
+                                }
+
+                                return Proxy.newProxyInstance(
+                                        Statement.class.getClassLoader(),
+                                        new Class<?>[]{Statement.class},
+                                        (p3, m3, a3) -> {
+                                            if ("cancel".equals(m3.getName())) {
+                                                cancelThread.set(Thread.currentThread().getName());
+                                            }
+                                            try {
+                                                return m3.invoke(stmt, a3);
+                                            } catch (InvocationTargetException ex) {
+                                                throw ex.getCause();
+                                            }
+                                        });
+                            });
+                });
+
+        try (final var executor = new AsyncDAOExecutor(ds, AsyncDAOConfig.defaults())) {
+            final var slow = executor.submit(DAOOperation.LIST, conn -> {
+                try (final var stmt = conn.createStatement()) {
+                    stmt.executeQuery(SLOW_QUERY);
+                    return 1;
+                }
+            }, Duration.ofMillis(100));
+
+            assertThrows(CompletionException.class, slow::join);
+
+            final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (cancelThread.get() == null && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+
+            assertFalse(cancelThread.get().contains("deadline"), cancelThread.get());
+        }
+    }
+
+    @Test
+    void rejectsInvalidTimeout() throws Exception {
+        try (final var executor = new AsyncDAOExecutor(newDataSource(), AsyncDAOConfig.defaults())) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> executor.submit(DAOOperation.HAS, nameOf(1), Duration.ZERO));
+            assertThrows(IllegalArgumentException.class,
+                    () -> AsyncDAOConfig.builder().maxConcurrency(-1).build());
+            assertEquals(List.of(), executor.allOf(DAOOperation.HAS, List.<DAOTask<String>>of()).join());
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package io.github.wcarmon.rdbms.exec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.wcarmon.rdbms.DAOOperation;
+import io.github.wcarmon.rdbms.H2;
+import io.github.wcarmon.rdbms.OperationAwareDataSource;
+import io.github.wcarmon.rdbms.pool.RoutingConfig;
+import io.github.wcarmon.rdbms.pool.RoutingDataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+class ConcurrencyLimitedDataSourceTest {
+
+    static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /** Database which knows its own name */
+    static JdbcDataSource named(String name) throws Exception {
+        return H2.newDataSource(
+                "CREATE TABLE whoami (name VARCHAR(16))",
+                "INSERT INTO whoami VALUES ('" + name + "')");
+    }
+
+    static String nameOf(Connection conn) throws Exception {
+        try (final var stmt = conn.createStatement();
+             final var rs = stmt.executeQuery("SELECT name FROM whoami")) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    /** Fill every slot, then release them all with the same latency */
+    static void saturatedRound(AdaptiveLimiter limiter, long rttNanos) throws Exception {
+        final var n = limiter.snapshot().limit();
+        for (int i = 0; i < n; i++) {
+            assertTrue(limiter.acquire(0));
+        }
+        for (int i = 0; i < n; i++) {
+            limiter.release(rttNanos, false);
+        }
+    }
+
+    @Test
+    void aimd() throws Exception {
+        final var limiter = new AdaptiveLimiter(ConcurrencyLimitConfig.builder()
+                .algorithm(LimitAlgorithm.AIMD)
+                .initialLimit(4)
+                .latencyThreshold(Duration.ofMillis(5))
+                .build());
+
+        for (int i = 0; i < 20; i++) {
+            saturatedRound(limiter, MILLI);
+        }
+        final var grown = limiter.snapshot().limit();
+        assertTrue(grown > 4, "limit: " + grown);
+
+        // -- slower than the threshold
+        saturatedRound(limiter, 10 * MILLI);
+        assertTrue(limiter.snapshot().limit() < grown);
+    }
+
+    @Test
+    void appLimitedDoesNotGrow() throws Exception {
+        final var limiter = new AdaptiveLimiter(ConcurrencyLimitConfig.builder()
+                .initialLimit(10)
+                .build());
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.acquire(0));
+            limiter.release(MILLI, false);
+        }
+
+        assertEquals(10, limiter.snapshot().limit());
+    }
+
+    @Test
+    void failuresShrinkToMinLimit() throws Exception {
+        final var limiter = new AdaptiveLimiter(ConcurrencyLimitConfig.builder()
+                .initialLimit(10)
+                .minLimit(2)
+                .build());
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.acquire(0));
+            limiter.release(MILLI, true);
+        }
+
+        assertEquals(2, limiter.snapshot().limit());
+    }
+
+    @Test
+    void failedQueryShrinksLimit() throws Exception {
+        final var ds = new ConcurrencyLimitedDataSource(
+                named("primary"),
+                ConcurrencyLimitConfig.builder()
+                        .initialLimit(10)
+                        .build());
+
+        try (final var conn = ds.getConnection(DAOOperation.LIST)) {
+            assertEquals("primary", nameOf(conn));
+        }
+        assertEquals(10, ds.snapshot().get(DAOOperation.LIST).limit());
+
+        try (final var conn = ds.getConnection(DAOOperation.LIST);
+             final var stmt = conn.createStatement()) {
+            assertThrows(SQLException.class, () -> stmt.executeQuery("SELECT * FROM missing"));
+        }
+        assertTrue(ds.snapshot().get(DAOOperation.LIST).limit() < 10);
+    }
+
+    @Test
+    void forwardsOperationToDelegate() throws Exception {
+        final var routing = new RoutingDataSource(
+                named("primary"), List.of(named("replica")), RoutingConfig.defaults());
+        final var ds = new ConcurrencyLimitedDataSource(
+                routing, ConcurrencyLimitConfig.builder().build());
+
+        try (final var conn = ds.getConnection(DAOOperation.LIST)) {
+            assertEquals("replica", nameOf(conn));
+        }
+        try (final var conn = OperationAwareDataSource.connect(ds, DAOOperation.UPDATE)) {
+            assertEquals("primary", nameOf(conn));
+        }
+
+        assertEquals(1, routing.stats().replicaRoutes());
+    }
+
+    @Test
+    void gradientShrinksWhenLatencyRises() throws Exception {
+        final var limiter = new AdaptiveLimiter(ConcurrencyLimitConfig.builder()
+                .initialLimit(50)
+                .maxLimit(50)
+                .build());
+
+        for (int i = 0; i < 5; i++) {
+            saturatedRound(limiter, MILLI);
+        }
+        assertEquals(50, limiter.snapshot().limit());
+
+        for (int i = 0; i < 5; i++) {
+            saturatedRound(limiter, 20 * MILLI);
+        }
+        assertTrue(limiter.snapshot().limit() < 40, "limit: " + limiter.snapshot().limit());
+    }
+
+    @Test
+    void queuesUntilDeadline() throws Exception {
+        final var ds = new ConcurrencyLimitedDataSource(
+                H2.newDataSource(),
+                ConcurrencyLimitConfig.builder()
+                        .initialLimit(1)
+                        .maxLimit(1)
+                        .maxWait(Duration.ofSeconds(5))
+                        .build(),
+                Map.of(DAOOperation.HAS, ConcurrencyLimitConfig.builder()
+                        .initialLimit(1)
+                        .maxLimit(1)
+                        .maxWait(Duration.ofMillis(20))
+                        .build()));
+
+        final var held = ds.getConnection(DAOOperation.LIST);
+        final var waiter = CompletableFuture.supplyAsync(() -> {
+            try (final Connection conn = ds.getConnection(DAOOperation.LIST)) {
+                return conn.isValid(1);
+
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+
+        while (ds.snapshot().get(DAOOperation.LIST).waiting() == 0) {
+            Thread.sleep(1);
+        }
+        held.close();
+        assertTrue(waiter.get(5, TimeUnit.SECONDS));
+
+        try (final var only = ds.getConnection(DAOOperation.HAS)) {
+            assertTrue(only.isValid(1));
+            assertThrows(
+                    ConcurrencyLimitExceededException.class,
+                    () -> ds.getConnection(DAOOperation.HAS));
+        }
+    }
+
+    @Test
+    void rejectsOverLimitPerOperation() throws Exception {
+        final var ds = new ConcurrencyLimitedDataSource(
+                H2.newDataSource(),
+                ConcurrencyLimitConfig.builder()
+                        .initialLimit(2)
+                        .maxLimit(2)
+                        .build());
+
+        try (final var a = ds.getConnection(DAOOperation.LIST);
+             final var b = ds.getConnection(DAOOperation.LIST)) {
+
+            assertTrue(a.isValid(1));
+            assertTrue(b.isValid(1));
+
+            final var ex = assertThrows(
+                    ConcurrencyLimitExceededException.class,
+                    () -> ds.getConnection(DAOOperation.LIST));
+            assertEquals(DAOOperation.LIST, ex.operation());
+            assertEquals(2, ex.limit());
+
+            // -- other operations have their own slots
+            try (final var c = ds.getConnection(DAOOperation.FIND_BY_ID)) {
+                assertTrue(c.isValid(1));
+            }
+
+            final var list = ds.snapshot().get(DAOOperation.LIST);
+            assertEquals(2, list.inFlight());
+            assertEquals(2, list.accepted());
+            assertEquals(1, list.rejected());
+        }
+
+        assertEquals(0, ds.snapshot().get(DAOOperation.LIST).inFlight());
+    }
+}
@@ -0,0 +1,152 @@
+package io.github.wcarmon.rdbms.exec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import io.github.wcarmon.rdbms.H2;
+import io.github.wcarmon.rdbms.parse.SQLSplitter;
+import java.io.StringReader;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+
+class ScriptExecutorTest {
+
+    static long countRows(DataSource ds) throws Exception {
+        try (final var conn = ds.getConnection();
+             final Statement stmt = conn.createStatement();
+             final ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM t")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    @Test
+    void batchesAndCommitsInChunks() throws Exception {
+        final var sb = new StringBuilder(1024 * 32);
+        sb.append("CREATE TABLE t (id INT PRIMARY KEY, name VARCHAR(32));\n");
+        for (int i = 0; i < 1_000; i++) {
+            sb.append("INSERT INTO t VALUES (").append(i).append(", 'n;").append(i).append("');\n");
+        }
+
+        final var ds = H2.newDataSource();
+        final var executor = new ScriptExecutor(ds, ScriptExecutorConfig.builder()
+                .batchSize(64)
+                .commitEveryStatements(100)
+                .build());
+
+        final var chunks = new ArrayList<ScriptChunkStats>();
+        final ScriptResult got;
+        try (final var statements = new SQLSplitter().streamSQLStatements(
+                new StringReader(sb.toString()))) {
+            got = executor.execute(statements, chunks::add);
+        }
+
+        assertEquals(1_001, got.statementCount());
+        assertEquals(11, got.chunkCount());
+        assertEquals(11, chunks.size());
+        assertEquals(1_000, countRows(ds));
+
+        assertEquals(0, chunks.get(0).firstStatementIndex());
+        assertEquals(100, chunks.get(1).firstStatementIndex());
+        assertEquals(1, chunks.get(10).statementCount());
+        assertTrue(chunks.get(1).batchCount() >= 2);
+        assertTrue(chunks.get(1).statementsPerSecond() > 0);
+    }
+
+    @Test
+    void errorRollsBackOpenChunk() throws Exception {
+        final var ds = H2.newDataSource("CREATE TABLE t (id INT)");
+        final var executor = new ScriptExecutor(ds, ScriptExecutorConfig.builder()
+                .batchSize(1)
+                .commitEveryStatements(100)
+                .build());
+
+        // -- three inserts executed, then the source fails with an Error
+        final var statements = new Iterator<String>() {
+            private int count;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public String next() {
+                if (count == 3) {
+                    throw new AssertionError("boom");
+                }
+
+                return "INSERT INTO t VALUES (" + ++count + ")";
+            }
+        };
+
+        assertThrows(AssertionError.class, () -> executor.execute(statements, null));
+        assertEquals(0, countRows(ds));
+    }
+
+    @Test
+    void isBatchable() {
+        assertTrue(ScriptExecutor.isBatchable("INSERT INTO t VALUES (1)"));
+        assertTrue(ScriptExecutor.isBatchable("  update t SET a = 1"));
+        assertTrue(ScriptExecutor.isBatchable("Delete FROM t"));
+        assertTrue(ScriptExecutor.isBatchable("MERGE INTO t KEY (id) VALUES (1)"));
+
+        assertFalse(ScriptExecutor.isBatchable("CREATE TABLE inserts (id INT)"));
+        assertFalse(ScriptExecutor.isBatchable("SELECT * FROM t"));
+        assertFalse(ScriptExecutor.isBatchable("INSERTED"));
+        assertFalse(ScriptExecutor.isBatchable(""));
+    }
+
+    @Test
+    void maxStatements() throws Exception {
+        final var ds = H2.newDataSource();
+        final var executor = new ScriptExecutor(ds, ScriptExecutorConfig.builder()
+                .maxStatements(3)
+                .build());
+
+        final var got = executor.execute(List.of(
+                "CREATE TABLE t (id INT)",
+                "INSERT INTO t VALUES (1)",
+                "INSERT INTO t VALUES (2)",
+                "INSERT INTO t VALUES (3)"), null);
+
+        assertEquals(3, got.statementCount());
+        assertEquals(2, countRows(ds));
+    }
+
+    @Test
+    void reportsFailedStatementPosition() throws Exception {
+        final var statements = new ArrayList<String>(32);
+        statements.add("CREATE TABLE t (id INT PRIMARY KEY)");
+        for (int i = 1; i <= 30; i++) {
+            statements.add("INSERT INTO t VALUES (" + (i == 25 ? 5 : i) + ")");
+        }
+
+        final var ds = H2.newDataSource();
+        final var executor = new ScriptExecutor(ds, ScriptExecutorConfig.builder()
+                .batchSize(5)
+                .commitEveryStatements(10)
+                .build());
+
+        try {
+            executor.execute(statements, null);
+            fail("must throw");
+
+        } catch (ScriptExecutionException ex) {
+            assertEquals(25, ex.statementIndex());
+            assertEquals("INSERT INTO t VALUES (5)", ex.statement());
+            assertEquals(20, ex.committedStatementCount());
+        }
+
+        // -- Failed chunk is rolled back
+        assertEquals(19, countRows(ds));
+    }
+}
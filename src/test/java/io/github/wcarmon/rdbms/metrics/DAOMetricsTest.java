@@ -0,0 +1,103 @@
+package io.github.wcarmon.rdbms.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.wcarmon.rdbms.DAOOperation;
+import io.github.wcarmon.rdbms.H2;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class DAOMetricsTest {
+
+    @Test
+    void concurrentRecording() throws Exception {
+        final var metrics = new DAOMetrics();
+        final var threads = new ArrayList<Thread>();
+        for (int t = 0; t < 8; t++) {
+            final var thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    metrics.recordSuccess(DAOOperation.FIND_BY_ID, System.nanoTime(), 1);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        for (final var thread : threads) {
+            thread.join();
+        }
+
+        final var got = metrics.snapshot().operation(DAOOperation.FIND_BY_ID);
+        assertEquals(80_000, got.callCount());
+        assertEquals(80_000, got.rowCount());
+        assertEquals(80_000, got.latency().count());
+    }
+
+    @Test
+    void recordAndReset() {
+        final var metrics = new DAOMetrics();
+
+        final var start = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(5);
+        metrics.recordSuccess(DAOOperation.LIST, start, 20);
+        metrics.recordSuccess(DAOOperation.LIST, start, 30);
+        metrics.recordFailure(DAOOperation.LIST, start);
+        metrics.recordSuccess(DAOOperation.PATCH, start, 1);
+
+        final var first = metrics.snapshotAndReset();
+        final var list = first.operation(DAOOperation.LIST);
+        assertEquals(3, list.callCount());
+        assertEquals(1, list.errorCount());
+        assertEquals(50, list.rowCount());
+        assertEquals(3, list.latency().count());
+        assertTrue(list.latency().p99Nanos() >= TimeUnit.MILLISECONDS.toNanos(5));
+        assertEquals(1.0 / 3, list.errorRate(), 1e-9);
+        assertTrue(list.callsPerSecond() > 0);
+
+        assertEquals(1, first.operation(DAOOperation.PATCH).callCount());
+        assertEquals(0, first.operation(DAOOperation.HAS).callCount());
+        assertEquals(DAOOperation.values().length, first.operations().size());
+
+        final var second = metrics.snapshot();
+        assertEquals(0, second.operation(DAOOperation.LIST).callCount());
+        assertEquals(0, second.operation(DAOOperation.LIST).latency().count());
+    }
+
+    @Test
+    void timingDataSource() throws Exception {
+        final var h2 = H2.newDataSource();
+
+        final var metrics = new DAOMetrics();
+        final var ds = metrics.wrap(h2);
+        assertSame(ds, ds.unwrap(TimingDataSource.class));
+
+        try (final var conn = ds.getConnection();
+             final Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE t (id INT PRIMARY KEY)");
+        }
+
+        try (final var conn = ds.getConnection();
+             final PreparedStatement ps = conn.prepareStatement("INSERT INTO t VALUES (?)")) {
+            for (int i = 0; i < 3; i++) {
+                ps.setInt(1, i);
+                ps.executeUpdate();
+            }
+        }
+
+        try (final var conn = ds.getConnection();
+             final PreparedStatement ps = conn.prepareStatement("SELECT COUNT(*) FROM t");
+             final ResultSet rs = ps.executeQuery()) {
+            rs.next();
+            assertEquals(3, rs.getInt(1));
+        }
+
+        final var got = metrics.snapshot();
+        assertEquals(3, got.connectLatency().count());
+        assertEquals(5, got.executeLatency().count());
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.wcarmon.rdbms.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.wcarmon.rdbms.H2;
+import io.github.wcarmon.rdbms.parse.SQLFingerprinter;
+import java.sql.Statement;
+import org.junit.jupiter.api.Test;
+
+class TopStatementsTest {
+
+    @Test
+    void boundedUnderUnboundedVariety() {
+        final var top = new TopStatements(10, new SQLFingerprinter());
+
+        // -- one heavy shape among thousands of distinct light shapes
+        for (int i = 0; i < 5_000; i++) {
+            top.record("SELECT * FROM heavy WHERE id = " + i, 1_000, 0);
+            top.record("SELECT c" + i + " FROM light", 10, 0);
+        }
+
+        final var all = top.top(100);
+        assertEquals(10, all.size());
+
+        final var first = all.get(0);
+        assertEquals("select * from heavy where id = ?", first.fingerprint());
+        assertEquals(5_000, first.count());
+        assertEquals(5_000_000, first.totalNanos());
+        assertEquals(0, first.errorNanos());
+
+        // -- evicted counters pass on their total as error
+        assertTrue(all.get(1).errorNanos() > 0);
+        assertTrue(all.get(1).totalNanos() >= all.get(1).errorNanos());
+    }
+
+    @Test
+    void countsTimeAndRows() {
+        final var top = new TopStatements(100, new SQLFingerprinter());
+
+        top.record("UPDATE t SET a = 1 WHERE id = 1", 100, 1);
+        top.record("update t set a = 2 where id = 2", 300, 1);
+        top.record("SELECT * FROM t", 50, 0);
+
+        final var got = top.top(1);
+        assertEquals(1, got.size());
+
+        final var update = got.get(0);
+        assertEquals("update t set a = ? where id = ?", update.fingerprint());
+        assertEquals(2, update.count());
+        assertEquals(400, update.totalNanos());
+        assertEquals(300, update.maxNanos());
+        assertEquals(2, update.rowCount());
+        assertEquals(200, update.mean().toNanos());
+
+        top.reset();
+        assertEquals(0, top.top(10).size());
+    }
+
+    @Test
+    void timingDataSource() throws Exception {
+        final var h2 = H2.newDataSource();
+
+        final var top = new TopStatements();
+        final var ds = new DAOMetrics().wrap(h2, top);
+
+        try (final var conn = ds.getConnection()) {
+            try (final Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE t (id INT PRIMARY KEY, name VARCHAR(16))");
+            }
+
+            for (int id = 1; id <= 3; id++) {
+                try (final var ps = conn.prepareStatement("INSERT INTO t VALUES (?, ?)")) {
+                    ps.setInt(1, id);
+                    ps.setString(2, "n" + id);
+                    ps.executeUpdate();
+                }
+            }
+
+            try (final Statement stmt = conn.createStatement()) {
+                assertEquals(3, stmt.executeUpdate("UPDATE t SET name = 'x' WHERE id < 10"));
+            }
+        }
+
+        final var byFingerprint = top.top(10);
+        assertEquals(3, byFingerprint.size());
+
+        final var insert = byFingerprint.stream()
+                .filter(s -> s.fingerprint().equals("insert into t values (?, ?)"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(3, insert.count());
+        assertEquals(3, insert.rowCount());
+
+        final var update = byFingerprint.stream()
+                .filter(s -> s.fingerprint().equals("update t set name = ? where id < ?"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(3, update.rowCount());
+    }
+}
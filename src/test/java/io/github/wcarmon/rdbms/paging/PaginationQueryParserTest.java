@@ -0,0 +1,186 @@
+package io.github.wcarmon.rdbms.paging;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class PaginationQueryParserTest {
+
+    /** Same shape as a servlet container's parameter map (values already decoded) */
+    static Map<String, List<String>> toParams(String query) {
+        final var out = new LinkedHashMap<String, List<String>>();
+        for (final var param : query.split("&")) {
+            if (param.isEmpty()) {
+                continue;
+            }
+
+            final var eq = param.indexOf('=');
+            final var key = eq < 0 ? param : param.substring(0, eq);
+            final var value = eq < 0 ? "" : param.substring(eq + 1);
+            out.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+        }
+
+        return out;
+    }
+
+    @Test
+    void byteBuffer() {
+        final var bytes = "xx?limit=5&columns=+name".getBytes(US_ASCII);
+        final var buffer = ByteBuffer.wrap(bytes);
+        buffer.position(2);
+
+        final var parsed = new PaginationQueryParser().parse(buffer);
+
+        assertEquals(new Pagination(0, 5, List.of(SortColumn.of("name"))), parsed);
+        assertEquals(2, buffer.position());
+    }
+
+    @Test
+    void cursorRoundTrip() {
+        final var columns = List.of(
+                new SortColumn("score", SortDirection.DESC),
+                SortColumn.of("id"));
+        final var token = new PageCursor(List.of(7L, 42L)).encode(columns);
+
+        final var parsed = Pagination.fromQueryString("limit=3&columns=-score,+id&after=" + token);
+
+        assertEquals(new Pagination(0, 3, columns, new PageCursor(List.of(7L, 42L))), parsed);
+    }
+
+    @Test
+    void emptyQuery() {
+        assertNull(Pagination.fromQueryString(""));
+        assertNull(Pagination.fromQueryString("?"));
+        assertNull(Pagination.fromQueryString("&&"));
+    }
+
+    @Test
+    void keysDifferingByCase() {
+        final var columns = List.of(SortColumn.of("a"));
+
+        // -- like fromQueryParams, the key which first appears last wins
+        assertEquals(
+                new Pagination(0, 2, columns),
+                Pagination.fromQueryString("columns=+a&limit=1&LIMIT=2"));
+        assertEquals(
+                new Pagination(0, 2, columns),
+                Pagination.fromQueryString("columns=+a&LIMIT=1&limit=2&LIMIT=3"));
+
+        // -- decoded keys, so these are the same key
+        assertThrows(IllegalArgumentException.class,
+                () -> Pagination.fromQueryString("columns=+a&limit=1&%6Cimit=2"));
+    }
+
+    @Test
+    void matchesFromQueryParams() {
+        final var queries = List.of(
+                "limit=25&offset=50&columns=+last_name,-created_at",
+                "LIMIT=  7 &OffSet=1&Columns= +a , -b ",
+                "filter=x&columns=+a&limit=&offset=",
+                "columns=+a,,",
+                "columns=,,,",
+                "columns=+a,,+b",
+                "columns=+a, ,",
+                "columns=aaa,bbb",
+                "columns=+",
+                "columns=",
+                "columns=  ",
+                "columns",
+                "limit=5",
+                "foo=bar",
+                "columns=+a&limit=0",
+                "columns=+a&limit=-1",
+                "columns=+a&limit=+9",
+                "columns=+a&offset=-3",
+                "columns=+a&limit=abc",
+                "columns=+a&limit=1x",
+                "columns=+a&limit=99999999999999999999",
+                "columns=+a&limit=9223372036854775807",
+                "columns=+a&limit=1&limit=2",
+                "columns=+a&limit=1&LIMIT=2",
+                "columns=+a&LIMIT=1&limit=2&LIMIT=3",
+                "columns=+a&limit=1&limit=2&LIMIT=3",
+                "columns=+a&limit=1&LIMIT=2&Limit=x&LIMIT=3",
+                "Offset=1&columns=+a&offset=2&OFFSET=3&Offset=4",
+                "columns=+a&Columns=-b",
+                "columns=+a&offset=1&offset=2",
+                "columns=+a&columns=+b",
+                "columns=+a&after=",
+                "columns=+a&after=&after=x",
+                "columns=+a&after=not-a-token",
+                "after=abc",
+                "offset=x&limit=y&columns=z");
+
+        for (final var query : queries) {
+            Object expected;
+            try {
+                expected = Pagination.fromQueryParams(toParams(query));
+            } catch (IllegalArgumentException ex) {
+                expected = ex.getClass().getName() + ": " + ex.getMessage();
+            }
+
+            Object actual;
+            try {
+                actual = Pagination.fromQueryString(query);
+            } catch (IllegalArgumentException ex) {
+                actual = ex.getClass().getName() + ": " + ex.getMessage();
+            }
+
+            assertEquals(expected, actual, query);
+        }
+    }
+
+    @Test
+    void percentEncoding() {
+        final var parsed = Pagination.fromQueryString(
+                "%6Cimit=%31%32&columns=%2Ba%2C%20-b");
+
+        assertEquals(
+                new Pagination(
+                        0,
+                        12,
+                        List.of(SortColumn.of("a"), new SortColumn("b", SortDirection.DESC))),
+                parsed);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> Pagination.fromQueryString("columns=%2"));
+    }
+
+    @Test
+    void whitelist() {
+        final var lastName = new String("last_name");
+        final var parser = new PaginationQueryParser(Set.of("id", lastName));
+
+        final var parsed = parser.parse("columns=+LAST_NAME,-id&limit=2");
+        assertEquals(2, parsed.columns().size());
+        assertSame(lastName, parsed.columns().get(0).name());
+        assertEquals(SortDirection.DESC, parsed.columns().get(1).direction());
+
+        try {
+            parser.parse("columns=+password");
+            fail("must throw");
+
+        } catch (IllegalArgumentException ex) {
+            assertTrue(ex.getMessage().contains("Unknown sort column"));
+        }
+
+        // -- same resolution as the compiler: non-ascii which lowercases onto a name
+        final var compiler = new PaginationSQLCompiler(Set.of("k"));
+        assertEquals(
+                compiler.resolveName("\u212A"),
+                new PaginationQueryParser(Set.of("k")).parse("columns=+\u212A")
+                        .columns().get(0).name());
+    }
+}
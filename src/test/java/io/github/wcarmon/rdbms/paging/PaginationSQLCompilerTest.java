@@ -0,0 +1,136 @@
+package io.github.wcarmon.rdbms.paging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class PaginationSQLCompilerTest {
+
+    static List<Long> fetchIds(Connection conn, Pagination p, CompiledPagination compiled)
+            throws Exception {
+
+        final var sql = "SELECT id, score FROM t WHERE id > ?"
+                + (compiled.isKeyset() ? " AND " + compiled.seekPredicateSql() : "")
+                + " " + compiled.orderByLimitSql();
+
+        final var out = new ArrayList<Long>();
+        try (final var ps = conn.prepareStatement(sql)) {
+            int index = 1;
+            ps.setLong(index++, 0);
+            index = compiled.bindSeekPredicate(ps, index, p);
+            compiled.bindLimitOffset(ps, index, p);
+
+            try (final var rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    out.add(rs.getLong(1));
+                }
+            }
+        }
+
+        return out;
+    }
+
+    @Test
+    void cachesByShape() {
+        final var compiler = new PaginationSQLCompiler(Set.of("name", "created_at", "id"));
+
+        final var a = compiler.compile(new Pagination(0, 10, List.of(SortColumn.of("name"))));
+        final var b = compiler.compile(new Pagination(500, 25, List.of(SortColumn.of("name"))));
+
+        assertSame(a, b);
+        assertSame(a.orderByLimitSql(), b.orderByLimitSql());
+        assertEquals("ORDER BY name ASC LIMIT ? OFFSET ?", a.orderByLimitSql());
+        assertNull(a.seekPredicateSql());
+    }
+
+    @Test
+    void keysetAgainstDatabase() throws Exception {
+        final var compiler = new PaginationSQLCompiler(Set.of("id", "score"));
+        final var columns = List.of(
+                new SortColumn("score", SortDirection.DESC),
+                SortColumn.of("id"));
+
+        try (final var conn = DriverManager.getConnection("jdbc:h2:mem:compilerKeyset")) {
+            try (final var stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE t (id BIGINT PRIMARY KEY, score INT NOT NULL)");
+                stmt.execute("INSERT INTO t SELECT X, MOD(X, 7) FROM SYSTEM_RANGE(1, 100)");
+            }
+
+            // -- Walk every page with keyset and with offset, must match
+            final var viaOffset = new ArrayList<Long>();
+            final var viaKeyset = new ArrayList<Long>();
+
+            var offsetPage = new Pagination(0, 9, columns);
+            while (true) {
+                final var ids = fetchIds(conn, offsetPage, compiler.compile(offsetPage));
+                if (ids.isEmpty()) {
+                    break;
+                }
+
+                viaOffset.addAll(ids);
+                offsetPage = new Pagination(offsetPage.offset() + 9, 9, columns);
+            }
+
+            var keysetPage = new Pagination(0, 9, columns);
+            while (true) {
+                final var ids = fetchIds(conn, keysetPage, compiler.compile(keysetPage));
+                if (ids.isEmpty()) {
+                    break;
+                }
+
+                viaKeyset.addAll(ids);
+                final long lastId = ids.get(ids.size() - 1);
+                keysetPage = keysetPage.after(PageCursor.of((int) (lastId % 7), lastId));
+            }
+
+            assertEquals(100, viaOffset.size());
+            assertEquals(viaOffset, viaKeyset);
+        }
+    }
+
+    @Test
+    void keysetMode() {
+        final var compiler = new PaginationSQLCompiler(Set.of("name", "id"));
+
+        final var p = new Pagination(0, 10, List.of(SortColumn.of("NAME"), SortColumn.of("id")))
+                .after(PageCursor.of("bob", 5L));
+
+        final var got = compiler.compile(p);
+
+        assertTrue(got.isKeyset());
+        assertEquals("(name, id) > (?, ?)", got.seekPredicateSql());
+        assertEquals("ORDER BY name ASC, id ASC LIMIT ?", got.orderByLimitSql());
+    }
+
+    @Test
+    void rejectsUnknownColumn() {
+        final var compiler = new PaginationSQLCompiler(Set.of("name"));
+        final var p = new Pagination(0, 10, List.of(SortColumn.of("password_hash")));
+
+        try {
+            compiler.compile(p);
+            fail("must throw");
+
+        } catch (IllegalArgumentException iae) {
+            assertTrue(iae.getMessage().contains("Unknown sort column"));
+        }
+    }
+
+    @Test
+    void usesWhitelistedSpelling() {
+        final var compiler = new PaginationSQLCompiler(Set.of("createdAt"));
+        final var p = new Pagination(0, 10, List.of(
+                new SortColumn("CREATEDAT", SortDirection.DESC)));
+
+        assertEquals("ORDER BY createdAt DESC LIMIT ? OFFSET ?", compiler.compile(p).orderByLimitSql());
+    }
+}
@@ -2,6 +2,7 @@
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -88,6 +89,72 @@ void happyCase() {
         assertEquals(SortDirection.DESC, got.columns().get(1).direction());
     }
 
+    @Test
+    void keysetCursorFromQueryParams() {
+        final var columns = List.of(SortColumn.of("name"), new SortColumn("id", SortDirection.ASC));
+        final var token = new Pagination(0, 10, columns)
+                .after(PageCursor.of("bob", 42L))
+                .afterToken();
+
+        final var p = new HashMap<String, List<String>>();
+        p.put("columns", List.of("+name,+id"));
+        p.put("limit", List.of("10"));
+        p.put("AFTER", List.of(token));
+
+        final var got = Pagination.fromQueryParams(p);
+        assertTrue(got.isKeyset());
+        assertEquals(List.of("bob", 42L), got.after().values());
+        assertEquals(0, got.offset());
+
+        final var predicate = got.keysetPredicate();
+        assertEquals("(name, id) > (?, ?)", predicate.sql());
+        assertEquals(List.of("bob", 42L), predicate.parameters());
+
+        assertFalse(got.firstPage().isKeyset());
+        assertNull(got.firstPage().keysetPredicate());
+    }
+
+    @Test
+    void keysetCursorRejectsDifferentSort() {
+        final var columns = List.of(SortColumn.of("name"), SortColumn.of("id"));
+        final var token = new Pagination(0, 10, columns)
+                .after(PageCursor.of("bob", 42L))
+                .afterToken();
+
+        final var p = new HashMap<String, List<String>>();
+        p.put("columns", List.of("+name,-id"));
+        p.put("after", List.of(token));
+
+        try {
+            Pagination.fromQueryParams(p);
+            fail("must throw");
+
+        } catch (IllegalArgumentException iae) {
+            assertTrue(iae.getMessage().contains("does not match"));
+        }
+    }
+
+    @Test
+    void keysetCursorRejectsOffset() {
+        final var columns = List.of(SortColumn.of("id"));
+        final var token = new Pagination(0, 10, columns)
+                .after(PageCursor.of(7L))
+                .afterToken();
+
+        final var p = new HashMap<String, List<String>>();
+        p.put("columns", List.of("+id"));
+        p.put("offset", List.of("20"));
+        p.put("after", List.of(token));
+
+        try {
+            Pagination.fromQueryParams(p);
+            fail("must throw");
+
+        } catch (IllegalArgumentException iae) {
+            assertTrue(iae.getMessage().contains("offset"));
+        }
+    }
+
     @Test
     void missingColumnsQueryParam() {
         final var p = new HashMap<String, List<String>>();
@@ -0,0 +1,89 @@
+package io.github.wcarmon.rdbms.parse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class SQLFingerprinterTest {
+
+    static void assertFingerprint(String expected, String sql) {
+        assertEquals(expected, SQLFingerprinter.normalize(sql));
+    }
+
+    @Test
+    void cachesByIdentity() {
+        final var fingerprinter = new SQLFingerprinter(4);
+        final var sql = "SELECT * FROM t WHERE id = 7";
+
+        final var first = fingerprinter.fingerprint(sql);
+        assertSame(first, fingerprinter.fingerprint(sql));
+
+        // -- equal but not identical: same result, computed again
+        assertEquals(first, fingerprinter.fingerprint(new String(sql)));
+
+        assertThrows(IllegalArgumentException.class, () -> new SQLFingerprinter(0));
+    }
+
+    @Test
+    void collapsesInLists() {
+        assertFingerprint(
+                "select * from t where id in (...) and x in (...)",
+                "SELECT * FROM t WHERE id IN (1, 2, 3) AND x IN ('a')");
+
+        assertFingerprint(
+                "select * from t where id in (...)",
+                "select * from t where id in (?,?,?,?,?,?,?,?)");
+
+        // -- subqueries and expressions are kept
+        assertFingerprint(
+                "select * from t where id in (select id from u where y = ?)",
+                "select * from t where id in (select id from u where y = 5)");
+        assertFingerprint(
+                "select * from t where id in (?, lower (?))",
+                "select * from t where id in (1, lower('A'))");
+    }
+
+    @Test
+    void collapsesRepeatedValuesRows() {
+        assertFingerprint(
+                "insert into t (a, b) values (?, ?), ... on conflict (a) do nothing",
+                "INSERT INTO t (a, b) VALUES (1, 'x'), (2, 'y'), (3, 'z') ON CONFLICT (a) DO NOTHING");
+
+        assertFingerprint(
+                "insert into t (a, b) values (?, ?)",
+                "INSERT INTO t (a, b) VALUES (1, 'x');");
+
+        assertFingerprint(
+                "insert into t (a, b) values (?, ?), (?, now ())",
+                "insert into t (a, b) values (1, 2), (3, now())");
+    }
+
+    @Test
+    void literalsAndParameters() {
+        final var expected = "select * from t where a = ? and b = ? and c = ? and d = ?";
+
+        assertFingerprint(expected, "select * from t where a = 1 and b = 'x' and c = ? and d = $1");
+        assertFingerprint(expected, "select * from t where a=-1.5e-3 and b=E'it\\'s' and c=:c and d=0xFF");
+        assertFingerprint(expected, "select * from t where a = $$x;y$$ and b = 'it''s' and c = .5 and d = $2");
+
+        assertFingerprint("select a - ?, ? - b from t", "select a-1, 2 - b from t");
+        assertFingerprint("select a :: text from t", "select a::text from t");
+    }
+
+    @Test
+    void whitespaceCaseAndComments() {
+        final var expected = "select a.b, \"MixedCase\" from t where x >= ?";
+
+        assertFingerprint(expected, "SELECT a.b, \"MixedCase\" FROM t WHERE x >= 10");
+        assertFingerprint(expected, """
+                -- leading comment
+                select   a . b ,"MixedCase"
+                  from t /* inline */ where x>=10 ;
+                """);
+
+        assertFingerprint("", "  -- nothing here\n");
+        assertFingerprint("select count (*) from t", "select count(*) from t");
+    }
+}
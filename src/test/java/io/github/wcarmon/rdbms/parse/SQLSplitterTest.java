@@ -4,7 +4,13 @@
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Test;
 
@@ -16,6 +22,98 @@ static String normalize(String sql) {
         return StringUtils.removeEnd(sql.strip(), ";");
     }
 
+    @Test
+    void dollarQuoted() {
+        final var raw = """
+                CREATE FUNCTION f() RETURNS int AS $$
+                    SELECT 1; -- not a comment here
+                $$ LANGUAGE sql;
+                CREATE FUNCTION g() RETURNS int AS $body$ SELECT $$;$$; $body$ LANGUAGE sql;
+                SELECT $1, a$b FROM t;
+                """;
+
+        final var got = new SQLSplitter().splitSQLStatements(raw);
+
+        assertEquals(3, got.size());
+        assertEquals("""
+                        CREATE FUNCTION f() RETURNS int AS $$
+                            SELECT 1; -- not a comment here
+                        $$ LANGUAGE sql""",
+                got.get(0));
+        assertEquals(
+                "CREATE FUNCTION g() RETURNS int AS $body$ SELECT $$;$$; $body$ LANGUAGE sql",
+                got.get(1));
+        assertEquals("SELECT $1, a$b FROM t", got.get(2));
+    }
+
+    @Test
+    void quotedLiterals() {
+        final var raw = """
+                SELECT * FROM t WHERE a LIKE '%;' AND b = 'it''s -- fine';
+                SELECT "odd;name" FROM t WHERE c = E'x\\';y' ;
+                SELECT 'keep trailing   \s
+                spaces' FROM t;
+                """;
+
+        final var got = new SQLSplitter().splitSQLStatements(raw);
+
+        assertEquals(3, got.size());
+        assertEquals("SELECT * FROM t WHERE a LIKE '%;' AND b = 'it''s -- fine'", got.get(0));
+        assertEquals("SELECT \"odd;name\" FROM t WHERE c = E'x\\';y'", got.get(1));
+        assertEquals("SELECT 'keep trailing    \nspaces' FROM t", got.get(2));
+    }
+
+    @Test
+    void streamFromInputStream() {
+        final var raw = "INSERT INTO t VALUES (1);\nINSERT INTO t VALUES (2);\n";
+        final var in = new ByteArrayInputStream(raw.getBytes(StandardCharsets.UTF_8));
+
+        final List<String> got;
+        try (final var stream = new SQLSplitter().streamSQLStatements(in, StandardCharsets.UTF_8)) {
+            got = stream.collect(Collectors.toList());
+        }
+
+        assertEquals(List.of("INSERT INTO t VALUES (1)", "INSERT INTO t VALUES (2)"), got);
+    }
+
+    @Test
+    void streamFromPath() throws Exception {
+        final var sb = new StringBuilder(1024 * 64);
+        for (int i = 0; i < 5_000; i++) {
+            sb.append("INSERT INTO t VALUES ('\u00e9\u20ac', ").append(i).append(");\n");
+        }
+
+        final var path = Files.createTempFile("splitter", ".sql");
+        try {
+            Files.writeString(path, sb.toString(), StandardCharsets.UTF_8);
+
+            final List<String> got;
+            try (final var stream =
+                         new SQLSplitter().streamSQLStatements(path, StandardCharsets.UTF_8)) {
+                got = stream.collect(Collectors.toList());
+            }
+
+            assertEquals(5_000, got.size());
+            assertEquals("INSERT INTO t VALUES ('\u00e9\u20ac', 4999)", got.get(4_999));
+
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    void streamMatchesSplit() {
+        final var raw = "SELECT 1;\n/* x; */ SELECT 2 ; ;\nGO\n; SELECT 3";
+        final var splitter = new SQLSplitter();
+
+        final var it = splitter.iterateSQLStatements(new StringReader(raw));
+        final var got = new ArrayList<String>();
+        it.forEachRemaining(got::add);
+
+        assertEquals(splitter.splitSQLStatements(raw), got);
+        assertEquals(List.of("SELECT 1", "SELECT 2", "SELECT 3"), got);
+    }
+
     @Test
     void splitSQLStatements() {
 
@@ -40,9 +138,9 @@ INSERT INTO employees (first_name, last_name, birth_date, hire_date)
                 SELECT * FROM employees WHERE birth_date > '1990-01-01';""");
 
         want.add("""
-                                
-                                
-                                
+                               \s
+                               \s
+                               \s
                 UPDATE employees
                 SET hire_date = '2020-01-01'
                 WHERE employee_id = 1;""");
@@ -71,9 +169,6 @@ INSERT INTO employees (first_name, last_name, birth_date, hire_date)
         final var raw = String.join("", want) + "\nGO\n";
         assumeTrue(expectedSize == want.size());
 
-        // TODO: a query that has ; in a literal (WHERE col1 like "%;")
-        // \;  <--- escaped with slash (negative lookbehind)
-
         // -- Act
         final var got = new SQLSplitter().splitSQLStatements(raw);
 
@@ -0,0 +1,252 @@
+package io.github.wcarmon.rdbms.pool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.wcarmon.rdbms.config.PostgresConfig;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.Test;
+
+class ConnectionPoolTest {
+
+    static ConnectionPool newPool(PoolConfig config) {
+        return new ConnectionPool(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                null,
+                null,
+                config);
+    }
+
+    static void await(BooleanSupplier condition) throws InterruptedException {
+        final var deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("condition not met within 5s");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void boundedUnderContention() throws Exception {
+        try (final var pool = newPool(PoolConfig.builder().maxSize(2).build())) {
+            final var borrowed = new AtomicInteger();
+            final var maxBorrowed = new AtomicInteger();
+            final var failures = new AtomicInteger();
+
+            final var threads = new ArrayList<Thread>();
+            for (int t = 0; t < 8; t++) {
+                final var thread = new Thread(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        try (final var conn = pool.getConnection()) {
+                            maxBorrowed.accumulateAndGet(borrowed.incrementAndGet(), Math::max);
+                            conn.createStatement().execute("SELECT 1");
+                            borrowed.decrementAndGet();
+
+                        } catch (SQLException ex) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                });
+                thread.start();
+                threads.add(thread);
+            }
+
+            for (final var thread : threads) {
+                thread.join();
+            }
+
+            assertEquals(0, failures.get());
+            assertTrue(maxBorrowed.get() <= 2);
+
+            final var stats = pool.stats();
+            assertTrue(stats.created() <= 2, "created: " + stats.created());
+            assertEquals(400, stats.borrowLatency().count());
+            assertEquals(0, stats.active());
+        }
+    }
+
+    @Test
+    void closedLogicalConnection() throws Exception {
+        try (final var pool = newPool(PoolConfig.defaults())) {
+            final var conn = pool.getConnection();
+            conn.close();
+            conn.close();
+
+            assertTrue(conn.isClosed());
+            assertThrows(SQLException.class, conn::createStatement);
+            assertEquals(1, pool.stats().idle());
+        }
+    }
+
+    @Test
+    void closedPoolRejectsBorrow() throws Exception {
+        final var pool = newPool(PoolConfig.defaults());
+        final var conn = pool.getConnection();
+        pool.close();
+
+        assertThrows(SQLException.class, pool::getConnection);
+
+        // -- borrowed connections close on return
+        conn.close();
+        assertEquals(0, pool.stats().total());
+    }
+
+    @Test
+    void discardsBrokenOnReturn() throws Exception {
+        try (final var pool = newPool(PoolConfig.defaults())) {
+            final Connection first;
+            try (final var conn = pool.getConnection()) {
+                first = conn.unwrap(Connection.class);
+                first.close();
+            }
+
+            try (final var conn = pool.getConnection()) {
+                assertNotSame(first, conn.unwrap(Connection.class));
+            }
+            assertEquals(1, pool.stats().closed());
+        }
+    }
+
+    @Test
+    void discardsExpired() throws Exception {
+        try (final var pool = newPool(PoolConfig.builder()
+                .maxLifetime(Duration.ofMillis(30))
+                .build())) {
+
+            final Connection first;
+            try (final var conn = pool.getConnection()) {
+                first = conn.unwrap(Connection.class);
+            }
+
+            Thread.sleep(60);
+
+            try (final var conn = pool.getConnection()) {
+                assertNotSame(first, conn.unwrap(Connection.class));
+            }
+        }
+    }
+
+    @Test
+    void evictsIdleDownToMinIdle() throws Exception {
+        try (final var pool = newPool(PoolConfig.builder()
+                .idleTimeout(Duration.ofMillis(40))
+                .minIdle(1)
+                .build())) {
+
+            await(() -> pool.stats().total() == 1);
+
+            final var conns = new ArrayList<Connection>();
+            for (int i = 0; i < 3; i++) {
+                conns.add(pool.getConnection());
+            }
+            for (final var conn : conns) {
+                conn.close();
+            }
+            assertEquals(3, pool.stats().idle());
+
+            await(() -> pool.stats().total() == 1);
+            assertEquals(3, pool.stats().created());
+        }
+    }
+
+    @Test
+    void fromPostgresConfig() throws Exception {
+        final var pgConfig = PostgresConfig.builder()
+                .jdbcUrl("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1")
+                .user("sa")
+                .build();
+
+        try (final var pool = ConnectionPool.of(pgConfig, PoolConfig.defaults());
+             final var conn = pool.getConnection()) {
+            assertTrue(conn.isValid(1));
+        }
+    }
+
+    @Test
+    void resetsSessionOnReturn() throws Exception {
+        try (final var pool = newPool(PoolConfig.builder().maxSize(1).build())) {
+            try (final var conn = pool.getConnection()) {
+                conn.createStatement().execute("CREATE TABLE t (id INT)");
+            }
+
+            try (final var conn = pool.getConnection()) {
+                conn.setAutoCommit(false);
+                conn.createStatement().execute("INSERT INTO t VALUES (1)");
+                // -- no commit
+            }
+
+            try (final var conn = pool.getConnection();
+                 final var rs = conn.createStatement().executeQuery("SELECT COUNT(*) FROM t")) {
+                assertTrue(conn.getAutoCommit());
+                assertTrue(rs.next());
+                assertEquals(0, rs.getInt(1));
+            }
+        }
+    }
+
+    @Test
+    void reusesPhysicalConnection() throws Exception {
+        try (final var pool = newPool(PoolConfig.defaults())) {
+            final Connection first;
+            try (final var conn = pool.getConnection()) {
+                first = conn.unwrap(Connection.class);
+            }
+
+            try (final var conn = pool.getConnection()) {
+                assertSame(first, conn.unwrap(Connection.class));
+                assertFalse(conn.isClosed());
+            }
+
+            assertEquals(1, pool.stats().created());
+        }
+    }
+
+    @Test
+    void timesOutAtMaxSize() throws Exception {
+        try (final var pool = newPool(PoolConfig.builder()
+                .borrowTimeout(Duration.ofMillis(50))
+                .maxSize(1)
+                .build())) {
+
+            final var held = pool.getConnection();
+            assertThrows(SQLTransientConnectionException.class, pool::getConnection);
+            assertEquals(1, pool.stats().borrowTimeouts());
+
+            held.close();
+            try (final var conn = pool.getConnection()) {
+                assertTrue(conn.isValid(1));
+            }
+        }
+    }
+
+    @Test
+    void validatesIdleOnBorrow() throws Exception {
+        try (final var pool = newPool(PoolConfig.defaults())) {
+            final Connection first;
+            try (final var conn = pool.getConnection()) {
+                first = conn.unwrap(Connection.class);
+            }
+
+            // -- broken while idle, eg. server restarted
+            first.close();
+            Thread.sleep(ConnectionPool.VALIDATION_BYPASS_MILLIS + 100);
+
+            try (final var conn = pool.getConnection()) {
+                assertNotSame(first, conn.unwrap(Connection.class));
+                assertTrue(conn.isValid(1));
+            }
+        }
+    }
+}
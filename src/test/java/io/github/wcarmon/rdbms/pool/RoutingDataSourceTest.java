@@ -0,0 +1,185 @@
+package io.github.wcarmon.rdbms.pool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.wcarmon.rdbms.DAOOperation;
+import io.github.wcarmon.rdbms.H2;
+import io.github.wcarmon.rdbms.config.PostgresConfig;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+class RoutingDataSourceTest {
+
+    /** Database which knows its own name */
+    static JdbcDataSource named(String name) throws SQLException {
+        return H2.newDataSourceAt(
+                H2.newUrl(name),
+                "CREATE TABLE whoami (name VARCHAR(16))",
+                "INSERT INTO whoami VALUES ('" + name + "')");
+    }
+
+    static String nameOf(Connection conn) throws SQLException {
+        try (final var stmt = conn.createStatement();
+             final var rs = stmt.executeQuery("SELECT name FROM whoami")) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    static DataSource unreachable() {
+        return H2.newDataSourceAt("jdbc:h2:mem:" + UUID.randomUUID() + ";IFEXISTS=TRUE");
+    }
+
+    static String read(RoutingDataSource ds, ReadConsistency consistency) throws SQLException {
+        try (final var conn = ds.getConnection(DAOOperation.LIST, consistency)) {
+            return nameOf(conn);
+        }
+    }
+
+    @Test
+    void busyReplicaIsNotEjected() throws Exception {
+        final var busyConfig = PoolConfig.builder()
+                .borrowTimeout(Duration.ofMillis(20))
+                .maxSize(1)
+                .build();
+
+        try (final var busy = new ConnectionPool(
+                named("busy").getURL(), null, null, busyConfig)) {
+
+            // -- exhaust the only connection
+            assertNotNull(busy.getConnection());
+
+            final var ds = new RoutingDataSource(
+                    named("primary"),
+                    List.of(busy, named("replica")),
+                    RoutingConfig.defaults());
+
+            for (int i = 0; i < 4; i++) {
+                assertEquals("replica", read(ds, ReadConsistency.EVENTUAL));
+            }
+
+            final var onlyBusy = new RoutingDataSource(
+                    named("primary"), List.of(busy), RoutingConfig.defaults());
+            assertEquals("primary", read(onlyBusy, ReadConsistency.EVENTUAL));
+
+            assertEquals(0, ds.stats().ejections());
+            assertEquals(0, onlyBusy.stats().ejections());
+            assertEquals(1, onlyBusy.stats().fallbacks());
+        }
+    }
+
+    @Test
+    void ejectsUnreachableAndFallsBack() throws Exception {
+        final var ds = new RoutingDataSource(
+                named("primary"),
+                List.of(unreachable(), named("replica")),
+                RoutingConfig.defaults());
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals("replica", read(ds, ReadConsistency.EVENTUAL));
+        }
+        assertEquals(1, ds.stats().ejections());
+        assertEquals(1, ds.stats().healthyReplicas());
+
+        final var allDown = new RoutingDataSource(
+                named("primary"), List.of(unreachable()), RoutingConfig.defaults());
+        assertEquals("primary", read(allDown, ReadConsistency.EVENTUAL));
+        assertEquals(1, allDown.stats().fallbacks());
+    }
+
+    @Test
+    void leastOutstandingByWeight() throws Exception {
+        final var ds = new RoutingDataSource(
+                named("primary"),
+                List.of(named("a"), named("b")),
+                RoutingConfig.builder()
+                        .replicaWeights(List.of(3, 1))
+                        .build());
+
+        final var held = new ArrayList<Connection>();
+        final var names = new ArrayList<String>();
+        for (int i = 0; i < 8; i++) {
+            final var conn = ds.getConnection(DAOOperation.FIND_BY_ID);
+            held.add(conn);
+            names.add(nameOf(conn));
+        }
+
+        assertEquals(6, names.stream().filter("a"::equals).count());
+        assertEquals(List.of(6, 2), ds.stats().outstandingByReplica());
+
+        for (final var conn : held) {
+            conn.close();
+            conn.close();
+        }
+        assertEquals(List.of(0, 0), ds.stats().outstandingByReplica());
+    }
+
+    @Test
+    void mismatchedWeights() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> new RoutingDataSource(
+                named("primary"),
+                List.of(named("a")),
+                RoutingConfig.builder()
+                        .replicaWeights(List.of(1, 2))
+                        .build()));
+    }
+
+    @Test
+    void ofPostgresConfig() throws Exception {
+        final var primaryUrl = H2.newUrl("primary");
+        final var replicaUrl = H2.newUrl("replica");
+
+        final var pgConfig = PostgresConfig.builder()
+                .jdbcUrl(primaryUrl)
+                .replicaJdbcUrls(List.of(replicaUrl))
+                .user("sa")
+                .build();
+
+        try (final var ds = RoutingDataSource.of(
+                pgConfig, PoolConfig.defaults(), RoutingConfig.defaults())) {
+
+            try (final var conn = ds.getConnection(DAOOperation.CREATE);
+                 final Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE t (id INT)");
+            }
+
+            // -- separate databases, so the table is only on the primary
+            try (final var conn = ds.getConnection(DAOOperation.HAS);
+                 final Statement stmt = conn.createStatement()) {
+                assertThrows(SQLException.class, () -> stmt.executeQuery("SELECT * FROM t"));
+            }
+
+            assertEquals(1, ds.stats().primaryRoutes());
+            assertEquals(1, ds.stats().replicaRoutes());
+        }
+    }
+
+    @Test
+    void routesByOperation() throws Exception {
+        final var ds = new RoutingDataSource(
+                named("primary"), List.of(named("replica")), RoutingConfig.defaults());
+
+        for (final var op : DAOOperation.values()) {
+            try (final var conn = ds.getConnection(op)) {
+                assertEquals(op.isReadOnly() ? "replica" : "primary", nameOf(conn), op.name());
+            }
+        }
+
+        try (final var conn = ds.getConnection()) {
+            assertEquals("primary", nameOf(conn));
+        }
+
+        assertEquals("primary", read(ds, ReadConsistency.READ_YOUR_WRITES));
+        assertEquals("replica", read(ds, ReadConsistency.EVENTUAL));
+    }
+}
@@ -0,0 +1,162 @@
+package io.github.wcarmon.rdbms.read;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.wcarmon.rdbms.H2;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class BatchLoaderTest {
+
+    record Employee(long id, String name) {
+
+    }
+
+    static Function<List<Long>, Map<Long, String>> recording(List<List<Long>> calls) {
+        return keys -> {
+            calls.add(List.copyOf(keys));
+            return keys.stream()
+                    .filter(k -> k >= 0)
+                    .collect(Collectors.toMap(k -> k, k -> "v" + k));
+        };
+    }
+
+    @Test
+    void closedRejectsLoads() {
+        final var loader = new BatchLoader<Long, String>(
+                recording(new CopyOnWriteArrayList<>()), BatchLoaderConfig.defaults());
+        loader.close();
+
+        assertThrows(IllegalStateException.class, () -> loader.load(1L));
+    }
+
+    @Test
+    void coalescesConcurrentLoads() throws Exception {
+        final var calls = new CopyOnWriteArrayList<List<Long>>();
+        final var config = BatchLoaderConfig.builder()
+                .maxBatchSize(1_000)
+                .maxWait(Duration.ofMillis(50))
+                .build();
+
+        try (final var loader = new BatchLoader<>(recording(calls), config)) {
+            final var start = new CountDownLatch(1);
+            final var futures = new CopyOnWriteArrayList<CompletableFuture<String>>();
+            final var threads = new ArrayList<Thread>();
+            for (int t = 0; t < 40; t++) {
+                final long key = t % 10;
+                final var thread = new Thread(() -> {
+                    try {
+                        start.await();
+                        futures.add(loader.load(key));
+
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+                thread.start();
+                threads.add(thread);
+            }
+
+            start.countDown();
+            for (final var thread : threads) {
+                thread.join();
+            }
+
+            for (final var future : futures) {
+                assertTrue(future.get(5, TimeUnit.SECONDS).startsWith("v"));
+            }
+
+            // -- never duplicated within a batch, far fewer round trips than loads
+            for (final var call : calls) {
+                assertEquals(call.size(), new HashSet<>(call).size());
+            }
+            assertTrue(calls.size() < 10, "batches: " + calls.size());
+
+            final var stats = loader.stats();
+            assertEquals(40, stats.requestCount());
+            assertEquals(calls.size(), stats.batchCount());
+            assertTrue(stats.meanBatchSize() > 1);
+            assertTrue(stats.waitLatency().count() >= 10);
+        }
+    }
+
+    @Test
+    void dispatchesFullBatchWithoutWaiting() throws Exception {
+        final var calls = new CopyOnWriteArrayList<List<Long>>();
+        final var config = BatchLoaderConfig.builder()
+                .maxBatchSize(3)
+                .maxWait(Duration.ofHours(1))
+                .build();
+
+        try (final var loader = new BatchLoader<>(recording(calls), config)) {
+            final var a = loader.load(1L);
+            final var b = loader.load(1L);
+            final var c = loader.load(2L);
+            final var d = loader.load(-1L);
+
+            assertEquals("v1", a.get(5, TimeUnit.SECONDS));
+            assertEquals("v1", b.get(5, TimeUnit.SECONDS));
+            assertEquals("v2", c.get(5, TimeUnit.SECONDS));
+            assertNull(d.get(5, TimeUnit.SECONDS));
+            assertEquals(List.of(List.of(1L, 2L, -1L)), calls);
+            assertEquals(3, loader.stats().maxBatchSize());
+        }
+    }
+
+    @Test
+    void failureReachesEveryCaller() {
+        final var failure = new IllegalStateException("boom");
+        try (final var loader = new BatchLoader<Long, String>(
+                keys -> {
+                    throw failure;
+                },
+                BatchLoaderConfig.defaults())) {
+
+            final var a = loader.load(1L);
+            final var b = loader.load(2L);
+
+            final var ex = assertThrows(ExecutionException.class, () -> a.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, ex.getCause());
+            assertThrows(ExecutionException.class, () -> b.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void forTable() throws Exception {
+        final var ds = H2.newDataSource(
+                "CREATE TABLE employees (id BIGINT PRIMARY KEY, name VARCHAR(32))",
+                "INSERT INTO employees SELECT X, 'n' || X FROM SYSTEM_RANGE(1, 100)");
+
+        try (final var loader = BatchLoader.forTable(
+                ds,
+                "employees",
+                "id",
+                RecordRowMapper.of(Employee.class),
+                Employee::id,
+                BatchLoaderConfig.defaults())) {
+
+            final var a = loader.load(7L);
+            final var b = loader.load(42L);
+            final var c = loader.load(1_000L);
+
+            assertEquals(new Employee(7, "n7"), a.get(5, TimeUnit.SECONDS));
+            assertEquals(new Employee(42, "n42"), b.get(5, TimeUnit.SECONDS));
+            assertNull(c.get(5, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.wcarmon.rdbms.read;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.wcarmon.rdbms.H2;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+
+class ExistenceCheckerTest {
+
+    /** Even ids 2..2000 exist */
+    static DataSource newDataSource() throws Exception {
+        return H2.newDataSource(
+                "CREATE TABLE t (id BIGINT PRIMARY KEY)",
+                "INSERT INTO t SELECT X * 2 FROM SYSTEM_RANGE(1, 1000)");
+    }
+
+    @Test
+    void exists() throws Exception {
+        final var checker = new ExistenceChecker(
+                newDataSource(), "t", "id", ExistenceCheckConfig.defaults());
+
+        assertTrue(checker.exists(4L));
+        assertFalse(checker.exists(5L));
+    }
+
+    @Test
+    void existsAll_alignedWithInput() throws Exception {
+        final var checker = new ExistenceChecker(
+                newDataSource(), "t", "id", ExistenceCheckConfig.builder()
+                        .maxKeysPerQuery(100)
+                        .build());
+
+        final var keys = new ArrayList<Long>();
+        for (long i = 0; i < 2_500; i++) {
+            keys.add(i);
+        }
+        keys.add(null);
+        keys.add(4L);
+
+        final var got = checker.existsAll(keys);
+        for (int i = 0; i < 2_500; i++) {
+            assertEquals(i > 0 && i <= 2_000 && i % 2 == 0, got.get(i), "key " + i);
+        }
+
+        assertFalse(got.get(2_500));
+        assertTrue(got.get(2_501));
+        assertEquals(1_001, got.cardinality());
+    }
+
+    @Test
+    void existsAll_array() throws Exception {
+        final var checker = new ExistenceChecker(
+                newDataSource(), "t", "id", ExistenceCheckConfig.builder()
+                        .arrayType("BIGINT")
+                        .maxKeysPerQuery(2)
+                        .build());
+
+        final var got = checker.existsAll(List.of(1L, 2L, 3L, 4L, 4L));
+        assertEquals(List.of(false, true, false, true, true), Arrays.asList(
+                got.get(0), got.get(1), got.get(2), got.get(3), got.get(4)));
+    }
+
+    @Test
+    void existsAll_narrowerKeyType() throws Exception {
+        final var checker = new ExistenceChecker(
+                newDataSource(), "t", "id", ExistenceCheckConfig.defaults());
+
+        // -- Integer keys against a BIGINT column
+        final var got = checker.existsAll(List.of(1, 2, 3));
+        assertFalse(got.get(0));
+        assertTrue(got.get(1));
+        assertFalse(got.get(2));
+
+        assertThrows(IllegalArgumentException.class, () -> checker.existsAll(List.of(1, 2L)));
+    }
+
+    @Test
+    void inListSql() {
+        assertEquals(
+                "SELECT id FROM t WHERE id IN (?, ?, ?)",
+                ExistenceChecker.inListSql("t", "id", 3));
+    }
+
+    @Test
+    void paddedSize() {
+        assertEquals(1, ExistenceChecker.paddedSize(1, 1000));
+        assertEquals(2, ExistenceChecker.paddedSize(2, 1000));
+        assertEquals(4, ExistenceChecker.paddedSize(3, 1000));
+        assertEquals(512, ExistenceChecker.paddedSize(500, 1000));
+        assertEquals(1000, ExistenceChecker.paddedSize(513, 1000));
+        assertEquals(1000, ExistenceChecker.paddedSize(1000, 1000));
+    }
+}
@@ -0,0 +1,178 @@
+package io.github.wcarmon.rdbms.read;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.wcarmon.rdbms.DAOOperation;
+import io.github.wcarmon.rdbms.paging.Pagination;
+import io.github.wcarmon.rdbms.paging.SortColumn;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class PageCacheTest {
+
+    static Pagination page(long offset) {
+        return new Pagination(offset, 10, List.of(SortColumn.of("id")));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        final var cache = new PageCache<String>(PageCacheConfig.builder()
+                .maxEntries(2)
+                .build());
+        final var loads = new AtomicInteger();
+
+        cache.get("t", null, page(0), () -> List.of("a" + loads.incrementAndGet()));
+        cache.get("t", null, page(10), () -> List.of("b" + loads.incrementAndGet()));
+        cache.get("t", null, page(0), () -> List.of("unused"));
+        cache.get("t", null, page(20), () -> List.of("c" + loads.incrementAndGet()));
+
+        // -- page(10) was least recently used
+        assertEquals(List.of("a1"), cache.get("t", null, page(0), () -> List.of("x")));
+        assertEquals(List.of("x"), cache.get("t", null, page(10), () -> List.of("x")));
+        assertEquals(2, cache.stats().evictions());
+        assertEquals(2, cache.stats().size());
+    }
+
+    @Test
+    void expiresAfterTtl() throws Exception {
+        final var cache = new PageCache<String>(PageCacheConfig.builder()
+                .ttl(Duration.ofMillis(20))
+                .build());
+
+        cache.get("t", null, page(0), () -> List.of("old"));
+        Thread.sleep(50);
+
+        assertEquals(List.of("new"), cache.get("t", null, page(0), () -> List.of("new")));
+        assertEquals(2, cache.stats().misses());
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        final var cache = new PageCache<String>(PageCacheConfig.defaults());
+
+        assertThrows(IllegalStateException.class, () -> cache.get("t", null, page(0), () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals(List.of("a"), cache.get("t", null, page(0), () -> List.of("a")));
+        assertEquals(1, cache.stats().loadFailures());
+    }
+
+    @Test
+    void hitsByTableFilterAndPage() {
+        final var cache = new PageCache<String>(PageCacheConfig.defaults());
+        final var first = cache.get("t", "active", page(0), () -> List.of("a"));
+
+        assertSame(first, cache.get("t", "active", page(0), () -> List.of("x")));
+        assertEquals(List.of("x"), cache.get("t", "inactive", page(0), () -> List.of("x")));
+        assertEquals(List.of("x"), cache.get("t", "active", page(10), () -> List.of("x")));
+        assertEquals(List.of("x"), cache.get("u", "active", page(0), () -> List.of("x")));
+
+        final var stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(4, stats.misses());
+        assertEquals(0.2, stats.hitRatio(), 1e-9);
+        assertEquals(4, stats.loadLatency().count());
+    }
+
+    @Test
+    void invalidatesOnlyForWrites() {
+        final var cache = new PageCache<String>(PageCacheConfig.defaults());
+        for (final var op : DAOOperation.values()) {
+            assertEquals(
+                    op != DAOOperation.FIND_BY_ID
+                            && op != DAOOperation.HAS
+                            && op != DAOOperation.LIST,
+                    cache.invalidate(op, "t"),
+                    op.name());
+        }
+    }
+
+    @Test
+    void singleFlight() throws Exception {
+        final var cache = new PageCache<String>(PageCacheConfig.defaults());
+        final var loads = new AtomicInteger();
+        final var release = new CountDownLatch(1);
+        final var results = new CopyOnWriteArrayList<List<String>>();
+
+        final var threads = new ArrayList<Thread>();
+        for (int i = 0; i < 20; i++) {
+            final var thread = new Thread(() -> results.add(cache.get("t", null, page(0), () -> {
+                loads.incrementAndGet();
+                try {
+                    release.await();
+
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return List.of("a");
+            })));
+            thread.start();
+            threads.add(thread);
+        }
+
+        // -- let the stampede pile up behind the one loader
+        while (cache.stats().hits() + cache.stats().misses() < 20) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        for (final var thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(20, results.size());
+        results.forEach(rows -> assertEquals(List.of("a"), rows));
+    }
+
+    @Test
+    void writesInvalidateTable() {
+        final var cache = new PageCache<String>(PageCacheConfig.defaults());
+        cache.get("t", null, page(0), () -> List.of("a"));
+        cache.get("u", null, page(0), () -> List.of("a"));
+
+        assertFalse(cache.invalidate(DAOOperation.LIST, "t"));
+        assertEquals(List.of("a"), cache.get("t", null, page(0), () -> List.of("x")));
+
+        assertTrue(cache.invalidate(DAOOperation.PATCH, "t"));
+        assertEquals(List.of("x"), cache.get("t", null, page(0), () -> List.of("x")));
+        assertEquals(List.of("a"), cache.get("u", null, page(0), () -> List.of("x")));
+        assertEquals(1, cache.stats().invalidations());
+    }
+
+    @Test
+    void writeDuringLoadIsNotServedLater() throws Exception {
+        final var cache = new PageCache<String>(PageCacheConfig.defaults());
+        final var loading = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+
+        final var loader = new Thread(() -> cache.get("t", null, page(0), () -> {
+            loading.countDown();
+            try {
+                release.await();
+
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of("stale");
+        }));
+        loader.start();
+
+        loading.await();
+        cache.invalidate(DAOOperation.UPDATE, "t");
+        release.countDown();
+        loader.join();
+
+        assertEquals(List.of("fresh"), cache.get("t", null, page(0), () -> List.of("fresh")));
+    }
+}
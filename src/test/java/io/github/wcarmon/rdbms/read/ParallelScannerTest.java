@@ -0,0 +1,193 @@
+package io.github.wcarmon.rdbms.read;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.wcarmon.rdbms.H2;
+import io.github.wcarmon.rdbms.paging.Pagination;
+import io.github.wcarmon.rdbms.paging.SortColumn;
+import io.github.wcarmon.rdbms.paging.SortDirection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+
+class ParallelScannerTest {
+
+    static final RowMapper<Long> ID = rs -> rs.getLong("id");
+
+    static final List<SortColumn> BY_ID = List.of(SortColumn.of("id"));
+
+    /** ids 3, 6, ... 30000, names zero padded */
+    static DataSource newDataSource() throws Exception {
+        return H2.newDataSource(
+                "CREATE TABLE t (id BIGINT PRIMARY KEY, name VARCHAR(16), grp INT)",
+                """
+                    INSERT INTO t
+                    SELECT X * 3, 'n' || LPAD(CAST(X AS VARCHAR), 6, '0'), MOD(X, 7)
+                    FROM SYSTEM_RANGE(1, 10000)""");
+    }
+
+    static List<Long> expectedIds() {
+        return LongStream.rangeClosed(1, 10_000).map(x -> x * 3).boxed()
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void cancelReleasesProducers() throws Exception {
+        final var ds = newDataSource();
+        final var scanner = new ParallelScanner(ds, ParallelScanConfig.builder()
+                .queueCapacity(4)
+                .build());
+
+        try (final var rows = scanner.scan("t", BY_ID, ID, true)) {
+            assertEquals(List.of(3L, 6L, 9L), rows.limit(3).collect(Collectors.toList()));
+        }
+
+        // -- still usable after cancelling
+        try (final var rows = scanner.scan("t", BY_ID, ID, true)) {
+            assertEquals(10_000, rows.count());
+        }
+    }
+
+    @Test
+    void mapperFailurePropagates() throws Exception {
+        final var scanner = new ParallelScanner(newDataSource(), ParallelScanConfig.defaults());
+        final RowMapper<Long> failing = rs -> {
+            if (rs.getLong("id") == 29_997) {
+                throw new IllegalArgumentException("boom");
+            }
+            return rs.getLong("id");
+        };
+
+        try (final var rows = scanner.scan("t", BY_ID, failing, false)) {
+            assertThrows(IllegalStateException.class, rows::count);
+        }
+    }
+
+    @Test
+    void orderedAscending() throws Exception {
+        final var scanner = new ParallelScanner(newDataSource(), ParallelScanConfig.builder()
+                .parallelism(7)
+                .queueCapacity(16)
+                .build());
+
+        try (final var rows = scanner.scan("t", BY_ID, ID, true)) {
+            assertEquals(expectedIds(), rows.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void orderedDescending() throws Exception {
+        final var scanner = new ParallelScanner(newDataSource(), ParallelScanConfig.defaults());
+        final var expected = new ArrayList<>(expectedIds());
+        Collections.reverse(expected);
+
+        try (final var rows = scanner.scan(
+                "t", List.of(new SortColumn("id", SortDirection.DESC)), ID, true)) {
+            assertEquals(expected, rows.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void page() throws Exception {
+        final var scanner = new ParallelScanner(newDataSource(), ParallelScanConfig.defaults());
+
+        try (final var rows = scanner.scan("t", new Pagination(100, 5, BY_ID), ID, true)) {
+            assertEquals(List.of(303L, 306L, 309L, 312L, 315L), rows.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void pageRejectsOverflow() throws Exception {
+        final var scanner = new ParallelScanner(newDataSource(), ParallelScanConfig.defaults());
+
+        final var ex = assertThrows(IllegalArgumentException.class,
+                () -> scanner.scan("t", new Pagination(Long.MAX_VALUE, 5, BY_ID), ID, true));
+        assertTrue(ex.getMessage().contains("too large"), ex.getMessage());
+    }
+
+    @Test
+    void quantilesOnNonIntegerColumn() throws Exception {
+        final var scanner = new ParallelScanner(newDataSource(), ParallelScanConfig.builder()
+                .boundaries(ScanBoundaries.QUANTILES)
+                .build());
+
+        final var columns = List.of(
+                new SortColumn("grp", SortDirection.ASC),
+                new SortColumn("name", SortDirection.DESC));
+
+        final List<String> got;
+        try (final var rows = scanner.scan(
+                "t", columns, rs -> rs.getInt("grp") + ":" + rs.getString("name"), true)) {
+            got = rows.collect(Collectors.toList());
+        }
+
+        // -- ties on grp stay within one range, so the secondary sort holds
+        final var expected = new ArrayList<>(got);
+        expected.sort((a, b) -> {
+            final var byGroup = Integer.compare(
+                    Integer.parseInt(a.split(":")[0]), Integer.parseInt(b.split(":")[0]));
+            return byGroup != 0 ? byGroup : b.compareTo(a);
+        });
+
+        assertEquals(10_000, got.size());
+        assertEquals(expected, got);
+    }
+
+    @Test
+    void rangeSql() {
+        assertEquals(
+                "SELECT * FROM t WHERE id > ? AND id <= ? ORDER BY id ASC, name DESC",
+                ParallelScanner.rangeSql(
+                        "t",
+                        List.of(SortColumn.of("id"), new SortColumn("name", SortDirection.DESC)),
+                        true,
+                        true));
+
+        assertEquals(
+                "SELECT * FROM t WHERE id <= ? ORDER BY id ASC",
+                ParallelScanner.rangeSql("t", BY_ID, false, true));
+    }
+
+    @Test
+    void rejectsNullableLeadingColumn() throws Exception {
+        final var ds = newDataSource();
+        try (final var conn = ds.getConnection();
+             final Statement stmt = conn.createStatement()) {
+            stmt.execute("UPDATE t SET grp = NULL WHERE id = 3");
+        }
+
+        final var scanner = new ParallelScanner(ds, ParallelScanConfig.builder()
+                .boundaries(ScanBoundaries.QUANTILES)
+                .build());
+
+        assertThrows(IllegalArgumentException.class, () -> scanner.scan(
+                "t", List.of(SortColumn.of("grp")), ID, true));
+    }
+
+    @Test
+    void splitMinMax() {
+        assertEquals(List.of(25L, 50L, 75L), ParallelScanner.splitMinMax(0, 100, 4));
+        assertEquals(List.of(), ParallelScanner.splitMinMax(5, 5, 4));
+        assertEquals(List.of(0L, 1L), ParallelScanner.splitMinMax(0, 2, 4));
+        assertEquals(3, ParallelScanner.splitMinMax(Long.MIN_VALUE, Long.MAX_VALUE, 4).size());
+    }
+
+    @Test
+    void unordered() throws Exception {
+        final var scanner = new ParallelScanner(newDataSource(), ParallelScanConfig.defaults());
+
+        try (final var rows = scanner.scan("t", BY_ID, ID, false)) {
+            final var got = rows.collect(Collectors.toList());
+            assertEquals(10_000, got.size());
+            assertEquals(new HashSet<>(expectedIds()), new HashSet<>(got));
+        }
+    }
+}
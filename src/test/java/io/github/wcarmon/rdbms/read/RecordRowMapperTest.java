@@ -0,0 +1,194 @@
+package io.github.wcarmon.rdbms.read;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.wcarmon.rdbms.H2;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+
+class RecordRowMapperTest {
+
+    enum Role {
+        ADMIN, USER,
+    }
+
+    record Employee(
+            long employeeId,
+            String firstName,
+            int age,
+            Integer score,
+            boolean active,
+            BigDecimal salary,
+            LocalDate hiredOn,
+            Role role) {
+
+    }
+
+    record Name(String firstName) {
+
+    }
+
+    static DataSource newDataSource() throws Exception {
+        return H2.newDataSource(
+                """
+                        CREATE TABLE employees (
+                            employee_id BIGINT PRIMARY KEY,
+                            first_name VARCHAR(32),
+                            age INT,
+                            score INT,
+                            active BOOLEAN,
+                            salary DECIMAL(10, 2),
+                            hired_on DATE,
+                            role VARCHAR(16),
+                            ignored VARCHAR(8)
+                        )""",
+                """
+                        INSERT INTO employees VALUES
+                        (1, 'Ann', 40, 7, TRUE, 123.45, DATE '2020-01-02', 'ADMIN', 'x'),
+                        (2, 'Bob', 30, NULL, FALSE, NULL, NULL, NULL, 'y')
+                        """);
+    }
+
+    @Test
+    void bindsOncePerResultSet() throws Exception {
+        final var binds = new AtomicInteger();
+        final var names = RecordRowMapper.of(Name.class);
+        final RowMapper<Name> mapper = new RowMapper<>() {
+            @Override
+            public RowMapper<Name> bind(ResultSetMetaData metaData) throws SQLException {
+                binds.incrementAndGet();
+                return names.bind(metaData);
+            }
+
+            @Override
+            public Name map(ResultSet rs) {
+                throw new AssertionError("rows must use the bound mapper");
+            }
+        };
+
+        final var ds = newDataSource();
+        try (final var rows = new RowStreamer(ds, 0).stream(
+                "SELECT first_name FROM employees", List.of(), mapper)) {
+            assertEquals(2, rows.count());
+        }
+        assertEquals(1, binds.get());
+
+        // -- bound mapper never reads metadata again
+        try (final var conn = ds.getConnection();
+             final var stmt = conn.createStatement();
+             final var rs = stmt.executeQuery(
+                     "SELECT first_name FROM employees ORDER BY employee_id")) {
+
+            final var bound = names.bind(rs.getMetaData());
+            final var noMetaData = (ResultSet) Proxy.newProxyInstance(
+                    ResultSet.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("getMetaData")) {
+                            throw new AssertionError("metadata read per row");
+                        }
+
+                        try {
+                            return method.invoke(rs, args);
+
+                        } catch (InvocationTargetException ex) {
+                            throw ex.getCause();
+                        }
+                    });
+
+            final var got = new ArrayList<Name>();
+            while (noMetaData.next()) {
+                got.add(bound.map(noMetaData));
+            }
+
+            assertEquals(List.of(new Name("Ann"), new Name("Bob")), got);
+        }
+    }
+
+    @Test
+    void cachedPerClass() {
+        assertSame(RecordRowMapper.of(Employee.class), RecordRowMapper.of(Employee.class));
+    }
+
+    @Test
+    void mapsColumnsByName() throws Exception {
+        final var streamer = new RowStreamer(newDataSource(), 0);
+
+        final List<Employee> got;
+        try (final var rows = streamer.stream(
+                "SELECT * FROM employees ORDER BY employee_id",
+                List.of(),
+                RecordRowMapper.of(Employee.class))) {
+            got = rows.collect(Collectors.toList());
+        }
+
+        assertEquals(
+                new Employee(
+                        1, "Ann", 40, 7, true,
+                        new BigDecimal("123.45"), LocalDate.of(2020, 1, 2), Role.ADMIN),
+                got.get(0));
+
+        final var bob = got.get(1);
+        assertEquals(2, bob.employeeId());
+        assertNull(bob.score());
+        assertNull(bob.salary());
+        assertNull(bob.hiredOn());
+        assertNull(bob.role());
+    }
+
+    @Test
+    void missingColumn() throws Exception {
+        final var streamer = new RowStreamer(newDataSource(), 0);
+
+        final var ex = assertThrows(IllegalArgumentException.class, () -> {
+            try (final var rows = streamer.stream(
+                    "SELECT employee_id FROM employees",
+                    List.of(),
+                    RecordRowMapper.of(Employee.class))) {
+                rows.count();
+            }
+        });
+
+        assertTrue(ex.getMessage().contains("firstName"));
+    }
+
+    @Test
+    void normalize() {
+        assertEquals("employeeid", RecordRowMapper.normalize("employee_id"));
+        assertEquals("employeeid", RecordRowMapper.normalize("employeeId"));
+        assertEquals("employeeid", RecordRowMapper.normalize("EMPLOYEE_ID"));
+    }
+
+    @Test
+    void reusesHandleAcrossShapes() throws Exception {
+        final var ds = newDataSource();
+        final var mapper = RecordRowMapper.of(Name.class);
+        final var streamer = new RowStreamer(ds, 0);
+
+        for (final var sql : new String[]{
+                "SELECT first_name FROM employees ORDER BY employee_id",
+                "SELECT age, first_name FROM employees ORDER BY employee_id",
+        }) {
+            try (final var rows = streamer.stream(sql, List.of(), mapper)) {
+                assertEquals(
+                        List.of(new Name("Ann"), new Name("Bob")),
+                        rows.collect(Collectors.toList()));
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package io.github.wcarmon.rdbms.read;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.wcarmon.rdbms.DAOOperation;
+import io.github.wcarmon.rdbms.H2;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+
+class RowCounterTest {
+
+    /** ids 1..1000, odd ids are "open" */
+    static DataSource newDataSource() throws Exception {
+        return H2.newDataSource(
+                "CREATE TABLE t (id BIGINT PRIMARY KEY, status VARCHAR(8))",
+                "INSERT INTO t SELECT X, CASE WHEN MOD(X, 2) = 1 THEN 'open' ELSE"
+                        + " 'closed' END FROM SYSTEM_RANGE(1, 1000)");
+    }
+
+    static void insert(DataSource ds, long id) throws Exception {
+        try (final var conn = ds.getConnection();
+             final Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO t VALUES (" + id + ", 'open')");
+        }
+    }
+
+    @Test
+    void cachedUntilWrite() throws Exception {
+        final var ds = newDataSource();
+        try (final var counter = new RowCounter(ds, RowCounterConfig.builder()
+                .ttl(Duration.ofHours(1))
+                .build())) {
+
+            assertEquals(1000, counter.count("t", CountMode.CACHED));
+
+            insert(ds, 1001);
+            assertEquals(1000, counter.count("t", CountMode.CACHED));
+            assertEquals(1001, counter.count("t", CountMode.EXACT));
+
+            assertFalse(counter.invalidate(DAOOperation.LIST, "t"));
+            assertTrue(counter.invalidate(DAOOperation.CREATE, "t"));
+            assertEquals(1001, counter.count("t", CountMode.CACHED));
+
+            final var stats = counter.stats();
+            assertEquals(3, stats.exactCounts());
+            assertEquals(1, stats.hits());
+            assertEquals(1, stats.invalidations());
+            assertEquals(1, stats.size());
+        }
+    }
+
+    @Test
+    void countsWithFilter() throws Exception {
+        try (final var counter = new RowCounter(newDataSource(), RowCounterConfig.defaults())) {
+            assertEquals(500, counter.count("t", "status = ?", List.of("open"), CountMode.EXACT));
+            assertEquals(
+                    250,
+                    counter.count("t", "status = ? AND id > ?", List.of("open", 500L),
+                            CountMode.CACHED));
+
+            // -- filters are cached separately
+            assertEquals(500, counter.count("t", "status = ?", List.of("closed"), CountMode.CACHED));
+            assertEquals(2, counter.stats().size());
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> counter.count("t; DROP TABLE t", CountMode.EXACT));
+        }
+    }
+
+    @Test
+    void estimatedUsesFallback() throws Exception {
+        final var seen = new AtomicReference<String>();
+        final CountEstimator estimator = (conn, table, whereSql, parameters) -> {
+            seen.set(table + " " + whereSql + " " + parameters);
+            return 42;
+        };
+
+        final var ds = newDataSource();
+        try (final var counter = new RowCounter(ds, RowCounterConfig.builder()
+                .fallbackEstimator(estimator)
+                .build())) {
+
+            assertEquals(42, counter.count("t", "id > ?", List.of(7L), CountMode.ESTIMATED));
+            assertEquals("t id > ? [7]", seen.get());
+            assertEquals(1, counter.stats().estimates());
+        }
+
+        // -- default fallback is exact
+        try (final var counter = new RowCounter(ds, RowCounterConfig.defaults())) {
+            assertEquals(1000, counter.count("t", CountMode.ESTIMATED));
+        }
+    }
+
+    @Test
+    void expiresAfterTtl() throws Exception {
+        final var ds = newDataSource();
+        try (final var counter = new RowCounter(ds, RowCounterConfig.builder()
+                .ttl(Duration.ofMillis(20))
+                .build())) {
+
+            assertEquals(1000, counter.count("t", CountMode.CACHED));
+            insert(ds, 1001);
+            Thread.sleep(50);
+
+            assertEquals(1001, counter.count("t", CountMode.CACHED));
+            assertEquals(2, counter.stats().exactCounts());
+        }
+    }
+
+    @Test
+    void failureIsNotCached() throws Exception {
+        try (final var counter = new RowCounter(newDataSource(), RowCounterConfig.defaults())) {
+            assertThrows(IllegalStateException.class,
+                    () -> counter.count("missing", CountMode.CACHED));
+
+            assertEquals(1, counter.stats().failures());
+            assertEquals(0, counter.stats().size());
+        }
+    }
+
+    @Test
+    void listCountsConcurrently() throws Exception {
+        final var countStarted = new CountDownLatch(1);
+        final var countThread = new AtomicReference<Thread>();
+        final CountEstimator estimator = (conn, table, whereSql, parameters) -> {
+            countThread.set(Thread.currentThread());
+            countStarted.countDown();
+            return CountEstimator.EXACT.estimate(conn, table, whereSql, parameters);
+        };
+
+        try (final var counter = new RowCounter(newDataSource(), RowCounterConfig.builder()
+                .fallbackEstimator(estimator)
+                .build())) {
+
+            // -- the page waits for the count, so they must overlap
+            final var page = counter.list("t", null, List.of(), CountMode.ESTIMATED, () -> {
+                try {
+                    assertTrue(countStarted.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException ex) {
+                    throw new IllegalStateException(ex);
+                }
+                return List.of("a", "b");
+            });
+
+            assertEquals(List.of("a", "b"), page.rows());
+            assertEquals(1000, page.total());
+            assertEquals(CountMode.ESTIMATED, page.mode());
+            assertNotSame(Thread.currentThread(), countThread.get());
+        }
+    }
+
+    @Test
+    void planRows() {
+        assertEquals(2550, RowCounter.planRows(
+                "Seq Scan on t  (cost=0.00..35.50 rows=2550 width=4)"));
+        assertEquals(1, RowCounter.planRows(
+                "Index Only Scan using t_pkey on t  (cost=0.28..8.29 rows=1 width=4)"));
+
+        assertThrows(IllegalStateException.class, () -> RowCounter.planRows("Result"));
+        assertEquals(
+                "SELECT COUNT(*) FROM t WHERE a = ?",
+                RowCounter.countSql("t", "a = ?"));
+    }
+}
@@ -0,0 +1,115 @@
+package io.github.wcarmon.rdbms.read;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.wcarmon.rdbms.H2;
+import io.github.wcarmon.rdbms.paging.Pagination;
+import io.github.wcarmon.rdbms.paging.SortColumn;
+import io.github.wcarmon.rdbms.paging.SortDirection;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+
+class RowStreamerTest {
+
+    /** Tracks connections not yet closed */
+    static final class TrackingDataSource {
+
+        final AtomicInteger open = new AtomicInteger();
+        final DataSource ds;
+
+        TrackingDataSource(DataSource delegate) {
+            ds = (DataSource) Proxy.newProxyInstance(
+                    DataSource.class.getClassLoader(),
+                    new Class<?>[]{DataSource.class},
+                    (dsProxy, dsMethod, dsArgs) -> {
+                        final var conn = delegate.getConnection();
+                        open.incrementAndGet();
+
+                        return Proxy.newProxyInstance(
+                                Connection.class.getClassLoader(),
+                                new Class<?>[]{Connection.class},
+                                (proxy, method, args) -> {
+                                    if (method.getName().equals("close") && !conn.isClosed()) {
+                                        open.decrementAndGet();
+                                    }
+
+                                    try {
+                                        return method.invoke(conn, args);
+                                    } catch (InvocationTargetException ex) {
+                                        throw ex.getCause();
+                                    }
+                                });
+                    });
+        }
+    }
+
+    static DataSource newDataSource(int rowCount) throws Exception {
+        return H2.newDataSource(
+                "CREATE TABLE t (id INT PRIMARY KEY, name VARCHAR(32))",
+                "INSERT INTO t SELECT X, 'n' || X FROM SYSTEM_RANGE(1, " + rowCount + ")");
+    }
+
+    @Test
+    void closesEverythingWithStream() throws Exception {
+        final var tracking = new TrackingDataSource(newDataSource(100));
+        final var streamer = new RowStreamer(tracking.ds, 10);
+
+        try (final var rows = streamer.stream(
+                "SELECT id FROM t ORDER BY id", List.of(), rs -> rs.getInt(1))) {
+
+            assertEquals(1, tracking.open.get());
+            assertEquals(List.of(1, 2, 3), rows.limit(3).collect(Collectors.toList()));
+        }
+
+        assertEquals(0, tracking.open.get());
+    }
+
+    @Test
+    void failedQueryReleasesConnection() throws Exception {
+        final var tracking = new TrackingDataSource(newDataSource(1));
+        final var streamer = new RowStreamer(tracking.ds, 0);
+
+        assertThrows(IllegalStateException.class, () -> streamer.stream(
+                "SELECT missing FROM t", List.of(), rs -> rs.getInt(1)));
+
+        assertEquals(0, tracking.open.get());
+    }
+
+    @Test
+    void paginationCapsRows() throws Exception {
+        final var streamer = new RowStreamer(newDataSource(100), 0);
+        final var pagination = new Pagination(
+                0, 7, List.of(new SortColumn("id", SortDirection.ASC)));
+
+        try (final var rows = streamer.stream(
+                "SELECT id FROM t WHERE id > ? ORDER BY id",
+                List.of(50),
+                rs -> rs.getInt(1),
+                pagination)) {
+
+            assertEquals(
+                    List.of(51, 52, 53, 54, 55, 56, 57),
+                    rows.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void streamsLargeResultLazily() throws Exception {
+        final var streamer = new RowStreamer(newDataSource(200_000), 500);
+
+        final long sum;
+        try (final var rows = streamer.stream(
+                "SELECT id, name FROM t", List.of(), rs -> rs.getLong(1))) {
+            sum = rows.mapToLong(Long::longValue).sum();
+        }
+
+        assertEquals(200_000L * 200_001L / 2, sum);
+    }
+}
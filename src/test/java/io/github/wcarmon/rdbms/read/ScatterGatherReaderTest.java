@@ -0,0 +1,149 @@
+package io.github.wcarmon.rdbms.read;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.wcarmon.rdbms.H2;
+import io.github.wcarmon.rdbms.paging.PageCursor;
+import io.github.wcarmon.rdbms.paging.Pagination;
+import io.github.wcarmon.rdbms.paging.SortColumn;
+import io.github.wcarmon.rdbms.paging.SortDirection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+
+class ScatterGatherReaderTest {
+
+    static final RowMapper<Long> ID = rs -> rs.getLong("id");
+
+    static final List<SortColumn> BY_ID = List.of(SortColumn.of("id"));
+
+    /** Shard i holds ids 1..3000 where id % shardCount == i, grp = id % 5 */
+    static List<DataSource> newShards(int shardCount) throws Exception {
+        final var out = new ArrayList<DataSource>();
+        for (int i = 0; i < shardCount; i++) {
+            out.add(H2.newDataSource(
+                    "CREATE TABLE t (id BIGINT PRIMARY KEY, grp INT)",
+                    "INSERT INTO t SELECT X, MOD(X, 5) FROM SYSTEM_RANGE(1, 3000)"
+                            + " WHERE MOD(X, " + shardCount + ") = " + i));
+        }
+
+        return out;
+    }
+
+    static List<Long> range(long fromInclusive, long toInclusive) {
+        return LongStream.rangeClosed(fromInclusive, toInclusive).boxed()
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void failedShardThrows() throws Exception {
+        final var shards = newShards(2);
+        try (final var conn = shards.get(1).getConnection();
+             final Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE t");
+        }
+
+        try (final var reader = new ScatterGatherReader(shards, 0)) {
+            final var ex = assertThrows(IllegalStateException.class,
+                    () -> reader.list("t", new Pagination(0, 10, BY_ID), ID));
+            assertTrue(ex.getMessage().contains("shard 1"), ex.getMessage());
+        }
+    }
+
+    @Test
+    void keysetPages() throws Exception {
+        try (final var reader = new ScatterGatherReader(newShards(3), 0)) {
+            var page = new Pagination(0, 25, BY_ID);
+            final var all = new ArrayList<Long>();
+
+            for (int i = 0; i < 4; i++) {
+                final var rows = reader.list("t", page, ID);
+                assertEquals(25, rows.size());
+                all.addAll(rows);
+                page = page.after(PageCursor.of(rows.get(rows.size() - 1)));
+            }
+
+            assertEquals(range(1, 100), all);
+        }
+    }
+
+    @Test
+    void mixedDirections() throws Exception {
+        final var columns = List.of(
+                new SortColumn("grp", SortDirection.DESC),
+                SortColumn.of("id"));
+
+        try (final var reader = new ScatterGatherReader(newShards(4), 0)) {
+            final var got = reader.list(
+                    "t",
+                    new Pagination(598, 4, columns),
+                    rs -> rs.getInt("grp") + ":" + rs.getLong("id"));
+
+            // -- 600 rows per group: the last two of grp 4, then the first two of grp 3
+            assertEquals(List.of("4:2994", "4:2999", "3:3", "3:8"), got);
+        }
+    }
+
+    @Test
+    void offsetPageStopsEarly() throws Exception {
+        final var mapped = new AtomicInteger();
+        final RowMapper<Long> counting = rs -> {
+            mapped.incrementAndGet();
+            return rs.getLong("id");
+        };
+
+        try (final var reader = new ScatterGatherReader(newShards(3), 0)) {
+            final var rows = reader.list("t", new Pagination(40, 10, BY_ID), counting);
+
+            assertEquals(range(41, 50), rows);
+
+            // -- 50 rows merged, plus at most one look-ahead row per shard
+            assertTrue(mapped.get() <= 53, "mapped: " + mapped.get());
+        }
+    }
+
+    @Test
+    void pageRejectsOverflow() throws Exception {
+        try (final var reader = new ScatterGatherReader(newShards(2), 0)) {
+            final var ex = assertThrows(IllegalArgumentException.class,
+                    () -> reader.list("t", new Pagination(Long.MAX_VALUE, 5, BY_ID), ID));
+            assertTrue(ex.getMessage().contains("too large"), ex.getMessage());
+        }
+    }
+
+    @Test
+    void shardSql() {
+        assertEquals(
+                "SELECT * FROM t WHERE id > ? ORDER BY grp DESC NULLS FIRST, id ASC NULLS LAST LIMIT ?",
+                ScatterGatherReader.shardSql(
+                        "t",
+                        List.of(new SortColumn("grp", SortDirection.DESC), SortColumn.of("id")),
+                        "id > ?"));
+    }
+
+    @Test
+    void unevenShards() throws Exception {
+        final var shards = newShards(2);
+        try (final var conn = shards.get(0).getConnection();
+             final Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM t");
+        }
+
+        try (final var reader = new ScatterGatherReader(shards, 7)) {
+            final var rows = reader.list("t", new Pagination(2990, 100, BY_ID), ID);
+
+            // -- odd ids only, 1500 rows total
+            assertEquals(List.of(), rows);
+            assertEquals(
+                    List.of(2991L, 2993L, 2995L, 2997L, 2999L),
+                    reader.list("t", new Pagination(1495, 100, BY_ID), ID));
+        }
+    }
+}
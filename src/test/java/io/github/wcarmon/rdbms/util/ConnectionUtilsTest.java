@@ -0,0 +1,133 @@
+package io.github.wcarmon.rdbms.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import io.github.wcarmon.rdbms.H2;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+
+class ConnectionUtilsTest {
+
+    @Test
+    void hungDatabaseFailsFast() {
+        final var startNanos = System.nanoTime();
+
+        try {
+            ConnectionUtils.warmUp(new HungDataSource(), 3, Duration.ofMillis(200));
+            fail("must throw");
+
+        } catch (IllegalStateException ex) {
+            assertTrue(ex.getMessage().contains("Timed out"), ex.getMessage());
+            assertTrue(ex.getMessage().contains("0 of 3"), ex.getMessage());
+        }
+
+        final var elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(5)) < 0, "elapsed: " + elapsed);
+    }
+
+    @Test
+    void testConnection() {
+        ConnectionUtils.testConnection(H2.newDataSource());
+        ConnectionUtils.testConnection(H2.newDataSource(), "SELECT 1");
+    }
+
+    @Test
+    void validator() {
+        try (final var validator = new ConnectionValidator(
+                H2.newDataSource(), Duration.ofMinutes(1), Duration.ofSeconds(5), 2)) {
+
+            assertTrue(validator.validateNow());
+            assertTrue(validator.validateNow());
+
+            assertTrue(validator.isHealthy());
+            assertEquals(2, validator.successCount());
+            assertEquals(4, validator.connectLatency().count());
+            assertEquals(4, validator.validateLatency().count());
+        }
+
+        try (final var validator = new ConnectionValidator(
+                new HungDataSource(), Duration.ofMinutes(1), Duration.ofMillis(100), 1)) {
+
+            assertFalse(validator.validateNow());
+
+            // -- Previous task still stuck, so skip
+            assertFalse(validator.validateNow());
+            assertTrue(validator.lastFailure().getMessage().contains("stuck"));
+
+            assertFalse(validator.isHealthy());
+            assertEquals(2, validator.failureCount());
+        }
+    }
+
+    @Test
+    void warmUp() {
+        final var got = ConnectionUtils.warmUp(H2.newDataSource(), 4, Duration.ofSeconds(10));
+
+        assertEquals(4, got.connectionCount());
+        assertEquals(4, got.connectLatency().count());
+        assertEquals(4, got.validateLatency().count());
+    }
+
+    /** Simulates a database which never answers */
+    static final class HungDataSource implements DataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            try {
+                Thread.sleep(Duration.ofMinutes(5).toMillis());
+
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+
+            throw new SQLException("interrupted");
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+
+        @Override
+        public int getLoginTimeout() {
+            return 0;
+        }
+
+        @Override
+        public PrintWriter getLogWriter() {
+            return null;
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) {
+            return false;
+        }
+
+        @Override
+        public void setLogWriter(PrintWriter out) {
+        }
+
+        @Override
+        public void setLoginTimeout(int seconds) {
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            throw new SQLException("not a wrapper");
+        }
+    }
+}
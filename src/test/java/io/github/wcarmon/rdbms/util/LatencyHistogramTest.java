@@ -0,0 +1,48 @@
+package io.github.wcarmon.rdbms.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+    @Test
+    void bucketsCoverEveryValue() {
+        final long[] samples = {0, 1, 7, 8, 9, 15, 16, 1_000, 123_456_789L, Long.MAX_VALUE};
+        for (final var v : samples) {
+            final var index = LatencyHistogram.bucketIndex(v);
+            assertTrue(LatencyHistogram.bucketUpperBound(index) >= v, "v=" + v);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.bucketUpperBound(index - 1) < v, "v=" + v);
+            }
+        }
+    }
+
+    @Test
+    void percentiles() {
+        final var h = new LatencyHistogram();
+        for (int i = 1; i <= 1_000; i++) {
+            h.record(i * 1_000L);
+        }
+
+        final var got = h.snapshot();
+        assertEquals(1_000, got.count());
+        assertEquals(1_000_000, got.maxNanos());
+        assertEquals(500_500, got.mean().toNanos());
+
+        // -- within 12.5%
+        assertTrue(got.p50Nanos() >= 500_000 && got.p50Nanos() <= 562_500, "" + got.p50Nanos());
+        assertTrue(got.p99Nanos() >= 990_000 && got.p99Nanos() <= 1_000_000, "" + got.p99Nanos());
+    }
+
+    @Test
+    void snapshotAndReset() {
+        final var h = new LatencyHistogram();
+        h.record(5);
+        h.record(7);
+
+        assertEquals(2, h.snapshotAndReset().count());
+        assertEquals(LatencySnapshot.EMPTY, h.snapshot());
+    }
+}
@@ -0,0 +1,233 @@
+package io.github.wcarmon.rdbms.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.wcarmon.rdbms.H2;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+class StatementCachingDataSourceTest {
+
+    static JdbcDataSource newDataSource() throws Exception {
+        return H2.newDataSource(
+                "CREATE TABLE t (id INT PRIMARY KEY)",
+                "INSERT INTO t VALUES (1), (2), (3)");
+    }
+
+    /**
+     * One physical connection at a time, like HikariCP: unwrap exposes it, and close
+     * returns it after closing every statement created through the logical connection
+     */
+    static DataSource singleConnectionPool(AtomicReference<Connection> physical) {
+        return (DataSource) Proxy.newProxyInstance(
+                DataSource.class.getClassLoader(),
+                new Class<?>[]{DataSource.class},
+                (dsProxy, dsMethod, dsArgs) -> {
+                    if (!dsMethod.getName().equals("getConnection")) {
+                        throw new UnsupportedOperationException(dsMethod.getName());
+                    }
+
+                    final var conn = physical.get();
+                    final var tracked = new ArrayList<Statement>();
+                    return Proxy.newProxyInstance(
+                            Connection.class.getClassLoader(),
+                            new Class<?>[]{Connection.class},
+                            (proxy, method, args) -> switch (method.getName()) {
+                                case "close" -> {
+                                    for (final var stmt : tracked) {
+                                        stmt.close();
+                                    }
+                                    tracked.clear();
+                                    yield null;
+                                }
+                                case "isWrapperFor" -> true;
+                                case "unwrap" -> conn;
+                                default -> {
+                                    final Object out;
+                                    try {
+                                        out = method.invoke(conn, args);
+                                    } catch (InvocationTargetException ex) {
+                                        throw ex.getCause();
+                                    }
+
+                                    if (out instanceof Statement stmt) {
+                                        tracked.add(stmt);
+                                    }
+                                    yield out;
+                                }
+                            });
+                });
+    }
+
+    static int selectId(PreparedStatement ps, int id) throws SQLException {
+        ps.setInt(1, id);
+        try (final ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : -1;
+        }
+    }
+
+    @Test
+    void clearsParametersOnReturn() throws Exception {
+        final var ds = new StatementCachingDataSource(newDataSource(), 8);
+
+        try (final var conn = ds.getConnection()) {
+            try (final var ps = conn.prepareStatement("SELECT id FROM t WHERE id = ?")) {
+                assertEquals(2, selectId(ps, 2));
+            }
+
+            try (final var ps = conn.prepareStatement("SELECT id FROM t WHERE id = ?")) {
+                assertThrows(SQLException.class, ps::executeQuery);
+            }
+        }
+
+        final var stats = ds.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(0.5, stats.hitRate(), 1e-9);
+    }
+
+    @Test
+    void closedHandleIsUnusable() throws Exception {
+        final var ds = new StatementCachingDataSource(newDataSource(), 8);
+
+        try (final var conn = ds.getConnection()) {
+            final var ps = conn.prepareStatement("SELECT id FROM t WHERE id = ?");
+            ps.close();
+
+            assertTrue(ps.isClosed());
+            assertThrows(SQLException.class, () -> ps.setInt(1, 1));
+        }
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() throws Exception {
+        final var ds = new StatementCachingDataSource(newDataSource(), 2);
+
+        try (final var conn = ds.getConnection()) {
+            for (final var sql : new String[]{
+                    "SELECT id FROM t WHERE id = ?",
+                    "SELECT id FROM t WHERE id > ?",
+                    "SELECT id FROM t WHERE id = ?",
+                    "SELECT id FROM t WHERE id < ?", // -- evicts "id > ?"
+                    "SELECT id FROM t WHERE id = ?",
+            }) {
+                try (final var ps = conn.prepareStatement(sql)) {
+                    selectId(ps, 2);
+                }
+            }
+
+            final var stats = ds.stats();
+            assertEquals(2, stats.hits());
+            assertEquals(3, stats.misses());
+            assertEquals(1, stats.evictions());
+            assertEquals(2, stats.cachedStatements());
+        }
+
+        // -- Not pooled, statements close with the connection
+        assertEquals(0, ds.stats().cachedStatements());
+    }
+
+    @Test
+    void keyIncludesResultSetOptions() throws Exception {
+        final var ds = new StatementCachingDataSource(newDataSource(), 8);
+
+        try (final var conn = ds.getConnection()) {
+            conn.prepareStatement("SELECT id FROM t").close();
+            conn.prepareStatement(
+                    "SELECT id FROM t",
+                    ResultSet.TYPE_SCROLL_INSENSITIVE,
+                    ResultSet.CONCUR_READ_ONLY).close();
+            conn.prepareStatement("SELECT id FROM t").close();
+        }
+
+        assertEquals(1, ds.stats().hits());
+        assertEquals(2, ds.stats().misses());
+    }
+
+    @Test
+    void neverSharesCheckedOutStatement() throws Exception {
+        final var ds = new StatementCachingDataSource(newDataSource(), 8);
+
+        try (final var conn = ds.getConnection();
+             final var a = conn.prepareStatement("SELECT id FROM t WHERE id = ?");
+             final var b = conn.prepareStatement("SELECT id FROM t WHERE id = ?")) {
+
+            a.setInt(1, 1);
+            assertEquals(3, selectId(b, 3));
+            try (final ResultSet rs = a.executeQuery()) {
+                assertTrue(rs.next());
+                assertEquals(1, rs.getInt(1));
+            }
+        }
+
+        assertEquals(0, ds.stats().hits());
+        assertEquals(2, ds.stats().misses());
+    }
+
+    @Test
+    void survivesPoolCheckin() throws Exception {
+        try (final var physical = newDataSource().getConnection()) {
+            final var ds = new StatementCachingDataSource(
+                    singleConnectionPool(new AtomicReference<>(physical)), 8);
+
+            PreparedStatement leaked;
+            try (final var conn = ds.getConnection()) {
+                leaked = conn.prepareStatement("SELECT id FROM t WHERE id = ?");
+                assertEquals(1, selectId(leaked, 1));
+                // -- never closed by caller
+            }
+
+            assertTrue(leaked.isClosed());
+
+            try (final var conn = ds.getConnection();
+                 final var ps = conn.prepareStatement("SELECT id FROM t WHERE id = ?")) {
+                assertEquals(3, selectId(ps, 3));
+                assertFalse(ps.isClosed());
+            }
+
+            assertEquals(1, ds.stats().hits());
+            assertEquals(1, ds.stats().cachedStatements());
+
+            ds.evictAll();
+            assertEquals(0, ds.stats().cachedStatements());
+        }
+    }
+
+    @Test
+    void purgesClosedPhysicalConnections() throws Exception {
+        final var h2 = newDataSource();
+        final var first = h2.getConnection();
+        final var physical = new AtomicReference<>(first);
+        final var ds = new StatementCachingDataSource(singleConnectionPool(physical), 8);
+
+        try (final var conn = ds.getConnection();
+             final var ps = conn.prepareStatement("SELECT id FROM t WHERE id = ?")) {
+            assertEquals(2, selectId(ps, 2));
+        }
+        assertEquals(1, ds.stats().cachedStatements());
+
+        // -- pool retires the connection and opens another
+        first.close();
+        try (final var second = h2.getConnection()) {
+            physical.set(second);
+
+            try (final var conn = ds.getConnection()) {
+                assertEquals(0, ds.stats().cachedStatements());
+                assertFalse(conn.isClosed());
+            }
+        }
+    }
+}
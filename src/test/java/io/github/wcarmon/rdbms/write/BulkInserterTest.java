@@ -0,0 +1,198 @@
+package io.github.wcarmon.rdbms.write;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.wcarmon.rdbms.H2;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+
+class BulkInserterTest {
+
+    record Employee(long id, String name) {
+
+    }
+
+    static final RowBinder<Employee> EMPLOYEE_BINDER = (row, ps, i) -> {
+        ps.setLong(i, row.id());
+        ps.setString(i + 1, row.name());
+    };
+
+    static long countRows(DataSource ds) throws Exception {
+        try (final var conn = ds.getConnection();
+             final Statement stmt = conn.createStatement();
+             final ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM employees")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    static DataSource newDataSource() throws Exception {
+        return H2.newDataSource(
+                "CREATE TABLE employees (id BIGINT PRIMARY KEY, name VARCHAR(32))");
+    }
+
+    @Test
+    void driverRewritesBatches() {
+        assertTrue(BulkInserter.driverRewritesBatches(
+                "jdbc:postgresql://db/app?reWriteBatchedInserts=true"));
+        assertTrue(BulkInserter.driverRewritesBatches(
+                "jdbc:mysql://db/app?rewriteBatchedStatements=true"));
+
+        assertFalse(BulkInserter.driverRewritesBatches("jdbc:postgresql://db/app"));
+        assertFalse(BulkInserter.driverRewritesBatches(null));
+    }
+
+    @Test
+    void insertSql() {
+        assertEquals(
+                "INSERT INTO employees (id, name) VALUES (?, ?), (?, ?), (?, ?)",
+                BulkInserter.insertSql("employees", List.of("id", "name"), 3));
+    }
+
+    @Test
+    void jdbcBatch() throws Exception {
+        final var ds = newDataSource();
+        final var inserter = new BulkInserter(ds, BulkInsertConfig.builder()
+                .batchSize(100)
+                .commitEveryRows(250)
+                .strategy(BulkInsertStrategy.JDBC_BATCH)
+                .build());
+
+        final var got = inserter.insert(
+                "employees",
+                List.of("id", "name"),
+                IntStream.range(0, 1_050).mapToObj(i -> new Employee(i, "n" + i)),
+                EMPLOYEE_BINDER);
+
+        assertEquals(BulkInsertStrategy.JDBC_BATCH, got.strategy());
+        assertEquals(1_050, got.rowCount());
+        assertEquals(11, got.statementCount());
+        assertEquals(1_050, countRows(ds));
+    }
+
+    @Test
+    void multiRowValues_largeStream() throws Exception {
+        final var ds = newDataSource();
+        final var inserter = new BulkInserter(ds, BulkInsertConfig.builder()
+                .maxRowsPerStatement(500)
+                .build());
+
+        final var got = inserter.insert(
+                "employees",
+                List.of("id", "name"),
+                IntStream.range(0, 10_001).mapToObj(i -> new Employee(i, "n" + i)),
+                EMPLOYEE_BINDER);
+
+        assertEquals(BulkInsertStrategy.MULTI_ROW_VALUES, got.strategy());
+        assertEquals(10_001, got.rowCount());
+        assertEquals(21, got.statementCount());
+        assertEquals(10_001, countRows(ds));
+        assertTrue(got.rowsPerSecond() > 0);
+    }
+
+    @Test
+    void multiRowValues_respectsBindParameterLimit() throws Exception {
+        final var inserter = new BulkInserter(newDataSource(), BulkInsertConfig.builder()
+                .maxBindParameters(7)
+                .build());
+
+        assertEquals(3, inserter.rowsPerStatement(2));
+        assertEquals(1, inserter.rowsPerStatement(9));
+    }
+
+    @Test
+    void ofList() throws Exception {
+        final var ds = newDataSource();
+        final var got = new BulkInserter(ds, BulkInsertConfig.defaults()).insert(
+                "employees",
+                List.of("id", "name"),
+                List.of(List.of(1L, "a"), List.of(2L, "b")),
+                RowBinder.ofList());
+
+        assertEquals(2, got.rowCount());
+        assertEquals(1, got.statementCount());
+        assertEquals(2, countRows(ds));
+    }
+
+    @Test
+    void rejectsUnsafeIdentifiers() throws Exception {
+        final var inserter = new BulkInserter(newDataSource(), BulkInsertConfig.defaults());
+
+        assertThrows(IllegalArgumentException.class, () -> inserter.insert(
+                "employees; DROP TABLE x",
+                List.of("id"),
+                List.of(List.of(1L)),
+                RowBinder.ofList()));
+
+        assertThrows(IllegalArgumentException.class, () -> inserter.insert(
+                "employees",
+                List.of("id", "name--"),
+                List.of(List.of(1L, "a")),
+                RowBinder.ofList()));
+    }
+
+    @Test
+    void rollsBackOnFailure() throws Exception {
+        final var ds = newDataSource();
+        final var inserter = new BulkInserter(ds, BulkInsertConfig.builder()
+                .maxRowsPerStatement(10)
+                .build());
+
+        // -- duplicate key in the 3rd statement
+        final var rows = IntStream.range(0, 30)
+                .mapToObj(i -> new Employee(i == 25 ? 0 : i, "n" + i));
+
+        assertThrows(IllegalStateException.class, () -> inserter.insert(
+                "employees", List.of("id", "name"), rows, EMPLOYEE_BINDER));
+
+        assertEquals(0, countRows(ds));
+    }
+
+    @Test
+    void errorRollsBack() throws Exception {
+        final var ds = newDataSource();
+        final var inserter = new BulkInserter(ds, BulkInsertConfig.builder()
+                .maxRowsPerStatement(10)
+                .build());
+
+        final RowBinder<Employee> failing = (row, ps, i) -> {
+            if (row.id() == 25) {
+                throw new AssertionError("boom");
+            }
+            EMPLOYEE_BINDER.bind(row, ps, i);
+        };
+
+        final var rows = IntStream.range(0, 30).mapToObj(i -> new Employee(i, "n" + i));
+
+        assertThrows(AssertionError.class, () -> inserter.insert(
+                "employees", List.of("id", "name"), rows, failing));
+
+        assertEquals(0, countRows(ds));
+    }
+
+    @Test
+    void reportsCommittedRows() throws Exception {
+        final var ds = newDataSource();
+        final var inserter = new BulkInserter(ds, BulkInsertConfig.builder()
+                .commitEveryRows(10)
+                .maxRowsPerStatement(10)
+                .build());
+
+        // -- duplicate key in the 3rd statement, after two commits
+        final var rows = IntStream.range(0, 30)
+                .mapToObj(i -> new Employee(i == 25 ? 0 : i, "n" + i));
+
+        final var ex = assertThrows(BulkInsertException.class, () -> inserter.insert(
+                "employees", List.of("id", "name"), rows, EMPLOYEE_BINDER));
+
+        assertEquals(20, ex.committedRowCount());
+        assertEquals(20, countRows(ds));
+    }
+}
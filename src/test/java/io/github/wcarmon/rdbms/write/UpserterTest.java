@@ -0,0 +1,192 @@
+package io.github.wcarmon.rdbms.write;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.wcarmon.rdbms.H2;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+
+class UpserterTest {
+
+    static final UpsertStatement EMPLOYEES = UpsertStatement.builder()
+            .table("employees")
+            .columns(List.of("id", "name", "age"))
+            .keyColumns(List.of("id"))
+            .build();
+
+    static DataSource newDataSource() throws Exception {
+        return H2.newDataSource(
+                "CREATE TABLE employees (id BIGINT PRIMARY KEY, name VARCHAR(32), age INT)");
+    }
+
+    static String nameOf(DataSource ds, long id) throws Exception {
+        try (final var conn = ds.getConnection();
+             final Statement stmt = conn.createStatement();
+             final ResultSet rs = stmt.executeQuery(
+                     "SELECT name FROM employees WHERE id = " + id)) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    @Test
+    void detect() {
+        assertEquals(UpsertDialect.POSTGRES, UpsertDialect.detect("PostgreSQL"));
+        assertEquals(UpsertDialect.MERGE, UpsertDialect.detect("H2"));
+        assertEquals(UpsertDialect.MERGE, UpsertDialect.detect(null));
+    }
+
+    @Test
+    void merge_reportsInsertedAndUpdatedPerChunk() throws Exception {
+        final var ds = newDataSource();
+        final var upserter = new Upserter(ds, UpsertConfig.builder()
+                .maxRowsPerStatement(100)
+                .build());
+
+        final var first = upserter.upsert(
+                EMPLOYEES,
+                IntStream.range(0, 150).mapToObj(i -> List.of((long) i, "a" + i, i)),
+                RowBinder.ofList(),
+                null);
+
+        assertEquals(UpsertDialect.MERGE, first.dialect());
+        assertEquals(150, first.insertedCount());
+        assertEquals(0, first.updatedCount());
+
+        // -- ids 100..249: 50 existing, 100 new
+        final var chunks = new ArrayList<UpsertChunkStats>();
+        final var second = upserter.upsert(
+                EMPLOYEES,
+                IntStream.range(100, 250).mapToObj(i -> List.of((long) i, "b" + i, i)),
+                RowBinder.ofList(),
+                chunks::add);
+
+        assertEquals(150, second.rowCount());
+        assertEquals(100, second.insertedCount());
+        assertEquals(50, second.updatedCount());
+        assertEquals(2, second.chunkCount());
+
+        assertEquals(2, chunks.size());
+        assertEquals(50, chunks.get(0).updatedCount());
+        assertEquals(50, chunks.get(0).insertedCount());
+        assertEquals(0, chunks.get(1).updatedCount());
+        assertEquals(50, chunks.get(1).insertedCount());
+
+        assertEquals("b120", nameOf(ds, 120));
+        assertEquals("a99", nameOf(ds, 99));
+    }
+
+    @Test
+    void errorRollsBack() throws Exception {
+        final var ds = newDataSource();
+        final var upserter = new Upserter(ds, UpsertConfig.builder()
+                .maxRowsPerStatement(10)
+                .build());
+
+        final RowBinder<List<Object>> failing = (row, ps, i) -> {
+            if (row.get(0).equals(25L)) {
+                throw new AssertionError("boom");
+            }
+            RowBinder.ofList().bind(row, ps, i);
+        };
+
+        assertThrows(AssertionError.class, () -> upserter.upsert(
+                EMPLOYEES,
+                IntStream.range(0, 30).mapToObj(i -> List.<Object>of((long) i, "a" + i, i)),
+                failing,
+                null));
+
+        try (final var conn = ds.getConnection();
+             final Statement stmt = conn.createStatement();
+             final ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM employees")) {
+            rs.next();
+            assertEquals(0, rs.getLong(1));
+        }
+    }
+
+    @Test
+    void merge_insertOnly() throws Exception {
+        final var ds = newDataSource();
+        final var statement = UpsertStatement.builder()
+                .table("employees")
+                .columns(List.of("id", "name", "age"))
+                .keyColumns(List.of("id"))
+                .updateColumns(List.of())
+                .build();
+
+        final var upserter = new Upserter(ds, UpsertConfig.defaults());
+        upserter.upsert(statement, List.of(List.of(1L, "a", 1)), RowBinder.ofList(), null);
+
+        final var got = upserter.upsert(
+                statement,
+                List.of(List.of(1L, "b", 1), List.of(2L, "b", 2)),
+                RowBinder.ofList(),
+                null);
+
+        assertEquals(1, got.insertedCount());
+        assertEquals(0, got.updatedCount());
+        assertEquals("a", nameOf(ds, 1));
+    }
+
+    @Test
+    void sql_merge() {
+        assertEquals(
+                "MERGE INTO employees AS dst"
+                        + " USING (VALUES (?, ?, ?), (?, ?, ?)) AS src (id, name, age)"
+                        + " ON dst.id = src.id"
+                        + " WHEN MATCHED THEN UPDATE SET name = src.name, age = src.age"
+                        + " WHEN NOT MATCHED THEN INSERT (id, name, age)"
+                        + " VALUES (src.id, src.name, src.age)",
+                EMPLOYEES.sql(UpsertDialect.MERGE, 2));
+    }
+
+    @Test
+    void sql_postgres() {
+        assertEquals(
+                "INSERT INTO employees (id, name, age) VALUES (?, ?, ?), (?, ?, ?)"
+                        + " ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name, age = EXCLUDED.age"
+                        + " RETURNING (xmax = 0) AS inserted",
+                EMPLOYEES.sql(UpsertDialect.POSTGRES, 2));
+
+        final var compositeKey = UpsertStatement.builder()
+                .table("public.members")
+                .columns(List.of("org_id", "user_id", "role"))
+                .keyColumns(List.of("org_id", "user_id"))
+                .updateColumns(List.of())
+                .build();
+
+        assertEquals(
+                "INSERT INTO public.members (org_id, user_id, role) VALUES (?, ?, ?)"
+                        + " ON CONFLICT (org_id, user_id) DO NOTHING"
+                        + " RETURNING (xmax = 0) AS inserted",
+                compositeKey.sql(UpsertDialect.POSTGRES, 1));
+    }
+
+    @Test
+    void validation() {
+        assertThrows(IllegalArgumentException.class, () -> UpsertStatement.builder()
+                .table("employees")
+                .columns(List.of("id", "name"))
+                .keyColumns(List.of("missing"))
+                .build());
+
+        assertThrows(IllegalArgumentException.class, () -> UpsertStatement.builder()
+                .table("employees")
+                .columns(List.of("id", "name"))
+                .keyColumns(List.of("id"))
+                .updateColumns(List.of("id"))
+                .build());
+
+        assertThrows(IllegalArgumentException.class, () -> UpsertStatement.builder()
+                .table("employees")
+                .columns(List.of("id", "name; --"))
+                .keyColumns(List.of("id"))
+                .build());
+    }
+}
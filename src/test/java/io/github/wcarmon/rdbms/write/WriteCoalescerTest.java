@@ -0,0 +1,245 @@
+package io.github.wcarmon.rdbms.write;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.wcarmon.rdbms.H2;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+
+class WriteCoalescerTest {
+
+    /** Long enough that only explicit flushes run during a test */
+    static final WriteCoalescerConfig MANUAL = WriteCoalescerConfig.builder()
+            .flushInterval(Duration.ofHours(1))
+            .build();
+
+    /** Ids 1..100, zero counters */
+    static DataSource newDataSource() throws Exception {
+        return H2.newDataSource(
+                "CREATE TABLE t (id INT PRIMARY KEY, hits INT, name VARCHAR(16))",
+                "INSERT INTO t SELECT X, 0, 'n' || X FROM SYSTEM_RANGE(1, 100)");
+    }
+
+    static String row(DataSource ds, int id) throws Exception {
+        try (final var conn = ds.getConnection();
+             final var ps = conn.prepareStatement("SELECT hits, name FROM t WHERE id = ?")) {
+            ps.setInt(1, id);
+            try (final var rs = ps.executeQuery()) {
+                assertTrue(rs.next());
+                return rs.getInt("hits") + ":" + rs.getString("name");
+            }
+        }
+    }
+
+    @Test
+    void closeFlushesAndRejects() throws Exception {
+        final var ds = newDataSource();
+        final var coalescer = new WriteCoalescer(ds, "t", "id", MANUAL);
+
+        coalescer.patch(1, "hits", 5, WriteDurability.FIRE_AND_FORGET);
+        coalescer.close();
+
+        assertEquals("5:n1", row(ds, 1));
+        assertThrows(IllegalStateException.class,
+                () -> coalescer.patch(1, "hits", 6, WriteDurability.FIRE_AND_FORGET));
+    }
+
+    @Test
+    void failureReachesWaitingCallers() throws Exception {
+        final var ds = newDataSource();
+        try (final var coalescer = new WriteCoalescer(ds, "t", "id", MANUAL)) {
+
+            coalescer.patch(1, "hits", 1, WriteDurability.FIRE_AND_FORGET);
+            final var waiter = CompletableFuture.runAsync(() -> coalescer.patch(
+                    2, "no_such_column", 1, WriteDurability.WAIT_FOR_FLUSH));
+
+            while (coalescer.stats().patchCount() < 2) {
+                Thread.sleep(1);
+            }
+            assertThrows(IllegalStateException.class, coalescer::flush);
+
+            final var ex = assertThrows(Exception.class, waiter::join);
+            assertTrue(ex.getCause() instanceof IllegalStateException);
+
+            // -- whole flush rolled back
+            assertEquals("0:n1", row(ds, 1));
+            assertEquals(2, coalescer.stats().failedRows());
+        }
+    }
+
+    @Test
+    void errorRollsBackWholeFlush() throws Exception {
+        final var h2 = newDataSource();
+
+        // -- second prepared statement (second column group) throws an Error
+        final var prepared = new AtomicInteger();
+        final DataSource ds = (DataSource) Proxy.newProxyInstance(
+                DataSource.class.getClassLoader(),
+                new Class<?>[]{DataSource.class},
+                (proxy, method, args) -> {
+                    if (!"getConnection".equals(method.getName())) {
+                        return method.invoke(h2, args);
+                    }
+
+                    final var conn = h2.getConnection();
+                    return Proxy.newProxyInstance(
+                            Connection.class.getClassLoader(),
+                            new Class<?>[]{Connection.class},
+                            (p2, m2, a2) -> {
+                                if ("prepareStatement".equals(m2.getName())
+                                        && prepared.incrementAndGet() == 2) {
+                                    throw new AssertionError("boom");
+                                }
+                                try {
+                                    return m2.invoke(conn, a2);
+                                } catch (InvocationTargetException ex) {
+                                    throw ex.getCause();
+                                }
+                            });
+                });
+
+        try (final var coalescer = new WriteCoalescer(ds, "t", "id", MANUAL)) {
+
+            coalescer.patch(1, "hits", 1, WriteDurability.FIRE_AND_FORGET);
+            final var waiter = CompletableFuture.runAsync(() -> coalescer.patch(
+                    2, "name", "x", WriteDurability.WAIT_FOR_FLUSH));
+
+            while (coalescer.stats().patchCount() < 2) {
+                Thread.sleep(1);
+            }
+            assertThrows(AssertionError.class, coalescer::flush);
+
+            // -- bounded, the waiter used to hang
+            final var ex = assertThrows(ExecutionException.class,
+                    () -> waiter.get(5, TimeUnit.SECONDS));
+            assertTrue(ex.getCause().getCause() instanceof AssertionError);
+
+            // -- first group rolled back, not committed by restoring auto-commit
+            assertEquals("0:n1", row(h2, 1));
+            assertEquals("0:n2", row(h2, 2));
+            assertEquals(2, coalescer.stats().failedRows());
+        }
+    }
+
+    @Test
+    void columnsAreCaseInsensitive() throws Exception {
+        final var ds = newDataSource();
+        try (final var coalescer = new WriteCoalescer(ds, "t", "id", MANUAL)) {
+
+            coalescer.patch(3, "hits", 1, WriteDurability.FIRE_AND_FORGET);
+            coalescer.patch(3, "HITS", 2, WriteDurability.FIRE_AND_FORGET);
+            coalescer.patch(4, "name", "a", WriteDurability.FIRE_AND_FORGET);
+
+            assertThrows(IllegalArgumentException.class, () -> coalescer.patch(
+                    5, Map.of("hits", 1, "Hits", 2), WriteDurability.FIRE_AND_FORGET));
+
+            // -- one column, so the whole window flushes
+            assertEquals(2, coalescer.flush());
+            assertEquals("2:n3", row(ds, 3));
+            assertEquals("0:a", row(ds, 4));
+            assertEquals(0, coalescer.stats().failedRows());
+        }
+    }
+
+    @Test
+    void lastWriterWinsPerColumn() throws Exception {
+        final var ds = newDataSource();
+        try (final var coalescer = new WriteCoalescer(ds, "t", "id", MANUAL)) {
+
+            coalescer.patch(7, "hits", 1, WriteDurability.FIRE_AND_FORGET);
+            coalescer.patch(7, "name", "a", WriteDurability.FIRE_AND_FORGET);
+            coalescer.patch(7, Map.of("hits", 3, "name", "b"), WriteDurability.FIRE_AND_FORGET);
+            coalescer.patch(7, "hits", 4, WriteDurability.FIRE_AND_FORGET);
+
+            assertEquals("0:n7", row(ds, 7));
+            assertEquals(1, coalescer.flush());
+            assertEquals("4:b", row(ds, 7));
+
+            final var stats = coalescer.stats();
+            assertEquals(4, stats.patchCount());
+            assertEquals(3, stats.coalesced());
+            assertEquals(1, stats.rowsFlushed());
+            assertEquals(1, stats.flushCount());
+            assertEquals(0.75, stats.coalescedRatio());
+        }
+    }
+
+    @Test
+    void mixedColumnSetsAcrossBatches() throws Exception {
+        final var ds = newDataSource();
+        final var config = WriteCoalescerConfig.builder()
+                .batchSize(7)
+                .flushInterval(Duration.ofHours(1))
+                .build();
+
+        try (final var coalescer = new WriteCoalescer(ds, "t", "id", config)) {
+            for (int id = 1; id <= 100; id++) {
+                if (id % 2 == 0) {
+                    coalescer.patch(id, "hits", id, WriteDurability.FIRE_AND_FORGET);
+                } else {
+                    coalescer.patch(id, Map.of("hits", id, "name", "x" + id),
+                            WriteDurability.FIRE_AND_FORGET);
+                }
+            }
+
+            assertEquals(100, coalescer.flush());
+        }
+
+        assertEquals("2:n2", row(ds, 2));
+        assertEquals("3:x3", row(ds, 3));
+        assertEquals("100:n100", row(ds, 100));
+    }
+
+    @Test
+    void rejectsInvalidColumns() throws Exception {
+        try (final var coalescer = new WriteCoalescer(newDataSource(), "t", "id", MANUAL)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> coalescer.patch(1, "id", 2, WriteDurability.FIRE_AND_FORGET));
+            assertThrows(IllegalArgumentException.class,
+                    () -> coalescer.patch(1, "x; DROP TABLE t", 2, WriteDurability.FIRE_AND_FORGET));
+            assertThrows(IllegalArgumentException.class,
+                    () -> coalescer.patch(1, Map.of(), WriteDurability.FIRE_AND_FORGET));
+        }
+    }
+
+    @Test
+    void timerFlushesForWaitingCallers() throws Exception {
+        final var ds = newDataSource();
+        final var config = WriteCoalescerConfig.builder()
+                .flushInterval(Duration.ofMillis(5))
+                .build();
+
+        try (final var coalescer = new WriteCoalescer(ds, "t", "id", config)) {
+            final var writers = new ArrayList<CompletableFuture<Void>>();
+            for (int i = 0; i < 50; i++) {
+                writers.add(CompletableFuture.runAsync(() -> coalescer.patch(
+                        9, "hits", 1, WriteDurability.WAIT_FOR_FLUSH)));
+            }
+            CompletableFuture.allOf(writers.toArray(new CompletableFuture<?>[0])).join();
+
+            assertEquals("1:n9", row(ds, 9));
+            assertEquals(50, coalescer.stats().patchCount());
+            assertTrue(coalescer.stats().rowsFlushed() <= 50);
+        }
+    }
+
+    @Test
+    void updateSql() {
+        assertEquals(
+                "UPDATE t SET a = ?, b = ? WHERE id = ?",
+                WriteCoalescer.updateSql("t", List.of("a", "b"), "id"));
+    }
+}